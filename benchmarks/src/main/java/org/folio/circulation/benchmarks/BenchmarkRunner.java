@@ -0,0 +1,28 @@
+package org.folio.circulation.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks with the standard JMH command line options, writing
+ * the results as JSON (to jmh-result.json by default) so that they can be
+ * compared between releases, unless a result format is given
+ */
+public class BenchmarkRunner {
+  private BenchmarkRunner() { }
+
+  public static void main(String[] args) throws Exception {
+    if (Arrays.asList(args).contains("-rf")) {
+      Main.main(args);
+    }
+    else {
+      final String[] withJsonResults = Arrays.copyOf(args, args.length + 2);
+
+      withJsonResults[args.length] = "-rf";
+      withJsonResults[args.length + 1] = "json";
+
+      Main.main(withJsonResults);
+    }
+  }
+}
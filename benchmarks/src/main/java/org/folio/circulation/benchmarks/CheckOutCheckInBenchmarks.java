@@ -0,0 +1,86 @@
+package org.folio.circulation.benchmarks;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.APITests;
+import api.support.CheckInByBarcodeResponse;
+import api.support.http.IndividualResource;
+
+/**
+ * Checking out and checking in an item by barcode through the HTTP API,
+ * using the same in process fake storage modules as the API tests,
+ * so this includes the time taken by the fakes and is only
+ * comparable with other runs of the same benchmark
+ *
+ * Each benchmark thread borrows its own item, so that running with more threads
+ * (-t) and more verticle instances (CIRCULATION_VERTICLE_INSTANCES) shows how
+ * throughput scales when requests are handled concurrently
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckOutCheckInBenchmarks extends APITests {
+  // The fakes need to be deployed before the fixtures are created
+  static {
+    try {
+      beforeAll();
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to deploy fake storage modules", e);
+    }
+  }
+
+  private final AtomicInteger items = new AtomicInteger();
+  private IndividualResource borrower;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    baseSetUp();
+
+    borrower = usersFixture.steve();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    baseTearDown();
+  }
+
+  @Benchmark
+  public CheckInByBarcodeResponse checkOutAndCheckIn(Borrowing borrowing) {
+    checkOutFixture.checkOutByBarcode(borrowing.item, borrower);
+
+    return checkInFixture.checkInByBarcode(borrowing.item);
+  }
+
+  @State(Scope.Thread)
+  public static class Borrowing {
+    private IndividualResource item;
+
+    @Setup(Level.Trial)
+    public void setUp(CheckOutCheckInBenchmarks module) {
+      // The fixtures are not intended to be used concurrently
+      synchronized (module) {
+        item = module.itemsFixture.basedUponSmallAngryPlanet(
+          "benchmark-" + module.items.incrementAndGet());
+      }
+    }
+  }
+}
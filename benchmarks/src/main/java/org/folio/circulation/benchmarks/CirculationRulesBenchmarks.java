@@ -0,0 +1,141 @@
+package org.folio.circulation.benchmarks;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOCATION_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.domain.Location;
+import org.folio.circulation.rules.CirculationRuleMatch;
+import org.folio.circulation.rules.Drools;
+import org.folio.circulation.rules.Text2Drools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.builders.LocationBuilder;
+import io.vertx.core.MultiMap;
+
+/**
+ * Converting and applying circulation rules of a similar size to those of
+ * larger libraries, each material type has a rule for a loan type
+ * with a nested rule for a patron group, so there are two lines per material type
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CirculationRulesBenchmarks {
+  @Param({ "250", "500" })
+  public int materialTypes;
+
+  private String rulesText;
+  private String droolsText;
+  private Drools drools;
+  private MultiMap lastRuleParameters;
+  private MultiMap fallbackParameters;
+  private Location location;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    rulesText = circulationRules(materialTypes);
+    droolsText = Text2Drools.convert(rulesText);
+    drools = new Drools(droolsText);
+
+    final int last = materialTypes - 1;
+
+    lastRuleParameters = parameters(id("material-type", last),
+      id("loan-type", last), id("patron-group", last));
+
+    fallbackParameters = parameters(id("material-type", materialTypes),
+      id("loan-type", materialTypes), id("patron-group", materialTypes));
+
+    location = Location.from(new LocationBuilder()
+      .forInstitution(UUID.fromString(id("institution", 0)))
+      .forCampus(UUID.fromString(id("campus", 0)))
+      .forLibrary(UUID.fromString(id("library", 0)))
+      .create());
+  }
+
+  @Benchmark
+  public String convertRulesToDrools() {
+    return Text2Drools.convert(rulesText);
+  }
+
+  // Compiling takes long enough that each measurement is of a single compilation
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Drools compileDrools() {
+    return new Drools(droolsText);
+  }
+
+  @Benchmark
+  public CirculationRuleMatch loanPolicyMatchingLastRule() {
+    return drools.loanPolicy(lastRuleParameters, location);
+  }
+
+  @Benchmark
+  public CirculationRuleMatch loanPolicyUsingFallback() {
+    return drools.loanPolicy(fallbackParameters, location);
+  }
+
+  private static String circulationRules(int materialTypes) {
+    final List<String> lines = new ArrayList<>();
+
+    lines.add("priority: t, s, c, b, a, m, g");
+    lines.add("fallback-policy: " + policies(-1));
+
+    for (int index = 0; index < materialTypes; index++) {
+      lines.add(String.format("m %s + t %s: %s", id("material-type", index),
+        id("loan-type", index), policies(index)));
+
+      lines.add(String.format("    g %s: %s", id("patron-group", index),
+        policies(index + materialTypes)));
+    }
+
+    return String.join("\n", lines);
+  }
+
+  private static String policies(int index) {
+    return String.format("l %s r %s n %s o %s i %s", id("loan-policy", index),
+      id("request-policy", index), id("notice-policy", index),
+      id("overdue-fine-policy", index), id("lost-item-policy", index));
+  }
+
+  private static MultiMap parameters(String itemTypeId, String loanTypeId,
+    String patronGroupId) {
+
+    final MultiMap parameters = MultiMap.caseInsensitiveMultiMap();
+
+    parameters.add(ITEM_TYPE_ID_NAME, itemTypeId);
+    parameters.add(LOAN_TYPE_ID_NAME, loanTypeId);
+    parameters.add(PATRON_TYPE_ID_NAME, patronGroupId);
+    parameters.add(LOCATION_ID_NAME, id("location", 0));
+
+    return parameters;
+  }
+
+  // Name based so that the same rules are generated for every run
+  private static String id(String recordType, int index) {
+    return UUID.nameUUIDFromBytes((recordType + index)
+      .getBytes(StandardCharsets.UTF_8)).toString();
+  }
+}
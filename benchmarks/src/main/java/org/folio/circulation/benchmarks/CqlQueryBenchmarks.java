@@ -0,0 +1,77 @@
+package org.folio.circulation.benchmarks;
+
+import static org.folio.circulation.support.CqlSortBy.ascending;
+import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
+import static org.folio.circulation.support.http.client.CqlQuery.exactMatchAny;
+import static org.folio.circulation.support.http.client.CqlQuery.greaterThan;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.folio.circulation.support.http.client.CqlQuery;
+import org.folio.circulation.support.results.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building and encoding the queries used to fetch records in batches by id,
+ * the default batch size for id queries is 50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CqlQueryBenchmarks {
+  @Param({ "1", "50" })
+  public int numberOfIds;
+
+  private List<String> ids;
+  private CqlQuery query;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ids = Stream.generate(UUID::randomUUID)
+      .limit(numberOfIds)
+      .map(UUID::toString)
+      .collect(Collectors.toList());
+
+    query = buildQuery().value();
+  }
+
+  @Benchmark
+  public Result<CqlQuery> buildQueryForIds() {
+    return buildQuery();
+  }
+
+  @Benchmark
+  public Result<String> encodeQueryForIds() {
+    return query.encode();
+  }
+
+  @Benchmark
+  public Result<String> buildAndEncodeQueryForIds() {
+    return buildQuery().next(CqlQuery::encode);
+  }
+
+  private Result<CqlQuery> buildQuery() {
+    return exactMatchAny("itemId", ids)
+      .combine(exactMatch("status.name", "Open"), CqlQuery::and)
+      .combine(greaterThan("dueDate", "2021-01-01T00:00:00.000Z"), CqlQuery::and)
+      .map(combined -> combined.sortBy(ascending("dueDate")));
+  }
+}
@@ -0,0 +1,98 @@
+package org.folio.circulation.benchmarks;
+
+import static api.support.builders.RequestBuilder.CLOSED_PICKUP_EXPIRED;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.folio.circulation.support.http.client.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.APITests;
+import api.support.builders.RequestBuilder;
+import api.support.http.IndividualResource;
+import api.support.http.ResourceClient;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Generating the hold shelf clearance report through the HTTP API for a service
+ * point with many items awaiting pickup, each of which has an expired request,
+ * using the same in process fake storage modules as the API tests,
+ * so this includes the time taken by the fakes and is only
+ * comparable with other runs of the same benchmark
+ *
+ * The items and requests are created directly in storage, as creating them
+ * through check out, request and check in would take far too long
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HoldShelfClearanceReportBenchmarks extends APITests {
+  // The fakes need to be deployed before the fixtures are created
+  static {
+    try {
+      beforeAll();
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to deploy fake storage modules", e);
+    }
+  }
+
+  @Param({ "10000" })
+  public int numberOfItems;
+
+  private UUID pickupServicePointId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    baseSetUp();
+
+    pickupServicePointId = servicePointsFixture.cd1().getId();
+
+    final UUID requesterId = usersFixture.steve().getId();
+    final JsonObject template = itemsFixture.basedUponSmallAngryPlanet("benchmark-0")
+      .getJson();
+
+    for (int index = 1; index <= numberOfItems; index++) {
+      final IndividualResource item = itemsClient.create(template.copy()
+        .put("id", UUID.randomUUID().toString())
+        .put("barcode", "benchmark-" + index)
+        .put("status", new JsonObject().put("name", "Awaiting pickup")));
+
+      requestsStorageClient.create(new RequestBuilder()
+        .hold()
+        .withItemId(item.getId())
+        .withRequesterId(requesterId)
+        .withPickupServicePointId(pickupServicePointId)
+        .withStatus(CLOSED_PICKUP_EXPIRED)
+        .create()
+        .put("awaitingPickupRequestClosedDate", "2018-02-11T14:45:23.000+0000"));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    baseTearDown();
+  }
+
+  @Benchmark
+  public Response holdShelfClearanceReport() {
+    return ResourceClient.forRequestReport().getById(pickupServicePointId);
+  }
+}
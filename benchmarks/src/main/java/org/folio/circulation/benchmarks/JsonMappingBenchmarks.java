@@ -0,0 +1,145 @@
+package org.folio.circulation.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.LoanRepresentation;
+import org.folio.circulation.domain.Location;
+import org.folio.circulation.domain.Request;
+import org.folio.circulation.domain.User;
+import org.folio.circulation.domain.policy.LoanPolicy;
+import org.folio.circulation.domain.policy.Period;
+import org.folio.circulation.support.utils.ClockUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.builders.HoldingBuilder;
+import api.support.builders.InstanceBuilder;
+import api.support.builders.ItemBuilder;
+import api.support.builders.LoanBuilder;
+import api.support.builders.LoanPolicyBuilder;
+import api.support.builders.LocationBuilder;
+import api.support.builders.RequestBuilder;
+import api.support.builders.UserBuilder;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Mapping storage representations to domain objects and back again,
+ * which happens for every record fetched or returned by the module
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMappingBenchmarks {
+  private final LoanRepresentation loanRepresentation = new LoanRepresentation();
+
+  private JsonObject loanRepresentationFromStorage;
+  private JsonObject itemRepresentationFromStorage;
+  private JsonObject requestRepresentationFromStorage;
+  private Loan loanWithRelatedRecords;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final UUID instanceId = UUID.randomUUID();
+    final UUID holdingsRecordId = UUID.randomUUID();
+    final UUID itemId = UUID.randomUUID();
+    final UUID userId = UUID.randomUUID();
+
+    final JsonObject instance = new InstanceBuilder("The Long Way to a Small, Angry Planet",
+      UUID.randomUUID())
+      .withId(instanceId)
+      .withContributor("Chambers, Becky", UUID.randomUUID())
+      .create();
+
+    final JsonObject holdingsRecord = new HoldingBuilder()
+      .forInstance(instanceId)
+      .withCallNumber("123456")
+      .create()
+      .put("id", holdingsRecordId.toString());
+
+    itemRepresentationFromStorage = new ItemBuilder()
+      .withId(itemId)
+      .forHolding(holdingsRecordId)
+      .withBarcode("036000291452")
+      .withMaterialType(UUID.randomUUID())
+      .withPermanentLoanType(UUID.randomUUID())
+      .checkOut()
+      .create();
+
+    loanRepresentationFromStorage = new LoanBuilder()
+      .withId(UUID.randomUUID())
+      .withItemId(itemId)
+      .withUserId(userId)
+      .withLoanDate(ClockUtil.getDateTime())
+      .withDueDate(ClockUtil.getDateTime().plusWeeks(3))
+      .withCheckoutServicePointId(UUID.randomUUID())
+      .open()
+      .create();
+
+    requestRepresentationFromStorage = new RequestBuilder()
+      .hold()
+      .withItemId(itemId)
+      .withRequesterId(UUID.randomUUID())
+      .withRequestDate(ClockUtil.getDateTime())
+      .fulfilToHoldShelf(UUID.randomUUID())
+      .withPosition(1)
+      .open()
+      .create();
+
+    final Item item = Item.from(itemRepresentationFromStorage)
+      .withHoldingsRecord(holdingsRecord)
+      .withInstance(instance)
+      .withLocation(Location.from(new LocationBuilder()
+        .withName("Main library")
+        .forInstitution(UUID.randomUUID())
+        .forCampus(UUID.randomUUID())
+        .forLibrary(UUID.randomUUID())
+        .create()));
+
+    loanWithRelatedRecords = Loan.from(loanRepresentationFromStorage)
+      .withItem(item)
+      .withUser(new User(new UserBuilder()
+        .withId(userId.toString())
+        .withName("Jones", "Steven")
+        .withBarcode("5694596854")
+        .create()))
+      .withLoanPolicy(LoanPolicy.from(new LoanPolicyBuilder()
+        .withName("Three weeks")
+        .rolling(Period.weeks(3))
+        .create()));
+  }
+
+  @Benchmark
+  public Loan loanFromJson() {
+    return Loan.from(loanRepresentationFromStorage);
+  }
+
+  @Benchmark
+  public Item itemFromJson() {
+    return Item.from(itemRepresentationFromStorage);
+  }
+
+  @Benchmark
+  public Request requestFromJson() {
+    return Request.from(requestRepresentationFromStorage);
+  }
+
+  @Benchmark
+  public JsonObject extendedLoanRepresentation() {
+    return loanRepresentation.extendedLoan(loanWithRelatedRecords);
+  }
+}
@@ -0,0 +1,109 @@
+package org.folio.circulation.benchmarks;
+
+import static org.folio.circulation.support.json.JsonRecordsReader.readRecords;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.results.Result;
+import org.folio.circulation.support.utils.ClockUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import api.support.builders.ItemBuilder;
+import api.support.builders.LoanBuilder;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Decoding pages of records fetched from storage, either by converting the body
+ * to a string and parsing the whole of it before mapping the records (as used to
+ * happen for every page) or by mapping each record as it is read from the body.
+ *
+ * Run with the GC profiler (-prof gc) to compare the allocation rate
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageResponseDecodingBenchmarks {
+  @Param({ "100", "1000" })
+  public int numberOfRecords;
+
+  private Buffer loansPage;
+  private Buffer itemsPage;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    loansPage = page("loans", IntStream.range(0, numberOfRecords)
+      .mapToObj(index -> new LoanBuilder()
+        .withId(UUID.randomUUID())
+        .withItemId(UUID.randomUUID())
+        .withUserId(UUID.randomUUID())
+        .withLoanDate(ClockUtil.getDateTime())
+        .withDueDate(ClockUtil.getDateTime().plusWeeks(3))
+        .withCheckoutServicePointId(UUID.randomUUID())
+        .open()
+        .create()));
+
+    itemsPage = page("items", IntStream.range(0, numberOfRecords)
+      .mapToObj(index -> new ItemBuilder()
+        .withId(UUID.randomUUID())
+        .forHolding(UUID.randomUUID())
+        .withBarcode(String.valueOf(100000 + index))
+        .withMaterialType(UUID.randomUUID())
+        .withPermanentLoanType(UUID.randomUUID())
+        .create()));
+  }
+
+  @Benchmark
+  public Result<MultipleRecords<Loan>> loansFromWholeBody() {
+    return MultipleRecords.from(new JsonObject(loansPage.toString()), Loan::from, "loans");
+  }
+
+  @Benchmark
+  public MultipleRecords<Loan> loansAsTheyAreRead() {
+    return readRecords(loansPage, "loans", Loan::from);
+  }
+
+  @Benchmark
+  public Result<MultipleRecords<Item>> itemsFromWholeBody() {
+    return MultipleRecords.from(new JsonObject(itemsPage.toString()), Item::from, "items");
+  }
+
+  @Benchmark
+  public MultipleRecords<Item> itemsAsTheyAreRead() {
+    return readRecords(itemsPage, "items", Item::from);
+  }
+
+  private static Buffer page(String recordsPropertyName,
+    Stream<JsonObject> records) {
+
+    final JsonArray array = new JsonArray();
+
+    records.forEach(array::add);
+
+    return new JsonObject()
+      .put(recordsPropertyName, array)
+      .put("totalRecords", array.size())
+      .toBuffer();
+  }
+}
@@ -0,0 +1,76 @@
+package org.folio.circulation.domain;
+
+import static org.folio.circulation.domain.OpeningDay.createOpeningDay;
+import static org.joda.time.DateTimeZone.UTC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.results.Result;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculating how long a loan has been overdue for during opening hours,
+ * in the same package as the calculator as the calculation is not public
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverduePeriodCalculatorBenchmarks {
+  private static final LocalDate DUE_DATE = new LocalDate(2021, 1, 4);
+
+  private final OverduePeriodCalculatorService calculator =
+    new OverduePeriodCalculatorService(null, null);
+
+  @Param({ "7", "90" })
+  public int daysOverdue;
+
+  private List<OpeningDay> openingDays;
+  private LocalDateTime dueDate;
+  private LocalDateTime returnDate;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    openingDays = new ArrayList<>();
+
+    for (int day = 0; day <= daysOverdue; day++) {
+      final LocalDate date = DUE_DATE.plusDays(day);
+
+      if (day % 7 == 6) {
+        openingDays.add(createOpeningDay(new ArrayList<>(), date, false, false, UTC));
+      }
+      else {
+        openingDays.add(createOpeningDay(List.of(
+          new OpeningHour(new LocalTime(9, 0), new LocalTime(12, 0)),
+          new OpeningHour(new LocalTime(13, 0), new LocalTime(17, 0))),
+          date, false, true, UTC));
+      }
+    }
+
+    dueDate = DUE_DATE.toLocalDateTime(new LocalTime(10, 30));
+    returnDate = DUE_DATE.plusDays(daysOverdue).toLocalDateTime(new LocalTime(15, 0));
+  }
+
+  @Benchmark
+  public Result<Integer> openingDaysDurationMinutes() {
+    return calculator.getOpeningDaysDurationMinutes(openingDays, dueDate, returnDate);
+  }
+}
@@ -0,0 +1,73 @@
+package org.folio.circulation.domain.policy.library;
+
+import static org.joda.time.DateTimeZone.UTC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finding the interval containing a time in a timetable where the library
+ * is open from 9 until 5 each day, in the same package as the timetable
+ * as it is not public
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LibraryTimetableBenchmarks {
+  private static final DateTime FIRST_DAY = new DateTime(2021, 1, 4, 0, 0, UTC);
+
+  @Param({ "3", "31" })
+  public int days;
+
+  private LibraryTimetable timetable;
+  private DateTime duringFirstDay;
+  private DateTime duringLastDay;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final List<LibraryInterval> intervals = new ArrayList<>();
+
+    for (int day = 0; day < days; day++) {
+      final DateTime midnight = FIRST_DAY.plusDays(day);
+      final DateTime opens = midnight.withHourOfDay(9);
+      final DateTime closes = midnight.withHourOfDay(17);
+
+      intervals.add(new LibraryInterval(new Interval(midnight, opens), false));
+      intervals.add(new LibraryInterval(new Interval(opens, closes), true));
+      intervals.add(new LibraryInterval(new Interval(closes, midnight.plusDays(1)), false));
+    }
+
+    timetable = new LibraryTimetable(intervals);
+    duringFirstDay = FIRST_DAY.withHourOfDay(12);
+    duringLastDay = FIRST_DAY.plusDays(days - 1).withHourOfDay(20);
+  }
+
+  @Benchmark
+  public LibraryInterval findIntervalDuringFirstDay() {
+    return timetable.findInterval(duringFirstDay);
+  }
+
+  @Benchmark
+  public LibraryInterval findIntervalDuringLastDay() {
+    return timetable.findInterval(duringLastDay);
+  }
+}
@@ -4,6 +4,7 @@ import static java.lang.Integer.parseInt;
 import static org.apache.commons.lang.StringUtils.isBlank;
 
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,6 +18,276 @@ public class Environment {
     return getVariable("SCHEDULED_ANONYMIZATION_NUMBER_OF_LOANS_TO_CHECK", 50000);
   }
 
+  public static int getCirculationRulesRefreshIntervalInMilliseconds() {
+    return getVariable("CIRCULATION_RULES_REFRESH_INTERVAL_MILLISECONDS", 4000);
+  }
+
+  public static int getCirculationRuleMatchCacheSize() {
+    return getVariable("CIRCULATION_RULE_MATCH_CACHE_SIZE", 10000);
+  }
+
+  /**
+   * @return maximum number of records cached for each type of reference data,
+   * also how many of each are loaded into the location hierarchy
+   */
+  public static int getReferenceDataCacheSize() {
+    return getVariable("REFERENCE_DATA_CACHE_SIZE", 10000);
+  }
+
+  /**
+   * @return how long locations, service points, material types and loan types
+   * are cached, 0 disables the cache
+   */
+  public static int getReferenceDataCacheTimeToLiveInSeconds() {
+    return getVariable("REFERENCE_DATA_CACHE_TTL_SECONDS", 300);
+  }
+
+  /**
+   * @return how often the locations, libraries, campuses and institutions changed
+   * since the location hierarchy was loaded are fetched
+   */
+  public static int getLocationHierarchyRefreshIntervalInSeconds() {
+    return getVariable("LOCATION_HIERARCHY_REFRESH_INTERVAL_SECONDS", 60);
+  }
+
+  public static int getRequestQueueCacheSize() {
+    return getVariable("REQUEST_QUEUE_CACHE_SIZE", 10000);
+  }
+
+  /**
+   * @return how long the open requests for an item are cached, 0 (the default) disables
+   * the cache, requests changed elsewhere (e.g. by another instance of the module) are
+   * not seen until then
+   */
+  public static int getRequestQueueCacheTimeToLiveInSeconds() {
+    return getVariable("REQUEST_QUEUE_CACHE_TTL_SECONDS", 0);
+  }
+
+  /**
+   * @return "drools" (the default) or "decision-table"
+   */
+  public static String getCirculationRulesEngine() {
+    return getVariable("CIRCULATION_RULES_ENGINE", "drools");
+  }
+
+  /**
+   * @return number of instances of the circulation verticle, requests are
+   * spread across them so that more than one is handled at a time
+   */
+  public static int getCirculationVerticleInstances() {
+    return getVariable("CIRCULATION_VERTICLE_INSTANCES", 1);
+  }
+
+  /**
+   * @return maximum number of connections to Okapi, split evenly between
+   * the instances of the circulation verticle
+   */
+  public static int getHttpClientMaximumPoolSize() {
+    return getVariable("HTTP_CLIENT_MAX_POOL_SIZE", 100);
+  }
+
+  /**
+   * @return how long requests to other modules wait for a response, unless there is
+   * a timeout for that client (see {@link #getHttpClientTimeouts()})
+   */
+  public static int getHttpClientTimeoutInSeconds() {
+    return getVariable("HTTP_CLIENT_TIMEOUT_SECONDS", 20);
+  }
+
+  /**
+   * @return timeouts for particular clients, as a comma separated list of path prefixes
+   * and seconds, e.g. "/calendar=5,/pubsub=10"
+   */
+  public static String getHttpClientTimeouts() {
+    return getVariable("HTTP_CLIENT_TIMEOUTS", "");
+  }
+
+  /**
+   * @return largest number of check ins in one batch check in request
+   */
+  public static int getCheckInBatchMaximumSize() {
+    return getVariable("CHECK_IN_BATCH_MAXIMUM_SIZE", 500);
+  }
+
+  /**
+   * @return number of check ins from one batch check in request processed at the same
+   * time
+   */
+  public static int getCheckInBatchConcurrency() {
+    return Math.max(getVariable("CHECK_IN_BATCH_CONCURRENCY", 10), 1);
+  }
+
+  /**
+   * @return number of requests made to each other module (by the first segment of the
+   * path, e.g. /item-storage) for each tenant at the same time, unless there is a limit
+   * for that client (see {@link #getHttpClientConcurrencyLimits()}), 0 (the default)
+   * means there is no limit
+   */
+  public static int getHttpClientConcurrencyLimit() {
+    return getVariable("HTTP_CLIENT_CONCURRENCY_LIMIT", 0);
+  }
+
+  /**
+   * @return limits for particular clients, as a comma separated list of path prefixes
+   * and number of requests, e.g. "/item-storage=20,/loan-storage=10"
+   */
+  public static String getHttpClientConcurrencyLimits() {
+    return getVariable("HTTP_CLIENT_CONCURRENCY_LIMITS", "");
+  }
+
+  /**
+   * @return number of requests that can wait for a limited client, further requests
+   * fail straight away
+   */
+  public static int getHttpClientQueueSize() {
+    return getVariable("HTTP_CLIENT_QUEUE_SIZE", 1000);
+  }
+
+  /**
+   * @return responses taking longer than this reduce the number of requests made to
+   * that client at the same time, as do errors and timeouts
+   */
+  public static int getHttpClientLatencyThresholdInMilliseconds() {
+    return getVariable("HTTP_CLIENT_LATENCY_THRESHOLD_MILLISECONDS", 2000);
+  }
+
+  /**
+   * @return number of threads for CPU heavy work, e.g. compiling circulation rules
+   */
+  public static int getCpuBoundPoolSize() {
+    return getVariable("CPU_BOUND_POOL_SIZE", Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @return number of CPU heavy tasks that can wait for a thread, further tasks
+   * are rejected (e.g. a request needing the circulation rules compiled fails)
+   */
+  public static int getCpuBoundQueueSize() {
+    return getVariable("CPU_BOUND_QUEUE_SIZE", 100);
+  }
+
+  /**
+   * @return whether each trigger of the scheduled notice processing endpoints
+   * processes all of the notices that are due, rather than only the first page
+   */
+  public static boolean isScheduledNoticesContinuousProcessingEnabled() {
+    return Boolean.parseBoolean(getVariable("SCHEDULED_NOTICES_CONTINUOUS_PROCESSING", "false"));
+  }
+
+  /**
+   * @return number of pages of scheduled notices fetched but not yet processed,
+   * for each tenant and kind of notice, when processing continuously
+   */
+  public static int getScheduledNoticesPagesInFlight() {
+    return getVariable("SCHEDULED_NOTICES_PAGES_IN_FLIGHT", 2);
+  }
+
+  /**
+   * @return how long a run processing all of the due scheduled notices can go without
+   * fetching a page before it is treated as finished, so that a run which never
+   * completes does not stop the tenant's notices from being processed
+   */
+  public static int getScheduledNoticesRunTimeoutInSeconds() {
+    return getVariable("SCHEDULED_NOTICES_RUN_TIMEOUT_SECONDS", 900);
+  }
+
+  /**
+   * @return whether events are handed to an outbox which publishes them to pub-sub
+   * in the background, rather than each request waiting for its events to be published
+   */
+  public static boolean isPubSubOutboxEnabled() {
+    return Boolean.parseBoolean(getVariable("PUBSUB_OUTBOX_ENABLED", "false"));
+  }
+
+  /**
+   * @return number of events held in memory by the outbox, further events are
+   * written to the spill file until it has caught up
+   */
+  public static int getPubSubOutboxCapacity() {
+    return getVariable("PUBSUB_OUTBOX_CAPACITY", 10000);
+  }
+
+  /**
+   * @return number of events the outbox publishes at the same time
+   */
+  public static int getPubSubOutboxBatchSize() {
+    return getVariable("PUBSUB_OUTBOX_BATCH_SIZE", 50);
+  }
+
+  /**
+   * @return number of times the outbox tries to publish an event before giving up
+   */
+  public static int getPubSubOutboxMaximumAttempts() {
+    return getVariable("PUBSUB_OUTBOX_MAX_ATTEMPTS", 5);
+  }
+
+  /**
+   * @return delay before the first retry of an event, doubled for each retry after that
+   */
+  public static int getPubSubOutboxRetryDelayInMilliseconds() {
+    return getVariable("PUBSUB_OUTBOX_RETRY_DELAY_MILLISECONDS", 1000);
+  }
+
+  /**
+   * @return file that events, along with the token they are published with, are written
+   * to when the outbox is full
+   */
+  public static String getPubSubOutboxSpillFile() {
+    return getVariable("PUBSUB_OUTBOX_SPILL_FILE",
+      Path.of(System.getProperty("java.io.tmpdir"), "mod-circulation-event-outbox.jsonl")
+        .toString());
+  }
+
+  /**
+   * @return whether check in responds once the item, loan and requests have been updated,
+   * logging the check in, saving the session record, sending notices and publishing events
+   * afterwards, rather than waiting for them before responding
+   */
+  public static boolean isCheckInSideEffectsDeferred() {
+    return Boolean.parseBoolean(getVariable("CHECK_IN_DEFER_SIDE_EFFECTS", "false"));
+  }
+
+  /**
+   * @return number of times a deferred side effect is tried before giving up
+   */
+  public static int getPostCommitTaskMaximumAttempts() {
+    return getVariable("POST_COMMIT_TASK_MAX_ATTEMPTS", 5);
+  }
+
+  /**
+   * @return delay before the first retry of a deferred side effect, doubled for each
+   * retry after that
+   */
+  public static int getPostCommitTaskRetryDelayInMilliseconds() {
+    return getVariable("POST_COMMIT_TASK_RETRY_DELAY_MILLISECONDS", 1000);
+  }
+
+  /**
+   * @return file that deferred side effects are written to before being run, it holds
+   * the Okapi token of each check in and patron and loan details, so it is only readable
+   * by the user running the module and should be set to a path which is kept when the
+   * module restarts rather than the default in the temporary directory
+   */
+  public static String getPostCommitTaskJournalFile() {
+    return getVariable("POST_COMMIT_TASK_JOURNAL_FILE",
+      Path.of(System.getProperty("java.io.tmpdir"), "mod-circulation-post-commit-tasks.jsonl")
+        .toString());
+  }
+
+  /**
+   * @return number of loans (and their items) written to storage at the same time when
+   * a page of loans is updated, e.g. when aging items to lost
+   */
+  public static int getStorageWriteConcurrency() {
+    return getVariable("STORAGE_WRITE_CONCURRENCY", 10);
+  }
+
+  private static String getVariable(String key, String defaultValue) {
+    final var variable = System.getenv().get(key);
+
+    return isBlank(variable) ? defaultValue : variable.trim();
+  }
+
   private static int getVariable(String key, int defaultValue) {
     final var variable = System.getenv().get(key);
 
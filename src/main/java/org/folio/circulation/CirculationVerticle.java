@@ -2,8 +2,12 @@ package org.folio.circulation;
 
 import java.lang.invoke.MethodHandles;
 
+import org.folio.Environment;
+import org.folio.circulation.resources.AdminMetricsResource;
 import org.folio.circulation.resources.ChangeDueDateResource;
+import org.folio.circulation.resources.CheckInByBarcodeBatchResource;
 import org.folio.circulation.resources.CheckInByBarcodeResource;
+import org.folio.circulation.resources.CheckInPostCommitTasks;
 import org.folio.circulation.resources.CheckOutByBarcodeResource;
 import org.folio.circulation.resources.CirculationRulesResource;
 import org.folio.circulation.resources.ClaimItemReturnedResource;
@@ -33,8 +37,10 @@ import org.folio.circulation.resources.TenantActivationResource;
 import org.folio.circulation.resources.agedtolost.ScheduledAgeToLostFeeChargingResource;
 import org.folio.circulation.resources.agedtolost.ScheduledAgeToLostResource;
 import org.folio.circulation.resources.handlers.LoanRelatedFeeFineClosedHandlerResource;
+import org.folio.circulation.resources.renewal.RenewBatchResource;
 import org.folio.circulation.resources.renewal.RenewByBarcodeResource;
 import org.folio.circulation.resources.renewal.RenewByIdResource;
+import org.folio.circulation.services.EventOutbox;
 import org.folio.circulation.support.logging.Logging;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -59,17 +65,30 @@ public class CirculationVerticle extends AbstractVerticle {
 
     Router router = Router.router(vertx);
 
-    // bump up the connection pool size from the default value of 5
-    HttpClient client = vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(100));
+    // bump up the connection pool size from the default value of 5,
+    // each instance has its own client with a share of the connections
+    HttpClient client = vertx.createHttpClient(new HttpClientOptions()
+      .setMaxPoolSize(config().getInteger("httpClientMaxPoolSize", 100)));
 
     this.server = vertx.createHttpServer();
 
-    new TenantActivationResource().register(router);
+    if (Environment.isPubSubOutboxEnabled()) {
+      EventOutbox.getInstance().start(context);
+    }
+
+    if (Environment.isCheckInSideEffectsDeferred()) {
+      CheckInPostCommitTasks.resume(client, context);
+    }
+
+    new TenantActivationResource(client).register(router);
+    new AdminMetricsResource(client).register(router);
 
     new CheckOutByBarcodeResource("/circulation/check-out-by-barcode", client).register(router);
     new CheckInByBarcodeResource(client).register(router);
+    new CheckInByBarcodeBatchResource(client).register(router);
 
     new RenewByBarcodeResource(client).register(router);
+    new RenewBatchResource(client).register(router);
     new RenewByIdResource(client).register(router);
 
     new LoanCollectionResource(client).register(router);
@@ -1,6 +1,7 @@
 package org.folio.circulation;
 
 import io.vertx.core.json.JsonObject;
+import org.folio.Environment;
 import org.folio.circulation.support.VertxAssistant;
 import org.folio.circulation.support.logging.Logging;
 
@@ -54,23 +55,39 @@ public class Launcher {
   }
 
   public CompletableFuture<Void> start(Integer port) {
+    return start(port, Environment.getCirculationVerticleInstances());
+  }
+
+  public CompletableFuture<Void> start(Integer port, int instances) {
 
     if(port == null) {
       throw new IllegalArgumentException("port should not be null");
     }
 
+    if(instances < 1) {
+      throw new IllegalArgumentException("instances should be at least 1");
+    }
+
     vertxAssistant.start();
 
     log.info("Server Starting");
 
     JsonObject config = new JsonObject();
     write(config, "port", port);
+    write(config, "httpClientMaxPoolSize", httpClientMaxPoolSizePerInstance(instances));
 
+    // Each instance shares the same port, vert.x spreads the connections between them
     CompletableFuture<String> deployed =
-      vertxAssistant.deployVerticle(CirculationVerticle.class, config);
+      vertxAssistant.deployVerticle(CirculationVerticle.class, config, instances);
 
     return deployed
       .thenApply(result -> moduleDeploymentId = result)
       .thenAccept(result -> log.info("Server Started"));
   }
+
+  private static int httpClientMaxPoolSizePerInstance(int instances) {
+    final int maximumPoolSize = Environment.getHttpClientMaximumPoolSize();
+
+    return Math.max(1, (maximumPoolSize + instances - 1) / instances);
+  }
 }
@@ -2,26 +2,47 @@ package org.folio.circulation;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.infrastructure.storage.inventory.ItemRepository.noLocationMaterialTypeAndLoanTypeInstance;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allResultsOf;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
 import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.Loan;
 import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
 import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
 import org.folio.circulation.resources.context.RenewalContext;
 import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 
 public class StoreLoanAndItem {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
   private final LoanRepository loanRepository;
   private final ItemRepository itemRepository;
+  private final int writeConcurrency;
 
   public StoreLoanAndItem(LoanRepository loanRepository, ItemRepository itemRepository) {
+    this(loanRepository, itemRepository, Environment.getStorageWriteConcurrency());
+  }
+
+  StoreLoanAndItem(LoanRepository loanRepository, ItemRepository itemRepository,
+    int writeConcurrency) {
+
     this.loanRepository = loanRepository;
     this.itemRepository = itemRepository;
+    this.writeConcurrency = Math.max(writeConcurrency, 1);
   }
 
   public StoreLoanAndItem(Clients clients) {
@@ -41,7 +62,62 @@ public class StoreLoanAndItem {
     }
 
     return updateItem(loan.getItem())
-      .thenComposeAsync(response -> loanRepository.updateLoan(loan));
+      .thenComposeAsync(response -> loanRepository.updateLoan(loan), onCurrentContext());
+  }
+
+  /**
+   * Updates the loans (and their items) with no more than STORAGE_WRITE_CONCURRENCY of
+   * them being written at the same time. Storage has no batch endpoints for loans or
+   * items, so each is written separately. A loan which cannot be updated (including when
+   * its update throws or completes exceptionally) is logged and left out of the result,
+   * rather than failing the others
+   *
+   * @return the loans that have been updated
+   */
+  public CompletableFuture<Result<List<Loan>>> updateLoansAndItemsInStorage(
+    Collection<Loan> loans) {
+
+    final List<Loan> loansToUpdate = new ArrayList<>(loans);
+
+    return allResultsOf(loansToUpdate, this::updateLoanAndItemIndependently, writeConcurrency)
+      .thenApply(results -> succeeded(updatedLoans(loansToUpdate, results)));
+  }
+
+  /**
+   * Updates a loan (and its item), turning an exception (thrown or completing the
+   * update) into a failed result, so that it only fails this loan
+   */
+  private CompletableFuture<Result<Loan>> updateLoanAndItemIndependently(Loan loan) {
+    try {
+      return updateLoanAndItemInStorage(loan)
+        .exceptionally(CommonFailures::failedDueToServerError);
+    }
+    catch (Exception e) {
+      return completedFuture(failedDueToServerError(e));
+    }
+  }
+
+  private static List<Loan> updatedLoans(List<Loan> loans, List<Result<Loan>> results) {
+    final List<Loan> updatedLoans = new ArrayList<>(loans.size());
+
+    for (int index = 0; index < loans.size(); index++) {
+      final Result<Loan> result = results.get(index);
+
+      if (result.succeeded()) {
+        updatedLoans.add(result.value());
+      }
+      else {
+        log.error("Failed to update loan {} and its item: {}",
+          loans.get(index).getId(), result.cause());
+      }
+    }
+
+    if (updatedLoans.size() < loans.size()) {
+      log.warn("{} out of {} loans could not be updated",
+        loans.size() - updatedLoans.size(), loans.size());
+    }
+
+    return updatedLoans;
   }
 
   private CompletableFuture<Result<Item>> updateItem(Item item) {
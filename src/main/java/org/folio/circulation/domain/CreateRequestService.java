@@ -11,6 +11,7 @@ import static org.folio.circulation.resources.handlers.error.CirculationErrorTyp
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.REQUESTING_DISALLOWED;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.REQUESTING_DISALLOWED_BY_POLICY;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_INACTIVE;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.MappingFunctions.when;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -68,19 +69,19 @@ public class CreateRequestService {
       .thenApply(r -> errorHandler.handleValidationResult(r, automatedBlocksValidator.getErrorType(), result))
       .thenCompose(r -> r.after(manualBlocksValidator::validate))
       .thenApply(r -> errorHandler.handleValidationResult(r, manualBlocksValidator.getErrorType(), result))
-      .thenComposeAsync(r -> r.after(when(this::shouldCheckItem, this::checkItem, this::doNothing)))
-      .thenComposeAsync(r -> r.after(when(this::shouldCheckPolicy, this::checkPolicy, this::doNothing)))
+      .thenComposeAsync(r -> r.after(when(this::shouldCheckItem, this::checkItem, this::doNothing)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(when(this::shouldCheckPolicy, this::checkPolicy, this::doNothing)), onCurrentContext())
       .thenComposeAsync(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
-        RequestAndRelatedRecords::withTimeZone))
+        RequestAndRelatedRecords::withTimeZone), onCurrentContext())
       .thenApply(r -> r.next(errorHandler::failWithValidationErrors))
-      .thenComposeAsync(r -> r.after(updateUponRequest.updateItem::onRequestCreateOrUpdate))
-      .thenComposeAsync(r -> r.after(updateUponRequest.updateLoan::onRequestCreateOrUpdate))
-      .thenComposeAsync(r -> r.after(requestRepository::create))
-      .thenComposeAsync(r -> r.after(updateUponRequest.updateRequestQueue::onCreate))
+      .thenComposeAsync(r -> r.after(updateUponRequest.updateItem::onRequestCreateOrUpdate), onCurrentContext())
+      .thenComposeAsync(r -> r.after(updateUponRequest.updateLoan::onRequestCreateOrUpdate), onCurrentContext())
+      .thenComposeAsync(r -> r.after(requestRepository::create), onCurrentContext())
+      .thenComposeAsync(r -> r.after(updateUponRequest.updateRequestQueue::onCreate), onCurrentContext())
       .thenApplyAsync(r -> {
         r.after(t -> eventPublisher.publishLogRecord(mapToRequestLogEventJson(t.getRequest()), getLogEventType()));
         return r.next(requestNoticeSender::sendNoticeOnRequestCreated);
-      });
+      }, onCurrentContext());
   }
 
   private CompletableFuture<Result<RequestAndRelatedRecords>> checkItem(
@@ -1,11 +1,12 @@
 package org.folio.circulation.domain;
 
 import java.util.List;
+import java.util.Set;
 
 public class HoldShelfClearanceRequestContext {
 
   private List<String> awaitingPickupItemIds;
-  private List<String> awaitingPickupRequestItemIds;
+  private Set<String> awaitingPickupRequestItemIds;
   private List<Request> expiredOrCancelledRequests;
 
   public HoldShelfClearanceRequestContext withAwaitingPickupItemIds(List<String> itemIds) {
@@ -13,7 +14,7 @@ public class HoldShelfClearanceRequestContext {
     return this;
   }
 
-  public HoldShelfClearanceRequestContext withAwaitingPickupRequestItemIds(List<String> requestItemIds) {
+  public HoldShelfClearanceRequestContext withAwaitingPickupRequestItemIds(Set<String> requestItemIds) {
     this.awaitingPickupRequestItemIds = requestItemIds;
     return this;
   }
@@ -27,7 +28,7 @@ public class HoldShelfClearanceRequestContext {
     return awaitingPickupItemIds;
   }
 
-  public List<String> getAwaitingPickupRequestItemIds() {
+  public Set<String> getAwaitingPickupRequestItemIds() {
     return awaitingPickupRequestItemIds;
   }
 
@@ -1,5 +1,7 @@
 package org.folio.circulation.domain;
 
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
@@ -26,7 +28,7 @@ public class MoveRequestProcessAdapter {
       RequestAndRelatedRecords requestAndRelatedRecords) {
     return itemRepository.fetchById(requestAndRelatedRecords.getDestinationItemId())
       .thenApply(r -> r.map(requestAndRelatedRecords::withItem))
-      .thenComposeAsync(r -> r.after(this::findLoanForItem));
+      .thenComposeAsync(r -> r.after(this::findLoanForItem), onCurrentContext());
   }
 
   private CompletableFuture<Result<RequestAndRelatedRecords>> findLoanForItem(
@@ -45,7 +47,7 @@ public class MoveRequestProcessAdapter {
       RequestAndRelatedRecords requestAndRelatedRecords) {
     return itemRepository.fetchById(requestAndRelatedRecords.getSourceItemId())
       .thenApply(result -> result.map(requestAndRelatedRecords::withItem))
-      .thenComposeAsync(r -> r.after(this::findLoanForItem));
+      .thenComposeAsync(r -> r.after(this::findLoanForItem), onCurrentContext());
   }
 
   CompletableFuture<Result<RequestAndRelatedRecords>> getSourceRequestQueue(
@@ -2,6 +2,7 @@ package org.folio.circulation.domain;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.domain.representations.logs.LogEventType.REQUEST_MOVED;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.of;
 
 import java.util.concurrent.CompletableFuture;
@@ -46,24 +47,24 @@ public class MoveRequestService {
   public CompletableFuture<Result<RequestAndRelatedRecords>> moveRequest(
       RequestAndRelatedRecords requestAndRelatedRecords, Request originalRequest) {
     return completedFuture(of(() -> requestAndRelatedRecords))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findDestinationItem))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getDestinationRequestQueue))
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findDestinationItem), onCurrentContext())
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getDestinationRequestQueue), onCurrentContext())
       .thenApply(r -> r.map(this::pagedRequestIfDestinationItemAvailable))
       .thenCompose(r -> r.after(this::validateUpdateRequest))
       .thenComposeAsync(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
-        RequestAndRelatedRecords::withTimeZone))
+        RequestAndRelatedRecords::withTimeZone), onCurrentContext())
       .thenCompose(r -> r.after(updateUponRequest.updateRequestQueue::onMovedTo))
-      .thenComposeAsync(r -> r.after(this::updateRelatedObjects))
+      .thenComposeAsync(r -> r.after(this::updateRelatedObjects), onCurrentContext())
       .thenCompose(r -> r.after(requestRepository::update))
       .thenApply(r -> r.next(requestNoticeSender::sendNoticeOnRequestMoved))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findSourceItem))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getSourceRequestQueue))
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findSourceItem), onCurrentContext())
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getSourceRequestQueue), onCurrentContext())
       .thenCompose(r -> r.after(updateUponRequest.updateRequestQueue::onMovedFrom))
-      .thenComposeAsync(r -> r.after(this::updateRelatedObjects))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findDestinationItem))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getDestinationRequestQueue))
-      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getRequest))
-      .thenApplyAsync(r -> r.map(u -> eventPublisher.publishLogRecordAsync(u, originalRequest, REQUEST_MOVED)));
+      .thenComposeAsync(r -> r.after(this::updateRelatedObjects), onCurrentContext())
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::findDestinationItem), onCurrentContext())
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getDestinationRequestQueue), onCurrentContext())
+      .thenComposeAsync(r -> r.after(moveRequestProcessAdapter::getRequest), onCurrentContext())
+      .thenApplyAsync(r -> r.map(u -> eventPublisher.publishLogRecordAsync(u, originalRequest, REQUEST_MOVED)), onCurrentContext());
   }
 
   private RequestAndRelatedRecords pagedRequestIfDestinationItemAvailable(
@@ -87,7 +88,7 @@ public class MoveRequestService {
       .next(RequestServiceUtility::refuseWhenRequestTypeIsNotAllowedForItem)
       .next(RequestServiceUtility::refuseWhenUserHasAlreadyRequestedItem)
       .after(requestLoanValidator::refuseWhenUserHasAlreadyBeenLoanedItem)
-      .thenComposeAsync(r -> r.after(requestPolicyRepository::lookupRequestPolicy))
+      .thenComposeAsync(r -> r.after(requestPolicyRepository::lookupRequestPolicy), onCurrentContext())
       .thenApply(r -> r.next(RequestServiceUtility::refuseWhenRequestCannotBeFulfilled));
   }
 
@@ -95,6 +96,6 @@ public class MoveRequestService {
       RequestAndRelatedRecords requestAndRelatedRecords) {
 
     return updateUponRequest.updateItem.onRequestCreateOrUpdate(requestAndRelatedRecords)
-      .thenComposeAsync(r -> r.after(updateUponRequest.updateLoan::onRequestCreateOrUpdate));
+      .thenComposeAsync(r -> r.after(updateUponRequest.updateLoan::onRequestCreateOrUpdate), onCurrentContext());
   }
 }
@@ -3,6 +3,7 @@ package org.folio.circulation.domain;
 import static java.util.function.Function.identity;
 import static java.util.stream.Stream.concat;
 import static org.folio.circulation.support.json.JsonObjectArrayPropertyFetcher.mapToList;
+import static org.folio.circulation.support.json.JsonRecordsReader.readRecords;
 import static org.folio.circulation.support.results.Result.succeeded;
 
 import java.util.ArrayList;
@@ -43,7 +44,8 @@ public class MultipleRecords<T> {
     String recordsPropertyName) {
 
     return new ResponseInterpreter<MultipleRecords<T>>()
-      .flatMapOn(200, r -> from(r.getJson(), mapper, recordsPropertyName))
+      .flatMapOn(200, r -> succeeded(readRecords(r.getBodyAsBuffer(),
+        recordsPropertyName, mapper)))
       .apply(response);
   }
 
@@ -2,6 +2,7 @@ package org.folio.circulation.domain;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.apache.commons.lang3.ObjectUtils.allNotNull;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.utils.DateTimeUtil.isAfterMillis;
@@ -40,7 +41,7 @@ public class OverduePeriodCalculatorService {
 
     if (preconditionsAreMet(loan, systemTime, shouldCountClosedPeriods)) {
       return completedFuture(loan)
-        .thenComposeAsync(loanPolicyRepository::lookupPolicy)
+        .thenComposeAsync(loanPolicyRepository::lookupPolicy, onCurrentContext())
         .thenApply(r -> r.map(loan::withLoanPolicy))
         .thenCompose(r -> r.after(l -> getOverdueMinutes(l, systemTime, shouldCountClosedPeriods)
             .thenApply(flatMapResult(om -> adjustOverdueWithGracePeriod(l, om)))));
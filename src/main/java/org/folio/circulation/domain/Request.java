@@ -10,6 +10,7 @@ import static org.folio.circulation.domain.RequestStatus.CLOSED_UNFILLED;
 import static org.folio.circulation.domain.RequestStatus.OPEN_AWAITING_PICKUP;
 import static org.folio.circulation.domain.RequestStatus.OPEN_IN_TRANSIT;
 import static org.folio.circulation.domain.RequestStatus.OPEN_NOT_YET_FILLED;
+import static org.folio.circulation.domain.representations.RequestProperties.AWAITING_PICKUP_REQUEST_CLOSED_DATE;
 import static org.folio.circulation.domain.representations.RequestProperties.CANCELLATION_ADDITIONAL_INFORMATION;
 import static org.folio.circulation.domain.representations.RequestProperties.CANCELLATION_REASON_ID;
 import static org.folio.circulation.domain.representations.RequestProperties.CANCELLATION_REASON_NAME;
@@ -320,6 +321,10 @@ public class Request implements ItemRelatedRecord, UserRelatedRecord {
     return getDateTimeProperty(requestRepresentation, REQUEST_EXPIRATION_DATE);
   }
 
+  public DateTime getAwaitingPickupRequestClosedDate() {
+    return getDateTimeProperty(requestRepresentation, AWAITING_PICKUP_REQUEST_CLOSED_DATE);
+  }
+
   public String getCancellationAdditionalInformation() {
     return getProperty(requestRepresentation, CANCELLATION_ADDITIONAL_INFORMATION);
   }
@@ -1,6 +1,7 @@
 package org.folio.circulation.domain;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.results.Result.succeeded;
 
@@ -47,7 +48,7 @@ public class UpdateLoan {
 
     if (request.getRequestType() == RequestType.RECALL && loan != null) {
       return loanRepository.getById(loan.getId())
-          .thenComposeAsync(r -> r.after(l -> recall(l, requestAndRelatedRecords, request)));
+          .thenComposeAsync(r -> r.after(l -> recall(l, requestAndRelatedRecords, request)), onCurrentContext());
     } else {
       return completedFuture(succeeded(requestAndRelatedRecords));
     }
@@ -77,8 +78,8 @@ public class UpdateLoan {
           .after(loanPolicyRepository::lookupLoanPolicy)
           .thenApply(r -> r.next(this::recall))
           .thenApply(r -> r.next(recallResult -> updateLoanAction(recallResult, request)))
-          .thenComposeAsync(r -> r.after(closedLibraryStrategyService::applyClosedLibraryDueDateManagement))
-          .thenComposeAsync(r -> r.after(loanRepository::updateLoan))
+          .thenComposeAsync(r -> r.after(closedLibraryStrategyService::applyClosedLibraryDueDateManagement), onCurrentContext())
+          .thenComposeAsync(r -> r.after(loanRepository::updateLoan), onCurrentContext())
           .thenApply(r -> r.next(scheduledNoticeService::rescheduleDueDateNotices))
           .thenApply(r -> r.map(v -> requestAndRelatedRecords.withRequest(request.withLoan(v.getLoan()))));
     }
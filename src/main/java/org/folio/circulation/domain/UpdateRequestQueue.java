@@ -2,6 +2,7 @@ package org.folio.circulation.domain;
 
 import static java.util.Comparator.comparingInt;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 
@@ -107,7 +108,7 @@ public class UpdateRequestQueue {
     requestQueue.update(originalRequest, updatedRequest);
 
     return updatedReq
-      .thenComposeAsync(r -> r.after(requestRepository::update))
+      .thenComposeAsync(r -> r.after(requestRepository::update), onCurrentContext())
       .thenApply(result -> result.map(v -> requestQueue));
   }
 
@@ -124,7 +125,7 @@ public class UpdateRequestQueue {
               request.withPickupServicePoint(servicePoint),
               tenantTimeZone
             ))
-        );
+        , onCurrentContext());
     } else {
       return completedFuture(succeeded(request));
     }
@@ -193,7 +194,7 @@ public class UpdateRequestQueue {
 
       return requestRepository.update(firstRequest)
         .thenComposeAsync(r -> r.after(v ->
-          requestQueueRepository.updateRequestsWithChangedPositions(requestQueue)));
+          requestQueueRepository.updateRequestsWithChangedPositions(requestQueue)), onCurrentContext());
 
     } else {
       return completedFuture(succeeded(requestQueue));
@@ -258,7 +259,7 @@ public class UpdateRequestQueue {
         return requestQueue;
       }))
       .thenComposeAsync(r -> r.after(
-        requestQueueRepository::updateRequestsWithChangedPositions))
+        requestQueueRepository::updateRequestsWithChangedPositions), onCurrentContext())
       .thenApply(r -> r.map(requestQueue -> request));
   }
 
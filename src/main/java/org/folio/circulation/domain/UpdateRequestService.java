@@ -2,6 +2,7 @@ package org.folio.circulation.domain;
 
 import static org.folio.circulation.domain.representations.logs.LogEventType.REQUEST_UPDATED;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.succeeded;
 
 import java.util.Objects;
@@ -42,10 +43,10 @@ public class UpdateRequestService {
       .thenApply(originalRequest -> refuseWhenPatronCommentChanged(updated, originalRequest))
       .thenCompose(original -> original.after(o -> closedRequestValidator.refuseWhenAlreadyClosed(requestAndRelatedRecords)
         .thenApply(r -> r.next(this::removeRequestQueuePositionWhenCancelled))
-        .thenComposeAsync(r -> r.after(requestRepository::update))
-        .thenComposeAsync(r -> r.after(updateRequestQueue::onCancellation))
-        .thenComposeAsync(r -> r.after(updateItem::onRequestCreateOrUpdate))
-        .thenApplyAsync(r -> r.map(p -> eventPublisher.publishLogRecordAsync(p, o, REQUEST_UPDATED)))
+        .thenComposeAsync(r -> r.after(requestRepository::update), onCurrentContext())
+        .thenComposeAsync(r -> r.after(updateRequestQueue::onCancellation), onCurrentContext())
+        .thenComposeAsync(r -> r.after(updateItem::onRequestCreateOrUpdate), onCurrentContext())
+        .thenApplyAsync(r -> r.map(p -> eventPublisher.publishLogRecordAsync(p, o, REQUEST_UPDATED)), onCurrentContext())
         .thenApply(r -> r.next(requestNoticeSender::sendNoticeOnRequestUpdated))));
   }
 
@@ -1,29 +1,99 @@
 package org.folio.circulation.domain.anonymization.service;
 
 import static org.folio.circulation.support.http.client.PageLimit.limit;
+import static org.folio.circulation.support.results.ResultBinding.mapResult;
+import static org.folio.circulation.support.utils.ClockUtil.getDateTime;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.domain.anonymization.config.ClosingType;
+import org.folio.circulation.domain.anonymization.config.LoanAnonymizationConfiguration;
 import org.folio.circulation.infrastructure.storage.feesandfines.AccountRepository;
 import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
 import org.folio.circulation.support.results.Result;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
 
+/**
+ * Finds the next loans to check for anonymization for a tenant, carrying on after the
+ * loans checked by the previous run (see {@link ScheduledAnonymizationCursors})
+ */
 public class LoansForTenantFinder extends DefaultLoansFinder {
+  // Adding months to a date at the end of a month can be up to 3 days short
+  private static final int MONTH_END_MARGIN_IN_DAYS = 3;
+
   private final LoanRepository loanRepository;
   private final int numberOfLoansToCheck;
+  private final String tenantId;
+  private final LoanAnonymizationConfiguration config;
+  private final ScheduledAnonymizationCursors cursors;
 
   public LoansForTenantFinder(LoanRepository loanRepository,
-    AccountRepository accountRepository, int numberOfLoansToCheck) {
+    AccountRepository accountRepository, int numberOfLoansToCheck, String tenantId,
+    LoanAnonymizationConfiguration config) {
+
+    this(loanRepository, accountRepository, numberOfLoansToCheck, tenantId, config,
+      ScheduledAnonymizationCursors.getInstance());
+  }
+
+  LoansForTenantFinder(LoanRepository loanRepository,
+    AccountRepository accountRepository, int numberOfLoansToCheck, String tenantId,
+    LoanAnonymizationConfiguration config, ScheduledAnonymizationCursors cursors) {
 
     super(accountRepository);
     this.loanRepository = loanRepository;
     this.numberOfLoansToCheck = numberOfLoansToCheck;
+    this.tenantId = tenantId;
+    this.config = config;
+    this.cursors = cursors;
   }
 
   public CompletableFuture<Result<Collection<Loan>>> findLoansToAnonymize() {
-    return loanRepository.findLoansToAnonymize(limit(numberOfLoansToCheck))
+    return loanRepository.findLoansToAnonymize(returnedBefore(),
+        cursors.getLastLoanChecked(tenantId), limit(numberOfLoansToCheck))
+      .thenApply(mapResult(this::recordLoansChecked))
       .thenCompose(this::fetchAdditionalLoanInfo);
   }
+
+  private MultipleRecords<Loan> recordLoansChecked(MultipleRecords<Loan> loans) {
+    final Loan lastLoan = loans.getRecords().stream()
+      .reduce((first, second) -> second)
+      .orElse(null);
+
+    if (lastLoan == null || loans.size() < numberOfLoansToCheck) {
+      cursors.restart(tenantId);
+    }
+    else {
+      cursors.loanChecked(tenantId, lastLoan);
+    }
+
+    return loans;
+  }
+
+  /**
+   * Loans returned after this date cannot be anonymized yet, when every loan has to
+   * wait for the same period after it is returned (e.g. fees and fines are not
+   * treated differently)
+   *
+   * @return null when loans returned at any time could be anonymized
+   */
+  private DateTime returnedBefore() {
+    if (config == null
+      || config.treatLoansWithFeesAndFinesDifferently()
+      || config.getLoanClosingType() != ClosingType.INTERVAL
+      || !config.getLoanClosePeriod().isValid()) {
+
+      return null;
+    }
+
+    final Period period = config.getLoanClosePeriod().timePeriod();
+    final DateTime returnedBefore = getDateTime().minus(period);
+
+    return period.getMonths() > 0
+      ? returnedBefore.plusDays(MONTH_END_MARGIN_IN_DAYS)
+      : returnedBefore;
+  }
 }
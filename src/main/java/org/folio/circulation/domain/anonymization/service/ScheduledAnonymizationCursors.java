@@ -0,0 +1,43 @@
+package org.folio.circulation.domain.anonymization.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.folio.circulation.domain.Loan;
+
+/**
+ * The last loan checked by the scheduled anonymization of each tenant, so that each run
+ * carries on from where the previous run finished, rather than checking the same loans
+ * which could not be anonymized again. Once the end of the loans has been reached,
+ * the next run starts from the beginning, to find loans which can now be anonymized.
+ *
+ * Held in memory and shared by all of the verticle instances, after a restart the
+ * anonymization starts from the beginning again.
+ */
+public final class ScheduledAnonymizationCursors {
+  private static final ScheduledAnonymizationCursors instance =
+    new ScheduledAnonymizationCursors();
+
+  private final Map<String, Loan> lastLoansChecked = new ConcurrentHashMap<>();
+
+  public static ScheduledAnonymizationCursors getInstance() {
+    return instance;
+  }
+
+  ScheduledAnonymizationCursors() { }
+
+  /**
+   * @return last loan checked for the tenant, or null when starting from the beginning
+   */
+  public Loan getLastLoanChecked(String tenantId) {
+    return lastLoansChecked.get(tenantId);
+  }
+
+  public void loanChecked(String tenantId, Loan loan) {
+    lastLoansChecked.put(tenantId, loan);
+  }
+
+  public void restart(String tenantId) {
+    lastLoansChecked.remove(tenantId);
+  }
+}
@@ -2,12 +2,15 @@ package org.folio.circulation.domain.notice.schedule;
 
 import static java.util.Collections.singletonList;
 import static org.folio.circulation.domain.notice.TemplateContextUtil.createFeeFineNoticeContext;
+import static org.folio.circulation.domain.notice.schedule.ScheduledNoticeBatch.distinctIds;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 import static org.folio.circulation.support.utils.DateTimeUtil.isBeforeMillis;
 
 import java.util.concurrent.CompletableFuture;
 
+import org.folio.circulation.domain.Account;
+import org.folio.circulation.domain.FeeFineAction;
 import org.folio.circulation.domain.Loan;
 import org.folio.circulation.domain.representations.logs.NoticeLogContext;
 import org.folio.circulation.domain.representations.logs.NoticeLogContextItem;
@@ -39,17 +42,74 @@ public class FeeFineScheduledNoticeHandler extends ScheduledNoticeHandler {
       .thenCompose(r -> r.after(this::fetchPatronNoticePolicyId));
   }
 
+  @Override
+  protected CompletableFuture<Result<ScheduledNoticeBatch>> prefetchData(
+    ScheduledNoticeBatch batch) {
+
+    return super.prefetchData(batch)
+      .thenCompose(r -> r.after(this::prefetchActions))
+      .thenCompose(r -> r.after(this::prefetchAccounts))
+      .thenCompose(r -> r.after(this::prefetchLoans));
+  }
+
+  private CompletableFuture<Result<ScheduledNoticeBatch>> prefetchActions(
+    ScheduledNoticeBatch batch) {
+
+    return actionRepository.findByIds(batch.getIds(ScheduledNotice::getFeeFineActionId))
+      .thenApply(mapResult(actions -> {
+        batch.addActions(actions.getRecords());
+        return batch;
+      }));
+  }
+
+  private CompletableFuture<Result<ScheduledNoticeBatch>> prefetchAccounts(
+    ScheduledNoticeBatch batch) {
+
+    return accountRepository.findByIds(distinctIds(batch.getActions(), FeeFineAction::getAccountId))
+      .thenApply(mapResult(accounts -> {
+        batch.addAccounts(accounts.getRecords());
+        return batch;
+      }));
+  }
+
+  private CompletableFuture<Result<ScheduledNoticeBatch>> prefetchLoans(
+    ScheduledNoticeBatch batch) {
+
+    return loanRepository.findByIdsWithItemsAndUsers(
+        distinctIds(batch.getAccounts(), Account::getLoanId))
+      .thenApply(mapResult(loans -> {
+        batch.addLoans(loans.getRecords());
+        return batch;
+      }));
+  }
+
   private CompletableFuture<Result<ScheduledNoticeContext>> fetchAction(
     ScheduledNoticeContext context) {
 
-    return actionRepository.findById(context.getNotice().getFeeFineActionId())
+    final String actionId = context.getNotice().getFeeFineActionId();
+    final FeeFineAction prefetchedAction = context.getBatch().getAction(actionId);
+
+    if (prefetchedAction != null) {
+      return ofAsync(() -> context.withAction(prefetchedAction));
+    }
+
+    return actionRepository.findById(actionId)
       .thenApply(mapResult(context::withAction));
   }
 
   private CompletableFuture<Result<ScheduledNoticeContext>> fetchAccount(
     ScheduledNoticeContext context) {
 
-    return accountRepository.findAccountForAction(context.getAction())
+    final FeeFineAction action = context.getAction();
+    final Account prefetchedAccount = action == null
+      ? null
+      : context.getBatch().getAccount(action.getAccountId());
+
+    if (prefetchedAccount != null) {
+      return ofAsync(() -> context.withAccount(prefetchedAccount));
+    }
+
+    return accountRepository.findAccountForAction(action)
       .thenApply(mapResult(context::withAccount));
   }
 
@@ -60,8 +120,18 @@ public class FeeFineScheduledNoticeHandler extends ScheduledNoticeHandler {
       return ofAsync(() -> context);
     }
 
+    final Account account = context.getAccount();
+    final Loan prefetchedLoan = account == null
+      ? null
+      : context.getBatch().getLoan(account.getLoanId());
+
+    if (prefetchedLoan != null) {
+      return ofAsync(() -> context.withLoan(prefetchedLoan))
+        .thenApply(this::failWhenLoanIsIncomplete);
+    }
+
     // this also fetches user and item
-    return loanRepository.findLoanForAccount(context.getAccount())
+    return loanRepository.findLoanForAccount(account)
       .thenApply(mapResult(context::withLoan))
       .thenApply(this::failWhenLoanIsIncomplete);
   }
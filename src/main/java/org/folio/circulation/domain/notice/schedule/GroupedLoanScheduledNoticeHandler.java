@@ -45,14 +45,18 @@ public class GroupedLoanScheduledNoticeHandler {
     log.info("Start processing {} group(s) of scheduled notices ({} notices total)",
       noticeGroups.size(), noticeGroups.stream().mapToInt(List::size).sum());
 
-    return allOf(noticeGroups, this::handleNoticeGroup);
+    final List<ScheduledNotice> allNotices = noticeGroups.stream()
+      .flatMap(List::stream)
+      .collect(toList());
+
+    return loanScheduledNoticeHandler.prefetch(allNotices)
+      .thenCompose(batch -> allOf(noticeGroups, notices -> handleNoticeGroup(notices, batch)));
   }
 
   private CompletableFuture<Result<List<ScheduledNotice>>> handleNoticeGroup(
-    List<ScheduledNotice> notices) {
+    List<ScheduledNotice> notices, ScheduledNoticeBatch batch) {
 
-    //TODO: user and template are the same for all notices in the group, so they can be fetched only once
-    return allResultsOf(notices, this::fetchData)
+    return allResultsOf(notices, notice -> fetchData(notice, batch))
       .thenCompose(this::discardDataFetchingFailures)
       .thenCompose(r -> r.after(this::sendGroupedNotice))
       .thenCompose(r -> r.after(this::updateGroupedNotice))
@@ -60,8 +64,10 @@ public class GroupedLoanScheduledNoticeHandler {
       .exceptionally(t -> handleException(t, notices));
   }
 
-  private CompletableFuture<Result<ScheduledNoticeContext>> fetchData(ScheduledNotice notice) {
-    return ofAsync(() -> new ScheduledNoticeContext(notice))
+  private CompletableFuture<Result<ScheduledNoticeContext>> fetchData(ScheduledNotice notice,
+    ScheduledNoticeBatch batch) {
+
+    return ofAsync(() -> new ScheduledNoticeContext(notice, batch))
       .thenCompose(r -> r.after(loanScheduledNoticeHandler::fetchData))
       .thenCompose(r -> handleDataCollectionFailure(r, notice))
       .thenApply(r -> r.mapFailure(f -> loanScheduledNoticeHandler.publishErrorEvent(f, notice)));
@@ -56,6 +56,25 @@ public class LoanScheduledNoticeHandler extends ScheduledNoticeHandler {
       .thenCompose(r -> r.after(this::fetchPatronNoticePolicyId));
   }
 
+  @Override
+  protected CompletableFuture<Result<ScheduledNoticeBatch>> prefetchData(
+    ScheduledNoticeBatch batch) {
+
+    return super.prefetchData(batch)
+      .thenCompose(r -> r.after(this::prefetchLoans));
+  }
+
+  private CompletableFuture<Result<ScheduledNoticeBatch>> prefetchLoans(
+    ScheduledNoticeBatch batch) {
+
+    return loanRepository.findByIdsWithItemsAndUsers(batch.getIds(ScheduledNotice::getLoanId))
+      .thenCompose(r -> r.after(loanPolicyRepository::findLoanPoliciesForLoans))
+      .thenApply(mapResult(loans -> {
+        batch.addLoans(loans.getRecords());
+        return batch;
+      }));
+  }
+
   private Result<ScheduledNoticeContext> failWhenNoticeHasNoLoanId(ScheduledNoticeContext context) {
     String loanId = context.getNotice().getLoanId();
 
@@ -113,8 +132,16 @@ public class LoanScheduledNoticeHandler extends ScheduledNoticeHandler {
   private CompletableFuture<Result<ScheduledNoticeContext>> fetchLoan(
     ScheduledNoticeContext context) {
 
+    final String loanId = context.getNotice().getLoanId();
+    final Loan prefetchedLoan = context.getBatch().getLoan(loanId);
+
+    if (prefetchedLoan != null) {
+      return ofAsync(() -> context.withLoan(prefetchedLoan))
+        .thenApply(this::failWhenLoanIsIncomplete);
+    }
+
     // Also fetches user, item and item-related records (holdings, instance, location, etc.)
-    return loanRepository.getById(context.getNotice().getLoanId())
+    return loanRepository.getById(loanId)
       .thenCompose(r -> r.after(loanPolicyRepository::findPolicyForLoan))
       .thenApply(mapResult(context::withLoan))
       .thenApply(this::failWhenLoanIsIncomplete);
@@ -16,7 +16,6 @@ import org.folio.circulation.domain.notice.NoticeTiming;
 import org.folio.circulation.domain.representations.logs.NoticeLogContext;
 import org.folio.circulation.domain.representations.logs.NoticeLogContextItem;
 import org.folio.circulation.infrastructure.storage.requests.RequestRepository;
-import org.folio.circulation.rules.CirculationRuleMatch;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.utils.ClockUtil;
@@ -42,10 +41,36 @@ public class RequestScheduledNoticeHandler extends ScheduledNoticeHandler {
       .thenCompose(r -> r.after(this::fetchPatronNoticePolicyId));
   }
 
+  @Override
+  protected CompletableFuture<Result<ScheduledNoticeBatch>> prefetchData(
+    ScheduledNoticeBatch batch) {
+
+    return super.prefetchData(batch)
+      .thenCompose(r -> r.after(this::prefetchRequests));
+  }
+
+  private CompletableFuture<Result<ScheduledNoticeBatch>> prefetchRequests(
+    ScheduledNoticeBatch batch) {
+
+    return requestRepository.findByIds(batch.getIds(ScheduledNotice::getRequestId))
+      .thenApply(mapResult(requests -> {
+        batch.addRequests(requests.getRecords());
+        return batch;
+      }));
+  }
+
   private CompletableFuture<Result<ScheduledNoticeContext>> fetchRequest(
     ScheduledNoticeContext context) {
 
-    return requestRepository.getById(context.getNotice().getRequestId())
+    final String requestId = context.getNotice().getRequestId();
+    final Request prefetchedRequest = context.getBatch().getRequest(requestId);
+
+    if (prefetchedRequest != null) {
+      return ofAsync(() -> context.withRequest(prefetchedRequest))
+        .thenApply(this::failWhenRequestIsIncomplete);
+    }
+
+    return requestRepository.getById(requestId)
       .thenApply(mapResult(context::withRequest))
       .thenApply(this::failWhenRequestIsIncomplete);
   }
@@ -58,9 +83,9 @@ public class RequestScheduledNoticeHandler extends ScheduledNoticeHandler {
       return ofAsync(() -> context);
     }
 
-    return patronNoticePolicyRepository.lookupPolicyId(context.getRequest())
-      .thenApply(mapResult(CirculationRuleMatch::getPolicyId))
-      .thenApply(mapResult(context::withPatronNoticePolicyId));
+    final Request request = context.getRequest();
+
+    return lookupPatronNoticePolicyId(context, request.getItem(), request.getRequester());
   }
 
   @Override
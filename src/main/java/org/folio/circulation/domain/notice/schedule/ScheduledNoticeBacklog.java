@@ -0,0 +1,195 @@
+package org.folio.circulation.domain.notice.schedule;
+
+import static org.folio.circulation.support.utils.ClockUtil.getDateTime;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonObject;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * The scheduled notices waiting to be sent for each tenant and kind of notice, as seen
+ * by the latest page of notices processed, and whether all of them are being processed.
+ *
+ * Shared by all of the verticle instances, safe to use from any thread.
+ *
+ * A run which has not fetched a page for longer than the run timeout is treated
+ * as abandoned (e.g. a response that never arrived), so that it does not stop
+ * the notices for that tenant from ever being processed again.
+ */
+public final class ScheduledNoticeBacklog {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final ScheduledNoticeBacklog instance = new ScheduledNoticeBacklog(
+    Environment.getScheduledNoticesRunTimeoutInSeconds() * 1000L);
+
+  private final Map<Key, Status> statuses = new ConcurrentHashMap<>();
+  private final long runTimeoutInMilliseconds;
+
+  public static ScheduledNoticeBacklog getInstance() {
+    return instance;
+  }
+
+  ScheduledNoticeBacklog(long runTimeoutInMilliseconds) {
+    this.runTimeoutInMilliseconds = runTimeoutInMilliseconds;
+  }
+
+  /**
+   * Start processing all of the notices that are due, unless they are already being
+   * processed for the tenant, in which case the notices will be picked up by that run
+   *
+   * @return the run when it has started, {@link #runFinished} must be called after
+   */
+  public Optional<Run> startRun(String tenantId, String noticeType) {
+    final Status status = status(tenantId, noticeType);
+    final long now = getDateTime().getMillis();
+    final Run run = new Run(tenantId, noticeType, now);
+
+    while (true) {
+      final Run current = status.currentRun.get();
+
+      if (current != null && !hasTimedOut(status, now)) {
+        return Optional.empty();
+      }
+
+      if (status.currentRun.compareAndSet(current, run)) {
+        if (current != null) {
+          log.warn("Scheduled notices run for {} for tenant {} started at {} has made no " +
+            "progress for more than {} ms, treating it as finished", noticeType, tenantId,
+            current.getStartedAt(), runTimeoutInMilliseconds);
+
+          status.abandonedRuns.incrementAndGet();
+        }
+
+        status.lastProgressAt.set(now);
+
+        return Optional.of(run);
+      }
+    }
+  }
+
+  public void runFinished(Run run, Result<Void> result) {
+    final Status status = status(run.getTenantId(), run.getNoticeType());
+
+    status.runs.incrementAndGet();
+
+    if (result.failed()) {
+      status.failedRuns.incrementAndGet();
+    }
+
+    if (!status.currentRun.compareAndSet(run, null)) {
+      log.warn("Scheduled notices run for {} for tenant {} started at {} finished " +
+        "after being treated as abandoned", run.getNoticeType(), run.getTenantId(),
+        run.getStartedAt());
+    }
+  }
+
+  /**
+   * Records a page of notices about to be processed, the total records of the page
+   * are those which are due and the oldest notice on the page is how late they are
+   */
+  public void pageFetched(String tenantId, String noticeType,
+    MultipleRecords<ScheduledNotice> notices) {
+
+    final Status status = status(tenantId, noticeType);
+    final long now = getDateTime().getMillis();
+
+    final long oldestNextRunTime = notices.getRecords().stream()
+      .mapToLong(notice -> notice.getNextRunTime().getMillis())
+      .min()
+      .orElse(now);
+
+    final Integer totalRecords = notices.getTotalRecords();
+
+    status.backlog.set(totalRecords == null
+      ? notices.size()
+      : Math.max(totalRecords, notices.size()));
+    status.lagInMilliseconds.set(Math.max(now - oldestNextRunTime, 0));
+    status.pages.incrementAndGet();
+    status.notices.addAndGet(notices.size());
+    status.lastProgressAt.set(now);
+  }
+
+  public boolean isRunning(String tenantId, String noticeType) {
+    return status(tenantId, noticeType).currentRun.get() != null;
+  }
+
+  public JsonObject getStatistics() {
+    final JsonObject statistics = new JsonObject();
+
+    statuses.forEach((key, status) -> {
+      if (!statistics.containsKey(key.getTenantId())) {
+        statistics.put(key.getTenantId(), new JsonObject());
+      }
+
+      statistics.getJsonObject(key.getTenantId()).put(key.getNoticeType(), status.toJson());
+    });
+
+    return statistics;
+  }
+
+  private Status status(String tenantId, String noticeType) {
+    return statuses.computeIfAbsent(new Key(tenantId, noticeType), key -> new Status());
+  }
+
+  private boolean hasTimedOut(Status status, long now) {
+    return now - status.lastProgressAt.get() > runTimeoutInMilliseconds;
+  }
+
+  @Value
+  private static class Key {
+    String tenantId;
+    String noticeType;
+  }
+
+  /**
+   * A run of processing all of the due notices for a tenant and kind of notice,
+   * compared by identity, so that a run that finishes after being treated as abandoned
+   * does not finish the run which replaced it
+   */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Run {
+    private final String tenantId;
+    private final String noticeType;
+    private final long startedAt;
+  }
+
+  private static class Status {
+    private final AtomicReference<Run> currentRun = new AtomicReference<>();
+    private final AtomicLong lastProgressAt = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong abandonedRuns = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagInMilliseconds = new AtomicLong();
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong notices = new AtomicLong();
+
+    private JsonObject toJson() {
+      return new JsonObject()
+        .put("running", currentRun.get() != null)
+        .put("runs", runs.get())
+        .put("failedRuns", failedRuns.get())
+        .put("abandonedRuns", abandonedRuns.get())
+        .put("backlog", backlog.get())
+        .put("lagInMilliseconds", lagInMilliseconds.get())
+        .put("pages", pages.get())
+        .put("notices", notices.get());
+    }
+  }
+}
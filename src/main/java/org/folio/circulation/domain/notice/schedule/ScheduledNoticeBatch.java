@@ -0,0 +1,150 @@
+package org.folio.circulation.domain.notice.schedule;
+
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.circulation.domain.Account;
+import org.folio.circulation.domain.FeeFineAction;
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.Request;
+import org.folio.circulation.domain.User;
+import org.folio.circulation.rules.CirculationRuleMatch;
+import org.folio.circulation.support.RecordNotFoundFailure;
+import org.folio.circulation.support.results.Result;
+
+import lombok.Value;
+
+/**
+ * Records needed by a batch of scheduled notices, fetched once for all of the notices
+ *
+ * Anything that was not fetched for the batch (because fetching it failed, or because
+ * the record does not exist) is fetched for each notice as before, so a notice
+ * still fails in the same way when one of its records cannot be found
+ */
+class ScheduledNoticeBatch {
+  private final Collection<ScheduledNotice> notices;
+  private final Map<String, Loan> loans = new ConcurrentHashMap<>();
+  private final Map<String, Request> requests = new ConcurrentHashMap<>();
+  private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+  private final Map<String, FeeFineAction> actions = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Result<Void>>> templateChecks =
+    new ConcurrentHashMap<>();
+  private final Map<PolicyCriteria, CompletableFuture<Result<CirculationRuleMatch>>>
+    policyMatches = new ConcurrentHashMap<>();
+
+  ScheduledNoticeBatch(Collection<ScheduledNotice> notices) {
+    this.notices = notices;
+  }
+
+  Set<String> getIds(Function<ScheduledNotice, String> toId) {
+    return distinctIds(notices, toId);
+  }
+
+  static <T> Set<String> distinctIds(Collection<T> records, Function<T, String> toId) {
+    return records.stream()
+      .filter(Objects::nonNull)
+      .map(toId)
+      .filter(StringUtils::isNotBlank)
+      .collect(Collectors.toSet());
+  }
+
+  void addLoans(Collection<Loan> fetchedLoans) {
+    fetchedLoans.forEach(loan -> loans.put(loan.getId(), loan));
+  }
+
+  Loan getLoan(String id) {
+    return id == null ? null : loans.get(id);
+  }
+
+  void addRequests(Collection<Request> fetchedRequests) {
+    fetchedRequests.forEach(request -> requests.put(request.getId(), request));
+  }
+
+  Request getRequest(String id) {
+    return id == null ? null : requests.get(id);
+  }
+
+  void addAccounts(Collection<Account> fetchedAccounts) {
+    fetchedAccounts.forEach(account -> accounts.put(account.getId(), account));
+  }
+
+  Account getAccount(String id) {
+    return id == null ? null : accounts.get(id);
+  }
+
+  Collection<Account> getAccounts() {
+    return accounts.values();
+  }
+
+  void addActions(Collection<FeeFineAction> fetchedActions) {
+    fetchedActions.forEach(action -> actions.put(action.getId(), action));
+  }
+
+  FeeFineAction getAction(String id) {
+    return id == null ? null : actions.get(id);
+  }
+
+  Collection<FeeFineAction> getActions() {
+    return actions.values();
+  }
+
+  /**
+   * Records the outcome of fetching the templates of the batch, the templates which
+   * were not found do not exist, there is no need to fetch them again for each notice
+   */
+  void templatesFetched(Collection<String> requestedIds, Collection<String> foundIds) {
+    requestedIds.forEach(id -> templateChecks.put(id, CompletableFuture.completedFuture(
+      foundIds.contains(id)
+        ? succeeded(null)
+        : failed(new RecordNotFoundFailure("template", id)))));
+  }
+
+  /**
+   * Checks that a template exists, at most once for each template in the batch
+   */
+  CompletableFuture<Result<Void>> checkTemplate(String templateId,
+    Function<String, CompletableFuture<Result<Void>>> check) {
+
+    return templateChecks.computeIfAbsent(templateId, check);
+  }
+
+  /**
+   * Looks up the policy applied to the item and user, at most once for each
+   * combination of the criteria used by the circulation rules
+   */
+  CompletableFuture<Result<CirculationRuleMatch>> lookupPolicyId(Item item, User user,
+    BiFunction<Item, User, CompletableFuture<Result<CirculationRuleMatch>>> lookup) {
+
+    if (item == null || item.isNotFound() || item.doesNotHaveHolding() || user == null) {
+      return lookup.apply(item, user);
+    }
+
+    return policyMatches.computeIfAbsent(PolicyCriteria.of(item, user),
+      criteria -> lookup.apply(item, user));
+  }
+
+  @Value
+  private static class PolicyCriteria {
+    String materialTypeId;
+    String loanTypeId;
+    String locationId;
+    String patronGroupId;
+
+    private static PolicyCriteria of(Item item, User user) {
+      return new PolicyCriteria(item.getMaterialTypeId(), item.determineLoanTypeForItem(),
+        item.getLocationId(), user.getPatronGroupId());
+    }
+  }
+}
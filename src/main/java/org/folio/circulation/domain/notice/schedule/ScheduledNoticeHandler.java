@@ -1,7 +1,9 @@
 package org.folio.circulation.domain.notice.schedule;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
+import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.ResponseMapping.forwardOnFailure;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.ofAsync;
@@ -11,12 +13,15 @@ import static org.folio.circulation.support.results.ResultBinding.mapResult;
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.Account;
 import org.folio.circulation.domain.FeeFineAction;
+import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.Loan;
 import org.folio.circulation.domain.Request;
+import org.folio.circulation.domain.User;
 
 import org.folio.circulation.domain.notice.ScheduledPatronNoticeService;
 import org.folio.circulation.domain.representations.logs.NoticeLogContext;
@@ -31,6 +36,7 @@ import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.HttpFailure;
 import org.folio.circulation.support.RecordNotFoundFailure;
 import org.folio.circulation.support.http.client.ResponseInterpreter;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -65,13 +71,50 @@ public abstract class ScheduledNoticeHandler {
   public CompletableFuture<Result<List<ScheduledNotice>>> handleNotices(
     Collection<ScheduledNotice> scheduledNotices) {
 
-    return allOf(scheduledNotices, this::handleNotice);
+    return prefetch(scheduledNotices)
+      .thenCompose(batch -> allOf(scheduledNotices, notice -> handleNotice(notice, batch)));
   }
 
-  private CompletableFuture<Result<ScheduledNotice>> handleNotice(ScheduledNotice notice) {
+  /**
+   * Fetches the records needed by the notices once for all of them, rather than for
+   * each notice. When this fails, the records are fetched for each notice instead
+   */
+  CompletableFuture<ScheduledNoticeBatch> prefetch(Collection<ScheduledNotice> notices) {
+    final ScheduledNoticeBatch batch = new ScheduledNoticeBatch(notices);
+
+    return prefetchData(batch)
+      .exceptionally(CommonFailures::failedDueToServerError)
+      .thenApply(r -> {
+        if (r.failed()) {
+          log.warn("Failed to fetch records for a batch of {} scheduled notices, " +
+            "they will be fetched for each notice: {}", notices.size(), r.cause());
+        }
+
+        return batch;
+      });
+  }
+
+  protected CompletableFuture<Result<ScheduledNoticeBatch>> prefetchData(
+    ScheduledNoticeBatch batch) {
+
+    final Set<String> templateIds = batch.getIds(
+      notice -> notice.getConfiguration().getTemplateId());
+
+    return findWithMultipleCqlIndexValues(templateNoticesClient, "templates", identity())
+      .findByIds(templateIds)
+      .thenApply(mapResult(templates -> templates.toKeys(json -> json.getString("id"))))
+      .thenApply(mapResult(foundIds -> {
+        batch.templatesFetched(templateIds, foundIds);
+        return batch;
+      }));
+  }
+
+  private CompletableFuture<Result<ScheduledNotice>> handleNotice(ScheduledNotice notice,
+    ScheduledNoticeBatch batch) {
+
     log.info("Start processing scheduled notice {}", notice);
 
-    return ofAsync(() -> new ScheduledNoticeContext(notice))
+    return ofAsync(() -> new ScheduledNoticeContext(notice, batch))
       .thenCompose(r -> r.after(this::fetchNoticeData))
       .thenCompose(r -> r.after(this::sendNotice))
       .thenCompose(r -> r.after(this::updateNotice))
@@ -175,7 +218,16 @@ public abstract class ScheduledNoticeHandler {
       return ofAsync(() -> context);
     }
 
-    return patronNoticePolicyRepository.lookupPolicyId(context.getLoan())
+    final Loan loan = context.getLoan();
+
+    return lookupPatronNoticePolicyId(context, loan.getItem(), loan.getUser());
+  }
+
+  protected CompletableFuture<Result<ScheduledNoticeContext>> lookupPatronNoticePolicyId(
+    ScheduledNoticeContext context, Item item, User user) {
+
+    return context.getBatch()
+      .lookupPolicyId(item, user, patronNoticePolicyRepository::lookupPolicyId)
       .thenApply(mapResult(CirculationRuleMatch::getPolicyId))
       .thenApply(mapResult(context::withPatronNoticePolicyId));
   }
@@ -185,9 +237,14 @@ public abstract class ScheduledNoticeHandler {
 
     String templateId = context.getNotice().getConfiguration().getTemplateId();
 
-    var responseInterpreter = new ResponseInterpreter<ScheduledNoticeContext>()
+    return context.getBatch().checkTemplate(templateId, this::checkTemplateExists)
+      .thenApply(mapResult(v -> context));
+  }
+
+  private CompletableFuture<Result<Void>> checkTemplateExists(String templateId) {
+    var responseInterpreter = new ResponseInterpreter<Void>()
       .on(404, failed(new RecordNotFoundFailure("template", templateId)))
-      .on(200, succeeded(context))
+      .on(200, succeeded(null))
       .otherwise(forwardOnFailure());
 
     // no need to save the template, we only fetch it in order to fail if it does not exist
@@ -226,6 +283,7 @@ public abstract class ScheduledNoticeHandler {
   @AllArgsConstructor
   protected static class ScheduledNoticeContext {
     private final ScheduledNotice notice;
+    private final ScheduledNoticeBatch batch;
     private Account account;
     private FeeFineAction action;
     private Loan loan;
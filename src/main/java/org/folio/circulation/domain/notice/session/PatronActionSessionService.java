@@ -4,6 +4,9 @@ import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.groupingBy;
 import static org.folio.circulation.domain.notice.TemplateContextUtil.createLoanNoticeContextWithoutUser;
+import static org.folio.circulation.domain.notice.session.PatronActionSessionProperties.ID;
+import static org.folio.circulation.domain.notice.session.PatronActionSessionProperties.LOAN_ID;
+import static org.folio.circulation.domain.notice.session.PatronActionSessionProperties.PATRON_ID;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
 import static org.folio.circulation.support.http.client.PageLimit.limit;
 import static org.folio.circulation.support.results.AsynchronousResultBindings.safelyInitialise;
@@ -38,6 +41,7 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.results.Result;
 
+import io.vertx.core.json.JsonObject;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -92,6 +96,35 @@ public class PatronActionSessionService {
       .thenApply(mapResult(v -> context));
   }
 
+  /**
+   * Describes the session record for a check in, with an ID chosen up front, so that
+   * saving it more than once (e.g. when retrying) only saves one record
+   *
+   * @return the description, or null when the check in has no loan
+   */
+  public JsonObject describeCheckInSessionRecord(CheckInContext context) {
+    Loan loan = context.getLoan();
+    if (loan == null) {
+      log.info("CheckInSessionRecord is not saved, context doesn't have a valid loan.");
+      return null;
+    }
+
+    return new JsonObject()
+      .put(ID, UUID.randomUUID().toString())
+      .put(PATRON_ID, loan.getUserId())
+      .put(LOAN_ID, loan.getId());
+  }
+
+  public CompletableFuture<Result<Void>> saveCheckInSessionRecord(JsonObject description) {
+    PatronSessionRecord patronSessionRecord = new PatronSessionRecord(
+      UUID.fromString(description.getString(ID)),
+      UUID.fromString(description.getString(PATRON_ID)),
+      UUID.fromString(description.getString(LOAN_ID)), PatronActionType.CHECK_IN);
+
+    return patronActionSessionRepository.createIfAbsent(patronSessionRecord)
+      .thenApply(mapResult(v -> null));
+  }
+
   public CompletableFuture<Result<Void>> endSessions(String patronId, PatronActionType actionType) {
     return safelyInitialise(() -> findSessions(patronId, actionType))
       .thenCompose(r -> r.after(this::processSessions))
@@ -0,0 +1,47 @@
+package org.folio.circulation.domain.representations;
+
+import static java.lang.String.format;
+import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.json.JsonObjectArrayPropertyFetcher.toStream;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.folio.Environment;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CheckInByBarcodeBatchRequest {
+  public static final int MAXIMUM_NUMBER_OF_CHECK_INS =
+    Environment.getCheckInBatchMaximumSize();
+  private static final String CHECK_INS = "checkIns";
+
+  /**
+   * Each check in as provided, these are validated (and may fail) individually
+   */
+  private final List<JsonObject> checkIns;
+
+  public static Result<CheckInByBarcodeBatchRequest> from(JsonObject json) {
+    if (json == null || !json.containsKey(CHECK_INS)) {
+      return failedValidation("Batch check in request must have check ins",
+        CHECK_INS, null);
+    }
+
+    final List<JsonObject> checkIns = toStream(json, CHECK_INS)
+      .collect(Collectors.toList());
+
+    if (checkIns.size() > MAXIMUM_NUMBER_OF_CHECK_INS) {
+      return failedValidation(format(
+        "Batch check in request cannot have more than %d check ins",
+        MAXIMUM_NUMBER_OF_CHECK_INS), CHECK_INS, String.valueOf(checkIns.size()));
+    }
+
+    return succeeded(new CheckInByBarcodeBatchRequest(checkIns));
+  }
+}
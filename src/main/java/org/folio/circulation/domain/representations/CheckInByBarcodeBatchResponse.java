@@ -0,0 +1,66 @@
+package org.folio.circulation.domain.representations;
+
+import static org.folio.circulation.domain.representations.FailureRepresentation.writeFailure;
+import static org.folio.circulation.support.http.server.JsonHttpResponse.ok;
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.CheckInContext;
+import org.folio.circulation.support.http.server.HttpResponse;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+public class CheckInByBarcodeBatchResponse {
+  private final List<CheckInOutcome> outcomes;
+
+  public CheckInByBarcodeBatchResponse(List<CheckInOutcome> outcomes) {
+    this.outcomes = outcomes;
+  }
+
+  public HttpResponse toHttpResponse() {
+    return ok(toJson());
+  }
+
+  private JsonObject toJson() {
+    final JsonObject json = new JsonObject();
+
+    write(json, "checkIns", new JsonArray(outcomes.stream()
+      .map(CheckInOutcome::toJson)
+      .collect(Collectors.toList())));
+
+    write(json, "totalRecords", outcomes.size());
+
+    return json;
+  }
+
+  /**
+   * The result of one check in of the batch, either the same representation
+   * as a single check in, or the errors that prevented the check in
+   */
+  @Getter
+  @AllArgsConstructor
+  public static class CheckInOutcome {
+    private final String itemBarcode;
+    private final Result<CheckInContext> result;
+
+    private JsonObject toJson() {
+      final JsonObject json = new JsonObject();
+
+      write(json, "itemBarcode", itemBarcode);
+
+      if (result.succeeded()) {
+        write(json, "checkIn", CheckInByBarcodeResponse.fromRecords(result.value()).toJson());
+      } else {
+        writeFailure(json, result.cause());
+      }
+
+      return json;
+    }
+  }
+}
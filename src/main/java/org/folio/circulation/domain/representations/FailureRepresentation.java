@@ -0,0 +1,51 @@
+package org.folio.circulation.domain.representations;
+
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+
+import java.util.stream.Collectors;
+
+import org.folio.circulation.support.BadRequestFailure;
+import org.folio.circulation.support.ForwardOnFailure;
+import org.folio.circulation.support.HttpFailure;
+import org.folio.circulation.support.RecordNotFoundFailure;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.ValidationErrorFailure;
+import org.folio.circulation.support.http.server.ValidationError;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The status and errors of a failure within a batch response, for the parts
+ * of a batch request that fail whilst the request as a whole succeeds
+ */
+public class FailureRepresentation {
+  private FailureRepresentation() { }
+
+  public static void writeFailure(JsonObject json, HttpFailure failure) {
+    if (failure instanceof ValidationErrorFailure) {
+      write(json, "status", 422);
+      write(json, "errors", new JsonArray(((ValidationErrorFailure) failure).getErrors()
+        .stream()
+        .map(ValidationError::toJson)
+        .collect(Collectors.toList())));
+    } else if (failure instanceof BadRequestFailure) {
+      writeError(json, 400, ((BadRequestFailure) failure).getReason());
+    } else if (failure instanceof RecordNotFoundFailure) {
+      writeError(json, 404, failure.toString());
+    } else if (failure instanceof ForwardOnFailure) {
+      final var response = ((ForwardOnFailure) failure).getFailureResponse();
+
+      writeError(json, response.getStatusCode(), response.getBody());
+    } else if (failure instanceof ServerErrorFailure) {
+      writeError(json, 500, ((ServerErrorFailure) failure).getReason());
+    } else {
+      writeError(json, 500, failure.toString());
+    }
+  }
+
+  private static void writeError(JsonObject json, int status, String message) {
+    write(json, "status", status);
+    write(json, "errors", new JsonArray().add(new JsonObject().put("message", message)));
+  }
+}
@@ -1,6 +1,7 @@
 package org.folio.circulation.domain.validation;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 
@@ -70,14 +71,14 @@ public class AutomatedPatronBlocksValidator {
     Predicate<AutomatedPatronBlock> actionPredicate, T mapTo) {
 
     return ofAsync(() -> userId)
-      .thenComposeAsync(r -> r.after(automatedPatronBlocksRepository::findByUserId))
-      .thenComposeAsync(r -> r.after(blocks -> getActionBlock(blocks, actionPredicate)))
+      .thenComposeAsync(r -> r.after(automatedPatronBlocksRepository::findByUserId), onCurrentContext())
+      .thenComposeAsync(r -> r.after(blocks -> getActionBlock(blocks, actionPredicate)), onCurrentContext())
       .thenComposeAsync(result -> result.failAfter(this::blocksExist,
         blockList -> actionIsBlockedForPatronErrorFunction.apply(
           blockList.stream()
             .map(AutomatedPatronBlock::getMessage)
             .collect(Collectors.toList())
-        )))
+        )), onCurrentContext())
       .thenApply(result -> result.map(v -> mapTo));
   }
 
@@ -137,27 +137,23 @@ public class CheckOutValidators {
         USER_IS_INACTIVE, result));
   }
 
+  /**
+   * Checks for manual and automated patron blocks at the same time, the errors are
+   * handled in the same order as if manual blocks were checked first
+   */
   public CompletableFuture<Result<LoanAndRelatedRecords>>
-  refuseWhenCheckOutActionIsBlockedAutomaticallyForPatron(Result<LoanAndRelatedRecords> result) {
-
-    if (errorHandler.hasAny(FAILED_TO_FETCH_USER)) {
-      return completedFuture(result);
-    }
-
-    return result.after(l -> automatedPatronBlocksValidator.validate(l)
-      .thenApply(r -> errorHandler.handleValidationResult(r, automatedPatronBlocksValidator.getErrorType(), result)));
-  }
-
-  public CompletableFuture<Result<LoanAndRelatedRecords>>
-  refuseWhenCheckOutActionIsBlockedManuallyForPatron(Result<LoanAndRelatedRecords> result) {
+  refuseWhenCheckOutActionIsBlockedForPatron(Result<LoanAndRelatedRecords> result) {
 
     if (errorHandler.hasAny(FAILED_TO_FETCH_USER)) {
       return completedFuture(result);
     }
 
     return result.after(l -> manualPatronBlocksValidator.validate(l)
-      .thenApply(r -> errorHandler.handleValidationResult(
-        r, manualPatronBlocksValidator.getErrorType(), result)));
+      .thenCombine(automatedPatronBlocksValidator.validate(l),
+        (manualBlocksResult, automatedBlocksResult) -> errorHandler.handleValidationResult(
+          manualBlocksResult, manualPatronBlocksValidator.getErrorType(), result)
+          .next(records -> errorHandler.handleValidationResult(automatedBlocksResult,
+            automatedPatronBlocksValidator.getErrorType(), result))));
   }
 
   public Result<LoanAndRelatedRecords> refuseWhenProxyUserIsInactive(
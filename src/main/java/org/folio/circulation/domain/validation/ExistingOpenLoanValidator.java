@@ -1,5 +1,6 @@
 package org.folio.circulation.domain.validation;
 
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.ofAsync;
 
 import java.util.concurrent.CompletableFuture;
@@ -28,7 +29,7 @@ public class ExistingOpenLoanValidator {
     return ofAsync(() -> loanAndRelatedRecords.getLoan().getItemId())
       .thenComposeAsync(result -> result.failAfter(loanRepository::hasOpenLoan,
         v -> existingOpenLoanErrorFunction.apply(
-          "Cannot check out item that already has an open loan")))
+          "Cannot check out item that already has an open loan")), onCurrentContext())
       .thenApply(result -> result.map(v -> loanAndRelatedRecords));
   }
 }
@@ -3,6 +3,7 @@ package org.folio.circulation.domain.validation;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.domain.representations.CheckOutByBarcodeRequest.ITEM_BARCODE;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.http.client.PageLimit.limit;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -54,7 +55,7 @@ public class ItemLimitValidator {
           String message = getErrorMessage(ruleConditions);
           return itemLimitErrorFunction.apply(String.format("Patron has reached maximum limit of %d items %s",
             itemLimit, message));
-        }))
+        }), onCurrentContext())
       .thenApply(result -> result.map(v -> records));
   }
 
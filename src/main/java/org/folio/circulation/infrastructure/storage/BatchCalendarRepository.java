@@ -0,0 +1,33 @@
+package org.folio.circulation.infrastructure.storage;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.folio.circulation.AdjacentOpeningDays;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.results.Result;
+import org.joda.time.LocalDate;
+
+/**
+ * Calendar for the processing of a single batch request.
+ *
+ * The opening days for a date and service point are only fetched once,
+ * every loan in the batch that is due on that date shares them.
+ */
+public class BatchCalendarRepository extends CalendarRepository {
+  private final Map<String, CompletableFuture<Result<AdjacentOpeningDays>>> openingDays =
+    new ConcurrentHashMap<>();
+
+  public BatchCalendarRepository(Clients clients) {
+    super(clients);
+  }
+
+  @Override
+  public CompletableFuture<Result<AdjacentOpeningDays>> lookupOpeningDays(
+    LocalDate requestedDate, String servicePointId) {
+
+    return openingDays.computeIfAbsent(servicePointId + "/" + requestedDate,
+      key -> super.lookupOpeningDays(requestedDate, servicePointId));
+  }
+}
@@ -4,6 +4,7 @@ import static java.util.function.Function.identity;
 import static org.folio.circulation.domain.OpeningDay.createClosedDay;
 import static org.folio.circulation.domain.OpeningDay.fromJsonByDefaultKey;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -61,7 +62,7 @@ public class CalendarRepository {
 
     return calendarClient.getManyWithRawQueryStringParameters(params)
       .thenCombineAsync(configurationRepository.findTimeZoneConfiguration(),
-        Result.combined(this::getOpeningDaysFromOpeningPeriods));
+        Result.combined(this::getOpeningDaysFromOpeningPeriods), onCurrentContext());
   }
 
   private Result<Collection<OpeningDay>> getOpeningDaysFromOpeningPeriods(
@@ -10,6 +10,8 @@ import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.http.client.ResponseInterpreter;
 
+import io.vertx.core.json.JsonObject;
+
 public class CheckInStorageRepository {
   private final CollectionResourceClient checkInStorageClient;
 
@@ -28,4 +30,31 @@ public class CheckInStorageRepository {
     return checkInStorageClient.post(checkInRecord.toJson())
       .thenApply(interpreter::flatMap);
   }
+
+  /**
+   * Creates the record unless one with the same ID already exists, so that creating it
+   * again (e.g. when a deferred check in side effect is retried) does not log the check
+   * in twice
+   */
+  public CompletableFuture<Result<Void>> createCheckInLogRecordIfAbsent(
+    JsonObject representation) {
+
+    final ResponseInterpreter<Boolean> existsInterpreter =
+      new ResponseInterpreter<Boolean>()
+        .on(200, Result.succeeded(true))
+        .on(404, Result.succeeded(false))
+        .otherwise(forwardOnFailure());
+
+    final ResponseInterpreter<Void> createInterpreter =
+      new ResponseInterpreter<Void>()
+        .on(201, Result.succeeded(null))
+        .otherwise(forwardOnFailure());
+
+    return checkInStorageClient.get(representation.getString("id"))
+      .thenApply(existsInterpreter::flatMap)
+      .thenCompose(r -> r.after(exists -> Boolean.TRUE.equals(exists)
+        ? CompletableFuture.completedFuture(Result.<Void>succeeded(null))
+        : checkInStorageClient.post(representation)
+          .thenApply(createInterpreter::flatMap)));
+  }
 }
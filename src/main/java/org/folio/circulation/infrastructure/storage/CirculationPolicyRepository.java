@@ -2,6 +2,7 @@ package org.folio.circulation.infrastructure.storage;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.rules.RulesExecutionParameters.forItem;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
 
 import java.lang.invoke.MethodHandles;
@@ -52,7 +53,7 @@ public abstract class CirculationPolicyRepository<T> {
 
     return lookupPolicyId(item, user)
       .thenComposeAsync(r -> r.after(ruleMatchEntity -> lookupPolicy(
-        ruleMatchEntity.getPolicyId(), ruleMatchEntity.getAppliedRuleConditions())));
+        ruleMatchEntity.getPolicyId(), ruleMatchEntity.getAppliedRuleConditions())), onCurrentContext());
   }
 
   private Result<T> mapToPolicy(JsonObject json, AppliedRuleConditions ruleConditionsEntity) {
@@ -1,6 +1,9 @@
 package org.folio.circulation.infrastructure.storage;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.SERVICE_POINT;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
@@ -23,16 +26,21 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.FetchSingleRecord;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
+import org.folio.circulation.support.cache.ReferenceDataCache;
 import org.folio.circulation.support.results.Result;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.vertx.core.json.JsonObject;
+
 public class ServicePointRepository {
   private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
+  private final String tenantId;
   private final CollectionResourceClient servicePointsStorageClient;
 
   public ServicePointRepository(Clients clients) {
+    tenantId = clients.getTenantId();
     servicePointsStorageClient = clients.servicePointsStorage();
   }
 
@@ -49,11 +57,19 @@ public class ServicePointRepository {
       return ofAsync(() -> null);
     }
 
-    return FetchSingleRecord.<ServicePoint>forRecord("service point")
-        .using(servicePointsStorageClient)
-        .mapTo(ServicePoint::new)
-        .whenNotFound(succeeded(null))
-        .fetch(id);
+    return ReferenceDataCache.getInstance().get(tenantId, SERVICE_POINT, id,
+      this::fetchServicePointById)
+      .thenApply(r -> r.map(representation -> representation == null
+        ? null
+        : new ServicePoint(representation)));
+  }
+
+  private CompletableFuture<Result<JsonObject>> fetchServicePointById(String id) {
+    return FetchSingleRecord.<JsonObject>forRecord("service point")
+      .using(servicePointsStorageClient)
+      .mapTo(identity())
+      .whenNotFound(succeeded(null))
+      .fetch(id);
   }
 
   public CompletableFuture<Result<ServicePoint>> getServicePointForRequest(Request request) {
@@ -62,7 +78,7 @@ public class ServicePointRepository {
 
   public CompletableFuture<Result<Loan>> findServicePointsForLoan(Result<Loan> loanResult) {
     return fetchCheckInServicePoint(loanResult)
-      .thenComposeAsync(this::fetchCheckOutServicePoint);
+      .thenComposeAsync(this::fetchCheckOutServicePoint, onCurrentContext());
   }
 
   private CompletableFuture<Result<Loan>> fetchCheckOutServicePoint(Result<Loan> loanResult) {
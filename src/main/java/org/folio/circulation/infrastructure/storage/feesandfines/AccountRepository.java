@@ -2,6 +2,7 @@ package org.folio.circulation.infrastructure.storage.feesandfines;
 
 import static java.util.Objects.isNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -115,7 +116,7 @@ public class AccountRepository {
       .thenCompose(r -> r.after(this::findFeeFineActionsForAccounts))
       .thenComposeAsync(r -> r.after(multipleRecords -> completedFuture(succeeded(multipleRecords.getRecords()
         .stream()
-        .collect(Collectors.groupingBy(Account::getLoanId))))));
+        .collect(Collectors.groupingBy(Account::getLoanId))))), onCurrentContext());
   }
 
   public CompletableFuture<Result<MultipleRecords<Account>>> findFeeFineActionsForAccounts(
@@ -144,7 +145,7 @@ public class AccountRepository {
     return createFeeFineActionFetcher().find(byIndex(ACCOUNT_ID_FIELD_NAME, loanIds))
         .thenComposeAsync(r -> r.after(multipleRecords -> completedFuture(succeeded(
             multipleRecords.getRecords().stream().collect(
-                Collectors.groupingBy(FeeFineAction::getAccountId))))));
+                Collectors.groupingBy(FeeFineAction::getAccountId))))), onCurrentContext());
   }
 
   private FindWithMultipleCqlIndexValues<FeeFineAction> createFeeFineActionFetcher() {
@@ -172,6 +173,12 @@ public class AccountRepository {
       .fetch(id);
   }
 
+  public CompletableFuture<Result<MultipleRecords<Account>>> findByIds(Collection<String> ids) {
+    return findWithMultipleCqlIndexValues(accountsStorageClient,
+        ACCOUNTS_COLLECTION_PROPERTY_NAME, Account::from)
+      .findByIds(ids);
+  }
+
   public CompletableFuture<Result<Account>> create(StoredAccount account) {
     final ResponseInterpreter<Account> interpreter = new ResponseInterpreter<Account>()
       .flatMapOn(201, mapUsingJson(Account::from))
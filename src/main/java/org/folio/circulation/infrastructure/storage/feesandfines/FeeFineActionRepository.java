@@ -2,6 +2,7 @@ package org.folio.circulation.infrastructure.storage.feesandfines;
 
 import static java.util.Objects.isNull;
 import static java.util.concurrent.CompletableFuture.allOf;
+import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.ResponseMapping.forwardOnFailure;
 import static org.folio.circulation.support.http.ResponseMapping.mapUsingJson;
 import static org.folio.circulation.support.results.Result.failed;
@@ -11,6 +12,7 @@ import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.FeeFineAction;
+import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.domain.representations.StoredFeeFineAction;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
@@ -49,6 +51,14 @@ public class FeeFineActionRepository {
       .fetch(id);
   }
 
+  public CompletableFuture<Result<MultipleRecords<FeeFineAction>>> findByIds(
+    Collection<String> ids) {
+
+    return findWithMultipleCqlIndexValues(feeFineActionsStorageClient, "feefineactions",
+      FeeFineAction::from)
+      .findByIds(ids);
+  }
+
   public CompletableFuture<Result<Void>> createAll(
     Collection<StoredFeeFineAction> feeFineActions) {
 
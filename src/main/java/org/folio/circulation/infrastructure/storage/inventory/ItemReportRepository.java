@@ -7,6 +7,7 @@ import static org.folio.circulation.support.http.client.Offset.offset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.ItemsReportFetcher;
@@ -32,6 +33,40 @@ public class ItemReportRepository {
     return future;
   }
 
+  /**
+   * Applies {@code pageHandler} to each page of items in turn, the next page is
+   * fetched whilst the current page is handled, so no more than two pages
+   * are held at any time
+   */
+  public CompletableFuture<Result<Void>> forEachPageOfItemsByField(
+    String fieldName, String fieldValue,
+    Function<MultipleRecords<Item>, CompletableFuture<Result<Void>>> pageHandler) {
+
+    return handlePage(0, getItemsByField(0, fieldName, fieldValue),
+      fieldName, fieldValue, pageHandler);
+  }
+
+  private CompletableFuture<Result<Void>> handlePage(int pageNumber,
+    CompletableFuture<Result<MultipleRecords<Item>>> page,
+    String fieldName, String fieldValue,
+    Function<MultipleRecords<Item>, CompletableFuture<Result<Void>>> pageHandler) {
+
+    return page.thenCompose(r -> r.after(items -> {
+      final int nextPageNumber = pageNumber + 1;
+
+      if (items.getTotalRecords() <= nextPageNumber * PAGE_LIMIT) {
+        return pageHandler.apply(items);
+      }
+
+      final CompletableFuture<Result<MultipleRecords<Item>>> nextPage
+        = getItemsByField(nextPageNumber, fieldName, fieldValue);
+
+      return pageHandler.apply(items)
+        .thenCompose(handled -> handled.after(notUsed -> handlePage(
+          nextPageNumber, nextPage, fieldName, fieldValue, pageHandler)));
+    }));
+  }
+
   private ItemsReportFetcher fillResultItemContext(ItemsReportFetcher itemsReportFetcher,
                                                    Result<MultipleRecords<Item>> itemRecords) {
     List<Result<MultipleRecords<Item>>> resultListOfItems = itemsReportFetcher.getResultListOfItems();
@@ -44,25 +79,40 @@ public class ItemReportRepository {
                              CompletableFuture<Result<ItemsReportFetcher>> future,
                              String fieldName, String fieldValue) {
     getItemsByField(itemsReportFetcher, fieldName, fieldValue)
-      .thenApply(itemRecords -> {
-          ItemsReportFetcher reportFetcher = fillResultItemContext(itemsReportFetcher, itemRecords);
-          int totalRecords = itemRecords.value().getTotalRecords();
-
-          if (totalRecords > reportFetcher.getPageOffset(PAGE_LIMIT)) {
-            fetchNextPage(reportFetcher, future, fieldName, fieldValue);
-          } else {
-            future.complete(Result.of(() -> reportFetcher));
-          }
-          return itemRecords;
+      .whenComplete((itemRecords, throwable) -> {
+        if (throwable != null) {
+          future.completeExceptionally(throwable);
+          return;
         }
-      );
+
+        if (itemRecords.failed()) {
+          future.complete(Result.failed(itemRecords.cause()));
+          return;
+        }
+
+        ItemsReportFetcher reportFetcher = fillResultItemContext(itemsReportFetcher, itemRecords);
+        int totalRecords = itemRecords.value().getTotalRecords();
+
+        if (totalRecords > reportFetcher.getPageOffset(PAGE_LIMIT)) {
+          fetchNextPage(reportFetcher, future, fieldName, fieldValue);
+        } else {
+          future.complete(Result.of(() -> reportFetcher));
+        }
+      });
   }
 
   private CompletableFuture<Result<MultipleRecords<Item>>> getItemsByField(
     ItemsReportFetcher itemsReportFetcher, String fieldName, String fieldValue) {
 
+    return getItemsByField(itemsReportFetcher.getCurrPageNumber(), fieldName,
+      fieldValue);
+  }
+
+  private CompletableFuture<Result<MultipleRecords<Item>>> getItemsByField(
+    int pageNumber, String fieldName, String fieldValue) {
+
     final Result<CqlQuery> itemStatusQuery = exactMatch(fieldName, fieldValue);
-    int pageOffset = itemsReportFetcher.getCurrPageNumber() * PAGE_LIMIT;
+    int pageOffset = pageNumber * PAGE_LIMIT;
 
     return itemStatusQuery
       .after(query -> itemsClient.getMany(query, limit(PAGE_LIMIT),
@@ -1,9 +1,14 @@
 package org.folio.circulation.infrastructure.storage.inventory;
 
 import static java.util.Objects.isNull;
+import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
+import static org.apache.commons.collections4.ListUtils.partition;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LOAN_TYPE;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.http.CommonResponseInterpreters.noContentRecordInterpreter;
+import static org.folio.circulation.support.http.client.CqlQuery.exactMatchAny;
 import static org.folio.circulation.support.json.JsonKeys.byId;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -14,6 +19,7 @@ import static org.folio.circulation.support.fetching.RecordFetching.findWithMult
 import static org.folio.circulation.support.utils.CollectionUtil.map;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +43,12 @@ import org.folio.circulation.support.FindWithCqlQuery;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
+import org.folio.circulation.support.cache.ReferenceDataCache;
+import org.folio.circulation.support.fetching.MultipleCqlIndexValuesCriteria;
+import org.folio.circulation.support.fetching.PageableFetcher;
 import org.folio.circulation.support.fetching.RecordFetching;
 import org.folio.circulation.support.http.client.CqlQuery;
+import org.folio.circulation.support.http.client.Offset;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.results.CommonFailures;
@@ -52,6 +62,7 @@ import lombok.Getter;
 public class ItemRepository {
   private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
+  private final String tenantId;
   private final CollectionResourceClient itemsClient;
   private final CollectionResourceClient holdingsClient;
   private final CollectionResourceClient instancesClient;
@@ -64,11 +75,13 @@ public class ItemRepository {
   private final boolean fetchLoanType;
 
   private static final String ITEMS_COLLECTION_PROPERTY_NAME = "items";
+  private static final PageLimit PAGE_LIMIT = PageLimit.limit(100);
+  private static final int MAXIMUM_IDS_PER_QUERY = 50;
 
   public ItemRepository(org.folio.circulation.support.Clients clients,
     boolean fetchLocation, boolean fetchMaterialType, boolean fetchLoanType) {
 
-    this(new Clients(clients.itemsStorage(), clients.holdingsStorage(),
+    this(new Clients(clients.getTenantId(), clients.itemsStorage(), clients.holdingsStorage(),
       clients.instancesStorage(), clients.loanTypesStorage()), LocationRepository.using(clients),
       new MaterialTypeRepository(clients), new ServicePointRepository(clients),
       fetchLocation, fetchMaterialType, fetchLoanType);
@@ -78,6 +91,7 @@ public class ItemRepository {
     MaterialTypeRepository materialTypeRepository, ServicePointRepository servicePointRepository,
     boolean fetchLocation, boolean fetchMaterialType, boolean fetchLoanType) {
 
+    this.tenantId = clients.getTenantId();
     this.itemsClient = clients.getItemsClient();
     this.holdingsClient = clients.getHoldingsClient();
     this.instancesClient = clients.getInstancesClient();
@@ -97,7 +111,7 @@ public class ItemRepository {
   private CompletableFuture<Result<Item>> fetchLocation(Result<Item> result) {
     return fetchLocation
       ? result.combineAfter(locationRepository::getLocation, Item::withLocation)
-          .thenComposeAsync(this::fetchPrimaryServicePoint)
+          .thenComposeAsync(this::fetchPrimaryServicePoint, onCurrentContext())
       : completedFuture(result);
   }
 
@@ -142,19 +156,19 @@ public class ItemRepository {
     if (item.getItem() == null) {
       return completedFuture(succeeded(null));
     }
-    return SingleRecordFetcher.json(loanTypesClient, "loan types",
-      response -> succeeded(null))
-      .fetch(item.determineLoanTypeForItem());
+    return ReferenceDataCache.getInstance().get(tenantId, LOAN_TYPE,
+      item.determineLoanTypeForItem(), id -> SingleRecordFetcher.json(loanTypesClient,
+        "loan types", response -> succeeded(null)).fetch(id));
   }
 
   public CompletableFuture<Result<Item>> fetchByBarcode(String barcode) {
     return fetchItemByBarcode(barcode)
-      .thenComposeAsync(this::fetchItemRelatedRecords);
+      .thenComposeAsync(this::fetchItemRelatedRecords, onCurrentContext());
   }
 
   public CompletableFuture<Result<Item>> fetchById(String itemId) {
     return fetchItem(itemId)
-      .thenComposeAsync(this::fetchItemRelatedRecords);
+      .thenComposeAsync(this::fetchItemRelatedRecords, onCurrentContext());
   }
 
   private CompletableFuture<Result<Collection<Item>>> fetchLocations(
@@ -355,10 +369,10 @@ public class ItemRepository {
 
     return fetcher.findByQuery(queryResult)
       .thenApply(mapResult(MultipleRecords::getRecords))
-      .thenComposeAsync(this::fetchHoldingRecords)
-      .thenComposeAsync(this::fetchInstances)
-      .thenComposeAsync(this::fetchLocations)
-      .thenComposeAsync(this::fetchMaterialTypes);
+      .thenComposeAsync(this::fetchHoldingRecords, onCurrentContext())
+      .thenComposeAsync(this::fetchInstances, onCurrentContext())
+      .thenComposeAsync(this::fetchLocations, onCurrentContext())
+      .thenComposeAsync(this::fetchMaterialTypes, onCurrentContext());
   }
 
   public CompletableFuture<Result<Collection<Item>>> findByIndexNameAndQuery(
@@ -370,21 +384,118 @@ public class ItemRepository {
 
     return fetcher.find(byIndex(indexName, ids).withQuery(query))
       .thenApply(mapResult(MultipleRecords::getRecords))
-      .thenComposeAsync(this::fetchHoldingRecords)
-      .thenComposeAsync(this::fetchInstances)
-      .thenComposeAsync(this::fetchLocations)
-      .thenComposeAsync(this::fetchMaterialTypes)
-      .thenComposeAsync(this::fetchLoanTypes);
+      .thenComposeAsync(this::fetchHoldingRecords, onCurrentContext())
+      .thenComposeAsync(this::fetchInstances, onCurrentContext())
+      .thenComposeAsync(this::fetchLocations, onCurrentContext())
+      .thenComposeAsync(this::fetchMaterialTypes, onCurrentContext())
+      .thenComposeAsync(this::fetchLoanTypes, onCurrentContext());
+  }
+
+  /**
+   * Applies {@code pageHandler} to each page of the items matching {@code query}
+   * and any of the {@code ids} for {@code indexName} in turn, each with the same
+   * related records as {@link #findByIndexNameAndQuery}, so only a page
+   * of items needs to be held at any time
+   */
+  public CompletableFuture<Result<Void>> forEachPageByIndexNameAndQuery(
+    Collection<String> ids, String indexName, Result<CqlQuery> query,
+    Function<Collection<Item>, CompletableFuture<Result<Void>>> pageHandler) {
+
+    final PageableFetcher<Item> fetcher = new PageableFetcher<>(this::getManyItems,
+      PAGE_LIMIT, Integer.MAX_VALUE);
+
+    CompletableFuture<Result<Void>> handled = completedFuture(succeeded(null));
+
+    for (List<String> batchOfIds : partition(new ArrayList<>(ids), MAXIMUM_IDS_PER_QUERY)) {
+      final Result<CqlQuery> batchQuery = exactMatchAny(indexName, batchOfIds)
+        .combine(query, CqlQuery::and);
+
+      handled = handled.thenCompose(r -> r.after(notUsed -> batchQuery.after(
+        cqlQuery -> fetcher.processPages(cqlQuery, items ->
+          completedFuture(succeeded(items.getRecords()))
+            .thenComposeAsync(this::fetchHoldingRecords, onCurrentContext())
+            .thenComposeAsync(this::fetchInstances, onCurrentContext())
+            .thenComposeAsync(this::fetchLocations, onCurrentContext())
+            .thenComposeAsync(this::fetchMaterialTypes, onCurrentContext())
+            .thenComposeAsync(this::fetchLoanTypes, onCurrentContext())
+            .thenCompose(fetched -> fetched.after(pageHandler))))));
+    }
+
+    return handled;
+  }
+
+  private CompletableFuture<Result<MultipleRecords<Item>>> getManyItems(
+    CqlQuery query, PageLimit pageLimit, Offset offset) {
+
+    return itemsClient.getMany(query, pageLimit, offset)
+      .thenApply(r -> r.next(response -> MultipleRecords.from(response,
+        Item::from, ITEMS_COLLECTION_PROPERTY_NAME)));
+  }
+
+  /**
+   * Fetch the items with the given barcodes, with the holdings records and instances
+   * fetched in bulk and the other related records (mostly cached) fetched for each item
+   */
+  public CompletableFuture<Result<List<Item>>> findByBarcodes(Collection<String> barcodes) {
+    return findWithRelatedRecords(byIndex("barcode", barcodes));
+  }
+
+  /**
+   * Fetch the items for the records, with the same related records as
+   * {@link #fetchFor(ItemRelatedRecord)}, the items, holdings records and instances
+   * fetched in bulk and the other related records (mostly cached) fetched for each item
+   */
+  public <T extends ItemRelatedRecord> CompletableFuture<Result<MultipleRecords<T>>>
+  fetchItemsWithRelatedRecordsFor(Result<MultipleRecords<T>> result,
+    BiFunction<T, Item, T> includeItemMap) {
+
+    if (result.failed() || result.value().getRecords().isEmpty()) {
+      return CompletableFuture.completedFuture(result);
+    }
+
+    return result.combineAfter(r -> findWithRelatedRecords(
+      MultipleCqlIndexValuesCriteria.byId(getDistinctItemIds(r))),
+      (records, items) -> new MultipleRecords<>(
+        matchItemToRecord(records, items, includeItemMap),
+        records.getTotalRecords()));
+  }
+
+  private CompletableFuture<Result<List<Item>>> findWithRelatedRecords(
+    MultipleCqlIndexValuesCriteria criteria) {
+
+    final FindWithMultipleCqlIndexValues<Item> fetcher
+      = findWithMultipleCqlIndexValues(itemsClient, ITEMS_COLLECTION_PROPERTY_NAME, Item::from);
+
+    return fetcher.find(criteria)
+      .thenApply(mapResult(MultipleRecords::getRecords))
+      .thenComposeAsync(this::fetchHoldingRecords, onCurrentContext())
+      .thenComposeAsync(this::fetchInstances, onCurrentContext())
+      .thenComposeAsync(r -> r.after(this::fetchRemainingRelatedRecords), onCurrentContext());
+  }
+
+  private CompletableFuture<Result<List<Item>>> fetchRemainingRelatedRecords(
+    Collection<Item> items) {
+
+    final List<CompletableFuture<Result<Item>>> itemsWithRelatedRecords = items.stream()
+      .map(item -> fetchLocation(succeeded(item))
+        .thenComposeAsync(this::fetchMaterialType, onCurrentContext())
+        .thenComposeAsync(this::fetchLoanType, onCurrentContext()))
+      .collect(Collectors.toList());
+
+    return allOf(itemsWithRelatedRecords.toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> Result.combineAll(itemsWithRelatedRecords.stream()
+        .map(CompletableFuture::join)
+        .collect(Collectors.toList())));
   }
 
   private CompletableFuture<Result<Collection<Item>>> fetchFor(
     Collection<String> itemIds) {
 
     return fetchItems(itemIds)
-      .thenComposeAsync(this::fetchHoldingRecords)
-      .thenComposeAsync(this::fetchInstances)
-      .thenComposeAsync(this::fetchLocations)
-      .thenComposeAsync(this::fetchMaterialTypes);
+      .thenComposeAsync(this::fetchHoldingRecords, onCurrentContext())
+      .thenComposeAsync(this::fetchInstances, onCurrentContext())
+      .thenComposeAsync(this::fetchLocations, onCurrentContext())
+      .thenComposeAsync(this::fetchMaterialTypes, onCurrentContext());
   }
 
   private <T extends ItemRelatedRecord> List<String> getItemIds(MultipleRecords<T> records) {
@@ -393,6 +504,14 @@ public class ItemRepository {
       .collect(Collectors.toList());
   }
 
+  private <T extends ItemRelatedRecord> List<String> getDistinctItemIds(MultipleRecords<T> records) {
+    return records.getRecords().stream()
+      .map(ItemRelatedRecord::getItemId)
+      .filter(Objects::nonNull)
+      .distinct()
+      .collect(Collectors.toList());
+  }
+
   private <T extends ItemRelatedRecord> Collection<T> matchItemToRecord(
     MultipleRecords<T> records,
     Collection<Item> items,
@@ -410,10 +529,10 @@ public class ItemRepository {
     Result<Item> item) {
 
     return fetchHoldingsRecord(item)
-      .thenComposeAsync(this::fetchInstance)
-      .thenComposeAsync(this::fetchLocation)
-      .thenComposeAsync(this::fetchMaterialType)
-      .thenComposeAsync(this::fetchLoanType);
+      .thenComposeAsync(this::fetchInstance, onCurrentContext())
+      .thenComposeAsync(this::fetchLocation, onCurrentContext())
+      .thenComposeAsync(this::fetchMaterialType, onCurrentContext())
+      .thenComposeAsync(this::fetchLoanType, onCurrentContext());
   }
 
   public static ItemRepository noLocationMaterialTypeAndLoanTypeInstance(org.folio.circulation.support.Clients clients) {
@@ -423,6 +542,7 @@ public class ItemRepository {
   @AllArgsConstructor
   @Getter
   private static class Clients {
+    private final String tenantId;
     private final CollectionResourceClient itemsClient;
     private final CollectionResourceClient holdingsClient;
     private final CollectionResourceClient instancesClient;
@@ -0,0 +1,127 @@
+package org.folio.circulation.infrastructure.storage.inventory;
+
+import static java.util.function.Function.identity;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.Location;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The locations of a tenant, together with their libraries, campuses and institutions,
+ * so that a location and everything above it can be looked up without fetching them.
+ *
+ * Never changed once created, changes are applied by creating a new hierarchy
+ */
+public class LocationHierarchy {
+  private static final String ID = "id";
+
+  private final Map<String, JsonObject> locations;
+  private final Map<String, JsonObject> libraries;
+  private final Map<String, JsonObject> campuses;
+  private final Map<String, JsonObject> institutions;
+  private final long loadedAt;
+  private final DateTime refreshedAt;
+
+  private LocationHierarchy(Map<String, JsonObject> locations,
+    Map<String, JsonObject> libraries, Map<String, JsonObject> campuses,
+    Map<String, JsonObject> institutions, long loadedAt, DateTime refreshedAt) {
+
+    this.locations = locations;
+    this.libraries = libraries;
+    this.campuses = campuses;
+    this.institutions = institutions;
+    this.loadedAt = loadedAt;
+    this.refreshedAt = refreshedAt;
+  }
+
+  public static LocationHierarchy empty() {
+    return new LocationHierarchy(Map.of(), Map.of(), Map.of(), Map.of(),
+      System.currentTimeMillis(), DateTime.now(DateTimeZone.UTC));
+  }
+
+  /**
+   * @param fetchedAt when fetching the records started, later changes are fetched
+   * when the hierarchy is refreshed
+   */
+  public static LocationHierarchy from(Collection<JsonObject> locations,
+    Collection<JsonObject> libraries, Collection<JsonObject> campuses,
+    Collection<JsonObject> institutions, DateTime fetchedAt) {
+
+    return new LocationHierarchy(byId(locations), byId(libraries), byId(campuses),
+      byId(institutions), System.currentTimeMillis(), fetchedAt);
+  }
+
+  /**
+   * @return a hierarchy with the records that have changed replacing the existing ones,
+   * which is still considered to be as old as this hierarchy
+   */
+  public LocationHierarchy withChanges(Collection<JsonObject> changedLocations,
+    Collection<JsonObject> changedLibraries, Collection<JsonObject> changedCampuses,
+    Collection<JsonObject> changedInstitutions, DateTime fetchedAt) {
+
+    return new LocationHierarchy(merge(locations, changedLocations),
+      merge(libraries, changedLibraries), merge(campuses, changedCampuses),
+      merge(institutions, changedInstitutions), loadedAt, fetchedAt);
+  }
+
+  /**
+   * @return the location with its library, campus and institution,
+   * or null when the location is not part of the hierarchy
+   */
+  public Location getLocation(String id) {
+    final JsonObject representation = id == null ? null : locations.get(id);
+
+    if (representation == null) {
+      return null;
+    }
+
+    final Location location = Location.from(representation);
+
+    return new Location(representation, get(libraries, location.getLibraryId()),
+      get(campuses, location.getCampusId()), get(institutions, location.getInstitutionId()));
+  }
+
+  public int size() {
+    return locations.size();
+  }
+
+  long getLoadedAt() {
+    return loadedAt;
+  }
+
+  DateTime getRefreshedAt() {
+    return refreshedAt;
+  }
+
+  private static JsonObject get(Map<String, JsonObject> records, String id) {
+    return id == null ? null : records.get(id);
+  }
+
+  private static Map<String, JsonObject> byId(Collection<JsonObject> records) {
+    return records.stream()
+      .filter(representation -> representation.getString(ID) != null)
+      .collect(Collectors.toUnmodifiableMap(representation -> representation.getString(ID),
+        identity(), (first, second) -> second));
+  }
+
+  private static Map<String, JsonObject> merge(Map<String, JsonObject> existing,
+    Collection<JsonObject> changed) {
+
+    if (changed.isEmpty()) {
+      return existing;
+    }
+
+    final Map<String, JsonObject> merged = new HashMap<>(existing);
+
+    merged.putAll(byId(changed));
+
+    return Map.copyOf(merged);
+  }
+}
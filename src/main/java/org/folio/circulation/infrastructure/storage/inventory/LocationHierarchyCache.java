@@ -0,0 +1,173 @@
+package org.folio.circulation.infrastructure.storage.inventory;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.completeOnCurrentContext;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
+import org.folio.circulation.support.cache.CacheStatistics;
+import org.folio.circulation.support.results.Result;
+
+/**
+ * The location hierarchy (see {@link LocationHierarchy}) of each tenant.
+ *
+ * All of the locations, libraries, campuses and institutions of a tenant are loaded at
+ * once. When the hierarchy is older than LOCATION_HIERARCHY_REFRESH_INTERVAL_SECONDS, the
+ * records changed since it was last refreshed are fetched in the background while the
+ * current hierarchy carries on being used. The whole hierarchy is loaded again once it is
+ * older than REFERENCE_DATA_CACHE_TTL_SECONDS, so that deleted records are dropped, also in
+ * the background, the expired hierarchy carries on being used until the load finishes.
+ * Requests only wait for the hierarchy when there isn't one for the tenant.
+ */
+public final class LocationHierarchyCache {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final LocationHierarchyCache instance = new LocationHierarchyCache(
+    Environment.getLocationHierarchyRefreshIntervalInSeconds() * 1000L,
+    Environment.getReferenceDataCacheTimeToLiveInSeconds() * 1000L);
+
+  private final long refreshIntervalInMilliseconds;
+  private final long timeToLiveInMilliseconds;
+  private final Map<String, LocationHierarchy> hierarchies = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Result<LocationHierarchy>>> pendingLoads =
+    new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final CacheStatistics statistics = new CacheStatistics();
+
+  public static LocationHierarchyCache getInstance() {
+    return instance;
+  }
+
+  LocationHierarchyCache(long refreshIntervalInMilliseconds, long timeToLiveInMilliseconds) {
+    this.refreshIntervalInMilliseconds = refreshIntervalInMilliseconds;
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+  }
+
+  /**
+   * Get the hierarchy for a tenant, loading it when there isn't one. When it has expired
+   * or is due for refresh, the current hierarchy is returned and the load or refresh is
+   * done in the background
+   *
+   * @param loader  loads the whole hierarchy
+   * @param refresher  applies the changes made since the hierarchy was last refreshed
+   * @return an empty hierarchy when caching is disabled
+   */
+  public CompletableFuture<Result<LocationHierarchy>> getHierarchy(String tenantId,
+    Supplier<CompletableFuture<Result<LocationHierarchy>>> loader,
+    Function<LocationHierarchy, CompletableFuture<Result<LocationHierarchy>>> refresher) {
+
+    if (timeToLiveInMilliseconds <= 0) {
+      return completedFuture(succeeded(LocationHierarchy.empty()));
+    }
+
+    final LocationHierarchy hierarchy = hierarchies.get(tenantId);
+    final long now = System.currentTimeMillis();
+
+    if (hierarchy == null) {
+      statistics.recordMiss();
+
+      return completeOnCurrentContext(loadOnce(tenantId, loader));
+    }
+
+    statistics.recordHit();
+
+    if (now - hierarchy.getLoadedAt() > timeToLiveInMilliseconds) {
+      loadOnce(tenantId, loader)
+        .whenComplete((result, throwable) -> {
+          if (throwable != null || result == null || result.failed()) {
+            log.warn("Could not load location hierarchy for tenant {}, carrying on with "
+              + "the expired hierarchy: {}", tenantId,
+              throwable != null || result == null ? throwable : result.cause());
+          }
+        });
+    }
+    else if (now - hierarchy.getRefreshedAt().getMillis() > refreshIntervalInMilliseconds) {
+      refreshInBackground(tenantId, hierarchy, refresher);
+    }
+
+    return completedFuture(succeeded(hierarchy));
+  }
+
+  public void flush(String tenantId) {
+    hierarchies.remove(tenantId);
+  }
+
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
+
+  private CompletableFuture<Result<LocationHierarchy>> loadOnce(String tenantId,
+    Supplier<CompletableFuture<Result<LocationHierarchy>>> loader) {
+
+    final CompletableFuture<Result<LocationHierarchy>> load = new CompletableFuture<>();
+    final CompletableFuture<Result<LocationHierarchy>> pendingLoad =
+      pendingLoads.putIfAbsent(tenantId, load);
+
+    if (pendingLoad != null) {
+      return pendingLoad;
+    }
+
+    final long start = System.currentTimeMillis();
+    final CompletableFuture<Result<LocationHierarchy>> loaded;
+
+    try {
+      loaded = loader.get();
+    }
+    catch (RuntimeException e) {
+      pendingLoads.remove(tenantId, load);
+      load.completeExceptionally(e);
+
+      return load;
+    }
+
+    loaded
+      .whenComplete((result, throwable) -> {
+        if (result != null && result.succeeded()) {
+          hierarchies.put(tenantId, result.value());
+          statistics.recordLoad(System.currentTimeMillis() - start);
+        }
+
+        pendingLoads.remove(tenantId, load);
+
+        if (throwable != null) {
+          load.completeExceptionally(throwable);
+        } else {
+          load.complete(result);
+        }
+      });
+
+    return load;
+  }
+
+  private void refreshInBackground(String tenantId, LocationHierarchy hierarchy,
+    Function<LocationHierarchy, CompletableFuture<Result<LocationHierarchy>>> refresher) {
+
+    if (!refreshing.add(tenantId)) {
+      return;
+    }
+
+    refresher.apply(hierarchy)
+      .whenComplete((result, throwable) -> {
+        if (result != null && result.succeeded()) {
+          // a hierarchy loaded in the meantime is more up to date than the refreshed one
+          hierarchies.replace(tenantId, hierarchy, result.value());
+        }
+        else {
+          log.warn("Could not refresh location hierarchy for tenant {}: {}", tenantId,
+            throwable != null ? throwable : result == null ? null : result.cause());
+        }
+
+        refreshing.remove(tenantId);
+      });
+  }
+}
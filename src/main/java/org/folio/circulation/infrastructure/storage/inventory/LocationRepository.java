@@ -1,17 +1,28 @@
 package org.folio.circulation.infrastructure.storage.inventory;
 
 import static java.util.Objects.isNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.CAMPUS;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.INSTITUTION;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LIBRARY;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LOCATION;
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
+import static org.folio.circulation.support.http.client.CqlQuery.greaterThan;
+import static org.folio.circulation.support.http.client.PageLimit.limit;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 import static org.folio.circulation.support.utils.CollectionUtil.nonNullUniqueSetOf;
+import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTime;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -19,6 +30,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.folio.Environment;
 import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.Location;
 import org.folio.circulation.domain.MultipleRecords;
@@ -26,21 +38,33 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.SingleRecordFetcher;
+import org.folio.circulation.support.cache.ReferenceDataCache;
+import org.folio.circulation.support.cache.ReferenceDataCache.RecordType;
+import org.folio.circulation.support.http.client.CqlQuery;
+import org.folio.circulation.support.http.client.PageLimit;
+import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.results.Result;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 
 import io.vertx.core.json.JsonObject;
 
 public class LocationRepository {
+  private static final int HIERARCHY_REFRESH_OVERLAP_SECONDS = 5;
+
+  private final String tenantId;
   private final CollectionResourceClient locationsStorageClient;
   private final CollectionResourceClient institutionsStorageClient;
   private final CollectionResourceClient campusesStorageClient;
   private final CollectionResourceClient librariesStorageClient;
 
-  private LocationRepository(CollectionResourceClient locationsStorageClient,
+  private LocationRepository(String tenantId,
+    CollectionResourceClient locationsStorageClient,
     CollectionResourceClient institutionsStorageClient,
     CollectionResourceClient campusesStorageClient,
     CollectionResourceClient librariesStorageClient) {
 
+    this.tenantId = tenantId;
     this.locationsStorageClient = locationsStorageClient;
     this.institutionsStorageClient = institutionsStorageClient;
     this.campusesStorageClient = campusesStorageClient;
@@ -49,6 +73,7 @@ public class LocationRepository {
 
   public static LocationRepository using(Clients clients) {
     return new LocationRepository(
+      clients.getTenantId(),
       clients.locationsStorage(),
       clients.institutionsStorage(),
       clients.campusesStorage(),
@@ -61,10 +86,20 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
-    return fetchLocationById(item.getLocationId())
-      .thenCompose(r -> r.after(this::loadLibrary))
-      .thenCompose(r -> r.after(this::loadCampus))
-      .thenCompose(r -> r.after(this::loadInstitution));
+    return getHierarchy().thenCompose(hierarchy -> {
+      final Location location = hierarchy.getLocation(item.getLocationId());
+
+      if (location != null) {
+        return completedFuture(succeeded(location));
+      }
+
+      return fetchReferenceRecord(LOCATION, locationsStorageClient, "location",
+          item.getLocationId())
+        .thenApply(r -> r.map(Location::from))
+        .thenCompose(r -> r.after(this::loadLibrary))
+        .thenCompose(r -> r.after(this::loadCampus))
+        .thenCompose(r -> r.after(this::loadInstitution));
+    });
   }
 
   public CompletableFuture<Result<Location>> fetchLocationById(String id) {
@@ -72,10 +107,16 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
-    return SingleRecordFetcher.json(locationsStorageClient, "location",
-      response -> succeeded(null))
-      .fetch(id)
-      .thenApply(r -> r.map(Location::from));
+    return getHierarchy().thenCompose(hierarchy -> {
+      final Location location = hierarchy.getLocation(id);
+
+      if (location != null) {
+        return completedFuture(succeeded(location));
+      }
+
+      return fetchReferenceRecord(LOCATION, locationsStorageClient, "location", id)
+        .thenApply(r -> r.map(Location::from));
+    });
   }
 
   public CompletableFuture<Result<Map<String, Location>>> getAllItemLocations(
@@ -86,12 +127,94 @@ public class LocationRepository {
       .filter(StringUtils::isNotBlank)
       .collect(Collectors.toSet());
 
-    final FindWithMultipleCqlIndexValues<Location> fetcher
-      = findWithMultipleCqlIndexValues(locationsStorageClient, "locations", Location::from);
+    return getHierarchy().thenCompose(hierarchy -> {
+      final Map<String, Location> locationsInHierarchy = new HashMap<>();
+
+      locationIds.forEach(id -> {
+        final Location location = hierarchy.getLocation(id);
+
+        if (location != null) {
+          locationsInHierarchy.put(id, location);
+        }
+      });
+
+      final Set<String> missingLocationIds = locationIds.stream()
+        .filter(id -> !locationsInHierarchy.containsKey(id))
+        .collect(toSet());
+
+      if (missingLocationIds.isEmpty()) {
+        return completedFuture(succeeded(locationsInHierarchy));
+      }
+
+      final FindWithMultipleCqlIndexValues<Location> fetcher
+        = findWithMultipleCqlIndexValues(locationsStorageClient, "locations", Location::from);
+
+      return fetcher.findByIds(missingLocationIds)
+        .thenCompose(this::loadLibrariesForLocations)
+        .thenApply(mapResult(locations -> {
+          locationsInHierarchy.putAll(locations.toMap(Location::getId));
+
+          return locationsInHierarchy;
+        }));
+    });
+  }
+
+  /**
+   * Gets the location hierarchy for the tenant, when it cannot be loaded an empty
+   * hierarchy is used so that locations are fetched individually instead
+   */
+  private CompletableFuture<LocationHierarchy> getHierarchy() {
+    return LocationHierarchyCache.getInstance()
+      .getHierarchy(tenantId, this::loadHierarchy, this::refreshHierarchy)
+      .thenApply(r -> r.orElse(LocationHierarchy.empty()))
+      .exceptionally(t -> LocationHierarchy.empty());
+  }
+
+  private CompletableFuture<Result<LocationHierarchy>> loadHierarchy() {
+    // compared with when records were last updated in storage, so is not the circulation clock
+    final DateTime fetchedAt = DateTime.now(DateTimeZone.UTC);
+    final PageLimit pageLimit = limit(Environment.getReferenceDataCacheSize());
+
+    return allOf(hierarchyCollections(), collection -> fetchHierarchyRecords(
+        collection.getValue(), collection.getKey().get(pageLimit)))
+      .thenApply(mapResult(records -> LocationHierarchy.from(records.get(0),
+        records.get(1), records.get(2), records.get(3), fetchedAt)));
+  }
+
+  /**
+   * Fetches the records changed since the hierarchy was last refreshed, allowing for
+   * records which were being changed at that time, deleted records are not removed
+   * until the whole hierarchy is loaded again
+   */
+  private CompletableFuture<Result<LocationHierarchy>> refreshHierarchy(
+    LocationHierarchy hierarchy) {
+
+    final DateTime fetchedAt = DateTime.now(DateTimeZone.UTC);
+    final PageLimit pageLimit = limit(Environment.getReferenceDataCacheSize());
+    final Result<CqlQuery> changedSince = greaterThan("metadata.updatedDate",
+      formatDateTime(hierarchy.getRefreshedAt().minusSeconds(HIERARCHY_REFRESH_OVERLAP_SECONDS)));
+
+    return allOf(hierarchyCollections(), collection -> changedSince.after(
+        query -> fetchHierarchyRecords(collection.getValue(),
+          collection.getKey().getMany(query, pageLimit))))
+      .thenApply(mapResult(records -> hierarchy.withChanges(records.get(0),
+        records.get(1), records.get(2), records.get(3), fetchedAt)));
+  }
 
-    return fetcher.findByIds(locationIds)
-      .thenCompose(this::loadLibrariesForLocations)
-      .thenApply(mapResult(sds -> sds.toMap(Location::getId)));
+  private List<Map.Entry<CollectionResourceClient, String>> hierarchyCollections() {
+    return List.of(
+      Map.entry(locationsStorageClient, "locations"),
+      Map.entry(librariesStorageClient, "loclibs"),
+      Map.entry(campusesStorageClient, "loccamps"),
+      Map.entry(institutionsStorageClient, "locinsts"));
+  }
+
+  private CompletableFuture<Result<Collection<JsonObject>>> fetchHierarchyRecords(
+    String collectionName, CompletableFuture<Result<Response>> response) {
+
+    return response.thenApply(flatMapResult(r -> MultipleRecords.from(r, identity(),
+        collectionName)))
+      .thenApply(mapResult(MultipleRecords::getRecords));
   }
 
   private CompletableFuture<Result<Location>> loadLibrary(Location location) {
@@ -99,8 +222,7 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
-    return SingleRecordFetcher.json(librariesStorageClient, "library", response -> succeeded(null))
-      .fetch(location.getLibraryId())
+    return fetchReferenceRecord(LIBRARY, librariesStorageClient, "library", location.getLibraryId())
       .thenApply(r -> r.map(location::withLibraryRepresentation));
   }
 
@@ -109,8 +231,7 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
-    return SingleRecordFetcher.json(campusesStorageClient, "campus", response -> succeeded(null))
-      .fetch(location.getCampusId())
+    return fetchReferenceRecord(CAMPUS, campusesStorageClient, "campus", location.getCampusId())
       .thenApply(r -> r.map(location::withCampusRepresentation));
   }
 
@@ -119,11 +240,18 @@ public class LocationRepository {
       return ofAsync(() -> null);
     }
 
-    return SingleRecordFetcher.json(institutionsStorageClient, "institution", response -> succeeded(null))
-      .fetch(location.getInstitutionId())
+    return fetchReferenceRecord(INSTITUTION, institutionsStorageClient, "institution", location.getInstitutionId())
       .thenApply(r -> r.map(location::withInstitutionRepresentation));
   }
 
+  private CompletableFuture<Result<JsonObject>> fetchReferenceRecord(RecordType recordType,
+    CollectionResourceClient client, String recordTypeName, String id) {
+
+    return ReferenceDataCache.getInstance().get(tenantId, recordType, id,
+      recordId -> SingleRecordFetcher.json(client, recordTypeName, response -> succeeded(null))
+        .fetch(recordId));
+  }
+
   private CompletableFuture<Result<MultipleRecords<Location>>> loadLibrariesForLocations(
           Result<MultipleRecords<Location>> multipleRecordsResult) {
 
@@ -2,6 +2,7 @@ package org.folio.circulation.infrastructure.storage.inventory;
 
 import static java.util.Objects.isNull;
 import static java.util.function.Function.identity;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.MATERIAL_TYPE;
 import static org.folio.circulation.support.json.JsonKeys.byId;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
@@ -18,15 +19,18 @@ import org.folio.circulation.domain.Item;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
+import org.folio.circulation.support.cache.ReferenceDataCache;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
 
 import io.vertx.core.json.JsonObject;
 
 public class MaterialTypeRepository {
+  private final String tenantId;
   private final CollectionResourceClient materialTypesStorageClient;
 
   public MaterialTypeRepository(Clients clients) {
+    tenantId = clients.getTenantId();
     materialTypesStorageClient = clients.materialTypesStorage();
   }
 
@@ -37,9 +41,9 @@ public class MaterialTypeRepository {
       return Result.ofAsync(() -> null);
     }
 
-    return SingleRecordFetcher.json(materialTypesStorageClient, "material types",
-      response -> succeeded(null))
-      .fetch(materialTypeId);
+    return ReferenceDataCache.getInstance().get(tenantId, MATERIAL_TYPE, materialTypeId,
+      id -> SingleRecordFetcher.json(materialTypesStorageClient, "material types",
+        response -> succeeded(null)).fetch(id));
   }
 
   public CompletableFuture<Result<Map<String, JsonObject>>> getMaterialTypes(
@@ -1,19 +1,27 @@
 package org.folio.circulation.infrastructure.storage.loans;
 
 import static java.util.Objects.isNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
 import static org.folio.circulation.domain.policy.LoanPolicy.unknown;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.folio.circulation.domain.Loan;
 import org.folio.circulation.domain.LoanAndRelatedRecords;
@@ -30,6 +38,7 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.FetchSingleRecord;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.GetManyRecordsClient;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 
 import io.vertx.core.json.JsonObject;
@@ -93,6 +102,105 @@ public class LoanPolicyRepository extends CirculationPolicyRepository<LoanPolicy
     );
   }
 
+  /**
+   * Look up the loan policy the circulation rules apply to each of the loans,
+   * the same as {@link #lookupPolicy(Loan)} with the policies and their fixed due date
+   * schedules fetched once for all of the loans. Applying the rules to a loan or finding
+   * its policy can fail without failing the other loans
+   * @param loans loans with their item and user
+   * @return the loan policy, or why it could not be found, for the id of each loan
+   */
+  public CompletableFuture<Result<Map<String, Result<LoanPolicy>>>> lookupLoanPolicies(
+    Collection<Loan> loans) {
+
+    final List<Loan> loansToLookUp = new ArrayList<>(loans);
+
+    final List<CompletableFuture<Result<CirculationRuleMatch>>> ruleMatches = loansToLookUp.stream()
+      .map(this::lookupPolicyIdSafely)
+      .collect(Collectors.toList());
+
+    return allOf(ruleMatches.toArray(new CompletableFuture[0]))
+      .thenApply(notUsed -> ruleMatches.stream()
+        .map(CompletableFuture::join)
+        .collect(Collectors.toList()))
+      .thenCompose(matches -> lookupLoanPolicies(loansToLookUp, matches));
+  }
+
+  private CompletableFuture<Result<CirculationRuleMatch>> lookupPolicyIdSafely(Loan loan) {
+    try {
+      return lookupPolicyId(loan)
+        .exceptionally(CommonFailures::failedDueToServerError);
+    }
+    catch (Exception e) {
+      return completedFuture(failedDueToServerError(e));
+    }
+  }
+
+  private CompletableFuture<Result<Map<String, Result<LoanPolicy>>>> lookupLoanPolicies(
+    List<Loan> loans, List<Result<CirculationRuleMatch>> ruleMatches) {
+
+    final Set<String> policyIds = ruleMatches.stream()
+      .filter(ruleMatch -> ruleMatch.succeeded())
+      .map(Result::value)
+      .map(CirculationRuleMatch::getPolicyId)
+      .collect(Collectors.toSet());
+
+    if (policyIds.isEmpty()) {
+      return completedFuture(succeeded(toLoanPolicies(loans, ruleMatches, Map.of(),
+        Map.of())));
+    }
+
+    final FindWithMultipleCqlIndexValues<JsonObject> fetcher
+      = findWithMultipleCqlIndexValues(policyStorageClient, "loanPolicies", identity());
+
+    return fetcher.findByIds(policyIds)
+      .thenApply(mapResult(policies -> policies.toMap(policy -> policy.getString("id"))))
+      .thenCompose(r -> r.after(policies -> getSchedules(scheduleIds(policies.values()))
+        .thenApply(r2 -> r2.map(schedules ->
+          toLoanPolicies(loans, ruleMatches, policies, schedules)))));
+  }
+
+  private Set<String> scheduleIds(Collection<JsonObject> policies) {
+    return policies.stream()
+      .map(LoanPolicy::from)
+      .flatMap(policy -> Stream.of(policy.getLoansFixedDueDateScheduleId(),
+        policy.getAlternateRenewalsFixedDueDateScheduleId()))
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+  }
+
+  private Map<String, Result<LoanPolicy>> toLoanPolicies(List<Loan> loans,
+    List<Result<CirculationRuleMatch>> ruleMatches, Map<String, JsonObject> policies,
+    Map<String, FixedDueDateSchedules> schedules) {
+
+    final Map<String, Result<LoanPolicy>> loanPolicies = new HashMap<>();
+
+    for (int index = 0; index < loans.size(); index++) {
+      loanPolicies.put(loans.get(index).getId(), ruleMatches.get(index)
+        .next(ruleMatch -> toLoanPolicy(ruleMatch, policies, schedules)));
+    }
+
+    return loanPolicies;
+  }
+
+  private Result<LoanPolicy> toLoanPolicy(CirculationRuleMatch ruleMatch,
+    Map<String, JsonObject> policies, Map<String, FixedDueDateSchedules> schedules) {
+
+    final JsonObject representation = policies.get(ruleMatch.getPolicyId());
+
+    if (representation == null) {
+      return failedDueToServerError(getPolicyNotFoundErrorMessage(ruleMatch.getPolicyId()));
+    }
+
+    return toPolicy(representation, ruleMatch.getAppliedRuleConditions())
+      .map(policy -> policy
+        .withDueDateSchedules(schedules.getOrDefault(
+          policy.getLoansFixedDueDateScheduleId(), new NoFixedDueDateSchedules()))
+        .withAlternateRenewalSchedules(schedules.getOrDefault(
+          policy.getAlternateRenewalsFixedDueDateScheduleId(),
+          new NoFixedDueDateSchedules())));
+  }
+
   private CompletableFuture<Result<Map<String, LoanPolicy>>> getLoanPolicies(Collection<Loan> loans) {
     final Collection<String> loansToFetch = loans.stream()
             .map(Loan::getLoanPolicyId)
@@ -113,7 +221,7 @@ public class LoanPolicyRepository extends CirculationPolicyRepository<LoanPolicy
   @Override
   public CompletableFuture<Result<LoanPolicy>> lookupPolicy(Loan loan) {
     return super.lookupPolicy(loan)
-      .thenComposeAsync(r -> r.after(this::lookupSchedules));
+      .thenComposeAsync(r -> r.after(this::lookupSchedules), onCurrentContext());
   }
 
   private CompletableFuture<Result<LoanPolicy>> lookupSchedules(LoanPolicy loanPolicy) {
@@ -8,23 +8,32 @@ import static org.folio.circulation.domain.representations.LoanProperties.FEESAN
 import static org.folio.circulation.domain.representations.LoanProperties.LOAN_DATE;
 import static org.folio.circulation.domain.representations.LoanProperties.LOAN_POLICY;
 import static org.folio.circulation.domain.representations.LoanProperties.LOST_ITEM_POLICY;
+import static org.folio.circulation.domain.representations.LoanProperties.METADATA;
 import static org.folio.circulation.domain.representations.LoanProperties.OVERDUE_FINE_POLICY;
 import static org.folio.circulation.domain.representations.LoanProperties.PATRON_GROUP_AT_CHECKOUT;
 import static org.folio.circulation.domain.representations.LoanProperties.PATRON_GROUP_ID_AT_CHECKOUT;
+import static org.folio.circulation.domain.representations.LoanProperties.SYSTEM_RETURN_DATE;
+import static org.folio.circulation.domain.representations.LoanProperties.UPDATED_DATE;
 import static org.folio.circulation.support.CqlSortBy.descending;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.folio.circulation.support.fetching.KeysetPagination.keysetPagination;
+import static org.folio.circulation.support.json.JsonPropertyFetcher.getNestedStringProperty;
 import static org.folio.circulation.support.json.JsonPropertyWriter.write;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
+import static org.folio.circulation.support.fetching.RecordFetching.findWithCqlQuery;
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.CommonResponseInterpreters.noContentRecordInterpreter;
 import static org.folio.circulation.support.http.ResponseMapping.forwardOnFailure;
 import static org.folio.circulation.support.http.ResponseMapping.mapUsingJson;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
+import static org.folio.circulation.support.http.client.CqlQuery.lessThan;
 import static org.folio.circulation.support.http.client.PageLimit.one;
 import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
+import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTime;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
@@ -50,6 +59,7 @@ import org.folio.circulation.support.FetchSingleRecord;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.RecordNotFoundFailure;
 import org.folio.circulation.support.fetching.GetManyRecordsRepository;
+import org.folio.circulation.support.fetching.KeysetPagination;
 import org.folio.circulation.support.http.client.Offset;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
@@ -61,6 +71,7 @@ import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.utils.CollectionUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.joda.time.DateTime;
 
 import io.vertx.core.json.JsonObject;
 
@@ -74,6 +85,9 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
   private static final String ITEM_STATUS = "itemStatus";
   private static final String ITEM_ID = "itemId";
   private static final String USER_ID = "userId";
+  private static final KeysetPagination<Loan> LOANS_TO_ANONYMIZE_PAGINATION =
+    keysetPagination(METADATA + "." + UPDATED_DATE,
+      loan -> getNestedStringProperty(loan.asJson(), METADATA, UPDATED_DATE), Loan::getId);
 
   public LoanRepository(Clients clients) {
     loansStorageClient = clients.loansStorage();
@@ -113,7 +127,7 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
 
     return loansStorageClient.put(loan.getId(), storageLoan)
       .thenApply(noContentRecordInterpreter(loan)::flatMap)
-      .thenComposeAsync(r -> r.after(this::refreshLoanRepresentation));
+      .thenComposeAsync(r -> r.after(this::refreshLoanRepresentation), onCurrentContext());
   }
 
   /**
@@ -155,8 +169,8 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
 
   public CompletableFuture<Result<Loan>> getById(String id) {
     return fetchLoan(id)
-      .thenComposeAsync(this::fetchItem)
-      .thenComposeAsync(this::fetchUser)
+      .thenComposeAsync(this::fetchItem, onCurrentContext())
+      .thenComposeAsync(this::fetchUser, onCurrentContext())
       .exceptionally(CommonFailures::failedDueToServerError);
   }
 
@@ -183,13 +197,28 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
     return result.combineAfter(userRepository::getUser, Loan::withUser);
   }
 
+  /**
+   * Finds closed loans which have not been anonymized, in the order they were last
+   * updated, starting after the last loan checked (or from the first loan when null)
+   *
+   * @param returnedBefore only loans returned before this are found, none when null
+   */
   public CompletableFuture<Result<MultipleRecords<Loan>>> findLoansToAnonymize(
-    PageLimit pageLimit) {
+    DateTime returnedBefore, Loan lastLoanChecked, PageLimit pageLimit) {
 
     Result<CqlQuery> cqlQuery = getStatusCQLQuery("Closed")
       .combine(CqlQuery.hasValue(USER_ID), CqlQuery::and);
 
-    return queryLoanStorage(cqlQuery, pageLimit);
+    if (returnedBefore != null) {
+      cqlQuery = cqlQuery.combine(
+        lessThan(SYSTEM_RETURN_DATE, formatDateTime(returnedBefore)), CqlQuery::and);
+    }
+
+    final Result<CqlQuery> pageQuery = lastLoanChecked == null
+      ? cqlQuery.map(LOANS_TO_ANONYMIZE_PAGINATION::firstPage)
+      : cqlQuery.next(query -> LOANS_TO_ANONYMIZE_PAGINATION.pageAfter(query, lastLoanChecked));
+
+    return queryLoanStorage(pageQuery, pageLimit);
   }
 
   private CompletableFuture<Result<MultipleRecords<Loan>>> queryLoanStorage(
@@ -212,7 +241,7 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
   public CompletableFuture<Result<MultipleRecords<Loan>>> findBy(String query) {
     return loansStorageClient.getManyWithRawQueryStringParameters(query)
       .thenApply(flatMapResult(this::mapResponseToLoans))
-      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem));
+      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem), onCurrentContext());
   }
 
   public CompletableFuture<Result<MultipleRecords<Loan>>> findByIds(Collection<String> loanIds) {
@@ -220,7 +249,23 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
       findWithMultipleCqlIndexValues(loansStorageClient, RECORDS_PROPERTY_NAME, Loan::from);
 
     return fetcher.findByIds(loanIds)
-      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem));
+      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem), onCurrentContext());
+  }
+
+  /**
+   * Fetch the loans with the same records as {@link #getById(String)},
+   * each type of record fetched once for all of the loans
+   */
+  public CompletableFuture<Result<MultipleRecords<Loan>>> findByIdsWithItemsAndUsers(
+    Collection<String> loanIds) {
+
+    FindWithMultipleCqlIndexValues<Loan> fetcher =
+      findWithMultipleCqlIndexValues(loansStorageClient, RECORDS_PROPERTY_NAME, Loan::from);
+
+    return fetcher.findByIds(loanIds)
+      .thenComposeAsync(loans -> itemRepository.fetchItemsWithRelatedRecordsFor(loans,
+        Loan::withItem), onCurrentContext())
+      .thenComposeAsync(r -> r.after(userRepository::findUsersForLoans), onCurrentContext());
   }
 
   private Result<MultipleRecords<Loan>> mapResponseToLoans(Response response) {
@@ -300,6 +345,23 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
     return queryLoanStorage(statusQuery.combine(itemIdQuery, CqlQuery::and), one());
   }
 
+  public CompletableFuture<Result<MultipleRecords<Loan>>> findOpenLoansForItems(
+    Collection<String> itemIds) {
+
+    final FindWithMultipleCqlIndexValues<Loan> fetcher =
+      findWithMultipleCqlIndexValues(loansStorageClient, RECORDS_PROPERTY_NAME, Loan::from);
+
+    return fetcher.findByIdIndexAndQuery(itemIds, ITEM_ID, getStatusCQLQuery("Open"));
+  }
+
+  public CompletableFuture<Result<MultipleRecords<Loan>>> findOpenLoansForUser(String userId) {
+    final Result<CqlQuery> statusQuery = getStatusCQLQuery("Open");
+    final Result<CqlQuery> userIdQuery = exactMatch(USER_ID, userId);
+
+    return findWithCqlQuery(loansStorageClient, RECORDS_PROPERTY_NAME, Loan::from)
+      .findByQuery(statusQuery.combine(userIdQuery, CqlQuery::and));
+  }
+
   public CompletableFuture<Result<MultipleRecords<Request>>> findOpenLoansFor(
     MultipleRecords<Request> multipleRequests) {
 
@@ -358,7 +420,7 @@ public class LoanRepository implements GetManyRecordsRepository<Loan> {
       .combine(userIdQuery, CqlQuery::and);
 
     return queryLoanStorage(cqlQueryResult, loansLimit)
-      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem));
+      .thenComposeAsync(loans -> itemRepository.fetchItemsFor(loans, Loan::withItem), onCurrentContext());
   }
 
   public CompletableFuture<Result<Loan>> findLastLoanForItem(String itemId) {
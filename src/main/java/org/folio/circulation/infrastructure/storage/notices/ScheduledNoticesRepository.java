@@ -21,6 +21,7 @@ import static org.folio.circulation.support.http.ResponseMapping.flatMapUsingJso
 import static org.folio.circulation.support.http.ResponseMapping.forwardOnFailure;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatchAny;
+import static org.folio.circulation.support.http.client.Offset.noOffset;
 import static org.folio.circulation.support.logging.PatronNoticeLogHelper.logResponse;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTime;
@@ -36,7 +37,9 @@ import org.folio.circulation.domain.notice.schedule.TriggeringEvent;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.CqlSortBy;
+import org.folio.circulation.support.fetching.GetManyRecordsRepository;
 import org.folio.circulation.support.http.client.CqlQuery;
+import org.folio.circulation.support.http.client.Offset;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.http.client.ResponseInterpreter;
@@ -46,7 +49,7 @@ import org.joda.time.DateTimeZone;
 
 import io.vertx.core.json.JsonObject;
 
-public class ScheduledNoticesRepository {
+public class ScheduledNoticesRepository implements GetManyRecordsRepository<ScheduledNotice> {
   private static final List<String> UPON_AT_AND_AFTER_TIMING =
     Arrays.asList(UPON_AT.getRepresentation(), AFTER.getRepresentation());
 
@@ -78,21 +81,28 @@ public class ScheduledNoticesRepository {
     DateTime timeLimit, boolean realTime, List<TriggeringEvent> triggeringEvents,
     CqlSortBy cqlSortBy, PageLimit pageLimit) {
 
+    return findDueNoticesQuery(timeLimit, realTime, triggeringEvents)
+      .map(cqlQuery -> cqlQuery.sortBy(cqlSortBy))
+      .after(query -> getMany(query, pageLimit, noOffset()));
+  }
+
+  public Result<CqlQuery> findDueNoticesQuery(DateTime timeLimit, boolean realTime,
+    List<TriggeringEvent> triggeringEvents) {
+
     List<String> triggeringEventRepresentations = triggeringEvents.stream()
       .map(TriggeringEvent::getRepresentation)
       .collect(Collectors.toList());
 
     return CqlQuery.lessThan("nextRunTime", formatDateTime(timeLimit.withZone(DateTimeZone.UTC)))
       .combine(exactMatch("noticeConfig.sendInRealTime", Boolean.toString(realTime)), CqlQuery::and)
-      .combine(exactMatchAny("triggeringEvent", triggeringEventRepresentations), CqlQuery::and)
-      .map(cqlQuery -> cqlQuery.sortBy(cqlSortBy))
-      .after(query -> findBy(query, pageLimit));
+      .combine(exactMatchAny("triggeringEvent", triggeringEventRepresentations), CqlQuery::and);
   }
 
-  private CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> findBy(
-    CqlQuery cqlQuery, PageLimit pageLimit) {
+  @Override
+  public CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> getMany(
+    CqlQuery cqlQuery, PageLimit pageLimit, Offset offset) {
 
-    return scheduledNoticesStorageClient.getMany(cqlQuery, pageLimit)
+    return scheduledNoticesStorageClient.getMany(cqlQuery, pageLimit, offset)
       .whenComplete((r, t) -> logResponse(r, t, SC_OK, GET, cqlQuery))
       .thenApply(r -> r.next(response ->
         MultipleRecords.from(response, identity(), "scheduledNotices")))
@@ -2,6 +2,7 @@ package org.folio.circulation.infrastructure.storage.requests;
 
 import static java.lang.String.format;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
@@ -48,7 +49,7 @@ public class RequestPolicyRepository {
 
   private CompletableFuture<Result<RequestPolicy>> lookupRequestPolicy(Item item, User user) {
     return lookupRequestPolicyId(item, user)
-      .thenComposeAsync(r -> r.after(this::lookupRequestPolicy))
+      .thenComposeAsync(r -> r.after(this::lookupRequestPolicy), onCurrentContext())
       .thenApply(result -> result.map(RequestPolicy::from));
   }
 
@@ -83,7 +84,7 @@ public class RequestPolicyRepository {
       patronGroupId);
 
     return circulationRulesResponse
-      .thenComposeAsync(r -> r.after(this::processRulesResponse));
+      .thenComposeAsync(r -> r.after(this::processRulesResponse), onCurrentContext());
   }
 
   private CompletableFuture<Result<String>> processRulesResponse(Response response) {
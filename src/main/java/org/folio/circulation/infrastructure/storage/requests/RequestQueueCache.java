@@ -0,0 +1,303 @@
+package org.folio.circulation.infrastructure.storage.requests;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.folio.circulation.support.executors.CirculationExecutors.completeOnCurrentContext;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.folio.Environment;
+import org.folio.circulation.domain.RequestStatus;
+import org.folio.circulation.support.cache.CacheStatistics;
+import org.folio.circulation.support.cache.LruCache;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonObject;
+import lombok.Value;
+
+/**
+ * The open requests (as stored) for each item, ordered by position, including items
+ * which have none.
+ *
+ * Requests created, changed or deleted by this module are applied to the cached queues
+ * rather than fetching them again. Requests can also be changed by other instances of
+ * the module or by storage (e.g. when they expire), so queues are only kept for a limited
+ * time (REQUEST_QUEUE_CACHE_TTL_SECONDS, which defaults to 0 to disable the cache).
+ *
+ * The item of the queue each cached request is in is kept, so that applying a change
+ * only touches the queues of the items the request was and is for.
+ */
+public final class RequestQueueCache {
+  private static final String ID = "id";
+  private static final String ITEM_ID = "itemId";
+  private static final String STATUS = "status";
+  private static final String POSITION = "position";
+
+  private static final RequestQueueCache instance = new RequestQueueCache(
+    Environment.getRequestQueueCacheSize(),
+    Environment.getRequestQueueCacheTimeToLiveInSeconds() * 1000L);
+
+  private final LruCache<Key, CachedQueue> queues;
+  private final Map<RequestKey, String> itemIdsOfCachedRequests = new ConcurrentHashMap<>();
+  private final Map<Key, CompletableFuture<Result<List<JsonObject>>>> pendingFetches =
+    new ConcurrentHashMap<>();
+  private final long timeToLiveInMilliseconds;
+  private final CacheStatistics statistics = new CacheStatistics();
+
+  public static RequestQueueCache getInstance() {
+    return instance;
+  }
+
+  RequestQueueCache(int maximumSize, long timeToLiveInMilliseconds) {
+    this.queues = new LruCache<>(maximumSize, this::forgetRequestsInQueue);
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+  }
+
+  /**
+   * Get the open requests for an item from the cache or, when they are not cached or
+   * have expired, fetch them
+   *
+   * @param fetcher  fetches the open requests for the item
+   * @return copies of the requests, so callers can't change the cached queue
+   */
+  public CompletableFuture<Result<List<JsonObject>>> getOpenRequests(String tenantId,
+    String itemId, Supplier<CompletableFuture<Result<List<JsonObject>>>> fetcher) {
+
+    if (timeToLiveInMilliseconds <= 0 || itemId == null) {
+      return fetcher.get();
+    }
+
+    final Key key = new Key(tenantId, itemId);
+    final CachedQueue cachedQueue = queues.get(key);
+
+    if (cachedQueue != null && !cachedQueue.hasExpired()) {
+      statistics.recordHit();
+
+      return completedFuture(succeeded(copyOf(cachedQueue.requests)));
+    }
+
+    statistics.recordMiss();
+
+    return completeOnCurrentContext(fetchOnce(key, fetcher))
+      .thenApply(r -> r.map(RequestQueueCache::copyOf));
+  }
+
+  /**
+   * Apply a request that has been created or changed to the cached queues, it is removed
+   * from any queue it was in before and, when open, added to the queue of its item
+   */
+  public void requestChanged(String tenantId, JsonObject request) {
+    if (timeToLiveInMilliseconds <= 0) {
+      return;
+    }
+
+    forgetPendingFetch(tenantId, request);
+
+    final JsonObject storedRequest = request.copy();
+    final String requestId = storedRequest.getString(ID);
+    final String itemId = storedRequest.getString(ITEM_ID);
+    final RequestKey requestKey = new RequestKey(tenantId, requestId);
+
+    synchronized (this) {
+      final String previousItemId = itemIdsOfCachedRequests.get(requestKey);
+
+      if (previousItemId != null && !Objects.equals(previousItemId, itemId)) {
+        itemIdsOfCachedRequests.remove(requestKey);
+
+        queues.computeIfPresent(new Key(tenantId, previousItemId),
+          (key, queue) -> queue.withoutRequest(requestId));
+      }
+
+      if (itemId == null) {
+        return;
+      }
+
+      final CachedQueue changedQueue = queues.computeIfPresent(new Key(tenantId, itemId),
+        (key, queue) -> queue.withChangedRequest(itemId, storedRequest));
+
+      if (changedQueue != null && isOpen(storedRequest)) {
+        itemIdsOfCachedRequests.put(requestKey, itemId);
+      }
+      else {
+        itemIdsOfCachedRequests.remove(requestKey, itemId);
+      }
+    }
+  }
+
+  public void requestRemoved(String tenantId, JsonObject request) {
+    if (timeToLiveInMilliseconds <= 0) {
+      return;
+    }
+
+    forgetPendingFetch(tenantId, request);
+
+    final String requestId = request.getString(ID);
+
+    synchronized (this) {
+      final String itemId = itemIdsOfCachedRequests.remove(
+        new RequestKey(tenantId, requestId));
+
+      if (itemId != null) {
+        queues.computeIfPresent(new Key(tenantId, itemId),
+          (key, queue) -> queue.withoutRequest(requestId));
+      }
+    }
+  }
+
+  public synchronized void flush(String tenantId) {
+    queues.removeIf(key -> Objects.equals(key.getTenantId(), tenantId));
+    itemIdsOfCachedRequests.keySet()
+      .removeIf(key -> Objects.equals(key.getTenantId(), tenantId));
+    pendingFetches.keySet().removeIf(key -> Objects.equals(key.getTenantId(), tenantId));
+  }
+
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
+
+  private CompletableFuture<Result<List<JsonObject>>> fetchOnce(Key key,
+    Supplier<CompletableFuture<Result<List<JsonObject>>>> fetcher) {
+
+    final CompletableFuture<Result<List<JsonObject>>> fetch = new CompletableFuture<>();
+    final CompletableFuture<Result<List<JsonObject>>> pendingFetch =
+      pendingFetches.putIfAbsent(key, fetch);
+
+    if (pendingFetch != null) {
+      return pendingFetch;
+    }
+
+    final long start = System.currentTimeMillis();
+
+    fetcher.get()
+      .whenComplete((result, throwable) -> {
+        // a request for the item changed during the fetch when it is no longer pending,
+        // so what was fetched might already be out of date
+        if (pendingFetches.remove(key, fetch) && result != null && result.succeeded()) {
+          cacheQueue(key, new CachedQueue(sortedByPosition(result.value().stream()
+            .map(JsonObject::copy))));
+
+          statistics.recordLoad(System.currentTimeMillis() - start);
+        }
+
+        if (throwable != null) {
+          fetch.completeExceptionally(throwable);
+        } else {
+          fetch.complete(result);
+        }
+      });
+
+    return fetch;
+  }
+
+  private synchronized void cacheQueue(Key key, CachedQueue queue) {
+    final CachedQueue previousQueue = queues.put(key, queue);
+
+    if (previousQueue != null) {
+      forgetRequestsInQueue(key, previousQueue);
+    }
+
+    queue.requests.forEach(request -> itemIdsOfCachedRequests.put(
+      new RequestKey(key.getTenantId(), request.getString(ID)), key.getItemId()));
+  }
+
+  private void forgetRequestsInQueue(Key key, CachedQueue queue) {
+    queue.requests.forEach(request -> itemIdsOfCachedRequests.remove(
+      new RequestKey(key.getTenantId(), request.getString(ID)), key.getItemId()));
+  }
+
+  private void forgetPendingFetch(String tenantId, JsonObject request) {
+    final String itemId = request.getString(ITEM_ID);
+
+    if (itemId != null) {
+      pendingFetches.remove(new Key(tenantId, itemId));
+    }
+  }
+
+  private static boolean isOpen(JsonObject request) {
+    return RequestStatus.openStates().contains(request.getString(STATUS));
+  }
+
+  private static List<JsonObject> sortedByPosition(Stream<JsonObject> requests) {
+    return requests
+      .sorted(comparingInt(request -> Optional.ofNullable(request.getInteger(POSITION))
+        .orElse(0)))
+      .collect(toList());
+  }
+
+  private static List<JsonObject> copyOf(Collection<JsonObject> requests) {
+    return requests.stream()
+      .map(JsonObject::copy)
+      .collect(toList());
+  }
+
+  @Value
+  private static class Key {
+    String tenantId;
+    String itemId;
+  }
+
+  @Value
+  private static class RequestKey {
+    String tenantId;
+    String requestId;
+  }
+
+  private class CachedQueue {
+    private final List<JsonObject> requests;
+    private final long expiryTimestamp;
+
+    private CachedQueue(List<JsonObject> requests) {
+      this(requests, System.currentTimeMillis() + timeToLiveInMilliseconds);
+    }
+
+    private CachedQueue(List<JsonObject> requests, long expiryTimestamp) {
+      this.requests = List.copyOf(requests);
+      this.expiryTimestamp = expiryTimestamp;
+    }
+
+    private boolean hasExpired() {
+      return expiryTimestamp < System.currentTimeMillis();
+    }
+
+    private CachedQueue withChangedRequest(String itemId, JsonObject request) {
+      final boolean belongsInQueue = Objects.equals(itemId, request.getString(ITEM_ID))
+        && isOpen(request);
+
+      if (!belongsInQueue && !contains(request.getString(ID))) {
+        return this;
+      }
+
+      final Stream<JsonObject> otherRequests = otherRequests(request.getString(ID));
+
+      return new CachedQueue(sortedByPosition(belongsInQueue
+        ? Stream.concat(otherRequests, Stream.of(request))
+        : otherRequests), expiryTimestamp);
+    }
+
+    private CachedQueue withoutRequest(String requestId) {
+      return contains(requestId)
+        ? new CachedQueue(otherRequests(requestId).collect(toList()), expiryTimestamp)
+        : this;
+    }
+
+    private boolean contains(String requestId) {
+      return requests.stream()
+        .anyMatch(request -> Objects.equals(request.getString(ID), requestId));
+    }
+
+    private Stream<JsonObject> otherRequests(String requestId) {
+      return requests.stream()
+        .filter(request -> !Objects.equals(request.getString(ID), requestId));
+    }
+  }
+}
@@ -1,6 +1,13 @@
 package org.folio.circulation.infrastructure.storage.requests;
 
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsLast;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
 import static org.folio.circulation.support.CqlSortBy.ascending;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
@@ -8,9 +15,14 @@ import static org.folio.circulation.support.http.client.CqlQuery.exactMatchAny;
 import static org.folio.circulation.support.http.client.PageLimit.oneThousand;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.ItemRelatedRecord;
+import org.folio.circulation.domain.Loan;
 import org.folio.circulation.domain.LoanAndRelatedRecords;
 import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.domain.Request;
@@ -24,49 +36,95 @@ import org.folio.circulation.support.http.client.PageLimit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.vertx.core.json.JsonObject;
+
 public class RequestQueueRepository {
   private static final Logger LOG = LogManager.getLogger(RequestQueueRepository.class);
 
   private static final PageLimit MAXIMUM_SUPPORTED_REQUEST_QUEUE_SIZE = oneThousand();
+  private final String tenantId;
   private final RequestRepository requestRepository;
 
-  private RequestQueueRepository(RequestRepository requestRepository) {
+  private RequestQueueRepository(String tenantId, RequestRepository requestRepository) {
+    this.tenantId = tenantId;
     this.requestRepository = requestRepository;
   }
 
   public static RequestQueueRepository using(Clients clients) {
-    return new RequestQueueRepository(RequestRepository.using(clients));
+    return new RequestQueueRepository(clients.getTenantId(),
+      RequestRepository.using(clients));
   }
 
   public CompletableFuture<Result<LoanAndRelatedRecords>> get(
     LoanAndRelatedRecords loanAndRelatedRecords) {
 
-    return get(loanAndRelatedRecords.getLoan().getItemId())
+    final Loan loan = loanAndRelatedRecords.getLoan();
+
+    return getForItem(loan.getItemId(), loan.getItem())
       .thenApply(result -> result.map(loanAndRelatedRecords::withRequestQueue));
   }
 
   public CompletableFuture<Result<RenewalContext>> get(RenewalContext renewalContext) {
-    return get(renewalContext.getLoan().getItemId())
+    final Loan loan = renewalContext.getLoan();
+
+    return getForItem(loan.getItemId(), loan.getItem())
       .thenApply(result -> result.map(renewalContext::withRequestQueue));
   }
 
+  /**
+   * Get the request queue for an item that has already been fetched, the requests
+   * refer to the item provided rather than fetching it again
+   */
+  public CompletableFuture<Result<RequestQueue>> get(Item item) {
+    return getForItem(item.getItemId(), item);
+  }
+
+  private CompletableFuture<Result<RequestQueue>> getForItem(String itemId, Item item) {
+    if (item == null || item.isNotFound()) {
+      return get(itemId);
+    }
+
+    return findOpenRequests(itemId)
+      .thenApply(r -> r.map(requests -> requests.mapRecords(
+        request -> request.withItem(item))))
+      .thenApply(r -> r.map(MultipleRecords::getRecords))
+      .thenApply(r -> r.map(RequestQueue::new));
+  }
+
   public CompletableFuture<Result<RequestQueue>> get(ItemRelatedRecord itemRelatedRecord) {
     return get(itemRelatedRecord.getItemId());
   }
 
   public CompletableFuture<Result<RequestQueue>> get(String itemId) {
-    final Result<CqlQuery> itemIdQuery = exactMatch("itemId", itemId);
-    final Result<CqlQuery> statusQuery = exactMatchAny("status", RequestStatus.openStates());
-
-    return itemIdQuery.combine(statusQuery, CqlQuery::and)
-      .map(q -> q.sortBy(ascending("position")))
-      .after(query -> requestRepository.findBy(query,
-        MAXIMUM_SUPPORTED_REQUEST_QUEUE_SIZE))
+    return findOpenRequests(itemId)
+      .thenCompose(r -> r.after(requests -> requests.isEmpty()
+        ? completedFuture(succeeded(requests))
+        : requestRepository.fetchItemsFor(succeeded(requests))))
       .thenApply(r -> r.map(MultipleRecords::getRecords))
       .thenApply(r -> r.map(RequestQueue::new));
   }
 
+  /**
+   * Get the request queue for an item without the item of each request, for when only
+   * whether there are any requests or which comes first is needed
+   */
   public CompletableFuture<Result<RequestQueue>> getRequestQueueWithoutItemLookup(String itemId) {
+    return findOpenRequests(itemId)
+      .thenApply(r -> r.map(MultipleRecords::getRecords))
+      .thenApply(r -> r.map(RequestQueue::new));
+  }
+
+  private CompletableFuture<Result<MultipleRecords<Request>>> findOpenRequests(
+    String itemId) {
+
+    return RequestQueueCache.getInstance()
+      .getOpenRequests(tenantId, itemId, () -> fetchOpenRequests(itemId))
+      .thenApply(r -> r.map(requests -> new MultipleRecords<>(
+        requests.stream().map(Request::from).collect(Collectors.toList()),
+        requests.size())));
+  }
+
+  private CompletableFuture<Result<List<JsonObject>>> fetchOpenRequests(String itemId) {
     final Result<CqlQuery> itemIdQuery = exactMatch("itemId", itemId);
     final Result<CqlQuery> statusQuery = exactMatchAny("status", RequestStatus.openStates());
 
@@ -74,8 +132,40 @@ public class RequestQueueRepository {
       .map(q -> q.sortBy(ascending("position")))
       .after(query -> requestRepository.findByWithoutItems(query,
           MAXIMUM_SUPPORTED_REQUEST_QUEUE_SIZE))
-      .thenApply(r -> r.map(MultipleRecords::getRecords))
-      .thenApply(r -> r.map(RequestQueue::new));
+      .thenApply(r -> r.map(requests -> requests.getRecords().stream()
+        .map(Request::asJson)
+        .collect(Collectors.toList())));
+  }
+
+  /**
+   * Get the request queues of several items at once, the requests are fetched in bulk
+   * and refer to the items provided rather than fetching them again
+   * @param items the items to get the request queues for
+   * @return the request queue for the id of each item, empty for items without requests
+   */
+  public CompletableFuture<Result<Map<String, RequestQueue>>> getRequestQueues(
+    Collection<Item> items) {
+
+    final Map<String, Item> itemsById = items.stream()
+      .collect(toMap(Item::getItemId, identity(), (first, second) -> first));
+
+    return requestRepository.findByItemIdsWithoutItems(itemsById.keySet(),
+        exactMatchAny("status", RequestStatus.openStates()))
+      .thenApply(r -> r.map(requests -> toRequestQueues(requests, itemsById)));
+  }
+
+  private Map<String, RequestQueue> toRequestQueues(MultipleRecords<Request> requests,
+    Map<String, Item> itemsById) {
+
+    final Map<String, List<Request>> requestsByItemId = requests.getRecords().stream()
+      .sorted(comparing(Request::getPosition, nullsLast(naturalOrder())))
+      .collect(groupingBy(Request::getItemId));
+
+    return itemsById.keySet().stream()
+      .collect(toMap(identity(), itemId -> new RequestQueue(
+        requestsByItemId.getOrDefault(itemId, emptyList()).stream()
+          .map(request -> request.withItem(itemsById.get(itemId)))
+          .collect(Collectors.toList()))));
   }
 
   public CompletableFuture<Result<RequestQueue>> updateRequestsWithChangedPositions(
@@ -1,14 +1,17 @@
 package org.folio.circulation.infrastructure.storage.requests;
 
 import static java.util.Objects.isNull;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
+import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.ResponseMapping.forwardOnFailure;
 import static org.folio.circulation.support.http.ResponseMapping.mapUsingJson;
+import static org.folio.circulation.support.json.JsonObjectArrayPropertyFetcher.toStream;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
@@ -27,6 +30,7 @@ import org.folio.circulation.infrastructure.storage.users.UserRepository;
 import org.folio.circulation.storage.RequestBatch;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.FetchSingleRecord;
+import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.RecordNotFoundFailure;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.SingleRecordFetcher;
@@ -40,6 +44,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 public class RequestRepository {
+  private final String tenantId;
   private final CollectionResourceClient requestsStorageClient;
   private final CollectionResourceClient requestsBatchStorageClient;
   private final CollectionResourceClient cancellationReasonStorageClient;
@@ -49,11 +54,12 @@ public class RequestRepository {
   private final ServicePointRepository servicePointRepository;
   private final PatronGroupRepository patronGroupRepository;
 
-  private RequestRepository(Clients clients, ItemRepository itemRepository,
+  private RequestRepository(String tenantId, Clients clients, ItemRepository itemRepository,
     UserRepository userRepository, LoanRepository loanRepository,
     ServicePointRepository servicePointRepository,
     PatronGroupRepository patronGroupRepository) {
 
+    this.tenantId = tenantId;
     this.requestsStorageClient = clients.getRequestsStorageClient();
     this.requestsBatchStorageClient = clients.getRequestsBatchStorageClient();
     this.cancellationReasonStorageClient = clients.getCancellationReasonStorageClient();
@@ -69,7 +75,7 @@ public class RequestRepository {
   }
 
   public static RequestRepository using(org.folio.circulation.support.Clients clients, boolean fetchMaterialType) {
-    return new RequestRepository(
+    return new RequestRepository(clients.getTenantId(),
       new Clients(clients.requestsStorage(), clients.requestsBatchStorage(),
         clients.cancellationReasonStorage()),
       new ItemRepository(clients, true, fetchMaterialType, true),
@@ -82,19 +88,44 @@ public class RequestRepository {
   public CompletableFuture<Result<MultipleRecords<Request>>> findBy(String query) {
     return requestsStorageClient.getManyWithRawQueryStringParameters(query)
       .thenApply(flatMapResult(this::mapResponseToRequests))
-      .thenComposeAsync(result -> itemRepository.fetchItemsFor(result, Request::withItem))
-      .thenComposeAsync(result -> result.after(loanRepository::findOpenLoansFor))
-      .thenComposeAsync(result -> result.after(servicePointRepository::findServicePointsForRequests))
-      .thenComposeAsync(result -> result.after(userRepository::findUsersForRequests))
-      .thenComposeAsync(result -> result.after(patronGroupRepository::findPatronGroupsForRequestsUsers));
+      .thenComposeAsync(result -> itemRepository.fetchItemsFor(result, Request::withItem), onCurrentContext())
+      .thenComposeAsync(this::fetchRelatedRecords, onCurrentContext());
+  }
+
+  /**
+   * Fetch the requests with the same records as {@link #getById(String)},
+   * each type of record fetched once for all of the requests
+   */
+  public CompletableFuture<Result<MultipleRecords<Request>>> findByIds(Collection<String> ids) {
+    final FindWithMultipleCqlIndexValues<Request> fetcher
+      = findWithMultipleCqlIndexValues(requestsStorageClient, "requests", Request::from);
+
+    return fetcher.findByIds(ids)
+      .thenComposeAsync(result -> itemRepository.fetchItemsWithRelatedRecordsFor(result,
+        Request::withItem), onCurrentContext())
+      .thenComposeAsync(this::fetchRelatedRecords, onCurrentContext());
+  }
+
+  private CompletableFuture<Result<MultipleRecords<Request>>> fetchRelatedRecords(
+    Result<MultipleRecords<Request>> requests) {
+
+    return requests.after(loanRepository::findOpenLoansFor)
+      .thenComposeAsync(result -> result.after(servicePointRepository::findServicePointsForRequests), onCurrentContext())
+      .thenComposeAsync(result -> result.after(userRepository::findUsersForRequests), onCurrentContext())
+      .thenComposeAsync(result -> result.after(patronGroupRepository::findPatronGroupsForRequestsUsers), onCurrentContext());
   }
 
   CompletableFuture<Result<MultipleRecords<Request>>> findBy(CqlQuery query,
     PageLimit pageLimit) {
 
     return findByWithoutItems(query, pageLimit)
-      .thenComposeAsync(requests ->
-        itemRepository.fetchItemsFor(requests, Request::withItem));
+      .thenComposeAsync(this::fetchItemsFor, onCurrentContext());
+  }
+
+  CompletableFuture<Result<MultipleRecords<Request>>> fetchItemsFor(
+    Result<MultipleRecords<Request>> requests) {
+
+    return itemRepository.fetchItemsFor(requests, Request::withItem);
   }
 
   CompletableFuture<Result<MultipleRecords<Request>>> findByWithoutItems(
@@ -104,6 +135,15 @@ public class RequestRepository {
       .thenApply(result -> result.next(this::mapResponseToRequests));
   }
 
+  CompletableFuture<Result<MultipleRecords<Request>>> findByItemIdsWithoutItems(
+    Collection<String> itemIds, Result<CqlQuery> andQuery) {
+
+    final FindWithMultipleCqlIndexValues<Request> fetcher
+      = findWithMultipleCqlIndexValues(requestsStorageClient, "requests", Request::from);
+
+    return fetcher.findByIdIndexAndQuery(itemIds, "itemId", andQuery);
+  }
+
   private Result<MultipleRecords<Request>> mapResponseToRequests(Response response) {
     return MultipleRecords.from(response, Request::from, "requests");
   }
@@ -128,12 +168,12 @@ public class RequestRepository {
   public CompletableFuture<Result<Request>> getById(String id) {
     return fetchRequest(id)
       .thenComposeAsync(result -> result.combineAfter(itemRepository::fetchFor,
-        Request::withItem))
-      .thenComposeAsync(this::fetchRequester)
-      .thenComposeAsync(this::fetchProxy)
-      .thenComposeAsync(this::fetchLoan)
-      .thenComposeAsync(this::fetchPickupServicePoint)
-      .thenComposeAsync(this::fetchPatronGroups);
+        Request::withItem), onCurrentContext())
+      .thenComposeAsync(this::fetchRequester, onCurrentContext())
+      .thenComposeAsync(this::fetchProxy, onCurrentContext())
+      .thenComposeAsync(this::fetchLoan, onCurrentContext())
+      .thenComposeAsync(this::fetchPickupServicePoint, onCurrentContext())
+      .thenComposeAsync(this::fetchPatronGroups, onCurrentContext());
   }
 
   private CompletableFuture<Result<Request>> fetchRequest(String id) {
@@ -152,7 +192,11 @@ public class RequestRepository {
       .otherwise(forwardOnFailure());
 
     return requestsStorageClient.put(request.getId(), representation)
-      .thenApply(interpreter::flatMap);
+      .thenApply(interpreter::flatMap)
+      .thenApply(mapResult(updatedRequest -> {
+        RequestQueueCache.getInstance().requestChanged(tenantId, representation);
+        return updatedRequest;
+      }));
   }
 
   public CompletableFuture<Result<RequestAndRelatedRecords>> update(
@@ -176,6 +220,10 @@ public class RequestRepository {
 
     return requestsStorageClient.post(representation)
       .thenApply(interpreter::flatMap)
+      .thenApply(mapResult(createdRequest -> {
+        RequestQueueCache.getInstance().requestChanged(tenantId, createdRequest.asJson());
+        return createdRequest;
+      }))
       .thenApply(mapResult(requestAndRelatedRecords::withRequest));
   }
 
@@ -185,7 +233,11 @@ public class RequestRepository {
       .otherwise(forwardOnFailure());
 
     return requestsStorageClient.delete(request.getId())
-      .thenApply(flatMapResult(interpreter::apply));
+      .thenApply(flatMapResult(interpreter::apply))
+      .thenApply(mapResult(deletedRequest -> {
+        RequestQueueCache.getInstance().requestRemoved(tenantId, deletedRequest.asJson());
+        return deletedRequest;
+      }));
   }
 
   public CompletableFuture<Result<Request>> loadCancellationReason(Request request) {
@@ -213,8 +265,17 @@ public class RequestRepository {
         .otherwise(forwardOnFailure());
 
     RequestBatch requestBatch = new RequestBatch(requests);
-    return requestsBatchStorageClient.post(requestBatch.toJson())
-      .thenApply(interpreter::flatMap);
+    final JsonObject batchRepresentation = requestBatch.toJson();
+
+    return requestsBatchStorageClient.post(batchRepresentation)
+      .thenApply(interpreter::flatMap)
+      .thenApply(mapResult(updatedRequests -> {
+        toStream(batchRepresentation, "requests")
+          .forEach(representation -> RequestQueueCache.getInstance()
+            .requestChanged(tenantId, representation));
+
+        return updatedRequests;
+      }));
   }
 
   private CompletableFuture<Result<Request>> fetchRequester(Result<Request> result) {
@@ -98,6 +98,26 @@ public class PatronActionSessionRepository {
       .thenApply(responseInterpreter::flatMap);
   }
 
+  /**
+   * Creates the session record unless one with the same ID already exists, so that
+   * creating it again (e.g. when a deferred check in side effect is retried) does not
+   * lead to the patron being sent the same notice twice
+   */
+  public CompletableFuture<Result<PatronSessionRecord>> createIfAbsent(
+    PatronSessionRecord patronSessionRecord) {
+
+    final ResponseInterpreter<Boolean> responseInterpreter
+      = new ResponseInterpreter<Boolean>()
+      .on(200, of(() -> true))
+      .on(404, of(() -> false));
+
+    return patronActionSessionsStorageClient.get(patronSessionRecord.getId().toString())
+      .thenApply(responseInterpreter::flatMap)
+      .thenCompose(r -> r.after(exists -> Boolean.TRUE.equals(exists)
+        ? CompletableFuture.completedFuture(succeeded(patronSessionRecord))
+        : create(patronSessionRecord)));
+  }
+
   public CompletableFuture<Result<PatronSessionRecord>> delete(PatronSessionRecord session) {
     var interpreter = new ResponseInterpreter<PatronSessionRecord>()
       .on(204, of(() -> session))
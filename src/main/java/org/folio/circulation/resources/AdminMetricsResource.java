@@ -0,0 +1,103 @@
+package org.folio.circulation.resources;
+
+import static org.folio.circulation.support.http.server.TextHttpResponse.ok;
+
+import java.util.Map;
+
+import org.folio.Environment;
+import org.folio.circulation.domain.notice.schedule.ScheduledNoticeBacklog;
+import org.folio.circulation.infrastructure.storage.inventory.LocationHierarchyCache;
+import org.folio.circulation.infrastructure.storage.requests.RequestQueueCache;
+import org.folio.circulation.rules.cache.CirculationRuleMatchCache;
+import org.folio.circulation.rules.cache.CirculationRulesCache;
+import org.folio.circulation.services.EventOutbox;
+import org.folio.circulation.services.PostCommitTasks;
+import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.cache.CacheStatistics;
+import org.folio.circulation.support.cache.ReferenceDataCache;
+import org.folio.circulation.support.executors.CirculationExecutors;
+import org.folio.circulation.support.http.client.HttpClientConcurrencyLimiter;
+import org.folio.circulation.support.http.server.WebContext;
+import org.folio.circulation.support.metrics.HttpClientMetrics;
+import org.folio.circulation.support.metrics.PrometheusFormat;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Metrics for this instance of the module (for all tenants) in the Prometheus text
+ * format: requests made to other modules, caches, executors, scheduled notices, events
+ * waiting to be published and side effects run after responding
+ */
+public class AdminMetricsResource extends Resource {
+  public AdminMetricsResource(HttpClient client) {
+    super(client);
+  }
+
+  @Override
+  public void register(Router router) {
+    new RouteRegistration("/admin/metrics", router)
+      .getMany(this::getMetrics);
+  }
+
+  private void getMetrics(RoutingContext routingContext) {
+    final PrometheusFormat format = new PrometheusFormat();
+
+    HttpClientMetrics.getInstance().writeTo(format);
+    HttpClientConcurrencyLimiter.getInstance().writeTo(format);
+
+    writeCache(format, "reference_data", ReferenceDataCache.getInstance().getStatistics());
+    writeCache(format, "circulation_rules",
+      CirculationRulesCache.getInstance().getStatistics());
+    writeCache(format, "circulation_rule_matches",
+      CirculationRuleMatchCache.getInstance().getStatistics());
+    writeCache(format, "location_hierarchy",
+      LocationHierarchyCache.getInstance().getStatistics());
+    writeCache(format, "request_queue", RequestQueueCache.getInstance().getStatistics());
+
+    writeExecutors(format, CirculationExecutors.getStatistics());
+    writeScheduledNotices(format, ScheduledNoticeBacklog.getInstance().getStatistics());
+
+    // only touch the outbox and side effects when enabled, as they open their journals
+    if (Environment.isPubSubOutboxEnabled()) {
+      format.gauges("circulation_event_outbox", "Events waiting to be published",
+        Map.of(), EventOutbox.getInstance().getStatistics());
+    }
+
+    if (Environment.isCheckInSideEffectsDeferred()) {
+      format.gauges("circulation_post_commit_tasks", "Side effects run after responding",
+        Map.of(), PostCommitTasks.getInstance().getStatistics());
+    }
+
+    new WebContext(routingContext).write(ok(format.toString(),
+      PrometheusFormat.CONTENT_TYPE));
+  }
+
+  private static void writeCache(PrometheusFormat format, String cache,
+    CacheStatistics statistics) {
+
+    format.gauges("circulation_cache", "Use of cached records",
+      Map.of("cache", cache), statistics.toJson());
+  }
+
+  private static void writeExecutors(PrometheusFormat format, JsonObject statistics) {
+    statistics.fieldNames().forEach(executor -> format.gauges("circulation_executor",
+      "Work run off the event loop", Map.of("executor", executor),
+      statistics.getJsonObject(executor)));
+  }
+
+  private static void writeScheduledNotices(PrometheusFormat format,
+    JsonObject statistics) {
+
+    statistics.fieldNames().forEach(tenantId -> {
+      final JsonObject noticeTypes = statistics.getJsonObject(tenantId);
+
+      noticeTypes.fieldNames().forEach(noticeType -> format.gauges(
+        "circulation_scheduled_notices", "Processing of scheduled notices",
+        Map.of("tenant", tenantId, "notice_type", noticeType),
+        noticeTypes.getJsonObject(noticeType)));
+    });
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.circulation.resources;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static org.folio.circulation.domain.validation.CommonFailures.noItemFoundForBarcodeFailure;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.domain.RequestQueue;
+import org.folio.circulation.support.results.Result;
+
+/**
+ * Items, open loans and request queues fetched in bulk for all of the check ins of a batch.
+ * Check ins for barcodes that were not part of the bulk fetch look up these records individually.
+ */
+class CheckInBatchRecords {
+  private final Set<String> barcodes;
+  private final Map<String, Item> itemsByBarcode;
+  private final Map<String, List<Loan>> openLoansByItemId;
+  private final Map<String, RequestQueue> requestQueuesByItemId;
+
+  private CheckInBatchRecords(Collection<String> barcodes, Collection<Item> items,
+    Collection<Loan> openLoans, Map<String, RequestQueue> requestQueuesByItemId) {
+
+    this.barcodes = new HashSet<>(barcodes);
+    this.itemsByBarcode = items.stream()
+      .collect(toMap(Item::getBarcode, identity(), (first, second) -> first));
+    this.openLoansByItemId = openLoans.stream()
+      .collect(groupingBy(Loan::getItemId));
+    this.requestQueuesByItemId = requestQueuesByItemId;
+  }
+
+  static CheckInBatchRecords none() {
+    return new CheckInBatchRecords(emptySet(), emptyList(), emptyList(), emptyMap());
+  }
+
+  static CheckInBatchRecords of(Collection<String> barcodes, Collection<Item> items,
+    MultipleRecords<Loan> openLoans, Map<String, RequestQueue> requestQueuesByItemId) {
+
+    return new CheckInBatchRecords(barcodes, items, openLoans.getRecords(),
+      requestQueuesByItemId);
+  }
+
+  boolean includesItem(String barcode) {
+    return barcodes.contains(barcode);
+  }
+
+  boolean includesRelatedRecordsFor(Item item) {
+    return itemsByBarcode.containsKey(item.getBarcode())
+      && requestQueuesByItemId.containsKey(item.getItemId());
+  }
+
+  Result<Item> getItem(String barcode) {
+    final Item item = itemsByBarcode.get(barcode);
+
+    return item == null
+      ? Result.failed(noItemFoundForBarcodeFailure(barcode).get())
+      : succeeded(item);
+  }
+
+  MultipleRecords<Loan> getOpenLoans(Item item) {
+    final List<Loan> openLoans = openLoansByItemId.getOrDefault(item.getItemId(), emptyList());
+
+    return new MultipleRecords<>(openLoans, openLoans.size());
+  }
+
+  RequestQueue getRequestQueue(Item item) {
+    return requestQueuesByItemId.get(item.getItemId());
+  }
+}
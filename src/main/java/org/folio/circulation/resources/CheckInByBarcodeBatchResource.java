@@ -0,0 +1,145 @@
+package org.folio.circulation.resources;
+
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.domain.validation.UserNotFoundValidator.refuseWhenLoggedInUserNotPresent;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allResultsOf;
+import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.json.JsonPropertyFetcher.getProperty;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.Environment;
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.representations.CheckInByBarcodeBatchRequest;
+import org.folio.circulation.domain.representations.CheckInByBarcodeBatchResponse;
+import org.folio.circulation.domain.representations.CheckInByBarcodeBatchResponse.CheckInOutcome;
+import org.folio.circulation.domain.representations.CheckInByBarcodeRequest;
+import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
+import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
+import org.folio.circulation.infrastructure.storage.requests.RequestQueueRepository;
+import org.folio.circulation.services.EventPublisher;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.http.server.WebContext;
+import org.folio.circulation.support.results.CommonFailures;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Checks in many items in one request.
+ *
+ * The items, their open loans and their request queues are fetched in bulk up front,
+ * each check in then goes through the same steps as a single check in by barcode.
+ * Up to CHECK_IN_BATCH_CONCURRENCY check ins are processed at the same time (each is for
+ * a different item), they succeed or fail independently and the response has the
+ * outcome of each of them in the order they were requested.
+ */
+public class CheckInByBarcodeBatchResource extends CheckInByBarcodeResource {
+  private static final String ITEM_BARCODE = "itemBarcode";
+
+  public CheckInByBarcodeBatchResource(HttpClient client) {
+    super(client);
+  }
+
+  @Override
+  public void register(Router router) {
+    RouteRegistration routeRegistration = new RouteRegistration(
+      "/circulation/check-in-by-barcode-batch", router);
+
+    routeRegistration.create(this::checkInBatch);
+  }
+
+  private void checkInBatch(RoutingContext routingContext) {
+    final WebContext context = new WebContext(routingContext);
+
+    final Clients clients = Clients.create(context, client);
+
+    final EventPublisher eventPublisher = new EventPublisher(routingContext);
+
+    refuseWhenLoggedInUserNotPresent(context)
+      .next(notUsed -> CheckInByBarcodeBatchRequest.from(routingContext.getBodyAsJson()))
+      .after(batchRequest -> checkInAll(batchRequest, context, clients, eventPublisher))
+      .thenApply(r -> r.map(CheckInByBarcodeBatchResponse::new))
+      .thenApply(r -> r.map(CheckInByBarcodeBatchResponse::toHttpResponse))
+      .thenAccept(context::writeResultToHttpResponse);
+  }
+
+  private CompletableFuture<Result<List<CheckInOutcome>>> checkInAll(
+    CheckInByBarcodeBatchRequest batchRequest, WebContext context, Clients clients,
+    EventPublisher eventPublisher) {
+
+    final List<JsonObject> checkIns = batchRequest.getCheckIns();
+    final List<Result<CheckInByBarcodeRequest>> checkInRequests = toCheckInRequests(checkIns);
+
+    final Set<String> barcodes = checkInRequests.stream()
+      .filter(request -> request.succeeded())
+      .map(request -> request.value().getItemBarcode())
+      .collect(Collectors.toSet());
+
+    return fetchBatchRecords(barcodes, clients)
+      .thenCompose(r -> r.after(batchRecords -> {
+        final CheckInProcessAdapter processAdapter
+          = CheckInProcessAdapter.newInstance(clients, batchRecords);
+
+        final List<Integer> indexes = IntStream.range(0, checkIns.size())
+          .boxed()
+          .collect(Collectors.toList());
+
+        return allResultsOf(indexes, index -> checkInRequests.get(index)
+            .after(request -> checkIn(request, context, clients, processAdapter, eventPublisher))
+            .exceptionally(CommonFailures::failedDueToServerError)
+            .thenApply(result -> succeeded(new CheckInOutcome(
+              getProperty(checkIns.get(index), ITEM_BARCODE), result))),
+          Environment.getCheckInBatchConcurrency())
+          .thenApply(Result::combineAll);
+      }));
+  }
+
+  private List<Result<CheckInByBarcodeRequest>> toCheckInRequests(List<JsonObject> checkIns) {
+    final Set<String> barcodes = new HashSet<>();
+
+    return checkIns.stream()
+      .map(CheckInByBarcodeRequest::from)
+      .map(r -> r.next(request -> barcodes.add(request.getItemBarcode())
+        ? succeeded(request)
+        : failedValidation(format(
+          "Batch check in request has more than one check in for item barcode %s",
+          request.getItemBarcode()), ITEM_BARCODE, request.getItemBarcode())))
+      .collect(Collectors.toList());
+  }
+
+  private CompletableFuture<Result<CheckInBatchRecords>> fetchBatchRecords(
+    Set<String> barcodes, Clients clients) {
+
+    if (barcodes.isEmpty()) {
+      return completedFuture(succeeded(CheckInBatchRecords.none()));
+    }
+
+    final ItemRepository itemRepository = new ItemRepository(clients, true, true, true);
+    final LoanRepository loanRepository = new LoanRepository(clients);
+    final RequestQueueRepository requestQueueRepository = RequestQueueRepository.using(clients);
+
+    return itemRepository.findByBarcodes(barcodes)
+      .thenCompose(r -> r.after(items -> {
+        final Set<String> itemIds = items.stream()
+          .map(Item::getItemId)
+          .collect(Collectors.toSet());
+
+        return loanRepository.findOpenLoansForItems(itemIds)
+          .thenCombine(requestQueueRepository.getRequestQueues(items),
+            (openLoans, requestQueues) -> openLoans.combine(requestQueues,
+              (loans, queues) -> CheckInBatchRecords.of(barcodes, items, loans, queues)));
+      }));
+  }
+}
@@ -1,11 +1,24 @@
 package org.folio.circulation.resources;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.domain.representations.CheckOutByBarcodeRequest.ITEM_BARCODE;
 import static org.folio.circulation.domain.validation.UserNotFoundValidator.refuseWhenLoggedInUserNotPresent;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.folio.circulation.support.results.Result.succeeded;
 
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
 import org.folio.circulation.domain.CheckInContext;
 import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.ServicePoint;
 import org.folio.circulation.domain.notice.schedule.RequestScheduledNoticeService;
 import org.folio.circulation.domain.notice.session.PatronActionSessionService;
 import org.folio.circulation.domain.representations.CheckInByBarcodeRequest;
@@ -13,17 +26,23 @@ import org.folio.circulation.domain.representations.CheckInByBarcodeResponse;
 import org.folio.circulation.domain.validation.CheckInValidators;
 import org.folio.circulation.infrastructure.storage.users.UserRepository;
 import org.folio.circulation.services.EventPublisher;
+import org.folio.circulation.services.PostCommitTask;
+import org.folio.circulation.services.PostCommitTasks;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.ValidationErrorFailure;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.RouteRegistration;
 import org.folio.circulation.support.http.server.WebContext;
 
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 public class CheckInByBarcodeResource extends Resource {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
   public CheckInByBarcodeResource(HttpClient client) {
     super(client);
   }
@@ -46,9 +65,23 @@ public class CheckInByBarcodeResource extends Resource {
 
     final EventPublisher eventPublisher = new EventPublisher(routingContext);
 
-    final var checkInValidators = new CheckInValidators(this::errorWhenInIncorrectStatus);
     final CheckInProcessAdapter processAdapter = CheckInProcessAdapter.newInstance(clients);
 
+    refuseWhenLoggedInUserNotPresent(context)
+      .next(notUsed -> checkInRequestResult)
+      .after(checkInRequest -> checkIn(checkInRequest, context, clients,
+        processAdapter, eventPublisher))
+      .thenApply(r -> r.map(CheckInByBarcodeResponse::fromRecords))
+      .thenApply(r -> r.map(CheckInByBarcodeResponse::toHttpResponse))
+      .thenAccept(context::writeResultToHttpResponse);
+  }
+
+  CompletableFuture<Result<CheckInContext>> checkIn(CheckInByBarcodeRequest checkInRequest,
+    WebContext context, Clients clients, CheckInProcessAdapter processAdapter,
+    EventPublisher eventPublisher) {
+
+    final var checkInValidators = new CheckInValidators(this::errorWhenInIncorrectStatus);
+
     final RequestScheduledNoticeService requestScheduledNoticeService =
       RequestScheduledNoticeService.using(clients);
 
@@ -59,52 +92,80 @@ public class CheckInByBarcodeResource extends Resource {
 
     final RequestNoticeSender requestNoticeSender = RequestNoticeSender.using(clients);
 
-    refuseWhenLoggedInUserNotPresent(context)
-      .next(notUsed -> checkInRequestResult)
-      .map(CheckInContext::new)
+    final CheckInPostCommitTasks postCommitTasks = new CheckInPostCommitTasks(context, clients,
+      patronActionSessionService, eventPublisher, userRepository);
+
+    final SideEffects sideEffects = new SideEffects(
+      Environment.isCheckInSideEffectsDeferred(), Vertx.currentContext(), postCommitTasks);
+
+    final CompletableFuture<Result<ServicePoint>> checkInServicePointFetched =
+      processAdapter.getCheckInServicePoint(new CheckInContext(checkInRequest));
+
+    return succeeded(new CheckInContext(checkInRequest))
       .combineAfter(processAdapter::findItem, (records, item) -> records
         .withItem(item)
         .withItemStatusBeforeCheckIn(item.getStatus()))
       .thenApply(checkInValidators::refuseWhenItemIsNotAllowedForCheckIn)
       .thenApply(checkInValidators::refuseWhenClaimedReturnedIsNotResolved)
       .thenComposeAsync(findItemResult -> findItemResult.combineAfter(
-        processAdapter::getRequestQueue, CheckInContext::withRequestQueue))
+        processAdapter::getRequestQueue, CheckInContext::withRequestQueue), onCurrentContext())
       .thenApply(findRequestQueueResult -> findRequestQueueResult.map(
         processAdapter::setInHouseUse))
-      .thenApplyAsync(r -> r.map(records -> records.withLoggedInUserId(context.getUserId())))
-      .thenComposeAsync(setUserResult -> setUserResult.after(processAdapter::logCheckInOperation))
+      .thenApplyAsync(r -> r.map(records -> records.withLoggedInUserId(context.getUserId())), onCurrentContext())
+      .thenComposeAsync(setUserResult -> setUserResult.after(records -> sideEffects.runDurably(
+        records, processAdapter::logCheckInOperation,
+        postCommitTasks::describeLogCheckIn)), onCurrentContext())
       .thenComposeAsync(logCheckInResult -> logCheckInResult.combineAfter(
-        processAdapter::findSingleOpenLoan, CheckInContext::withLoan))
+        processAdapter::findSingleOpenLoan, CheckInContext::withLoan), onCurrentContext())
       .thenComposeAsync(findLoanResult -> findLoanResult.combineAfter(
-        processAdapter::checkInLoan, CheckInContext::withLoan))
+        processAdapter::checkInLoan, CheckInContext::withLoan), onCurrentContext())
       .thenComposeAsync(checkInLoan -> checkInLoan.combineAfter(
-        processAdapter::updateRequestQueue, CheckInContext::withRequestQueue))
+        processAdapter::updateRequestQueue, CheckInContext::withRequestQueue), onCurrentContext())
       .thenComposeAsync(updateRequestQueueResult -> updateRequestQueueResult.combineAfter(
-        processAdapter::updateItem, CheckInContext::withItem))
-      .thenApply(handleItemStatus -> handleItemStatus.next(
-        requestNoticeSender::sendNoticeOnRequestAwaitingPickup))
-      .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::getDestinationServicePoint, CheckInContext::withItem))
+        processAdapter::updateItem, CheckInContext::withItem), onCurrentContext())
+      .thenCompose(handleItemStatus -> handleItemStatus.after(records -> sideEffects.run(
+        "send awaiting pickup notice", records, awaitingPickup -> completedFuture(
+          requestNoticeSender.sendNoticeOnRequestAwaitingPickup(awaitingPickup)))))
+      .thenComposeAsync(updateItemResult -> updateItemResult.after(records ->
+        fetchRelatedRecords(records, processAdapter, checkInServicePointFetched)), onCurrentContext())
       .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::getCheckInServicePoint, CheckInContext::withCheckInServicePoint))
-      .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::getPickupServicePoint, CheckInContext::withHighestPriorityFulfillableRequest))
-      .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::getRequester, CheckInContext::withHighestPriorityFulfillableRequest))
-      .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::getAddressType, CheckInContext::withHighestPriorityFulfillableRequest))
-      .thenComposeAsync(updateItemResult -> updateItemResult.combineAfter(
-        processAdapter::updateLoan, CheckInContext::withLoan))
-      .thenComposeAsync(updateItemResult -> updateItemResult.after(
-        patronActionSessionService::saveCheckInSessionRecord))
-      .thenComposeAsync(r -> r.after(processAdapter::refundLostItemFees))
+        processAdapter::updateLoan, CheckInContext::withLoan), onCurrentContext())
+      .thenComposeAsync(updateItemResult -> updateItemResult.after(records -> sideEffects.runDurably(
+        records, patronActionSessionService::saveCheckInSessionRecord,
+        postCommitTasks::describeSaveCheckInSessionRecord)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(processAdapter::refundLostItemFees), onCurrentContext())
       .thenComposeAsync(r -> r.after(
-        records -> processAdapter.createOverdueFineIfNecessary(records, context)))
-      .thenComposeAsync(r -> r.after(v -> eventPublisher.publishItemCheckedInEvents(v, userRepository)))
-      .thenApply(r -> r.next(requestScheduledNoticeService::rescheduleRequestNotices))
-      .thenApply(r -> r.map(CheckInByBarcodeResponse::fromRecords))
-      .thenApply(r -> r.map(CheckInByBarcodeResponse::toHttpResponse))
-      .thenAccept(context::writeResultToHttpResponse);
+        records -> processAdapter.createOverdueFineIfNecessary(records, context)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(records -> sideEffects.runDurably(records,
+        v -> eventPublisher.publishItemCheckedInEvents(v, userRepository),
+        postCommitTasks::describePublishItemCheckedInEvents)), onCurrentContext())
+      .thenCompose(r -> r.after(records -> sideEffects.run(
+        "reschedule request notices", records, checkedIn -> completedFuture(
+          requestScheduledNoticeService.rescheduleRequestNotices(checkedIn)))))
+      .thenApply(r -> r.map(sideEffects::checkInCommitted));
+  }
+
+  /**
+   * Fetches the destination service point of the item, the check in service point and
+   * the records related to the highest priority fulfillable request at the same time
+   */
+  private CompletableFuture<Result<CheckInContext>> fetchRelatedRecords(
+    CheckInContext records, CheckInProcessAdapter processAdapter,
+    CompletableFuture<Result<ServicePoint>> checkInServicePointFetched) {
+
+    final var destinationServicePointFetched
+      = processAdapter.getDestinationServicePoint(records);
+    final var requestRelatedRecordsFetched
+      = processAdapter.getRequestRelatedRecords(records);
+
+    return destinationServicePointFetched
+      .thenCombine(checkInServicePointFetched, (itemResult, servicePointResult) ->
+        itemResult.combine(servicePointResult, (item, checkInServicePoint) -> records
+          .withItem(item)
+          .withCheckInServicePoint(checkInServicePoint)))
+      .thenCombine(requestRelatedRecordsFetched, (recordsResult, requestResult) ->
+        recordsResult.combine(requestResult,
+          CheckInContext::withHighestPriorityFulfillableRequest));
   }
 
   private ValidationErrorFailure errorWhenInIncorrectStatus(Item item) {
@@ -117,4 +178,91 @@ public class CheckInByBarcodeResource extends Resource {
 
     return singleValidationError(message, ITEM_BARCODE, item.getBarcode());
   }
+
+  /**
+   * Logging the check in, saving the session record, sending notices and publishing
+   * events. When deferred, these are only run once the check in has been committed
+   * (the item, loan and requests have been updated), rather than the check in waiting
+   * for them. Those which can be run more than once without repeating their effect are
+   * written to the journal and retried if they fail, sending notices is only tried once
+   */
+  private static class SideEffects {
+    private final boolean deferred;
+    private final Context context;
+    private final CheckInPostCommitTasks postCommitTasks;
+    private final List<Runnable> pendingSideEffects = new ArrayList<>();
+
+    private SideEffects(boolean deferred, Context context,
+      CheckInPostCommitTasks postCommitTasks) {
+
+      this.deferred = deferred;
+      this.context = context;
+      this.postCommitTasks = postCommitTasks;
+    }
+
+    private CompletableFuture<Result<CheckInContext>> run(String name,
+      CheckInContext records,
+      Function<CheckInContext, CompletableFuture<Result<CheckInContext>>> sideEffect) {
+
+      if (!deferred) {
+        return sideEffect.apply(records);
+      }
+
+      pendingSideEffects.add(() -> PostCommitTasks.getInstance()
+        .submitOnce(name, () -> sideEffect.apply(records), context));
+
+      return completedFuture(succeeded(records));
+    }
+
+    /**
+     * When deferred, the side effect is described whilst the check in is being
+     * processed and only written to the journal and run once it has been committed.
+     * If it cannot be described, it is run straight away as if it were not deferred
+     */
+    private CompletableFuture<Result<CheckInContext>> runDurably(CheckInContext records,
+      Function<CheckInContext, CompletableFuture<Result<CheckInContext>>> sideEffect,
+      Function<CheckInContext, CompletableFuture<Result<PostCommitTask>>> describe) {
+
+      if (!deferred) {
+        return sideEffect.apply(records);
+      }
+
+      CompletableFuture<Result<PostCommitTask>> described;
+
+      try {
+        described = describe.apply(records);
+      }
+      catch (Exception e) {
+        described = CompletableFuture.failedFuture(e);
+      }
+
+      if (described == null) {
+        described = completedFuture(null);
+      }
+
+      return described
+        .handle((description, throwable) -> {
+          if (throwable != null || description == null || description.failed()) {
+            log.warn("Failed to describe check in side effect, running it now: {}",
+              throwable != null || description == null ? throwable : description.cause());
+
+            return sideEffect.apply(records);
+          }
+
+          if (description.value() != null) {
+            pendingSideEffects.add(() -> PostCommitTasks.getInstance()
+              .submit(description.value(), postCommitTasks::run, context));
+          }
+
+          return completedFuture(succeeded(records));
+        })
+        .thenCompose(Function.identity());
+    }
+
+    private CheckInContext checkInCommitted(CheckInContext records) {
+      pendingSideEffects.forEach(Runnable::run);
+
+      return records;
+    }
+  }
 }
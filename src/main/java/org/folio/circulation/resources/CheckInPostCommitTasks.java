@@ -0,0 +1,108 @@
+package org.folio.circulation.resources;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.ofAsync;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.circulation.domain.CheckInContext;
+import org.folio.circulation.domain.notice.session.PatronActionSessionService;
+import org.folio.circulation.infrastructure.storage.users.UserRepository;
+import org.folio.circulation.services.EventPublisher;
+import org.folio.circulation.services.LogCheckInService;
+import org.folio.circulation.services.PostCommitTask;
+import org.folio.circulation.services.PostCommitTasks;
+import org.folio.circulation.services.PubSubPublishingService;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.http.server.WebContext;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.Context;
+import io.vertx.core.http.HttpClient;
+
+/**
+ * The side effects of a check in which are written to the journal when they are
+ * deferred. Each is described with the IDs of the records or events it creates, so
+ * that running it again (when retrying or after the module restarts) does not log the
+ * check in, save the session record or publish the events twice
+ */
+public class CheckInPostCommitTasks {
+  static final String LOG_CHECK_IN = "log check in";
+  static final String SAVE_CHECK_IN_SESSION_RECORD = "save check in session record";
+  static final String PUBLISH_ITEM_CHECKED_IN_EVENTS = "publish item checked in events";
+
+  private final LogCheckInService logCheckInService;
+  private final PatronActionSessionService patronActionSessionService;
+  private final EventPublisher eventPublisher;
+  private final UserRepository userRepository;
+  private final Map<String, String> okapiHeaders;
+
+  CheckInPostCommitTasks(WebContext context, Clients clients,
+    PatronActionSessionService patronActionSessionService, EventPublisher eventPublisher,
+    UserRepository userRepository) {
+
+    this.logCheckInService = new LogCheckInService(clients);
+    this.patronActionSessionService = patronActionSessionService;
+    this.eventPublisher = eventPublisher;
+    this.userRepository = userRepository;
+    this.okapiHeaders = context.getOkapiHeaders();
+  }
+
+  /**
+   * Runs the side effects left unfinished by an earlier run of the module, each on
+   * behalf of the check in it was written to the journal for
+   *
+   * @param context  context of the verticle they are run on
+   */
+  public static void resume(HttpClient client, Context context) {
+    PostCommitTasks.getInstance().resume(task -> using(task, client).run(task), context);
+  }
+
+  private static CheckInPostCommitTasks using(PostCommitTask task, HttpClient client) {
+    final WebContext context = WebContext.fromOkapiHeaders(task.getOkapiHeaders());
+    final Clients clients = Clients.create(context, client);
+
+    return new CheckInPostCommitTasks(context, clients,
+      PatronActionSessionService.using(clients),
+      new EventPublisher(new PubSubPublishingService(context)), new UserRepository(clients));
+  }
+
+  CompletableFuture<Result<PostCommitTask>> describeLogCheckIn(CheckInContext records) {
+    return ofAsync(() -> new PostCommitTask(LOG_CHECK_IN,
+      logCheckInService.describeCheckInOperation(records), okapiHeaders));
+  }
+
+  CompletableFuture<Result<PostCommitTask>> describeSaveCheckInSessionRecord(
+    CheckInContext records) {
+
+    return ofAsync(() -> patronActionSessionService.describeCheckInSessionRecord(records))
+      .thenApply(r -> r.map(description -> description == null
+        ? null
+        : new PostCommitTask(SAVE_CHECK_IN_SESSION_RECORD, description, okapiHeaders)));
+  }
+
+  CompletableFuture<Result<PostCommitTask>> describePublishItemCheckedInEvents(
+    CheckInContext records) {
+
+    return eventPublisher.describeItemCheckedInEvents(records, userRepository)
+      .thenApply(r -> r.map(description ->
+        new PostCommitTask(PUBLISH_ITEM_CHECKED_IN_EVENTS, description, okapiHeaders)));
+  }
+
+  CompletableFuture<Result<Void>> run(PostCommitTask task) {
+    switch (task.getName()) {
+      case LOG_CHECK_IN:
+        return logCheckInService.logCheckInOperation(task.getDescription());
+      case SAVE_CHECK_IN_SESSION_RECORD:
+        return patronActionSessionService.saveCheckInSessionRecord(task.getDescription());
+      case PUBLISH_ITEM_CHECKED_IN_EVENTS:
+        return eventPublisher.publishDescribedEvents(task.getDescription());
+      default:
+        return completedFuture(failed(new ServerErrorFailure(
+          "Unknown check in side effect: " + task.getName())));
+    }
+  }
+}
@@ -50,6 +50,7 @@ class CheckInProcessAdapter {
   private final FeeFineScheduledNoticeService feeFineScheduledNoticeService;
   private final LostItemFeeRefundService lostItemFeeRefundService;
   protected final EventPublisher eventPublisher;
+  private final CheckInBatchRecords batchRecords;
 
   @SuppressWarnings("squid:S00107")
   CheckInProcessAdapter(
@@ -65,7 +66,8 @@ class CheckInProcessAdapter {
     OverdueFineService overdueFineService,
     FeeFineScheduledNoticeService feeFineScheduledNoticeService,
     LostItemFeeRefundService lostItemFeeRefundService,
-    EventPublisher eventPublisher) {
+    EventPublisher eventPublisher,
+    CheckInBatchRecords batchRecords) {
 
     this.itemFinder = itemFinder;
     this.singleOpenLoanFinder = singleOpenLoanFinder;
@@ -82,9 +84,16 @@ class CheckInProcessAdapter {
     this.feeFineScheduledNoticeService = feeFineScheduledNoticeService;
     this.lostItemFeeRefundService = lostItemFeeRefundService;
     this.eventPublisher = eventPublisher;
+    this.batchRecords = batchRecords;
   }
 
   public static CheckInProcessAdapter newInstance(Clients clients) {
+    return newInstance(clients, CheckInBatchRecords.none());
+  }
+
+  static CheckInProcessAdapter newInstance(Clients clients,
+    CheckInBatchRecords batchRecords) {
+
     final LoanRepository loanRepository = new LoanRepository(clients);
     final UserRepository userRepository = new UserRepository(clients);
 
@@ -110,17 +119,30 @@ class CheckInProcessAdapter {
       OverdueFineService.using(clients),
       FeeFineScheduledNoticeService.using(clients),
       new LostItemFeeRefundService(clients),
-      new EventPublisher(clients.pubSubPublishingService()));
+      new EventPublisher(clients.pubSubPublishingService()),
+      batchRecords);
   }
 
   CompletableFuture<Result<Item>> findItem(CheckInContext context) {
-    return itemFinder.findItemByBarcode(context.getCheckInRequestBarcode());
+    final String barcode = context.getCheckInRequestBarcode();
+
+    if (batchRecords.includesItem(barcode)) {
+      return completedFuture(batchRecords.getItem(barcode));
+    }
+
+    return itemFinder.findItemByBarcode(barcode);
   }
 
   CompletableFuture<Result<Loan>> findSingleOpenLoan(
     CheckInContext context) {
 
-    return singleOpenLoanFinder.findSingleOpenLoan(context.getItem());
+    final Item item = context.getItem();
+
+    if (batchRecords.includesRelatedRecordsFor(item)) {
+      return singleOpenLoanFinder.findSingleOpenLoan(item, batchRecords.getOpenLoans(item));
+    }
+
+    return singleOpenLoanFinder.findSingleOpenLoan(item);
   }
 
   CompletableFuture<Result<Loan>> checkInLoan(CheckInContext context) {
@@ -132,7 +154,13 @@ class CheckInProcessAdapter {
   CompletableFuture<Result<RequestQueue>> getRequestQueue(
     CheckInContext context) {
 
-    return requestQueueRepository.get(context.getItem().getItemId());
+    final Item item = context.getItem();
+
+    if (batchRecords.includesRelatedRecordsFor(item)) {
+      return completedFuture(succeeded(batchRecords.getRequestQueue(item)));
+    }
+
+    return requestQueueRepository.get(item);
   }
 
   CompletableFuture<Result<Item>> updateItem(CheckInContext context) {
@@ -203,6 +231,28 @@ class CheckInProcessAdapter {
       .thenApply(r -> r.map(firstRequest::withAddressType));
   }
 
+  /**
+   * Fetches the pickup service point, requester and delivery address type of the highest
+   * priority fulfillable request at the same time
+   */
+  CompletableFuture<Result<Request>> getRequestRelatedRecords(CheckInContext context) {
+    if (context.getHighestPriorityFulfillableRequest() == null) {
+      return completedFuture(succeeded(null));
+    }
+
+    final var pickupServicePointFetched = getPickupServicePoint(context);
+    final var requesterFetched = getRequester(context);
+    final var addressTypeFetched = getAddressType(context);
+
+    return pickupServicePointFetched
+      .thenCombine(requesterFetched, (pickupServicePointResult, requesterResult) ->
+        pickupServicePointResult.combine(requesterResult, (request, withRequester) ->
+          request.withRequester(withRequester.getRequester())))
+      .thenCombine(addressTypeFetched, (requestResult, addressTypeResult) ->
+        requestResult.combine(addressTypeResult, (request, withAddressType) ->
+          request.withAddressType(withAddressType.getAddressType())));
+  }
+
   CheckInContext setInHouseUse(CheckInContext checkInContext) {
     return checkInContext
       .withInHouseUse(loanCheckInService.isInHouseUse(
@@ -6,18 +6,21 @@ import static org.folio.circulation.domain.LoanAction.CHECKED_OUT_THROUGH_OVERRI
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.FAILED_TO_FETCH_ITEM;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.FAILED_TO_FETCH_PROXY_USER;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.FAILED_TO_FETCH_USER;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.http.server.JsonHttpResponse.created;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 
 import java.util.concurrent.CompletableFuture;
 
+import org.folio.circulation.domain.Item;
 import org.folio.circulation.domain.Loan;
 import org.folio.circulation.domain.LoanAndRelatedRecords;
 import org.folio.circulation.domain.LoanRepresentation;
 import org.folio.circulation.domain.LoanService;
 import org.folio.circulation.domain.RequestQueue;
 import org.folio.circulation.domain.UpdateRequestQueue;
+import org.folio.circulation.domain.User;
 import org.folio.circulation.domain.notice.schedule.LoanScheduledNoticeService;
 import org.folio.circulation.domain.notice.session.PatronActionSessionService;
 import org.folio.circulation.domain.policy.LoanPolicy;
@@ -45,6 +48,7 @@ import org.folio.circulation.support.http.server.HttpResponse;
 import org.folio.circulation.support.http.server.WebContext;
 import org.folio.circulation.support.results.Result;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.json.JsonObject;
@@ -105,42 +109,52 @@ public class CheckOutByBarcodeResource extends Resource {
     final PatronActionSessionService patronActionSessionService =
       PatronActionSessionService.using(clients);
 
+    // these only depend upon the request, so are fetched at the same time, the results
+    // are used (and any errors handled) at the same point in the process as before
+    final CompletableFuture<Result<User>> userFetched =
+      userRepository.getUserByBarcode(request.getUserBarcode());
+    final CompletableFuture<Result<User>> proxyUserFetched =
+      userRepository.getProxyUserByBarcode(request.getProxyUserBarcode());
+    final CompletableFuture<Result<Item>> itemFetched =
+      itemRepository.fetchByBarcode(request.getItemBarcode());
+    final CompletableFuture<Result<DateTimeZone>> timeZoneFetched =
+      configurationRepository.findTimeZoneConfiguration();
+
     ofAsync(() -> new LoanAndRelatedRecords(request.toLoan()))
       .thenApply(validators::refuseCheckOutWhenServicePointIsNotPresent)
-      .thenComposeAsync(r -> lookupUser(request.getUserBarcode(), userRepository, r, errorHandler))
-      .thenComposeAsync(validators::refuseWhenCheckOutActionIsBlockedManuallyForPatron)
-      .thenComposeAsync(validators::refuseWhenCheckOutActionIsBlockedAutomaticallyForPatron)
-      .thenComposeAsync(r -> lookupProxyUser(request.getProxyUserBarcode(), userRepository, r, errorHandler))
+      .thenComposeAsync(r -> lookupUser(userFetched, r, errorHandler), onCurrentContext())
+      .thenComposeAsync(validators::refuseWhenCheckOutActionIsBlockedForPatron, onCurrentContext())
+      .thenComposeAsync(r -> lookupProxyUser(proxyUserFetched, r, errorHandler), onCurrentContext())
       .thenApply(validators::refuseWhenUserIsInactive)
       .thenApply(validators::refuseWhenProxyUserIsInactive)
-      .thenComposeAsync(validators::refuseWhenInvalidProxyRelationship)
-      .thenComposeAsync(r -> lookupItem(request.getItemBarcode(), itemRepository, r))
+      .thenComposeAsync(validators::refuseWhenInvalidProxyRelationship, onCurrentContext())
+      .thenComposeAsync(r -> lookupItem(itemFetched, r), onCurrentContext())
       .thenApply(validators::refuseWhenItemNotFound)
       .thenApply(validators::refuseWhenItemIsAlreadyCheckedOut)
       .thenApply(validators::refuseWhenItemIsNotAllowedForCheckOut)
-      .thenComposeAsync(validators::refuseWhenItemHasOpenLoans)
-      .thenComposeAsync(r -> r.after(requestQueueRepository::get))
+      .thenComposeAsync(r -> refuseWhenItemHasOpenLoansAndGetRequestQueue(r, validators,
+        requestQueueRepository), onCurrentContext())
       .thenApply(validators::refuseWhenRequestedByAnotherPatron)
-      .thenComposeAsync(r -> r.after(l -> lookupLoanPolicy(l, loanPolicyRepository, errorHandler)))
-      .thenComposeAsync(validators::refuseWhenItemLimitIsReached)
+      .thenComposeAsync(r -> r.after(l -> lookupLoanPolicy(l, loanPolicyRepository, errorHandler)), onCurrentContext())
+      .thenComposeAsync(validators::refuseWhenItemLimitIsReached, onCurrentContext())
       .thenCompose(validators::refuseWhenItemIsNotLoanable)
       .thenApply(r -> r.next(errorHandler::failWithValidationErrors))
-      .thenCompose(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
+      .thenCompose(r -> r.combineAfter(records -> timeZoneFetched,
         LoanAndRelatedRecords::withTimeZone))
-      .thenComposeAsync(r -> r.after(overdueFinePolicyRepository::lookupOverdueFinePolicy))
-      .thenComposeAsync(r -> r.after(lostItemPolicyRepository::lookupLostItemPolicy))
+      .thenComposeAsync(r -> r.after(records -> lookupFeeFinePolicies(records,
+        overdueFinePolicyRepository, lostItemPolicyRepository)), onCurrentContext())
       .thenApply(r -> r.next(this::setItemLocationIdAtCheckout))
       .thenComposeAsync(r -> r.after(relatedRecords -> checkOut(relatedRecords,
-        routingContext.getBodyAsJson(), clients)))
+        routingContext.getBodyAsJson(), clients)), onCurrentContext())
       .thenApply(r -> r.map(this::checkOutItem))
-      .thenComposeAsync(r -> r.after(requestQueueUpdate::onCheckOut))
-      .thenComposeAsync(r -> r.after(loanService::truncateLoanWhenItemRecalled))
-      .thenComposeAsync(r -> r.after(patronGroupRepository::findPatronGroupForLoanAndRelatedRecords))
-      .thenComposeAsync(r -> r.after(l -> updateItem(l, itemRepository)))
-      .thenComposeAsync(r -> r.after(loanRepository::createLoan))
-      .thenComposeAsync(r -> r.after(patronActionSessionService::saveCheckOutSessionRecord))
-      .thenApplyAsync(r -> r.map(records -> records.withLoggedInUserId(context.getUserId())))
-      .thenComposeAsync(r -> r.after(loanAndRelatedRecords -> eventPublisher.publishItemCheckedOutEvent(loanAndRelatedRecords, userRepository)))
+      .thenComposeAsync(r -> r.after(requestQueueUpdate::onCheckOut), onCurrentContext())
+      .thenComposeAsync(r -> r.after(loanService::truncateLoanWhenItemRecalled), onCurrentContext())
+      .thenComposeAsync(r -> r.after(patronGroupRepository::findPatronGroupForLoanAndRelatedRecords), onCurrentContext())
+      .thenComposeAsync(r -> r.after(l -> updateItem(l, itemRepository)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(loanRepository::createLoan), onCurrentContext())
+      .thenComposeAsync(r -> r.after(patronActionSessionService::saveCheckOutSessionRecord), onCurrentContext())
+      .thenApplyAsync(r -> r.map(records -> records.withLoggedInUserId(context.getUserId())), onCurrentContext())
+      .thenComposeAsync(r -> r.after(loanAndRelatedRecords -> eventPublisher.publishItemCheckedOutEvent(loanAndRelatedRecords, userRepository)), onCurrentContext())
       .thenApply(r -> r.next(scheduledNoticeService::scheduleNoticesForLoanDueDate))
       .thenApply(r -> r.map(LoanAndRelatedRecords::getLoan))
       .thenApply(r -> r.map(loanRepresentation::extendedLoan))
@@ -159,6 +173,38 @@ public class CheckOutByBarcodeResource extends Resource {
     return loanPolicyRepository.lookupLoanPolicy(loanAndRelatedRecords);
   }
 
+  /**
+   * The request queue is fetched while checking for open loans, as it only depends
+   * upon the item
+   */
+  private CompletableFuture<Result<LoanAndRelatedRecords>> refuseWhenItemHasOpenLoansAndGetRequestQueue(
+    Result<LoanAndRelatedRecords> loanAndRelatedRecords, CheckOutValidators validators,
+    RequestQueueRepository requestQueueRepository) {
+
+    return loanAndRelatedRecords.after(records -> validators
+      .refuseWhenItemHasOpenLoans(loanAndRelatedRecords)
+      .thenCombine(requestQueueRepository.get(records), (validated, withRequestQueue) ->
+        validated.combine(withRequestQueue, (v, w) -> v.withRequestQueue(w.getRequestQueue()))));
+  }
+
+  /**
+   * Both policies only depend upon the item and the borrower, so are fetched at
+   * the same time
+   */
+  private CompletableFuture<Result<LoanAndRelatedRecords>> lookupFeeFinePolicies(
+    LoanAndRelatedRecords loanAndRelatedRecords,
+    OverdueFinePolicyRepository overdueFinePolicyRepository,
+    LostItemPolicyRepository lostItemPolicyRepository) {
+
+    final Loan loan = loanAndRelatedRecords.getLoan();
+
+    return overdueFinePolicyRepository.lookupPolicy(loan)
+      .thenCombine(lostItemPolicyRepository.lookupPolicy(loan),
+        (overdueFinePolicy, lostItemPolicy) -> overdueFinePolicy.combine(lostItemPolicy,
+          (overdue, lost) -> loanAndRelatedRecords.withLoan(
+            loan.withOverdueFinePolicy(overdue).withLostItemPolicy(lost))));
+  }
+
   private CompletableFuture<Result<LoanAndRelatedRecords>> updateItem(
     LoanAndRelatedRecords loanAndRelatedRecords, ItemRepository itemRepository) {
 
@@ -178,28 +224,28 @@ public class CheckOutByBarcodeResource extends Resource {
     return String.format("/circulation/loans/%s", id);
   }
 
-  private CompletableFuture<Result<LoanAndRelatedRecords>> lookupUser(String barcode,
-    UserRepository userRepository, Result<LoanAndRelatedRecords> loanResult,
+  private CompletableFuture<Result<LoanAndRelatedRecords>> lookupUser(
+    CompletableFuture<Result<User>> userFetched, Result<LoanAndRelatedRecords> loanResult,
     CirculationErrorHandler errorHandler) {
 
-    return userRepository.getUserByBarcode(barcode)
+    return userFetched
       .thenApply(userResult -> loanResult.combine(userResult, LoanAndRelatedRecords::withRequestingUser))
       .thenApply(r -> errorHandler.handleValidationResult(r, FAILED_TO_FETCH_USER, loanResult));
   }
 
-  private CompletableFuture<Result<LoanAndRelatedRecords>> lookupProxyUser(String barcode,
-    UserRepository userRepository, Result<LoanAndRelatedRecords> loanResult,
+  private CompletableFuture<Result<LoanAndRelatedRecords>> lookupProxyUser(
+    CompletableFuture<Result<User>> proxyUserFetched, Result<LoanAndRelatedRecords> loanResult,
     CirculationErrorHandler errorHandler) {
 
-    return userRepository.getProxyUserByBarcode(barcode)
+    return proxyUserFetched
       .thenApply(userResult -> loanResult.combine(userResult, LoanAndRelatedRecords::withProxyingUser))
       .thenApply(r -> errorHandler.handleValidationResult(r, FAILED_TO_FETCH_PROXY_USER, loanResult));
   }
 
   private CompletableFuture<Result<LoanAndRelatedRecords>> lookupItem(
-    String barcode, ItemRepository itemRepository, Result<LoanAndRelatedRecords> loanResult) {
+    CompletableFuture<Result<Item>> itemFetched, Result<LoanAndRelatedRecords> loanResult) {
 
-    return itemRepository.fetchByBarcode(barcode)
+    return itemFetched
       .thenApply(itemResult -> loanResult.combine(itemResult, LoanAndRelatedRecords::withItem));
   }
 
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.http.server.JsonHttpResponse.ok;
 import static org.folio.circulation.support.http.server.JsonHttpResponse.unprocessableEntity;
 import static org.folio.circulation.support.http.server.NoContentResponse.noContent;
@@ -147,12 +148,16 @@ public class CirculationRulesResource extends Resource {
       return;
     }
 
+    final String rulesAsText = rulesInput.getString("rulesAsText");
+
     clients.circulationRulesStorage().put(rulesInput.copy())
       .thenApply(this::failWhenResponseOtherThanNoContent)
-      .thenApply(result -> result.map(response -> noContent()))
+      .thenApply(result -> result.map(response -> {
+        // start compiling the new rules before replying, later requests wait for them
+        CirculationRulesCache.getInstance().rulesUpdated(webContext.getTenantId(), rulesAsText);
+        return noContent();
+      }))
       .thenAccept(webContext::writeResultToHttpResponse);
-
-    CirculationRulesCache.getInstance().clearCache(webContext.getTenantId());
   }
 
   private Result<Response> failWhenResponseOtherThanNoContent(Result<Response> result) {
@@ -191,19 +196,19 @@ public class CirculationRulesResource extends Resource {
     return Result.ofAsync(() -> ids)
       .thenCombineAsync(
         getPolicyIdsByType(loanPolicyClient, "loanPolicies", "l"),
-        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap))
+        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap), onCurrentContext())
       .thenCombineAsync(
         getPolicyIdsByType(noticePolicyClient, "patronNoticePolicies", "n"),
-        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap))
+        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap), onCurrentContext())
       .thenCombineAsync(
         getPolicyIdsByType(requestPolicyClient, "requestPolicies", "r"),
-        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap))
+        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap), onCurrentContext())
       .thenCombineAsync(
         getPolicyIdsByType(overdueFinePolicyClient, "overdueFinePolicies", "o"),
-        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap))
+        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap), onCurrentContext())
       .thenCombineAsync(
         getPolicyIdsByType(lostItemFeePolicyClient, "lostItemFeePolicies", "i"),
-        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap));
+        (resultTotalIds, resultNewIds) -> resultTotalIds.combine(resultNewIds, this::getTotalMap), onCurrentContext());
   }
 
   private Map<String, Set<String>> getTotalMap(Map<String, Set<String>> totalMap,
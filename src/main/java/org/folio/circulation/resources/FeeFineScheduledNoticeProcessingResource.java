@@ -7,6 +7,7 @@ import static org.folio.circulation.domain.notice.schedule.TriggeringEvent.OVERD
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.MultipleRecords;
@@ -17,6 +18,7 @@ import org.folio.circulation.infrastructure.storage.ConfigurationRepository;
 import org.folio.circulation.infrastructure.storage.notices.ScheduledNoticesRepository;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CqlSortBy;
+import org.folio.circulation.support.http.client.CqlQuery;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.utils.ClockUtil;
@@ -45,6 +47,14 @@ public class FeeFineScheduledNoticeProcessingResource extends ScheduledNoticePro
       CqlSortBy.ascending("nextRunTime"), pageLimit);
   }
 
+  @Override
+  protected Optional<Result<CqlQuery>> findAllDueNoticesQuery(
+    ScheduledNoticesRepository scheduledNoticesRepository) {
+
+    return Optional.of(scheduledNoticesRepository.findDueNoticesQuery(
+      ClockUtil.getDateTime(), true, TRIGGERING_EVENTS_TO_PROCESS));
+  }
+
   @Override
   protected CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> handleNotices(
     Clients clients, MultipleRecords<ScheduledNotice> scheduledNotices) {
@@ -5,6 +5,7 @@ import static org.folio.circulation.domain.ItemStatus.IN_TRANSIT;
 import static org.folio.circulation.domain.RequestStatus.openStates;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
 import static org.folio.circulation.support.CqlSortBy.ascending;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
@@ -17,7 +18,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.folio.circulation.domain.InTransitReportEntry;
@@ -36,15 +36,14 @@ import org.folio.circulation.infrastructure.storage.users.UserRepository;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.support.GetManyRecordsClient;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.RouteRegistration;
 import org.folio.circulation.support.http.client.CqlQuery;
-import org.folio.circulation.support.http.server.JsonHttpResponse;
+import org.folio.circulation.support.http.server.JsonArrayStreamingResponse;
 import org.folio.circulation.support.http.server.WebContext;
 
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
@@ -52,6 +51,14 @@ import io.vertx.ext.web.RoutingContext;
 public class ItemsInTransitResource extends Resource {
 
   private static final String ITEM_ID = "itemId";
+
+  /**
+   * The report is sorted so all entries are needed before any can be written,
+   * they are still mapped to JSON and written in batches to avoid building
+   * the whole response at once
+   */
+  private static final int WRITE_BATCH_SIZE = 100;
+
   private final String rootPath;
 
   public ItemsInTransitResource(String rootPath, HttpClient client) {
@@ -78,17 +85,24 @@ public class ItemsInTransitResource extends Resource {
     final PatronGroupRepository patronGroupRepository = new PatronGroupRepository(clients);
     final Comparator<InTransitReportEntry> sortByCheckinServicePointComparator = sortByCheckinServicePointComparator();
 
+    final JsonArrayStreamingResponse response = new JsonArrayStreamingResponse(
+      routingContext.response(), "items");
+
     itemReportRepository.getAllItemsByField("status.name", IN_TRANSIT.getValue())
       .thenComposeAsync(r -> r.after(itemsReportFetcher ->
-        fetchItemsRelatedRecords(itemsReportFetcher, itemRepository, servicePointRepository)))
+        fetchItemsRelatedRecords(itemsReportFetcher, itemRepository, servicePointRepository)), onCurrentContext())
       .thenComposeAsync(r -> r.after(inTransitReportEntries ->
         fetchLoans(loansStorageClient, servicePointRepository, inTransitReportEntries,
-          sortByCheckinServicePointComparator)))
-      .thenComposeAsync(r -> findRequestsByItemsIds(requestsStorageClient, itemRepository,
-        servicePointRepository, userRepository, patronGroupRepository, r.value()))
-      .thenApply(this::mapResultToJson)
-      .thenApply(r -> r.map(JsonHttpResponse::ok))
-      .thenAccept(context::writeResultToHttpResponse);
+          sortByCheckinServicePointComparator)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(inTransitReportEntries ->
+        findRequestsByItemsIds(requestsStorageClient, itemRepository,
+          servicePointRepository, userRepository, patronGroupRepository,
+          inTransitReportEntries)), onCurrentContext())
+      .thenCompose(r -> r.after(inTransitReportEntries -> response.writeInBatches(
+        inTransitReportEntries, new ItemReportRepresentation()::createItemReport,
+        WRITE_BATCH_SIZE)))
+      .exceptionally(CommonFailures::failedDueToServerError)
+      .thenAccept(response::end);
   }
 
   private CompletableFuture<Result<List<InTransitReportEntry>>> fetchItemsRelatedRecords(
@@ -115,15 +129,15 @@ public class ItemsInTransitResource extends Resource {
                                                               ServicePointRepository servicePointRepository,
                                                               Item item) {
     return CompletableFuture.completedFuture(Result.succeeded(item))
-      .thenComposeAsync(itemRepository::fetchItemRelatedRecords)
+      .thenComposeAsync(itemRepository::fetchItemRelatedRecords, onCurrentContext())
       .thenComposeAsync(result -> result
         .combineAfter(currentItem -> servicePointRepository
           .getServicePointById(currentItem.getInTransitDestinationServicePointId()),
-          Item::updateDestinationServicePoint))
+          Item::updateDestinationServicePoint), onCurrentContext())
       .thenComposeAsync(result -> result
         .combineAfter(currentItem -> servicePointRepository
           .getServicePointById(currentItem.getLastCheckInServicePointId()),
-          Item::updateLastCheckInServicePoint));
+          Item::updateLastCheckInServicePoint), onCurrentContext());
   }
 
   private CompletableFuture<Result<List<InTransitReportEntry>>> findRequestsByItemsIds(
@@ -143,14 +157,14 @@ public class ItemsInTransitResource extends Resource {
 
     return fetcher.findByIdIndexAndQuery(mapToItemIdList(inTransitReportEntryList), ITEM_ID, cqlQueryResult)
       .thenComposeAsync(requests ->
-        itemRepository.fetchItemsFor(requests, Request::withItem))
-      .thenComposeAsync(result -> result.after(servicePointRepository::findServicePointsForRequests))
-      .thenComposeAsync(result -> result.after(userRepository::findUsersForRequests))
-      .thenComposeAsync(result -> result.after(patronGroupRepository::findPatronGroupsForRequestsUsers))
+        itemRepository.fetchItemsFor(requests, Request::withItem), onCurrentContext())
+      .thenComposeAsync(result -> result.after(servicePointRepository::findServicePointsForRequests), onCurrentContext())
+      .thenComposeAsync(result -> result.after(userRepository::findUsersForRequests), onCurrentContext())
+      .thenComposeAsync(result -> result.after(patronGroupRepository::findPatronGroupsForRequestsUsers), onCurrentContext())
       .thenComposeAsync(r -> r.after(multipleRecords -> completedFuture(succeeded(
         multipleRecords.getRecords().stream().collect(
-          Collectors.groupingBy(Request::getItemId))))))
-      .thenComposeAsync(r -> mapRequestToInTransitReportEntry(inTransitReportEntryList, r.value()));
+          Collectors.groupingBy(Request::getItemId))))), onCurrentContext())
+      .thenComposeAsync(r -> mapRequestToInTransitReportEntry(inTransitReportEntryList, r.value()), onCurrentContext());
   }
 
   private CompletableFuture<Result<List<InTransitReportEntry>>> fetchLoans(
@@ -229,18 +243,6 @@ public class ItemsInTransitResource extends Resource {
     return CompletableFuture.completedFuture(Result.succeeded(inTransitReportEntryList));
   }
 
-  private Result<JsonObject> mapResultToJson
-    (Result<List<InTransitReportEntry>> inTransitReportEntry) {
-
-    return inTransitReportEntry.map(resultList -> resultList
-      .stream().map(itemAndRelatedRecord -> new ItemReportRepresentation()
-        .createItemReport(itemAndRelatedRecord))
-      .collect(Collector.of(JsonArray::new, JsonArray::add, JsonArray::add)))
-      .next(jsonArray -> Result.succeeded(new JsonObject()
-        .put("items", jsonArray)
-        .put("totalRecords", jsonArray.size())));
-  }
-
   private Comparator<InTransitReportEntry> sortByCheckinServicePointComparator() {
     return Comparator.comparing(inTransitReportEntry-> Optional.ofNullable(inTransitReportEntry
       .getLoan()).map(loan -> Optional.ofNullable(loan.getCheckinServicePoint())
@@ -4,6 +4,7 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.domain.representations.LoanProperties.ITEM_ID;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.MappingFunctions.toFixedValue;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -103,21 +104,21 @@ public class LoanCollectionResource extends CollectionResource {
       .thenApply(this::refuseWhenNotOpenOrClosed)
       .thenApply(this::refuseWhenOpenAndNoUserId)
       .thenApply(spLoanLocationValidator::checkServicePointLoanLocation)
-      .thenCombineAsync(itemRepository.fetchFor(loan), this::addItem)
+      .thenCombineAsync(itemRepository.fetchFor(loan), this::addItem, onCurrentContext())
       .thenApply(itemNotFoundValidator::refuseWhenItemNotFound)
       .thenApply(this::refuseWhenHoldingDoesNotExist)
       .thenApply(alreadyCheckedOutValidator::refuseWhenItemIsAlreadyCheckedOut)
       .thenApply(itemStatusValidator::refuseWhenItemIsMissing)
-      .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid))
-      .thenCombineAsync(requestQueueRepository.get(loan.getItemId()), this::addRequestQueue)
-      .thenCombineAsync(userRepository.getUserFailOnNotFound(loan.getUserId()), this::addUser)
+      .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid), onCurrentContext())
+      .thenCombineAsync(requestQueueRepository.get(loan.getItemId()), this::addRequestQueue, onCurrentContext())
+      .thenCombineAsync(userRepository.getUserFailOnNotFound(loan.getUserId()), this::addUser, onCurrentContext())
       .thenApply(requestedByAnotherPatronValidator::refuseWhenRequestedByAnotherPatron)
-      .thenComposeAsync(r -> r.after(loanPolicyRepository::lookupLoanPolicy))
-      .thenComposeAsync(r -> r.after(requestQueueUpdate::onCheckOut))
-      .thenComposeAsync(r -> r.after(updateItem::onLoanCreated))
-      .thenComposeAsync(r -> r.after(loanService::truncateLoanWhenItemRecalled))
-      .thenComposeAsync(r -> r.after(loanRepository::createLoan))
-      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent))
+      .thenComposeAsync(r -> r.after(loanPolicyRepository::lookupLoanPolicy), onCurrentContext())
+      .thenComposeAsync(r -> r.after(requestQueueUpdate::onCheckOut), onCurrentContext())
+      .thenComposeAsync(r -> r.after(updateItem::onLoanCreated), onCurrentContext())
+      .thenComposeAsync(r -> r.after(loanService::truncateLoanWhenItemRecalled), onCurrentContext())
+      .thenComposeAsync(r -> r.after(loanRepository::createLoan), onCurrentContext())
+      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent), onCurrentContext())
       .thenApply(r -> r.map(LoanAndRelatedRecords::getLoan))
       .thenApply(r -> r.map(loanRepresentation::extendedLoan))
       .thenApply(r -> r.map(JsonHttpResponse::created))
@@ -170,19 +171,19 @@ public class LoanCollectionResource extends CollectionResource {
       .thenApply(this::refuseWhenOpenAndNoUserId)
       .thenApply(spLoanLocationValidator::checkServicePointLoanLocation)
       .thenApply(this::refuseWhenClosedAndNoCheckInServicePointId)
-      .thenCombineAsync(itemRepository.fetchFor(loan), this::addItem)
+      .thenCombineAsync(itemRepository.fetchFor(loan), this::addItem, onCurrentContext())
       .thenApply(itemNotFoundValidator::refuseWhenItemNotFound)
       .thenCompose(changeDueDateValidator::refuseChangeDueDateForItemInDisallowedStatus)
-      .thenCombineAsync(userRepository.getUser(loan.getUserId()), this::addUser)
-      .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid))
-      .thenCombineAsync(requestQueueRepository.get(loan.getItemId()), this::addRequestQueue)
-      .thenComposeAsync(result -> result.after(requestQueueUpdate::onCheckIn))
-      .thenComposeAsync(result -> result.after(updateItem::onLoanUpdate))
+      .thenCombineAsync(userRepository.getUser(loan.getUserId()), this::addUser, onCurrentContext())
+      .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid), onCurrentContext())
+      .thenCombineAsync(requestQueueRepository.get(loan.getItemId()), this::addRequestQueue, onCurrentContext())
+      .thenComposeAsync(result -> result.after(requestQueueUpdate::onCheckIn), onCurrentContext())
+      .thenComposeAsync(result -> result.after(updateItem::onLoanUpdate), onCurrentContext())
       // Loan must be updated after item
       // due to snapshot of item status stored with the loan
       // as this is how the loan action history is populated
-      .thenComposeAsync(result -> result.after(loanRepository::updateLoan))
-      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent))
+      .thenComposeAsync(result -> result.after(loanRepository::updateLoan), onCurrentContext())
+      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent), onCurrentContext())
       .thenApply(r -> r.next(scheduledNoticeService::rescheduleDueDateNotices))
       .thenCompose(r -> r.after(loanNoticeSender::sendManualDueDateChangeNotice))
       .thenApply(r -> r.map(toFixedValue(NoContentResponse::noContent)))
@@ -207,13 +208,13 @@ public class LoanCollectionResource extends CollectionResource {
     String id = routingContext.request().getParam("id");
 
     loanRepository.getById(id)
-      .thenComposeAsync(accountRepository::findAccountsAndActionsForLoan)
-      .thenComposeAsync(servicePointRepository::findServicePointsForLoan)
-      .thenComposeAsync(userRepository::findUserForLoan)
-      .thenComposeAsync(loanPolicyRepository::findPolicyForLoan)
-      .thenComposeAsync(overdueFinePolicyRepository::findOverdueFinePolicyForLoan)
-      .thenComposeAsync(lostItemPolicyRepository::findLostItemPolicyForLoan)
-      .thenComposeAsync(patronGroupRepository::findGroupForLoan)
+      .thenComposeAsync(accountRepository::findAccountsAndActionsForLoan, onCurrentContext())
+      .thenComposeAsync(servicePointRepository::findServicePointsForLoan, onCurrentContext())
+      .thenComposeAsync(userRepository::findUserForLoan, onCurrentContext())
+      .thenComposeAsync(loanPolicyRepository::findPolicyForLoan, onCurrentContext())
+      .thenComposeAsync(overdueFinePolicyRepository::findOverdueFinePolicyForLoan, onCurrentContext())
+      .thenComposeAsync(lostItemPolicyRepository::findLostItemPolicyForLoan, onCurrentContext())
+      .thenComposeAsync(patronGroupRepository::findGroupForLoan, onCurrentContext())
       .thenApply(loanResult -> loanResult.map(loanRepresentation::extendedLoan))
       .thenApply(r -> r.map(JsonHttpResponse::ok))
       .thenAccept(context::writeResultToHttpResponse);
@@ -376,6 +377,6 @@ public class LoanCollectionResource extends CollectionResource {
         exitingLoan.setPreviousDueDate(exitingLoan.getDueDate());
         loan.setPreviousDueDate(exitingLoan.getDueDate());
         return exitingLoan;
-      }));
+      }), onCurrentContext());
   }
 }
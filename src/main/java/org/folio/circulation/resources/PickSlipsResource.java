@@ -5,6 +5,7 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.results.ResultBinding.flatMapResult;
 import static org.folio.circulation.support.fetching.MultipleCqlIndexValuesCriteria.byIndex;
@@ -12,13 +13,13 @@ import static org.folio.circulation.support.fetching.RecordFetching.findWithCqlQ
 import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.circulation.infrastructure.storage.users.AddressTypeRepository;
@@ -35,15 +36,15 @@ import org.folio.circulation.infrastructure.storage.users.UserRepository;
 import org.folio.circulation.domain.notice.TemplateContextUtil;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.RouteRegistration;
 import org.folio.circulation.support.http.client.CqlQuery;
 import org.folio.circulation.support.http.client.PageLimit;
-import org.folio.circulation.support.http.server.JsonHttpResponse;
+import org.folio.circulation.support.http.server.JsonArrayStreamingResponse;
 import org.folio.circulation.support.http.server.WebContext;
 
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
@@ -55,12 +56,12 @@ public class PickSlipsResource extends Resource {
   private static final String PICK_SLIPS_KEY = "pickSlips";
   private static final String STATUS_NAME_KEY = "status.name";
   private static final String REQUEST_TYPE_KEY = "requestType";
-  private static final String TOTAL_RECORDS_KEY = "totalRecords";
   private static final String SERVICE_POINT_ID_PARAM = "servicePointId";
   private static final String EFFECTIVE_LOCATION_ID_KEY = "effectiveLocationId";
   private static final String PRIMARY_SERVICE_POINT_KEY = "primaryServicePoint";
 
   private static final PageLimit LOCATIONS_LIMIT = PageLimit.oneThousand();
+  private static final int WRITE_BATCH_SIZE = 100;
 
   private final String rootPath;
 
@@ -86,15 +87,30 @@ public class PickSlipsResource extends Resource {
     final UUID servicePointId = UUID.fromString(
       routingContext.request().getParam(SERVICE_POINT_ID_PARAM));
 
+    final JsonArrayStreamingResponse response = new JsonArrayStreamingResponse(
+      routingContext.response(), PICK_SLIPS_KEY);
+
     fetchLocationsForServicePoint(servicePointId, clients)
-      .thenComposeAsync(r -> r.after(locations -> fetchPagedItemsForLocations(locations, clients)))
-      .thenComposeAsync(r -> r.after(items -> fetchOpenPageRequestsForItems(items, clients)))
-      .thenComposeAsync(r -> r.after(userRepository::findUsersForRequests))
-      .thenComposeAsync(r -> r.after(addressTypeRepository::findAddressTypesForRequests))
-      .thenComposeAsync(r -> r.after(servicePointRepository::findServicePointsForRequests))
-      .thenApply(flatMapResult(this::mapResultToJson))
-      .thenApply(r -> r.map(JsonHttpResponse::ok))
-      .thenAccept(context::writeResultToHttpResponse);
+      .thenComposeAsync(r -> r.after(locations -> fetchLocationDetails(locations, clients)), onCurrentContext())
+      .thenComposeAsync(r -> r.after(locations -> forEachPageOfPagedItemsForLocations(
+        locations, clients, items -> writePickSlipsForItems(items, clients, userRepository,
+          addressTypeRepository, servicePointRepository, response))), onCurrentContext())
+      .exceptionally(CommonFailures::failedDueToServerError)
+      .thenAccept(response::end);
+  }
+
+  private CompletableFuture<Result<Void>> writePickSlipsForItems(Collection<Item> items,
+    Clients clients, UserRepository userRepository,
+    AddressTypeRepository addressTypeRepository,
+    ServicePointRepository servicePointRepository, JsonArrayStreamingResponse response) {
+
+    return fetchOpenPageRequestsForItems(items, clients)
+      .thenComposeAsync(r -> r.after(userRepository::findUsersForRequests), onCurrentContext())
+      .thenComposeAsync(r -> r.after(addressTypeRepository::findAddressTypesForRequests), onCurrentContext())
+      .thenComposeAsync(r -> r.after(servicePointRepository::findServicePointsForRequests), onCurrentContext())
+      .thenCompose(r -> r.after(requests -> response.writeInBatches(
+        new ArrayList<>(requests.getRecords()), TemplateContextUtil::createStaffSlipContext,
+        WRITE_BATCH_SIZE)));
   }
 
   private CompletableFuture<Result<MultipleRecords<Location>>> fetchLocationsForServicePoint(
@@ -104,63 +120,61 @@ public class PickSlipsResource extends Resource {
       .findByQuery(exactMatch(PRIMARY_SERVICE_POINT_KEY, servicePointId.toString()), LOCATIONS_LIMIT);
   }
 
-  private CompletableFuture<Result<Collection<Item>>> fetchPagedItemsForLocations(
+  /**
+   * The details are fetched once for all of the service point's locations,
+   * rather than for the locations of each page of items
+   */
+  private CompletableFuture<Result<Collection<Location>>> fetchLocationDetails(
     MultipleRecords<Location> multipleLocations, Clients clients) {
 
     Collection<Location> locations = multipleLocations.getRecords();
 
-    Set<String> locationIds = locations.stream()
-      .map(Location::getId)
-      .filter(StringUtils::isNoneBlank)
-      .collect(toSet());
-
-    if (locationIds.isEmpty()) {
+    if (locations.isEmpty()) {
       return completedFuture(succeeded(emptyList()));
     }
 
-    final ItemRepository itemRepository = new ItemRepository(clients, false, true, true);
-    Result<CqlQuery> statusQuery = exactMatch(STATUS_NAME_KEY, ItemStatus.PAGED.getValue());
+    final LocationRepository locationRepository = LocationRepository.using(clients);
 
-    return itemRepository.findByIndexNameAndQuery(locationIds, EFFECTIVE_LOCATION_ID_KEY, statusQuery)
-      .thenComposeAsync(r -> r.after(items -> fetchLocationDetailsForItems(items, locations, clients)));
+    return completedFuture(succeeded(locations))
+      .thenComposeAsync(r -> r.after(locationRepository::fetchLibraries), onCurrentContext())
+      .thenComposeAsync(r -> r.after(locationRepository::fetchInstitutions), onCurrentContext())
+      .thenComposeAsync(r -> r.after(locationRepository::fetchCampuses), onCurrentContext());
   }
 
-  private CompletableFuture<Result<Collection<Item>>> fetchLocationDetailsForItems(
-    Collection<Item> items, Collection<Location> locationsForServicePoint, Clients clients) {
+  /**
+   * Pick slips are not sorted, so each page of paged items is handled
+   * (and written to the response) before the next page is fetched
+   */
+  private CompletableFuture<Result<Void>> forEachPageOfPagedItemsForLocations(
+    Collection<Location> locations, Clients clients,
+    Function<Collection<Item>, CompletableFuture<Result<Void>>> pageHandler) {
 
-    Set<String> locationIdsFromItems = items.stream()
-      .map(Item::getLocationId)
+    Set<String> locationIds = locations.stream()
+      .map(Location::getId)
       .filter(StringUtils::isNoneBlank)
       .collect(toSet());
 
-    Set<Location> locationsForItems = locationsForServicePoint.stream()
-      .filter(location -> locationIdsFromItems.contains(location.getId()))
-      .collect(toSet());
-
-    if (locationsForItems.isEmpty()) {
-      return completedFuture(succeeded(emptyList()));
+    if (locationIds.isEmpty()) {
+      return completedFuture(succeeded(null));
     }
 
-    final LocationRepository locationRepository = LocationRepository.using(clients);
+    final ItemRepository itemRepository = new ItemRepository(clients, false, true, true);
+    Result<CqlQuery> statusQuery = exactMatch(STATUS_NAME_KEY, ItemStatus.PAGED.getValue());
 
-    return completedFuture(succeeded(locationsForItems))
-      .thenComposeAsync(r -> r.after(locationRepository::fetchLibraries))
-      .thenComposeAsync(r -> r.after(locationRepository::fetchInstitutions))
-      .thenComposeAsync(r -> r.after(locationRepository::fetchCampuses))
-      .thenApply(flatMapResult(locations -> matchLocationsToItems(items, locations)));
+    return itemRepository.forEachPageByIndexNameAndQuery(locationIds,
+      EFFECTIVE_LOCATION_ID_KEY, statusQuery,
+      items -> pageHandler.apply(matchLocationsToItems(items, locations)));
   }
 
-  private Result<Collection<Item>> matchLocationsToItems(
+  private Collection<Item> matchLocationsToItems(
     Collection<Item> items, Collection<Location> locations) {
 
     Map<String, Location> locationsMap = locations.stream()
       .collect(toMap(Location::getId, identity()));
 
-    return succeeded(
-      items.stream()
-        .map(item -> item.withLocation(locationsMap.getOrDefault(item.getLocationId(), null)))
-        .collect(toSet())
-    );
+    return items.stream()
+      .map(item -> item.withLocation(locationsMap.getOrDefault(item.getLocationId(), null)))
+      .collect(toSet());
   }
 
   private CompletableFuture<Result<MultipleRecords<Request>>> fetchOpenPageRequestsForItems(
@@ -195,17 +209,4 @@ public class PickSlipsResource extends Resource {
         request.withItem(itemMap.getOrDefault(request.getItemId(), null))
     ));
   }
-
-  private Result<JsonObject> mapResultToJson(MultipleRecords<Request> requests) {
-    List<JsonObject> representations = requests.getRecords().stream()
-      .map(TemplateContextUtil::createStaffSlipContext)
-      .collect(Collectors.toList());
-
-    JsonObject jsonRepresentations = new JsonObject()
-      .put(PICK_SLIPS_KEY, representations)
-      .put(TOTAL_RECORDS_KEY, representations.size());
-
-    return succeeded(jsonRepresentations);
-  }
-
 }
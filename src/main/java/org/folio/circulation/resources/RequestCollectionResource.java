@@ -34,6 +34,7 @@ import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
 import org.folio.circulation.infrastructure.storage.loans.LoanPolicyRepository;
 import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
 import org.folio.circulation.infrastructure.storage.requests.RequestPolicyRepository;
+import org.folio.circulation.infrastructure.storage.requests.RequestQueueCache;
 import org.folio.circulation.infrastructure.storage.requests.RequestQueueRepository;
 import org.folio.circulation.infrastructure.storage.requests.RequestRepository;
 import org.folio.circulation.infrastructure.storage.users.UserRepository;
@@ -224,6 +225,10 @@ public class RequestCollectionResource extends CollectionResource {
     final var clients = Clients.create(context, client);
 
     fromFutureResult(clients.requestsStorage().delete())
+      .map(response -> {
+        RequestQueueCache.getInstance().flush(context.getTenantId());
+        return response;
+      })
       .map(toFixedValue(NoContentResponse::noContent))
       .onComplete(context::write, context::write);
   }
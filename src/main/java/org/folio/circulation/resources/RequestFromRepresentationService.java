@@ -7,6 +7,7 @@ import static org.folio.circulation.resources.handlers.error.CirculationErrorTyp
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.INVALID_PICKUP_SERVICE_POINT;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.INVALID_PROXY_RELATIONSHIP;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.json.JsonPropertyFetcher.getProperty;
 import static org.folio.circulation.support.results.MappingFunctions.when;
 import static org.folio.circulation.support.results.Result.failed;
@@ -77,16 +78,16 @@ class RequestFromRepresentationService {
       .thenCompose(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
         Request::truncateRequestExpirationDateToTheEndOfTheDay))
       .thenComposeAsync(r -> r.after(when(
-        this::shouldFetchItemAndLoan, this::fetchItemAndLoan, req -> ofAsync(() -> req))))
-      .thenComposeAsync(r -> r.combineAfter(userRepository::getUser, Request::withRequester))
-      .thenComposeAsync(r -> r.combineAfter(userRepository::getProxyUser, Request::withProxy))
+        this::shouldFetchItemAndLoan, this::fetchItemAndLoan, req -> ofAsync(() -> req))), onCurrentContext())
+      .thenComposeAsync(r -> r.combineAfter(userRepository::getUser, Request::withRequester), onCurrentContext())
+      .thenComposeAsync(r -> r.combineAfter(userRepository::getProxyUser, Request::withProxy), onCurrentContext())
       .thenComposeAsync(r -> r.combineAfter(servicePointRepository::getServicePointForRequest,
-        Request::withPickupServicePoint))
+        Request::withPickupServicePoint), onCurrentContext())
       .thenApply(r -> r.map(RequestAndRelatedRecords::new))
       .thenComposeAsync(r -> r.combineAfter(requestQueueRepository::get,
-        RequestAndRelatedRecords::withRequestQueue))
+        RequestAndRelatedRecords::withRequestQueue), onCurrentContext())
       .thenComposeAsync(r -> r.after(proxyRelationshipValidator::refuseWhenInvalid)
-        .thenApply(res -> errorHandler.handleValidationResult(res, INVALID_PROXY_RELATIONSHIP, r)))
+        .thenApply(res -> errorHandler.handleValidationResult(res, INVALID_PROXY_RELATIONSHIP, r)), onCurrentContext())
       .thenApply(r -> r.next(pickupLocationValidator::refuseInvalidPickupServicePoint)
         .mapFailure(err -> errorHandler.handleValidationError(err, INVALID_PICKUP_SERVICE_POINT, r)));
   }
@@ -98,8 +99,8 @@ class RequestFromRepresentationService {
   private CompletableFuture<Result<Request>> fetchItemAndLoan(Request request) {
     return succeeded(request)
       .combineAfter(itemRepository::fetchFor, Request::withItem)
-      .thenComposeAsync(r -> r.combineAfter(loanRepository::findOpenLoanForRequest, Request::withLoan))
-      .thenComposeAsync(r -> r.combineAfter(this::getUserForExistingLoan, this::addUserToLoan));
+      .thenComposeAsync(r -> r.combineAfter(loanRepository::findOpenLoanForRequest, Request::withLoan), onCurrentContext())
+      .thenComposeAsync(r -> r.combineAfter(this::getUserForExistingLoan, this::addUserToLoan), onCurrentContext());
   }
 
   private CompletableFuture<Result<User>> getUserForExistingLoan(Request request) {
@@ -1,47 +1,49 @@
 package org.folio.circulation.resources;
 
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static java.util.function.BinaryOperator.maxBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.folio.circulation.domain.ItemStatus.AWAITING_PICKUP;
 import static org.folio.circulation.domain.RequestStatus.CLOSED_CANCELLED;
 import static org.folio.circulation.domain.RequestStatus.CLOSED_PICKUP_EXPIRED;
 import static org.folio.circulation.domain.RequestStatus.OPEN_AWAITING_PICKUP;
-import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
-import static org.folio.circulation.support.CqlSortBy.descending;
+import static org.folio.circulation.domain.representations.RequestProperties.AWAITING_PICKUP_REQUEST_CLOSED_DATE;
+import static org.folio.circulation.support.fetching.RecordFetching.findWithMultipleCqlIndexValues;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatchAny;
-import static org.folio.circulation.support.http.client.PageLimit.limit;
+import static org.folio.circulation.support.http.client.CqlQuery.greaterThan;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.circulation.domain.HoldShelfClearanceRequestContext;
 import org.folio.circulation.domain.Item;
-import org.folio.circulation.domain.ItemsReportFetcher;
 import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.infrastructure.storage.inventory.ItemReportRepository;
 import org.folio.circulation.domain.Request;
 import org.folio.circulation.domain.RequestRepresentation;
 import org.folio.circulation.support.Clients;
-import org.folio.circulation.support.GetManyRecordsClient;
+import org.folio.circulation.support.FindWithMultipleCqlIndexValues;
 import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.RouteRegistration;
 import org.folio.circulation.support.http.client.CqlQuery;
-import org.folio.circulation.support.http.client.PageLimit;
-import org.folio.circulation.support.http.client.Response;
-import org.folio.circulation.support.http.server.JsonHttpResponse;
+import org.folio.circulation.support.http.server.JsonArrayStreamingResponse;
 import org.folio.circulation.support.http.server.WebContext;
 
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -49,22 +51,16 @@ import io.vertx.ext.web.RoutingContext;
 public class RequestHoldShelfClearanceResource extends Resource {
 
   /**
-   * The optimal number of identifiers that will not exceed the permissible length
-   * of the URI in according to the RFC 2616
+   * Maximum number of batched requests storage queries in flight at any time
+   * for a single report, so large reports do not flood the storage module
    */
-  private static final int BATCH_SIZE = 40;
+  private static final int MAXIMUM_CONCURRENT_QUERIES = 5;
 
-  /**
-   * Default limit value on a query
-   */
-  private static final int PAGE_REQUEST_LIMIT = 1;
   private static final String SERVICE_POINT_ID_PARAM = "servicePointId";
   private static final String ITEM_ID_KEY = "itemId";
   private static final String REQUESTS_KEY = "requests";
   private static final String STATUS_KEY = "status";
   private static final String STATUS_NAME_KEY = "status.name";
-  private static final String TOTAL_RECORDS_KEY = "totalRecords";
-  private static final String REQUEST_CLOSED_DATE_KEY = "awaitingPickupRequestClosedDate";
 
   private final String rootPath;
 
@@ -84,97 +80,105 @@ public class RequestHoldShelfClearanceResource extends Resource {
     final Clients clients = Clients.create(context, client);
 
     final ItemRepository itemRepository = new ItemRepository(clients, false, false, false);
-    final GetManyRecordsClient requestsStorage = clients.requestsStorage();
+    final FindWithMultipleCqlIndexValues<Request> requestsFinder =
+      findWithMultipleCqlIndexValues(clients.requestsStorage(), REQUESTS_KEY,
+        Request::from, MAXIMUM_CONCURRENT_QUERIES);
     final ItemReportRepository itemReportRepository = new ItemReportRepository(clients);
 
     final String servicePointId = routingContext.request().getParam(SERVICE_POINT_ID_PARAM);
 
-    itemReportRepository.getAllItemsByField(STATUS_NAME_KEY, AWAITING_PICKUP.getValue())
-      .thenComposeAsync(r -> r.after(this::mapContextToItemIdList))
-      .thenComposeAsync(r -> r.after(this::mapItemIdsInBatchItemIds))
-      .thenComposeAsync(r -> findAwaitingPickupRequestsByItemsIds(requestsStorage, r.value()))
-      .thenComposeAsync(r -> findExpiredOrCancelledRequestByItemIds(requestsStorage, r.value()))
-      .thenApply(r -> findExpiredOrCancelledRequestByServicePoint(servicePointId, r.value()))
-      .thenCompose(r -> fetchItemToRequest(r, itemRepository))
-      .thenApply(this::mapResultToJson)
-      .thenApply(r -> r.map(JsonHttpResponse::ok))
-      .thenAccept(context::writeResultToHttpResponse);
+    final JsonArrayStreamingResponse response = new JsonArrayStreamingResponse(
+      routingContext.response(), REQUESTS_KEY);
+
+    itemReportRepository.forEachPageOfItemsByField(STATUS_NAME_KEY, AWAITING_PICKUP.getValue(),
+      items -> findRequestsToClearForItems(items, servicePointId, requestsFinder, itemRepository)
+        .thenCompose(r -> r.after(requests -> response.write(toRequestRepresentations(requests)))))
+      .exceptionally(CommonFailures::failedDueToServerError)
+      .thenAccept(response::end);
+  }
+
+  /**
+   * Whether an item's request should be cleared from the hold shelf only depends
+   * upon the requests for that item, so each page of items can be handled on its own
+   */
+  private CompletableFuture<Result<List<Request>>> findRequestsToClearForItems(
+    MultipleRecords<Item> items, String servicePointId,
+    FindWithMultipleCqlIndexValues<Request> requestsFinder, ItemRepository itemRepository) {
+
+    return findAwaitingPickupRequestsByItemsIds(requestsFinder, mapToItemIdList(items))
+      .thenCompose(r -> r.after(clearanceContext -> findExpiredOrCancelledRequestByItemIds(requestsFinder, clearanceContext)))
+      .thenApply(r -> r.map(clearanceContext -> findExpiredOrCancelledRequestByServicePoint(servicePointId, clearanceContext)))
+      .thenCompose(r -> fetchItemToRequest(r, itemRepository));
   }
 
-  private CompletableFuture<Result<List<String>>> mapContextToItemIdList(ItemsReportFetcher itemsReportFetcher) {
-    List<String> itemIds = itemsReportFetcher.getResultListOfItems().stream()
-      .flatMap(records -> records.value().getRecords().stream())
+  private List<String> mapToItemIdList(MultipleRecords<Item> items) {
+    return items.getRecords().stream()
       .filter(item -> StringUtils.isNoneBlank(item.getItemId()))
       .map(Item::getItemId)
       .collect(Collectors.toList());
-    return CompletableFuture.completedFuture(Result.succeeded(itemIds));
   }
 
-  private CompletableFuture<Result<List<List<String>>>> mapItemIdsInBatchItemIds(List<String> itemIds) {
-    return CompletableFuture.completedFuture(Result.succeeded(splitIds(itemIds)));
-  }
+  private CompletableFuture<Result<HoldShelfClearanceRequestContext>> findAwaitingPickupRequestsByItemsIds(
+    FindWithMultipleCqlIndexValues<Request> requestsFinder, List<String> itemIds) {
 
-  private List<List<String>> splitIds(List<String> itemsIds) {
-    int size = itemsIds.size();
-    if (size <= 0) {
-      return new ArrayList<>();
-    }
-
-    int fullChunks = (size - 1) / BATCH_SIZE;
-    return IntStream.range(0, fullChunks + 1)
-      .mapToObj(n ->
-        itemsIds.subList(n * BATCH_SIZE, n == fullChunks
-          ? size
-          : (n + 1) * BATCH_SIZE))
-      .collect(Collectors.toList());
-  }
+    final Result<CqlQuery> statusQuery = exactMatch(STATUS_KEY, OPEN_AWAITING_PICKUP.getValue());
 
-  private CompletableFuture<Result<HoldShelfClearanceRequestContext>> findAwaitingPickupRequestsByItemsIds(GetManyRecordsClient client,
-                                                                                                           List<List<String>> batchItemIds) {
-    List<Result<MultipleRecords<Request>>> awaitingPickupRequests = findAwaitingPickupRequests(client, batchItemIds);
-    return CompletableFuture.completedFuture(Result.succeeded(
-      createHoldShelfClearanceRequestContext(batchItemIds, awaitingPickupRequests)));
+    return requestsFinder.findByIdIndexAndQuery(itemIds, ITEM_ID_KEY, statusQuery)
+      .thenApply(r -> r.map(awaitingPickupRequests ->
+        createHoldShelfClearanceRequestContext(itemIds, awaitingPickupRequests)));
   }
 
-  private List<Result<MultipleRecords<Request>>> findAwaitingPickupRequests(GetManyRecordsClient client,
-                                                                            List<List<String>> batchItemIds) {
-    return batchItemIds.stream()
-      .map(batch -> {
-        final Result<CqlQuery> statusQuery = exactMatch(STATUS_KEY, OPEN_AWAITING_PICKUP.getValue());
-        final Result<CqlQuery> itemIdsQuery = exactMatchAny(ITEM_ID_KEY, batch);
+  private HoldShelfClearanceRequestContext createHoldShelfClearanceRequestContext(
+    List<String> itemIds, MultipleRecords<Request> awaitingPickupRequests) {
 
-        Result<CqlQuery> cqlQueryResult = statusQuery
-          .combine(itemIdsQuery, CqlQuery::and);
+    Set<String> awaitingPickupRequestItemIds = awaitingPickupRequests.getRecords().stream()
+      .map(Request::getItemId)
+      .collect(Collectors.toSet());
 
-        return findRequestsByCqlQuery(client, cqlQueryResult, limit(batch.size()));
-      })
-      .map(CompletableFuture::join)
+    List<String> allAwaitingPickupItemIds = itemIds.stream()
+      .filter(itemId -> !awaitingPickupRequestItemIds.contains(itemId))
       .collect(Collectors.toList());
+
+    return new HoldShelfClearanceRequestContext()
+      .withAwaitingPickupItemIds(allAwaitingPickupItemIds)
+      .withAwaitingPickupRequestItemIds(awaitingPickupRequestItemIds);
   }
 
-  private HoldShelfClearanceRequestContext createHoldShelfClearanceRequestContext(List<List<String>> batchItemIds,
-                                                                                  List<Result<MultipleRecords<Request>>> results) {
-    List<String> allAwaitingPickupItemIds = batchItemIds.stream()
-      .flatMap(Collection::stream)
-      .collect(Collectors.toList());
+  /**
+   * Finds the closed requests for all items at once and takes the most
+   * recently closed request for each item
+   */
+  private CompletableFuture<Result<HoldShelfClearanceRequestContext>> findExpiredOrCancelledRequestByItemIds(
+    FindWithMultipleCqlIndexValues<Request> requestsFinder,
+    HoldShelfClearanceRequestContext context) {
 
-    List<String> awaitingPickupRequestItemIds = results.stream()
-      .flatMap(r -> r.value().getRecords().stream())
-      .map(Request::getItemId)
+    final List<String> itemIds = context.getAwaitingPickupItemIds().stream()
+      .filter(Objects::nonNull)
       .collect(Collectors.toList());
 
-    allAwaitingPickupItemIds.removeAll(awaitingPickupRequestItemIds);
+    final Result<CqlQuery> statusQuery = exactMatchAny(STATUS_KEY,
+      Arrays.asList(CLOSED_PICKUP_EXPIRED.getValue(), CLOSED_CANCELLED.getValue()));
+    final Result<CqlQuery> notEmptyDateQuery = greaterThan(
+      AWAITING_PICKUP_REQUEST_CLOSED_DATE, StringUtils.EMPTY);
 
-    return new HoldShelfClearanceRequestContext()
-      .withAwaitingPickupItemIds(allAwaitingPickupItemIds)
-      .withAwaitingPickupRequestItemIds(awaitingPickupRequestItemIds);
+    return requestsFinder.findByIdIndexAndQuery(itemIds, ITEM_ID_KEY,
+        statusQuery.combine(notEmptyDateQuery, CqlQuery::and))
+      .thenApply(r -> r.map(closedRequests -> context.withExpiredOrCancelledRequests(
+        getMostRecentlyClosedRequestForEachItem(itemIds, closedRequests))));
   }
 
-  private CompletableFuture<Result<HoldShelfClearanceRequestContext>> findExpiredOrCancelledRequestByItemIds(GetManyRecordsClient client,
-                                                                                                             HoldShelfClearanceRequestContext context) {
-    List<Result<MultipleRecords<Request>>> requestList = findRequestsSortedByClosedDate(client, context.getAwaitingPickupItemIds());
-    List<Request> firstRequestFromList = getFirstRequestFromList(requestList);
-    return CompletableFuture.completedFuture(Result.succeeded(context.withExpiredOrCancelledRequests(firstRequestFromList)));
+  private List<Request> getMostRecentlyClosedRequestForEachItem(List<String> itemIds,
+    MultipleRecords<Request> closedRequests) {
+
+    final Map<String, Request> mostRecentlyClosed = closedRequests.getRecords().stream()
+      .collect(toMap(Request::getItemId, request -> request,
+        maxBy(comparing(Request::getAwaitingPickupRequestClosedDate,
+          nullsFirst(naturalOrder())))));
+
+    return itemIds.stream()
+      .map(mostRecentlyClosed::get)
+      .filter(Objects::nonNull)
+      .collect(toList());
   }
 
   private Predicate<Request> hasContextRequestForServicePoint(String servicePointId) {
@@ -185,82 +189,27 @@ public class RequestHoldShelfClearanceResource extends Resource {
     return req -> !context.getAwaitingPickupRequestItemIds().contains(req.getItemId());
   }
 
-  private Result<List<Request>> findExpiredOrCancelledRequestByServicePoint(String servicePointId,
-                                                                            HoldShelfClearanceRequestContext context) {
+  private MultipleRecords<Request> findExpiredOrCancelledRequestByServicePoint(
+    String servicePointId, HoldShelfClearanceRequestContext context) {
+
     List<Request> requestList = context.getExpiredOrCancelledRequests().stream()
       .filter(hasContextRequestForServicePoint(servicePointId))
       .filter(hasNotContextAwaitingPickupRequestForItemId(context))
       .collect(Collectors.toList());
-    return Result.succeeded(requestList);
-  }
-
-  /**
-   * Find for each item ids requests sorted by awaitingPickupRequestClosedDate
-   */
-  private List<Result<MultipleRecords<Request>>> findRequestsSortedByClosedDate(GetManyRecordsClient client,
-                                                                                List<String> itemIds) {
-    return itemIds.stream()
-      .filter(Objects::nonNull)
-      .map(itemId -> {
-        final Result<CqlQuery> itemIdQuery = CqlQuery.exactMatch(ITEM_ID_KEY, itemId);
-        final Result<CqlQuery> notEmptyDateQuery = CqlQuery.greaterThan(REQUEST_CLOSED_DATE_KEY, StringUtils.EMPTY);
-        final Result<CqlQuery> statusQuery = exactMatchAny(STATUS_KEY,
-          Arrays.asList(CLOSED_PICKUP_EXPIRED.getValue(), CLOSED_CANCELLED.getValue()));
-
-        Result<CqlQuery> cqlQueryResult = itemIdQuery
-          .combine(statusQuery, CqlQuery::and)
-          .combine(notEmptyDateQuery, CqlQuery::and)
-          .map(q -> q.sortBy(descending(REQUEST_CLOSED_DATE_KEY)));
-
-        return findRequestsByCqlQuery(client, cqlQueryResult, limit(PAGE_REQUEST_LIMIT));
-      }).map(CompletableFuture::join)
-      .collect(Collectors.toList());
-  }
-
-  private List<Request> getFirstRequestFromList(List<Result<MultipleRecords<Request>>> multipleRecordsList) {
-    return multipleRecordsList.stream()
-      .map(r -> r.value().getRecords().stream().findFirst())
-      .filter(Optional::isPresent)
-      .map(Optional::get)
-      .collect(Collectors.toList());
-  }
-
-  private CompletableFuture<Result<MultipleRecords<Request>>> findRequestsByCqlQuery(
-          GetManyRecordsClient client, Result<CqlQuery> cqlQueryResult,
-          PageLimit pageLimit) {
 
-    return cqlQueryResult
-      .after(query -> client.getMany(query, pageLimit))
-      .thenApply(result -> result.next(this::mapResponseToRequest));
+    return new MultipleRecords<>(requestList, requestList.size());
   }
 
   private CompletableFuture<Result<List<Request>>> fetchItemToRequest(
-    Result<List<Request>> requestsResult, ItemRepository itemRepository) {
-
-    return requestsResult.after(
-      requests -> allOf(requests, request -> fetchItem(itemRepository, request)));
-  }
+    Result<MultipleRecords<Request>> requestsResult, ItemRepository itemRepository) {
 
-  private Result<JsonObject> mapResultToJson(Result<List<Request>> requestsResult) {
-    return requestsResult.map(this::toRequestsResponse);
+    return itemRepository.fetchItemsFor(requestsResult, Request::withItem)
+      .thenApply(r -> r.map(requests -> new ArrayList<>(requests.getRecords())));
   }
 
-  private JsonObject toRequestsResponse(List<Request> requests) {
-    final List<JsonObject> requestsRepresentations = requests.stream()
+  private List<JsonObject> toRequestRepresentations(List<Request> requests) {
+    return requests.stream()
       .map(request -> new RequestRepresentation().extendedRepresentation(request))
       .collect(Collectors.toList());
-
-    return new JsonObject()
-      .put(REQUESTS_KEY, new JsonArray(requestsRepresentations))
-      .put(TOTAL_RECORDS_KEY, requestsRepresentations.size());
-  }
-
-  private CompletableFuture<Result<Request>> fetchItem(ItemRepository itemRepository, Request request) {
-    return CompletableFuture.completedFuture(Result.succeeded(request))
-      .thenComposeAsync(result -> result.combineAfter(itemRepository::fetchFor, Request::withItem));
-  }
-
-  private Result<MultipleRecords<Request>> mapResponseToRequest(Response response) {
-    return MultipleRecords.from(response, Request::from, REQUESTS_KEY);
   }
 }
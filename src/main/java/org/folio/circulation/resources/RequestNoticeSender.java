@@ -2,6 +2,7 @@ package org.folio.circulation.resources;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static org.folio.circulation.domain.notice.TemplateContextUtil.createRequestNoticeContext;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -105,7 +106,7 @@ public class RequestNoticeSender {
   private void sendLogEvent(Loan loan) {
     runAsync(() -> loanRepository.getById(loan.getId())
       .thenAccept(existingLoan -> existingLoan.map(l -> loan.setPreviousDueDate(l.getDueDate())))
-      .thenApply(vVoid -> eventPublisher.publishRecallRequestedEvent(loan)));
+      .thenApply(vVoid -> eventPublisher.publishRecallRequestedEvent(loan)), onCurrentContext());
   }
 
   public Result<RequestAndRelatedRecords> sendNoticeOnRequestMoved(
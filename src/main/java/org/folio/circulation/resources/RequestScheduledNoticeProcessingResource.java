@@ -3,6 +3,7 @@ package org.folio.circulation.resources;
 import static org.folio.circulation.support.results.ResultBinding.mapResult;
 
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.MultipleRecords;
@@ -13,6 +14,7 @@ import org.folio.circulation.infrastructure.storage.ConfigurationRepository;
 import org.folio.circulation.infrastructure.storage.notices.ScheduledNoticesRepository;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.CqlSortBy;
+import org.folio.circulation.support.http.client.CqlQuery;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.utils.ClockUtil;
@@ -36,6 +38,15 @@ public class RequestScheduledNoticeProcessingResource extends ScheduledNoticePro
       CqlSortBy.ascending("nextRunTime"), pageLimit);
   }
 
+  @Override
+  protected Optional<Result<CqlQuery>> findAllDueNoticesQuery(
+    ScheduledNoticesRepository scheduledNoticesRepository) {
+
+    return Optional.of(scheduledNoticesRepository.findDueNoticesQuery(
+      ClockUtil.getDateTime(), true,
+      Arrays.asList(TriggeringEvent.HOLD_EXPIRATION, TriggeringEvent.REQUEST_EXPIRATION)));
+  }
+
   @Override
   protected CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> handleNotices(
     Clients clients, MultipleRecords<ScheduledNotice> scheduledNotices) {
@@ -55,15 +55,18 @@ public class ScheduledAnonymizationProcessingResource extends Resource {
     final var anonymizeStorageLoansRepository = new AnonymizeStorageLoansRepository(clients);
     final var eventPublisher = new EventPublisher(clients.pubSubPublishingService());
 
-    final var loansFinder = new LoansForTenantFinder(loanRepository, accountRepository,
-      Environment.getScheduledAnonymizationNumberOfLoansToCheck());
-
     log.info("Initializing loan anonymization for current tenant");
 
     safelyInitialise(configurationRepository::loanHistoryConfiguration)
-      .thenApply(r -> r.map(config -> new DefaultLoanAnonymizationService(
-          new AnonymizationCheckersService(config), anonymizeStorageLoansRepository, eventPublisher)))
-      .thenCompose(r -> r.after(service -> service.anonymizeLoans(loansFinder::findLoansToAnonymize)))
+      .thenCompose(r -> r.after(config -> {
+        final var loansFinder = new LoansForTenantFinder(loanRepository, accountRepository,
+          Environment.getScheduledAnonymizationNumberOfLoansToCheck(),
+          context.getTenantId(), config);
+
+        return new DefaultLoanAnonymizationService(new AnonymizationCheckersService(config),
+          anonymizeStorageLoansRepository, eventPublisher)
+          .anonymizeLoans(loansFinder::findLoansToAnonymize);
+      }))
       .thenApply(AnonymizeLoansRepresentation::from)
       .thenApply(r -> r.map(JsonHttpResponse::ok))
       .exceptionally(CommonFailures::failedDueToServerError)
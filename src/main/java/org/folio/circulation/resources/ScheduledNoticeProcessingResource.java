@@ -1,27 +1,42 @@
 package org.folio.circulation.resources;
 
+import static org.folio.circulation.support.fetching.KeysetPagination.keysetPagination;
 import static org.folio.circulation.support.results.AsynchronousResultBindings.safelyInitialise;
 import static org.folio.circulation.support.results.MappingFunctions.toFixedValue;
+import static org.folio.circulation.support.results.ResultBinding.mapResult;
+import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTime;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
 import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.domain.notice.schedule.ScheduledNotice;
+import org.folio.circulation.domain.notice.schedule.ScheduledNoticeBacklog;
 import org.folio.circulation.infrastructure.storage.ConfigurationRepository;
 import org.folio.circulation.infrastructure.storage.notices.ScheduledNoticesRepository;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.fetching.PageableFetcher;
+import org.folio.circulation.support.http.client.CqlQuery;
 import org.folio.circulation.support.http.client.PageLimit;
 import org.folio.circulation.support.http.server.NoContentResponse;
 import org.folio.circulation.support.http.server.WebContext;
 import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
+import org.joda.time.DateTimeZone;
 
 import io.vertx.core.http.HttpClient;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 public abstract class ScheduledNoticeProcessingResource extends Resource {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+  private static final String NEXT_RUN_TIME = "nextRunTime";
+
   private final String rootPath;
 
   ScheduledNoticeProcessingResource(String rootPath, HttpClient client) {
@@ -45,19 +60,107 @@ public abstract class ScheduledNoticeProcessingResource extends Resource {
     final ConfigurationRepository configurationRepository =
       new ConfigurationRepository(clients);
 
+    final Optional<Result<CqlQuery>> allDueNoticesQuery =
+      findAllDueNoticesQuery(scheduledNoticesRepository);
+
+    if (Environment.isScheduledNoticesContinuousProcessingEnabled()
+      && allDueNoticesQuery.isPresent()) {
+
+      processAllDueNotices(context.getTenantId(), clients, configurationRepository,
+        scheduledNoticesRepository, allDueNoticesQuery.get());
+
+      context.writeResultToHttpResponse(Result.succeeded(NoContentResponse.noContent()));
+      return;
+    }
+
     safelyInitialise(configurationRepository::lookupSchedulerNoticesProcessingLimit)
       .thenCompose(r -> r.after(limit -> findNoticesToSend(configurationRepository,
         scheduledNoticesRepository, limit)))
+      .thenApply(mapResult(notices -> recordPageFetched(context.getTenantId(), notices)))
       .thenCompose(r -> r.after(notices -> handleNotices(clients, notices)))
       .thenApply(r -> r.map(toFixedValue(NoContentResponse::noContent)))
       .exceptionally(CommonFailures::failedDueToServerError)
       .thenAccept(context::writeResultToHttpResponse);
   }
 
+  /**
+   * Processes pages of the notices that are due until there are none left, with a
+   * limited number of pages fetched ahead, unless they are already being processed for
+   * the tenant. This carries on after the response to the trigger has been sent
+   */
+  private void processAllDueNotices(String tenantId, Clients clients,
+    ConfigurationRepository configurationRepository,
+    ScheduledNoticesRepository scheduledNoticesRepository, Result<CqlQuery> query) {
+
+    final ScheduledNoticeBacklog backlog = ScheduledNoticeBacklog.getInstance();
+
+    final Optional<ScheduledNoticeBacklog.Run> run = backlog.startRun(tenantId, rootPath);
+
+    if (run.isEmpty()) {
+      log.info("Scheduled notices for {} are already being processed for tenant {}",
+        rootPath, tenantId);
+      return;
+    }
+
+    safelyInitialise(configurationRepository::lookupSchedulerNoticesProcessingLimit)
+      .thenCompose(r -> r.after(limit -> query.after(q ->
+        createNoticesFetcher(scheduledNoticesRepository, limit).processPages(q,
+          notices -> processPage(tenantId, clients, notices)))))
+      .exceptionally(CommonFailures::failedDueToServerError)
+      .thenAccept(result -> {
+        if (result.failed()) {
+          log.error("Failed to process scheduled notices for {} for tenant {}: {}",
+            rootPath, tenantId, result.cause());
+        }
+
+        backlog.runFinished(run.get(), result);
+      });
+  }
+
+  private PageableFetcher<ScheduledNotice> createNoticesFetcher(
+    ScheduledNoticesRepository scheduledNoticesRepository, PageLimit pageLimit) {
+
+    final int pagesInFlight = Environment.getScheduledNoticesPagesInFlight();
+
+    return new PageableFetcher<>(scheduledNoticesRepository, pageLimit, Integer.MAX_VALUE)
+      .withKeysetPagination(keysetPagination(NEXT_RUN_TIME, this::formatNextRunTime,
+        ScheduledNotice::getId))
+      .withPrefetching(pagesInFlight, pagesInFlight);
+  }
+
+  private CompletableFuture<Result<Void>> processPage(String tenantId, Clients clients,
+    MultipleRecords<ScheduledNotice> notices) {
+
+    return handleNotices(clients, recordPageFetched(tenantId, notices))
+      .thenApply(mapResult(processed -> null));
+  }
+
+  private MultipleRecords<ScheduledNotice> recordPageFetched(String tenantId,
+    MultipleRecords<ScheduledNotice> notices) {
+
+    ScheduledNoticeBacklog.getInstance().pageFetched(tenantId, rootPath, notices);
+
+    return notices;
+  }
+
+  private String formatNextRunTime(ScheduledNotice notice) {
+    return formatDateTime(notice.getNextRunTime().withZone(DateTimeZone.UTC));
+  }
+
   protected abstract CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> findNoticesToSend(
     ConfigurationRepository configurationRepository,
     ScheduledNoticesRepository scheduledNoticesRepository, PageLimit pageLimit);
 
+  /**
+   * @return query for all of the notices that are due, used to process them in pages
+   * ordered by next run time, empty when they cannot be processed in that order
+   */
+  protected Optional<Result<CqlQuery>> findAllDueNoticesQuery(
+    ScheduledNoticesRepository scheduledNoticesRepository) {
+
+    return Optional.empty();
+  }
+
   protected abstract CompletableFuture<Result<MultipleRecords<ScheduledNotice>>> handleNotices(
     Clients clients, MultipleRecords<ScheduledNotice> noticesResult);
 }
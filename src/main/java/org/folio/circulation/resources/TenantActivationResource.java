@@ -3,32 +3,72 @@ package org.folio.circulation.resources;
 import static org.folio.circulation.support.http.server.JsonHttpResponse.created;
 import static org.folio.circulation.support.http.server.NoContentResponse.noContent;
 
+import java.lang.invoke.MethodHandles;
 import java.util.Map;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.folio.circulation.infrastructure.storage.inventory.LocationHierarchyCache;
+import org.folio.circulation.infrastructure.storage.requests.RequestQueueCache;
 import org.folio.circulation.services.PubSubRegistrationService;
+import org.folio.circulation.services.ReferenceDataPreloadService;
+import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.cache.ReferenceDataCache;
 import org.folio.circulation.support.http.server.ServerErrorResponse;
 import org.folio.circulation.support.http.server.WebContext;
 
+import io.vertx.core.http.HttpClient;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 public class TenantActivationResource {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private final HttpClient client;
+
+  public TenantActivationResource(HttpClient client) {
+    this.client = client;
+  }
 
   public void register(Router router) {
     RouteRegistration routeRegistration = new RouteRegistration("/_/tenant", router);
     routeRegistration.create(this::enableModuleForTenant);
-    routeRegistration.deleteAll(ctx -> noContent().writeTo(ctx.response()));
+    routeRegistration.deleteAll(this::disableModuleForTenant);
   }
 
   private void enableModuleForTenant(RoutingContext routingContext) {
-    Map<String, String> headers = new WebContext(routingContext).getHeaders();
+    final WebContext context = new WebContext(routingContext);
+    Map<String, String> headers = context.getHeaders();
+
     PubSubRegistrationService.registerModule(headers,routingContext.vertx())
       .thenRun(() -> created(new JsonObject()).writeTo(routingContext.response()))
+      .thenRun(() -> preloadReferenceData(context))
       .exceptionally(throwable -> {
         ServerErrorResponse.internalError(routingContext.response(), throwable.getLocalizedMessage());
         return null;
       });
   }
+
+  private void preloadReferenceData(WebContext context) {
+    // the module is already enabled, failing to preload only means more fetching later
+    try {
+      new ReferenceDataPreloadService(Clients.create(context, client)).preload();
+    }
+    catch (Exception e) {
+      log.warn("Could not preload reference data for tenant {}", context.getTenantId(), e);
+    }
+  }
+
+  private void disableModuleForTenant(RoutingContext routingContext) {
+    final String tenantId = new WebContext(routingContext).getTenantId();
+
+    ReferenceDataCache.getInstance().flush(tenantId);
+    LocationHierarchyCache.getInstance().flush(tenantId);
+    RequestQueueCache.getInstance().flush(tenantId);
+
+    noContent().writeTo(routingContext.response());
+  }
 }
@@ -5,6 +5,7 @@ import static org.folio.circulation.domain.FeeFine.lostItemFeeTypes;
 import static org.folio.circulation.domain.subscribers.LoanRelatedFeeFineClosedEvent.fromJson;
 import static org.folio.circulation.support.Clients.create;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.http.server.NoContentResponse.noContent;
 import static org.folio.circulation.support.results.MappingFunctions.toFixedValue;
 import static org.folio.circulation.support.results.Result.failed;
@@ -89,7 +90,7 @@ public class LoanRelatedFeeFineClosedHandlerResource extends Resource {
     final LostItemPolicyRepository lostItemPolicyRepository = new LostItemPolicyRepository(clients);
 
     return accountRepository.findAccountsForLoan(loan)
-      .thenComposeAsync(lostItemPolicyRepository::findLostItemPolicyForLoan)
+      .thenComposeAsync(lostItemPolicyRepository::findLostItemPolicyForLoan, onCurrentContext())
       .thenCompose(loanResult -> closeLoanAndUpdateItem(loanResult, clients));
   }
 
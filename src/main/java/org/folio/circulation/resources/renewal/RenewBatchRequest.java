@@ -0,0 +1,79 @@
+package org.folio.circulation.resources.renewal;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.json.JsonPropertyFetcher.getProperty;
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.support.json.JsonStringArrayPropertyFetcher;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RenewBatchRequest {
+  public static final int MAXIMUM_NUMBER_OF_RENEWALS = 100;
+  static final String USER_BARCODE = "userBarcode";
+  static final String ITEM_BARCODES = "itemBarcodes";
+  static final String SERVICE_POINT_ID = "servicePointId";
+
+  private final String userBarcode;
+  /**
+   * Barcodes of the items to renew, null when all of the patron's loans are to be renewed
+   */
+  private final List<String> itemBarcodes;
+  private final String servicePointId;
+
+  static Result<RenewBatchRequest> renewBatchRequestFrom(JsonObject json) {
+    final String userBarcode = getProperty(json, USER_BARCODE);
+
+    if (isBlank(userBarcode)) {
+      return failedValidation("Batch renewal request must have a user barcode",
+        USER_BARCODE, null);
+    }
+
+    final List<String> itemBarcodes = json.containsKey(ITEM_BARCODES)
+      ? JsonStringArrayPropertyFetcher.toStream(json, ITEM_BARCODES)
+        .collect(Collectors.toList())
+      : null;
+
+    if (itemBarcodes != null && itemBarcodes.isEmpty()) {
+      return failedValidation("Batch renewal request must have item barcodes",
+        ITEM_BARCODES, null);
+    }
+
+    if (itemBarcodes != null && itemBarcodes.size() > MAXIMUM_NUMBER_OF_RENEWALS) {
+      return failedValidation(format(
+        "Batch renewal request cannot have more than %d renewals",
+        MAXIMUM_NUMBER_OF_RENEWALS), ITEM_BARCODES, String.valueOf(itemBarcodes.size()));
+    }
+
+    return succeeded(new RenewBatchRequest(userBarcode, itemBarcodes,
+      getProperty(json, SERVICE_POINT_ID)));
+  }
+
+  boolean renewsAllLoans() {
+    return itemBarcodes == null;
+  }
+
+  /**
+   * The equivalent of a single renewal by barcode, used as the renewal request of each loan
+   */
+  JsonObject renewalRequestFor(String itemBarcode) {
+    final JsonObject json = new JsonObject();
+
+    write(json, RenewByBarcodeRequest.ITEM_BARCODE, itemBarcode);
+    write(json, USER_BARCODE, userBarcode);
+    write(json, SERVICE_POINT_ID, servicePointId);
+
+    return json;
+  }
+}
@@ -0,0 +1,389 @@
+package org.folio.circulation.resources.renewal;
+
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.domain.validation.CommonFailures.moreThanOneOpenLoanFailure;
+import static org.folio.circulation.domain.validation.CommonFailures.noItemFoundForBarcodeFailure;
+import static org.folio.circulation.domain.validation.CommonFailures.noItemFoundForIdFailure;
+import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_BLOCKED_AUTOMATICALLY;
+import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_BLOCKED_MANUALLY;
+import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_INACTIVE;
+import static org.folio.circulation.resources.renewal.RenewBatchRequest.ITEM_BARCODES;
+import static org.folio.circulation.resources.renewal.RenewBatchRequest.MAXIMUM_NUMBER_OF_RENEWALS;
+import static org.folio.circulation.resources.renewal.RenewBatchRequest.USER_BARCODE;
+import static org.folio.circulation.resources.renewal.RenewBatchRequest.renewBatchRequestFrom;
+import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.domain.RequestQueue;
+import org.folio.circulation.domain.User;
+import org.folio.circulation.domain.policy.LoanPolicy;
+import org.folio.circulation.infrastructure.storage.AutomatedPatronBlocksRepository;
+import org.folio.circulation.infrastructure.storage.BatchCalendarRepository;
+import org.folio.circulation.infrastructure.storage.CalendarRepository;
+import org.folio.circulation.infrastructure.storage.ConfigurationRepository;
+import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
+import org.folio.circulation.infrastructure.storage.loans.LoanPolicyRepository;
+import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
+import org.folio.circulation.infrastructure.storage.requests.RequestQueueRepository;
+import org.folio.circulation.infrastructure.storage.users.UserRepository;
+import org.folio.circulation.resources.context.RenewalContext;
+import org.folio.circulation.resources.handlers.error.CirculationErrorHandler;
+import org.folio.circulation.resources.handlers.error.OverridingErrorHandler;
+import org.folio.circulation.resources.renewal.RenewBatchResponse.RenewalOutcome;
+import org.folio.circulation.services.EventPublisher;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.RouteRegistration;
+import org.folio.circulation.support.http.OkapiPermissions;
+import org.folio.circulation.support.http.server.WebContext;
+import org.folio.circulation.support.results.CommonFailures;
+import org.folio.circulation.support.results.Result;
+import org.joda.time.DateTimeZone;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Renews many of a patron's loans in one request, either the loans for the given
+ * item barcodes or all of the patron's open loans.
+ *
+ * The patron and whether they are allowed to renew are checked once for the batch.
+ * The loans, items, request queues and loan policies are fetched in bulk up front and
+ * the calendar is shared by all of the loans, each loan is then renewed with the same
+ * steps as a single renewal by barcode. A loan whose policy cannot be found fails on its
+ * own, rather than failing the batch. The renewals are processed one after another and
+ * succeed or fail independently, the response has the outcome of each of them.
+ */
+public class RenewBatchResource extends RenewByBarcodeResource {
+  public RenewBatchResource(HttpClient client) {
+    super(client);
+  }
+
+  @Override
+  public void register(Router router) {
+    RouteRegistration routeRegistration = new RouteRegistration(
+      "/circulation/renew-batch", router);
+
+    routeRegistration.create(this::renewBatch);
+  }
+
+  private void renewBatch(RoutingContext routingContext) {
+    final WebContext webContext = new WebContext(routingContext);
+    final Clients clients = Clients.create(webContext, client);
+
+    final EventPublisher eventPublisher = new EventPublisher(routingContext);
+
+    renewBatchRequestFrom(routingContext.getBodyAsJson())
+      .after(batchRequest -> renewAll(batchRequest, webContext, clients, eventPublisher))
+      .thenApply(r -> r.map(RenewBatchResponse::new))
+      .thenApply(r -> r.map(RenewBatchResponse::toHttpResponse))
+      .thenAccept(webContext::writeResultToHttpResponse);
+  }
+
+  private CompletableFuture<Result<List<RenewalOutcome>>> renewAll(
+    RenewBatchRequest batchRequest, WebContext webContext, Clients clients,
+    EventPublisher eventPublisher) {
+
+    final UserRepository userRepository = new UserRepository(clients);
+
+    return userRepository.getUserByBarcode(batchRequest.getUserBarcode())
+      .thenCompose(r -> r.after(user -> findLoans(batchRequest, user, clients)))
+      .thenCompose(r -> r.after(loans -> refuseWhenPatronCannotRenew(loans, batchRequest,
+        webContext, clients)))
+      .thenCompose(r -> r.after(loans -> fetchBatchRecords(loans, clients)))
+      .thenCompose(r -> r.after(batchRecords -> renewEach(batchRecords, batchRequest,
+        webContext, clients, eventPublisher)));
+  }
+
+  private CompletableFuture<Result<BatchLoans>> findLoans(RenewBatchRequest batchRequest,
+    User user, Clients clients) {
+
+    final LoanRepository loanRepository = new LoanRepository(clients);
+    final ItemRepository itemRepository = new ItemRepository(clients, true, true, true);
+
+    return batchRequest.renewsAllLoans()
+      ? findAllOpenLoans(user, loanRepository, itemRepository)
+      : findOpenLoansForBarcodes(batchRequest, user, loanRepository, itemRepository);
+  }
+
+  private CompletableFuture<Result<BatchLoans>> findAllOpenLoans(User user,
+    LoanRepository loanRepository, ItemRepository itemRepository) {
+
+    return loanRepository.findOpenLoansForUser(user.getId())
+      .thenApply(r -> r.next(this::refuseWhenTooManyLoans))
+      .thenCompose(r -> itemRepository.fetchItemsFor(r, Loan::withItem))
+      .thenApply(r -> r.map(loans -> {
+        final BatchLoans batchLoans = new BatchLoans();
+
+        loans.getRecords().forEach(loan -> batchLoans.add(loan.getItem().getBarcode(),
+          loan.getItem().isFound()
+            ? succeeded(loan.withUser(user))
+            : failed(noItemFoundForIdFailure(loan.getItemId()).get())));
+
+        return batchLoans;
+      }));
+  }
+
+  private Result<MultipleRecords<Loan>> refuseWhenTooManyLoans(MultipleRecords<Loan> loans) {
+    if (loans.getRecords().size() > MAXIMUM_NUMBER_OF_RENEWALS) {
+      return failedValidation(format(
+        "Batch renewal request cannot have more than %d renewals, "
+          + "item barcodes are required to renew some of the loans",
+        MAXIMUM_NUMBER_OF_RENEWALS), ITEM_BARCODES, null);
+    }
+
+    return succeeded(loans);
+  }
+
+  private CompletableFuture<Result<BatchLoans>> findOpenLoansForBarcodes(
+    RenewBatchRequest batchRequest, User user, LoanRepository loanRepository,
+    ItemRepository itemRepository) {
+
+    return itemRepository.findByBarcodes(new HashSet<>(batchRequest.getItemBarcodes()))
+      .thenCompose(r -> r.after(items -> loanRepository.findOpenLoansForItems(items.stream()
+          .map(Item::getItemId)
+          .collect(Collectors.toSet()))
+        .thenApply(loansResult -> loansResult.map(openLoans ->
+          toBatchLoans(batchRequest, user, items, openLoans.getRecords())))));
+  }
+
+  private BatchLoans toBatchLoans(RenewBatchRequest batchRequest, User user,
+    List<Item> items, Collection<Loan> openLoans) {
+
+    final Map<String, Item> itemsByBarcode = items.stream()
+      .collect(Collectors.toMap(Item::getBarcode, item -> item, (first, second) -> first));
+
+    final Map<String, List<Loan>> openLoansByItemId = openLoans.stream()
+      .collect(Collectors.groupingBy(Loan::getItemId));
+
+    final Set<String> barcodes = new HashSet<>();
+    final BatchLoans batchLoans = new BatchLoans();
+
+    for (String barcode : batchRequest.getItemBarcodes()) {
+      if (!barcodes.add(barcode)) {
+        batchLoans.add(barcode, failedValidation(format(
+          "Batch renewal request has more than one renewal for item barcode %s", barcode),
+          RenewByBarcodeRequest.ITEM_BARCODE, barcode));
+      } else {
+        batchLoans.add(barcode, findLoan(barcode, user, batchRequest.getUserBarcode(),
+          itemsByBarcode.get(barcode), openLoansByItemId));
+      }
+    }
+
+    return batchLoans;
+  }
+
+  private Result<Loan> findLoan(String barcode, User user, String userBarcode, Item item,
+    Map<String, List<Loan>> openLoansByItemId) {
+
+    if (item == null) {
+      return failed(noItemFoundForBarcodeFailure(barcode).get());
+    }
+
+    final List<Loan> openLoans = openLoansByItemId.getOrDefault(item.getItemId(),
+      new ArrayList<>());
+
+    //Use same error for no loans and more than one loan to maintain compatibility
+    if (openLoans.size() != 1) {
+      return failed(moreThanOneOpenLoanFailure(barcode).get());
+    }
+
+    final Loan loan = openLoans.get(0);
+
+    if (!Objects.equals(loan.getUserId(), user.getId())) {
+      return failedValidation("Cannot renew item checked out to different user",
+        USER_BARCODE, userBarcode);
+    }
+
+    return succeeded(loan.withItem(item).withUser(user));
+  }
+
+  private CompletableFuture<Result<BatchLoans>> refuseWhenPatronCannotRenew(
+    BatchLoans batchLoans, RenewBatchRequest batchRequest, WebContext webContext,
+    Clients clients) {
+
+    final List<Loan> loans = batchLoans.getLoansToRenew();
+
+    if (loans.isEmpty()) {
+      return completedFuture(succeeded(batchLoans));
+    }
+
+    // the patron is the same for every loan, so is whether they are allowed to renew
+    final Loan anyLoan = loans.get(0);
+    final JsonObject renewalRequest = batchRequest.renewalRequestFor(
+      anyLoan.getItem().getBarcode());
+
+    final OkapiPermissions permissions = OkapiPermissions.from(webContext.getHeaders());
+    final CirculationErrorHandler errorHandler = new OverridingErrorHandler(permissions);
+
+    final Result<RenewalContext> context = succeeded(RenewalContext.create(anyLoan,
+      renewalRequest, webContext.getUserId()));
+
+    return refuseWhenPatronIsInactive(context, errorHandler, USER_IS_INACTIVE)
+      .thenCompose(r -> refuseWhenRenewalActionIsBlockedForPatron(
+        createManualPatronBlocksValidator(renewalRequest, permissions, clients),
+        r, errorHandler, USER_IS_BLOCKED_MANUALLY))
+      .thenCompose(r -> refuseWhenRenewalActionIsBlockedForPatron(
+        createAutomatedPatronBlocksValidator(renewalRequest, permissions,
+          new AutomatedPatronBlocksRepository(clients)),
+        r, errorHandler, USER_IS_BLOCKED_AUTOMATICALLY))
+      .thenApply(r -> r.next(notUsed -> errorHandler.failWithValidationErrors(batchLoans)));
+  }
+
+  private CompletableFuture<Result<BatchRecords>> fetchBatchRecords(BatchLoans batchLoans,
+    Clients clients) {
+
+    final List<Loan> loans = batchLoans.getLoansToRenew();
+
+    if (loans.isEmpty()) {
+      return completedFuture(succeeded(new BatchRecords(batchLoans, Map.of(), Map.of(),
+        DateTimeZone.UTC)));
+    }
+
+    final LoanPolicyRepository loanPolicyRepository = new LoanPolicyRepository(clients);
+    final RequestQueueRepository requestQueueRepository = RequestQueueRepository.using(clients);
+    final ConfigurationRepository configurationRepository = new ConfigurationRepository(clients);
+
+    final List<Item> items = loans.stream()
+      .map(Loan::getItem)
+      .collect(Collectors.toList());
+
+    final CompletableFuture<Result<Map<String, Result<LoanPolicy>>>> loanPolicies
+      = loanPolicyRepository.lookupLoanPolicies(loans);
+
+    final CompletableFuture<Result<Map<String, RequestQueue>>> requestQueues
+      = requestQueueRepository.getRequestQueues(items);
+
+    final CompletableFuture<Result<DateTimeZone>> timeZone
+      = configurationRepository.findTimeZoneConfiguration();
+
+    return loanPolicies
+      .thenCombine(requestQueues, (policies, queues) -> policies.combine(queues,
+        (policiesByLoanId, queuesByItemId) -> new BatchRecords(batchLoans, policiesByLoanId,
+          queuesByItemId, DateTimeZone.UTC)))
+      .thenCombine(timeZone, (records, zone) -> records.combine(zone,
+        BatchRecords::withTimeZone));
+  }
+
+  private CompletableFuture<Result<List<RenewalOutcome>>> renewEach(BatchRecords batchRecords,
+    RenewBatchRequest batchRequest, WebContext webContext, Clients clients,
+    EventPublisher eventPublisher) {
+
+    final OkapiPermissions permissions = OkapiPermissions.from(webContext.getHeaders());
+    final CalendarRepository calendarRepository = new BatchCalendarRepository(clients);
+    final BatchLoans batchLoans = batchRecords.getBatchLoans();
+
+    CompletableFuture<List<RenewalOutcome>> outcomes = completedFuture(new ArrayList<>());
+
+    for (int index = 0; index < batchLoans.size(); index++) {
+      final String barcode = batchLoans.getItemBarcode(index);
+      final Result<Loan> loan = batchLoans.getLoan(index);
+
+      outcomes = outcomes.thenCompose(previousOutcomes -> renewAndUpdate(
+          loan.next(l -> batchRecords.toRenewalContext(l,
+            batchRequest.renewalRequestFor(barcode), webContext.getUserId())),
+          clients, calendarRepository, eventPublisher, new OverridingErrorHandler(permissions))
+        .exceptionally(CommonFailures::failedDueToServerError)
+        .thenApply(result -> {
+          previousOutcomes.add(new RenewalOutcome(barcode, result));
+          return previousOutcomes;
+        }));
+    }
+
+    return outcomes.thenApply(Result::succeeded);
+  }
+
+  /**
+   * The loan to renew for each requested item barcode, in the order they were requested
+   */
+  private static class BatchLoans {
+    private final List<String> itemBarcodes = new ArrayList<>();
+    private final List<Result<Loan>> loans = new ArrayList<>();
+
+    private void add(String itemBarcode, Result<Loan> loan) {
+      itemBarcodes.add(itemBarcode);
+      loans.add(loan);
+    }
+
+    private int size() {
+      return loans.size();
+    }
+
+    private String getItemBarcode(int index) {
+      return itemBarcodes.get(index);
+    }
+
+    private Result<Loan> getLoan(int index) {
+      return loans.get(index);
+    }
+
+    private List<Loan> getLoansToRenew() {
+      return loans.stream()
+        .filter(loan -> loan.succeeded())
+        .map(Result::value)
+        .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * The records fetched in bulk for all of the loans of the batch
+   */
+  private static class BatchRecords {
+    private final BatchLoans batchLoans;
+    private final Map<String, Result<LoanPolicy>> loanPoliciesByLoanId;
+    private final Map<String, RequestQueue> requestQueuesByItemId;
+    private final DateTimeZone timeZone;
+
+    private BatchRecords(BatchLoans batchLoans,
+      Map<String, Result<LoanPolicy>> loanPoliciesByLoanId,
+      Map<String, RequestQueue> requestQueuesByItemId, DateTimeZone timeZone) {
+
+      this.batchLoans = batchLoans;
+      this.loanPoliciesByLoanId = loanPoliciesByLoanId;
+      this.requestQueuesByItemId = requestQueuesByItemId;
+      this.timeZone = timeZone;
+    }
+
+    private BatchRecords withTimeZone(DateTimeZone newTimeZone) {
+      return new BatchRecords(batchLoans, loanPoliciesByLoanId, requestQueuesByItemId,
+        newTimeZone);
+    }
+
+    private BatchLoans getBatchLoans() {
+      return batchLoans;
+    }
+
+    /**
+     * @return the context for renewing the loan, or why its loan policy could not be
+     * found, which only fails the renewal of this loan
+     */
+    private Result<RenewalContext> toRenewalContext(Loan loan, JsonObject renewalRequest,
+      String loggedInUserId) {
+
+      return loanPoliciesByLoanId.getOrDefault(loan.getId(), failedDueToServerError(
+          format("Loan policy for loan %s was not looked up", loan.getId())))
+        .map(loanPolicy -> RenewalContext.create(loan, renewalRequest, loggedInUserId)
+          .withLoan(loan.withLoanPolicy(loanPolicy))
+          .withRequestQueue(requestQueuesByItemId.getOrDefault(loan.getItemId(),
+            new RequestQueue(new ArrayList<>())))
+          .withTimeZone(timeZone));
+    }
+  }
+}
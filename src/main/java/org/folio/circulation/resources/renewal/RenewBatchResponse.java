@@ -0,0 +1,68 @@
+package org.folio.circulation.resources.renewal;
+
+import static org.folio.circulation.domain.representations.FailureRepresentation.writeFailure;
+import static org.folio.circulation.support.http.server.JsonHttpResponse.ok;
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.LoanRepresentation;
+import org.folio.circulation.resources.context.RenewalContext;
+import org.folio.circulation.support.http.server.HttpResponse;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+public class RenewBatchResponse {
+  private final List<RenewalOutcome> outcomes;
+
+  public RenewBatchResponse(List<RenewalOutcome> outcomes) {
+    this.outcomes = outcomes;
+  }
+
+  public HttpResponse toHttpResponse() {
+    return ok(toJson());
+  }
+
+  private JsonObject toJson() {
+    final LoanRepresentation loanRepresentation = new LoanRepresentation();
+    final JsonObject json = new JsonObject();
+
+    write(json, "renewals", new JsonArray(outcomes.stream()
+      .map(outcome -> outcome.toJson(loanRepresentation))
+      .collect(Collectors.toList())));
+
+    write(json, "totalRecords", outcomes.size());
+
+    return json;
+  }
+
+  /**
+   * The result of one renewal of the batch, either the renewed loan (the same
+   * representation as a single renewal), or the errors that prevented the renewal
+   */
+  @Getter
+  @AllArgsConstructor
+  public static class RenewalOutcome {
+    private final String itemBarcode;
+    private final Result<RenewalContext> result;
+
+    private JsonObject toJson(LoanRepresentation loanRepresentation) {
+      final JsonObject json = new JsonObject();
+
+      write(json, "itemBarcode", itemBarcode);
+
+      if (result.succeeded()) {
+        write(json, "loan", loanRepresentation.extendedLoan(result.value()));
+      } else {
+        writeFailure(json, result.cause());
+      }
+
+      return json;
+    }
+  }
+}
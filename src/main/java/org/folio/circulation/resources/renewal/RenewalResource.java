@@ -32,6 +32,7 @@ import static org.folio.circulation.resources.handlers.error.CirculationErrorTyp
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_BLOCKED_MANUALLY;
 import static org.folio.circulation.resources.handlers.error.CirculationErrorType.USER_IS_INACTIVE;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.json.JsonPropertyFetcher.getDateTimeProperty;
 import static org.folio.circulation.support.json.JsonPropertyFetcher.getObjectProperty;
 import static org.folio.circulation.support.json.JsonPropertyFetcher.getProperty;
@@ -67,6 +68,7 @@ import org.folio.circulation.domain.validation.Validator;
 import org.folio.circulation.domain.validation.overriding.BlockValidator;
 import org.folio.circulation.domain.validation.overriding.OverridingBlockValidator;
 import org.folio.circulation.infrastructure.storage.AutomatedPatronBlocksRepository;
+import org.folio.circulation.infrastructure.storage.CalendarRepository;
 import org.folio.circulation.infrastructure.storage.ConfigurationRepository;
 import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
 import org.folio.circulation.infrastructure.storage.loans.LoanPolicyRepository;
@@ -135,20 +137,14 @@ public abstract class RenewalResource extends Resource {
     final UserRepository userRepository = new UserRepository(clients);
     final RequestQueueRepository requestQueueRepository = RequestQueueRepository.using(clients);
     final LoanPolicyRepository loanPolicyRepository = new LoanPolicyRepository(clients);
-    final StoreLoanAndItem storeLoanAndItem = new StoreLoanAndItem(loanRepository, itemRepository);
 
     final LoanRepresentation loanRepresentation = new LoanRepresentation();
     final ConfigurationRepository configurationRepository = new ConfigurationRepository(clients);
-    final LoanScheduledNoticeService scheduledNoticeService = LoanScheduledNoticeService.using(clients);
 
     final EventPublisher eventPublisher = new EventPublisher(routingContext);
 
-    final LoanNoticeSender loanNoticeSender = LoanNoticeSender.using(clients);
-
     final AutomatedPatronBlocksRepository automatedPatronBlocksRepository =
       new AutomatedPatronBlocksRepository(clients);
-    final FeeFineScheduledNoticeService feeFineNoticesService =
-      FeeFineScheduledNoticeService.using(clients);
 
     //TODO: Validation check for same user should be in the domain service
     JsonObject bodyAsJson = routingContext.getBodyAsJson();
@@ -165,31 +161,50 @@ public abstract class RenewalResource extends Resource {
 
     findLoan(bodyAsJson, loanRepository, itemRepository, userRepository, errorHandler)
       .thenApply(r -> r.map(loan -> RenewalContext.create(loan, bodyAsJson, webContext.getUserId())))
-      .thenComposeAsync(r-> refuseWhenPatronIsInactive(r, errorHandler, USER_IS_INACTIVE))
+      .thenComposeAsync(r-> refuseWhenPatronIsInactive(r, errorHandler, USER_IS_INACTIVE), onCurrentContext())
       .thenComposeAsync(r -> refuseWhenRenewalActionIsBlockedForPatron(
-        manualPatronBlocksValidator, r, errorHandler, USER_IS_BLOCKED_MANUALLY))
+        manualPatronBlocksValidator, r, errorHandler, USER_IS_BLOCKED_MANUALLY), onCurrentContext())
       .thenComposeAsync(r -> refuseWhenRenewalActionIsBlockedForPatron(
-        automatedPatronBlocksValidator, r, errorHandler, USER_IS_BLOCKED_AUTOMATICALLY))
+        automatedPatronBlocksValidator, r, errorHandler, USER_IS_BLOCKED_AUTOMATICALLY), onCurrentContext())
       .thenComposeAsync(r -> refuseIfNoPermissionsForRenewalOverride(
-        overrideRenewValidator, r, errorHandler))
+        overrideRenewValidator, r, errorHandler), onCurrentContext())
       .thenCompose(r -> r.after(ctx -> lookupLoanPolicy(ctx, loanPolicyRepository, errorHandler)))
       .thenComposeAsync(r -> r.after(
-        ctx -> lookupRequestQueue(ctx, requestQueueRepository, errorHandler)))
+        ctx -> lookupRequestQueue(ctx, requestQueueRepository, errorHandler)), onCurrentContext())
       .thenCompose(r -> r.combineAfter(configurationRepository::findTimeZoneConfiguration,
         RenewalContext::withTimeZone))
-      .thenComposeAsync(r -> r.after(context -> renew(context, clients, errorHandler)))
-      .thenApply(r -> r.next(errorHandler::failWithValidationErrors))
-      .thenComposeAsync(r -> r.after(storeLoanAndItem::updateLoanAndItemInStorage))
-      .thenComposeAsync(r -> r.after(context -> processFeesFines(context, clients)))
-      .thenApplyAsync(r -> r.next(feeFineNoticesService::scheduleOverdueFineNotices))
-      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent))
-      .thenApply(r -> r.next(scheduledNoticeService::rescheduleDueDateNotices))
-      .thenApply(r -> r.next(loanNoticeSender::sendRenewalPatronNotice))
+      .thenComposeAsync(r -> renewAndUpdate(r, clients, new CalendarRepository(clients),
+        eventPublisher, errorHandler), onCurrentContext())
       .thenApply(r -> r.map(loanRepresentation::extendedLoan))
       .thenApply(r -> r.map(this::toResponse))
       .thenAccept(webContext::writeResultToHttpResponse);
   }
 
+  /**
+   * Renews the loan of the context, then stores the loan and item
+   * and carries out what follows from the renewal (fees and fines, events and notices)
+   */
+  CompletableFuture<Result<RenewalContext>> renewAndUpdate(Result<RenewalContext> result,
+    Clients clients, CalendarRepository calendarRepository, EventPublisher eventPublisher,
+    CirculationErrorHandler errorHandler) {
+
+    final StoreLoanAndItem storeLoanAndItem = new StoreLoanAndItem(new LoanRepository(clients),
+      new ItemRepository(clients, true, true, true));
+    final LoanScheduledNoticeService scheduledNoticeService = LoanScheduledNoticeService.using(clients);
+    final LoanNoticeSender loanNoticeSender = LoanNoticeSender.using(clients);
+    final FeeFineScheduledNoticeService feeFineNoticesService =
+      FeeFineScheduledNoticeService.using(clients);
+
+    return result.after(context -> renew(context, calendarRepository, errorHandler))
+      .thenApply(r -> r.next(errorHandler::failWithValidationErrors))
+      .thenComposeAsync(r -> r.after(storeLoanAndItem::updateLoanAndItemInStorage), onCurrentContext())
+      .thenComposeAsync(r -> r.after(context -> processFeesFines(context, clients)), onCurrentContext())
+      .thenApplyAsync(r -> r.next(feeFineNoticesService::scheduleOverdueFineNotices), onCurrentContext())
+      .thenComposeAsync(r -> r.after(eventPublisher::publishDueDateChangedEvent), onCurrentContext())
+      .thenApply(r -> r.next(scheduledNoticeService::rescheduleDueDateNotices))
+      .thenApply(r -> r.next(loanNoticeSender::sendRenewalPatronNotice));
+  }
+
   private CompletableFuture<Result<RenewalContext>> processFeesFines(RenewalContext renewalContext,
     Clients clients) {
 
@@ -218,7 +233,7 @@ public abstract class RenewalResource extends Resource {
     return renewalContext.getRenewalRequest().getString("servicePointId");
   }
 
-  private CompletableFuture<Result<RenewalContext>> refuseWhenPatronIsInactive(
+  CompletableFuture<Result<RenewalContext>> refuseWhenPatronIsInactive(
     Result<RenewalContext> result, CirculationErrorHandler errorHandler,
     CirculationErrorType errorType) {
 
@@ -237,7 +252,7 @@ public abstract class RenewalResource extends Resource {
       .thenApply(r -> errorHandler.handleValidationResult(r, errorType, result)));
   }
 
-  private CompletableFuture<Result<RenewalContext>> refuseWhenRenewalActionIsBlockedForPatron(
+  CompletableFuture<Result<RenewalContext>> refuseWhenRenewalActionIsBlockedForPatron(
     Validator<RenewalContext> validator, Result<RenewalContext> result,
     CirculationErrorHandler errorHandler, CirculationErrorType errorType) {
 
@@ -275,8 +290,8 @@ public abstract class RenewalResource extends Resource {
     return requestQueueRepository.get(renewalContext);
   }
 
-  private CompletableFuture<Result<RenewalContext>> renew(
-    RenewalContext renewalContext, Clients clients, CirculationErrorHandler errorHandler) {
+  private CompletableFuture<Result<RenewalContext>> renew(RenewalContext renewalContext,
+    CalendarRepository calendarRepository, CirculationErrorHandler errorHandler) {
 
     if (errorHandler.hasAny(ITEM_DOES_NOT_EXIST, FAILED_TO_FIND_SINGLE_OPEN_LOAN,
       FAILED_TO_FETCH_USER)) {
@@ -290,8 +305,8 @@ public abstract class RenewalResource extends Resource {
           renewalContext));
     }
     DateTime systemTime = ClockUtil.getDateTime();
-    final ClosedLibraryStrategyService strategyService = ClosedLibraryStrategyService.using(
-      clients, systemTime, true);
+    final ClosedLibraryStrategyService strategyService = new ClosedLibraryStrategyService(
+      calendarRepository, systemTime, true);
 
     return regularRenew(renewalContext, errorHandler, systemTime)
       .after(strategyService::applyClosedLibraryDueDateManagement);
@@ -306,7 +321,7 @@ public abstract class RenewalResource extends Resource {
     LoanRepository loanRepository, ItemRepository itemRepository,
     UserRepository userRepository, CirculationErrorHandler errorHandler);
 
-  private Validator<RenewalContext> createAutomatedPatronBlocksValidator(JsonObject request,
+  Validator<RenewalContext> createAutomatedPatronBlocksValidator(JsonObject request,
     OkapiPermissions permissions, AutomatedPatronBlocksRepository automatedPatronBlocksRepository) {
 
     Function<RenewalContext, CompletableFuture<Result<RenewalContext>>> validationFunction =
@@ -320,7 +335,7 @@ public abstract class RenewalResource extends Resource {
       : new BlockValidator<>(USER_IS_BLOCKED_AUTOMATICALLY, validationFunction);
   }
 
-  private Validator<RenewalContext> createManualPatronBlocksValidator(JsonObject request,
+  Validator<RenewalContext> createManualPatronBlocksValidator(JsonObject request,
     OkapiPermissions permissions, Clients clients) {
 
     Function<RenewalContext, CompletableFuture<Result<RenewalContext>>> validationFunction =
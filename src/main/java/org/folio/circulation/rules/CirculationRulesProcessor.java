@@ -1,6 +1,6 @@
 package org.folio.circulation.rules;
 
-import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
+import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
 import static org.folio.circulation.support.results.Result.combined;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -10,10 +10,10 @@ import org.apache.logging.log4j.Logger;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 
-import org.folio.circulation.domain.Location;
+import org.folio.circulation.infrastructure.storage.inventory.LocationRepository;
+import org.folio.circulation.rules.cache.CirculationRuleMatchCache;
 import org.folio.circulation.rules.cache.CirculationRulesCache;
 import org.folio.circulation.support.CollectionResourceClient;
-import org.folio.circulation.support.FetchSingleRecord;
 import org.folio.circulation.support.results.Result;
 
 import io.vertx.core.json.JsonArray;
@@ -24,93 +24,96 @@ public class CirculationRulesProcessor {
 
   private final String tenantId;
   private final CollectionResourceClient circulationRulesStorage;
-  private final CollectionResourceClient locationStorageClient;
+  private final LocationRepository locationRepository;
 
   public CirculationRulesProcessor(String tenantId, CollectionResourceClient circulationRulesClient,
-    CollectionResourceClient locationClient) {
+    LocationRepository locationRepository) {
 
     this.tenantId = tenantId;
     this.circulationRulesStorage = circulationRulesClient;
-    this.locationStorageClient = locationClient;
+    this.locationRepository = locationRepository;
   }
 
   public CompletableFuture<Result<CirculationRuleMatch>> getLoanPolicyAndMatch(
     RulesExecutionParameters params) {
 
-    return executeRules(params, ExecutableRules::determineLoanPolicy);
+    return executeRules(params, "loan policy", ExecutableRules::determineLoanPolicy);
   }
 
   public CompletableFuture<Result<JsonArray>> getLoanPolicies(RulesExecutionParameters params) {
     return triggerRules(params,
-      (drools, newParams) -> drools.loanPolicies(newParams.toMap(), newParams.getLocation()));
+      (engine, newParams) -> engine.loanPolicies(newParams.toMap(), newParams.getLocation()));
   }
 
   public CompletableFuture<Result<CirculationRuleMatch>> getLostItemPolicyAndMatch(
     RulesExecutionParameters params) {
 
-    return executeRules(params, ExecutableRules::determineLostItemPolicy);
+    return executeRules(params, "lost item policy", ExecutableRules::determineLostItemPolicy);
   }
 
   public CompletableFuture<Result<JsonArray>> getLostItemPolicies(RulesExecutionParameters params) {
     return triggerRules(params,
-      (drools, newParams) -> drools.lostItemPolicies(newParams.toMap(), newParams.getLocation()));
+      (engine, newParams) -> engine.lostItemPolicies(newParams.toMap(), newParams.getLocation()));
   }
 
   public CompletableFuture<Result<CirculationRuleMatch>> getNoticePolicyAndMatch(
     RulesExecutionParameters params) {
 
-    return executeRules(params, ExecutableRules::determineNoticePolicy);
+    return executeRules(params, "notice policy", ExecutableRules::determineNoticePolicy);
   }
 
   public CompletableFuture<Result<JsonArray>> getNoticePolicies(RulesExecutionParameters params) {
     return triggerRules(params,
-      (drools, newParams) -> drools.noticePolicies(newParams.toMap(), newParams.getLocation()));
+      (engine, newParams) -> engine.noticePolicies(newParams.toMap(), newParams.getLocation()));
   }
 
   public CompletableFuture<Result<CirculationRuleMatch>> getOverduePolicyAndMatch(
     RulesExecutionParameters params) {
 
-    return executeRules(params, ExecutableRules::determineOverduePolicy);
+    return executeRules(params, "overdue policy", ExecutableRules::determineOverduePolicy);
   }
 
   public CompletableFuture<Result<JsonArray>> getOverduePolicies(RulesExecutionParameters params) {
     return triggerRules(params,
-      (drools, newParams) -> drools.overduePolicies(newParams.toMap(), newParams.getLocation()));
+      (engine, newParams) -> engine.overduePolicies(newParams.toMap(), newParams.getLocation()));
   }
 
   public CompletableFuture<Result<CirculationRuleMatch>> getRequestPolicyAndMatch(
     RulesExecutionParameters params) {
 
-    return executeRules(params, ExecutableRules::determineRequestPolicy);
+    return executeRules(params, "request policy", ExecutableRules::determineRequestPolicy);
   }
 
   public CompletableFuture<Result<JsonArray>> getRequestPolicies(RulesExecutionParameters params) {
     return triggerRules(params,
-      (drools, newParams) -> drools.requestPolicies(newParams.toMap(), newParams.getLocation()));
+      (engine, newParams) -> engine.requestPolicies(newParams.toMap(), newParams.getLocation()));
   }
 
   private <T> CompletableFuture<Result<T>> triggerRules(RulesExecutionParameters params,
-    BiFunction<Drools, RulesExecutionParameters, T> droolsFunction) {
+    BiFunction<CirculationRulesEngine, RulesExecutionParameters, T> rulesFunction) {
 
     val rulesFuture = CirculationRulesCache.getInstance()
-      .getDrools(tenantId, circulationRulesStorage);
+      .getRulesEngine(tenantId, circulationRulesStorage);
 
     return fetchLocation(params).thenCombine(rulesFuture, combined(
-      (newParams, drools) -> {
+      (newParams, rulesEngine) -> {
         log.info("Applying circulation rules with parameters: {}", newParams);
-        return succeeded(droolsFunction.apply(drools, newParams));
+        return succeeded(rulesFunction.apply(rulesEngine, newParams));
       }));
   }
 
-  private <T> CompletableFuture<Result<T>> executeRules(RulesExecutionParameters params,
-    BiFunction<ExecutableRules, RulesExecutionParameters, Result<T>> rulesExecutor) {
+  private CompletableFuture<Result<CirculationRuleMatch>> executeRules(
+    RulesExecutionParameters params, String policyType,
+    BiFunction<ExecutableRules, RulesExecutionParameters, Result<CirculationRuleMatch>> rulesExecutor) {
 
     val rulesFuture = CirculationRulesCache.getInstance()
       .getExecutableRules(tenantId, circulationRulesStorage);
 
     return fetchLocation(params)
       .thenCombine(rulesFuture, combined((parametersWithLocation, rules) ->
-        rulesExecutor.apply(rules, parametersWithLocation)));
+        CirculationRuleMatchCache.getInstance().getOrDetermine(tenantId, rules.getVersion(),
+          policyType, parametersWithLocation,
+          () -> rulesExecutor.apply(rules, parametersWithLocation))));
   }
 
   private CompletableFuture<Result<RulesExecutionParameters>> fetchLocation(RulesExecutionParameters params) {
@@ -118,11 +121,11 @@ public class CirculationRulesProcessor {
       return ofAsync(() -> params);
     }
 
-    return FetchSingleRecord.<Location>forRecord("location")
-      .using(locationStorageClient)
-      .mapTo(Location::from)
-      .whenNotFound(failedValidation("Cannot find location", "location_id", params.getLocationId()))
-      .fetch(params.getLocationId())
+    return locationRepository.fetchLocationById(params.getLocationId())
+      .thenApply(r -> r.failWhen(
+        location -> succeeded(location == null || location.getId() == null),
+        location -> singleValidationError("Cannot find location", "location_id",
+          params.getLocationId())))
       .thenApply(r -> r.map(params::withLocation));
   }
 }
@@ -0,0 +1,230 @@
+package org.folio.circulation.rules;
+
+import static java.util.Comparator.comparingInt;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOCATION_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.folio.circulation.domain.Location;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Evaluates the circulation rules without Drools.
+ * <p>
+ * The rule lines are ordered by salience and, for each of the seven criteria, indexed
+ * by the ids they mention: every id maps to the set of lines that id fulfils, all other
+ * ids to the set of lines that don't constrain the criterium or exclude only named ids.
+ * Determining a policy intersects seven of these sets, the first line left is the match,
+ * with the same result as the generated drools rules.
+ */
+public class DecisionTable implements CirculationRulesEngine {
+  private static final String LOAN_POLICY = "l";
+  private static final String REQUEST_POLICY = "r";
+  private static final String NOTICE_POLICY = "n";
+  private static final String OVERDUE_POLICY = "o";
+  private static final String LOST_ITEM_POLICY = "i";
+
+  private final List<RuleLine> ruleLines;
+  private final CriteriumIndex loanTypes;
+  private final CriteriumIndex institutions;
+  private final CriteriumIndex campuses;
+  private final CriteriumIndex libraries;
+  private final CriteriumIndex locations;
+  private final CriteriumIndex itemTypes;
+  private final CriteriumIndex patronGroups;
+
+  /**
+   * Compile the decision table for a circulation rules file.
+   * @param rulesAsText String with a circulation rules file in FOLIO syntax.
+   */
+  public DecisionTable(String rulesAsText) {
+    this(Text2Drools.convertToRuleLines(rulesAsText));
+  }
+
+  DecisionTable(List<RuleLine> ruleLines) {
+    this.ruleLines = ruleLines.stream()
+      .sorted(comparingInt(RuleLine::getSalience).reversed())
+      .collect(Collectors.toList());
+
+    loanTypes = new CriteriumIndex("t", this.ruleLines);
+    institutions = new CriteriumIndex("a", this.ruleLines);
+    campuses = new CriteriumIndex("b", this.ruleLines);
+    libraries = new CriteriumIndex("c", this.ruleLines);
+    locations = new CriteriumIndex("s", this.ruleLines);
+    itemTypes = new CriteriumIndex("m", this.ruleLines);
+    patronGroups = new CriteriumIndex("g", this.ruleLines);
+  }
+
+  @Override
+  public CirculationRuleMatch loanPolicy(MultiMap params, Location location) {
+    final RuleLine line = firstMatchingLine(params, location);
+
+    if (line == null) {
+      return new CirculationRuleMatch(null, new AppliedRuleConditions(false, false, false));
+    }
+
+    final Set<String> criteriumTypes = line.getConditions().stream()
+      .map(RuleCondition::getCriteriumTypeLetter)
+      .collect(Collectors.toSet());
+
+    return new CirculationRuleMatch(line.getPolicyId(LOAN_POLICY), new AppliedRuleConditions(
+      criteriumTypes.contains("m"), criteriumTypes.contains("t"), criteriumTypes.contains("g")));
+  }
+
+  @Override
+  public JsonArray loanPolicies(MultiMap params, Location location) {
+    return allMatches(params, location, LOAN_POLICY, "loanPolicyId");
+  }
+
+  @Override
+  public CirculationRuleMatch requestPolicy(MultiMap params, Location location) {
+    return firstMatch(params, location, REQUEST_POLICY);
+  }
+
+  @Override
+  public JsonArray requestPolicies(MultiMap params, Location location) {
+    return allMatches(params, location, REQUEST_POLICY, "requestPolicyId");
+  }
+
+  @Override
+  public CirculationRuleMatch noticePolicy(MultiMap params, Location location) {
+    return firstMatch(params, location, NOTICE_POLICY);
+  }
+
+  @Override
+  public JsonArray noticePolicies(MultiMap params, Location location) {
+    return allMatches(params, location, NOTICE_POLICY, "noticePolicyId");
+  }
+
+  @Override
+  public CirculationRuleMatch overduePolicy(MultiMap params, Location location) {
+    return firstMatch(params, location, OVERDUE_POLICY);
+  }
+
+  @Override
+  public JsonArray overduePolicies(MultiMap params, Location location) {
+    return allMatches(params, location, OVERDUE_POLICY, "overduePolicyId");
+  }
+
+  @Override
+  public CirculationRuleMatch lostItemPolicy(MultiMap params, Location location) {
+    return firstMatch(params, location, LOST_ITEM_POLICY);
+  }
+
+  @Override
+  public JsonArray lostItemPolicies(MultiMap params, Location location) {
+    return allMatches(params, location, LOST_ITEM_POLICY, "lostItemPolicyId");
+  }
+
+  private CirculationRuleMatch firstMatch(MultiMap params, Location location,
+    String policyTypeLetter) {
+
+    final RuleLine line = firstMatchingLine(params, location);
+
+    return new CirculationRuleMatch(line == null ? null : line.getPolicyId(policyTypeLetter),
+      new AppliedRuleConditions(false, false, false));
+  }
+
+  private JsonArray allMatches(MultiMap params, Location location,
+    String policyTypeLetter, String policyIdPropertyName) {
+
+    final BitSet matching = matchingLines(params, location);
+    final JsonArray array = new JsonArray();
+
+    for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+      final RuleLine line = ruleLines.get(i);
+      final JsonObject json = new JsonObject();
+
+      write(json, policyIdPropertyName, line.getPolicyId(policyTypeLetter));
+      write(json, "circulationRuleLine", line.getLineNumber());
+
+      array.add(json);
+    }
+
+    return array;
+  }
+
+  private RuleLine firstMatchingLine(MultiMap params, Location location) {
+    final int first = matchingLines(params, location).nextSetBit(0);
+
+    return first < 0 ? null : ruleLines.get(first);
+  }
+
+  private BitSet matchingLines(MultiMap params, Location location) {
+    final BitSet matching = new BitSet(ruleLines.size());
+    matching.set(0, ruleLines.size());
+
+    matching.and(itemTypes.linesMatching(params.get(ITEM_TYPE_ID_NAME)));
+    matching.and(loanTypes.linesMatching(params.get(LOAN_TYPE_ID_NAME)));
+    matching.and(patronGroups.linesMatching(params.get(PATRON_TYPE_ID_NAME)));
+    matching.and(locations.linesMatching(params.get(LOCATION_ID_NAME)));
+    matching.and(institutions.linesMatching(location.getInstitutionId()));
+    matching.and(campuses.linesMatching(location.getCampusId()));
+    matching.and(libraries.linesMatching(location.getLibraryId()));
+
+    return matching;
+  }
+
+  /**
+   * The rule lines (by position) fulfilled by each id of one criterium type.
+   */
+  private static class CriteriumIndex {
+    private final Map<String, BitSet> linesById = new HashMap<>();
+    private final BitSet linesForAnyOtherId = new BitSet();
+
+    private CriteriumIndex(String criteriumTypeLetter, List<RuleLine> ruleLines) {
+      final List<List<RuleCondition>> conditionsByLine = new ArrayList<>(ruleLines.size());
+      final Set<String> ids = new HashSet<>();
+
+      for (RuleLine line : ruleLines) {
+        final List<RuleCondition> conditions = line.getConditions().stream()
+          .filter(condition -> condition.getCriteriumTypeLetter().equals(criteriumTypeLetter))
+          .collect(Collectors.toList());
+
+        conditions.forEach(condition -> ids.addAll(condition.getNames()));
+        conditionsByLine.add(conditions);
+      }
+
+      for (int i = 0; i < conditionsByLine.size(); i++) {
+        final List<RuleCondition> conditions = conditionsByLine.get(i);
+
+        // no condition mentions an id outside of the collected ids, null stands in for all of them
+        if (matchesAll(conditions, null)) {
+          linesForAnyOtherId.set(i);
+        }
+
+        for (String id : ids) {
+          if (matchesAll(conditions, id)) {
+            linesById.computeIfAbsent(id, key -> new BitSet()).set(i);
+          }
+        }
+      }
+    }
+
+    private static boolean matchesAll(List<RuleCondition> conditions, String id) {
+      return conditions.stream().allMatch(condition -> condition.matches(id));
+    }
+
+    private BitSet linesMatching(String id) {
+      if (id == null) {
+        return linesForAnyOtherId;
+      }
+
+      return linesById.getOrDefault(id, linesForAnyOtherId);
+    }
+  }
+}
@@ -13,12 +13,12 @@ import java.util.stream.Collectors;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.event.DefaultAgendaEventListener;
 import org.folio.circulation.domain.Location;
+import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message.Level;
 import org.kie.api.event.rule.AfterMatchFiredEvent;
-import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 
 import io.vertx.core.MultiMap;
@@ -28,11 +28,17 @@ import io.vertx.core.json.JsonObject;
 /**
  * Holds a Drools kieSession to calculate a loan policy.
  */
-public class Drools {
+public class Drools implements CirculationRulesEngine {
   // https://docs.jboss.org/drools/release/6.2.0.CR1/drools-docs/html/ch19.html
   // http://www.deepakgaikwad.net/index.php/2016/05/16/drools-tutorial-beginners.html
 
-  private final KieContainer kieContainer;
+  /**
+   * All builds share the default release id of the KieRepository,
+   * building and loading a module must not interleave with another build
+   */
+  private static final Object BUILD_LOCK = new Object();
+
+  private final KieBase kieBase;
 
   /**
    * Create the Drools kieSession based on a String containing a drools file.
@@ -42,14 +48,19 @@ public class Drools {
     // if KieServices.Factory.get() returns null add AppendingTransformer for META-INF/kie.conf
     // to maven-shade-plugin configuration (CIRC-309, CIRC-1147)
     KieServices kieServices = KieServices.Factory.get();
-    KieFileSystem kfs = kieServices.newKieFileSystem();
-    kfs.write("src/main/resources/circulationrules/circulation-rules.drl", drools);
-    KieBuilder kieBuilder = kieServices.newKieBuilder(kfs);
-    kieBuilder.buildAll();
-    if (kieBuilder.getResults().hasMessages(Level.ERROR)) {
-      throw new IllegalArgumentException("Drools build errors:\n" + kieBuilder.getResults().toString());
+
+    synchronized (BUILD_LOCK) {
+      KieFileSystem kfs = kieServices.newKieFileSystem();
+      kfs.write("src/main/resources/circulationrules/circulation-rules.drl", drools);
+      KieBuilder kieBuilder = kieServices.newKieBuilder(kfs);
+      kieBuilder.buildAll();
+      if (kieBuilder.getResults().hasMessages(Level.ERROR)) {
+        throw new IllegalArgumentException("Drools build errors:\n" + kieBuilder.getResults().toString());
+      }
+      // the compiled knowledge base is kept, so creating a session does not need a container lookup
+      kieBase = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId())
+        .getKieBase();
     }
-    kieContainer = kieServices.newKieContainer(kieServices.getRepository().getDefaultReleaseId());
   }
 
   private KieSession createSession(MultiMap params, Location location, Match match) {
@@ -58,7 +69,7 @@ public class Drools {
     String patronGroupId = params.get(PATRON_TYPE_ID_NAME);
     String locationId = params.get(LOCATION_ID_NAME);
 
-    KieSession kieSession = kieContainer.newKieSession();
+    KieSession kieSession = kieBase.newKieSession();
     kieSession.setGlobal("match", match);
     kieSession.insert(new ItemType(itemTypeId));
     kieSession.insert(new LoanType(loanTypeId));
@@ -77,6 +88,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return CirculationRuleMatch object with the name of the loan policy and rule conditions
    */
+  @Override
   public CirculationRuleMatch loanPolicy(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -101,6 +113,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return matches, each match has a loanPolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray loanPolicies(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -126,6 +139,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return CirculationRuleMatch object with the name of the loan policy and rule conditions
    */
+  @Override
   public CirculationRuleMatch requestPolicy(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -144,6 +158,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return matches, each match has a requestPolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray requestPolicies(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -170,6 +185,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return CirculationRuleMatch object with the name of the loan policy and rule conditions
    */
+  @Override
   public CirculationRuleMatch noticePolicy(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -188,6 +204,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return matches, each match has a noticePolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray noticePolicies(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -214,6 +231,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return CirculationRuleMatch object with the name of the loan policy and rule conditions
    */
+  @Override
   public CirculationRuleMatch overduePolicy(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -232,6 +250,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return matches, each match has a overduePolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray overduePolicies(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -257,6 +276,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return CirculationRuleMatch object with the name of the loan policy and rule conditions
    */
+  @Override
   public CirculationRuleMatch lostItemPolicy(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
@@ -275,6 +295,7 @@ public class Drools {
    * @param location - location with institution, library and campus
    * @return matches, each match has a lostItemPolicyId and a circulationRuleLine field
    */
+  @Override
   public JsonArray lostItemPolicies(MultiMap params, Location location) {
     final var match = new Match();
     final KieSession kieSession = createSession(params, location, match);
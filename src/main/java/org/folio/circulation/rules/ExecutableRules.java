@@ -23,42 +23,46 @@ public class ExecutableRules {
 
   @Getter()
   private final String text;
-  private final Drools drools;
+  private final CirculationRulesEngine rulesEngine;
+  /** changes whenever different rules are loaded */
+  @Getter()
+  private final long version;
 
-  public ExecutableRules(String text, Drools drools) {
+  public ExecutableRules(String text, CirculationRulesEngine rulesEngine, long version) {
     this.text = text;
-    this.drools = drools;
+    this.rulesEngine = rulesEngine;
+    this.version = version;
   }
 
   public Result<CirculationRuleMatch> determineLoanPolicy(RulesExecutionParameters parameters) {
-    return determinePolicy(parameters, drools::loanPolicy, "loan policy");
+    return determinePolicy(parameters, rulesEngine::loanPolicy, "loan policy");
   }
 
   public Result<CirculationRuleMatch> determineRequestPolicy(RulesExecutionParameters parameters) {
-    return determinePolicy(parameters, drools::requestPolicy, "request policy");
+    return determinePolicy(parameters, rulesEngine::requestPolicy, "request policy");
   }
 
   public Result<CirculationRuleMatch> determineNoticePolicy(RulesExecutionParameters parameters) {
-    return determinePolicy(parameters, drools::noticePolicy, "notice policy");
+    return determinePolicy(parameters, rulesEngine::noticePolicy, "notice policy");
   }
 
   public Result<CirculationRuleMatch> determineLostItemPolicy(RulesExecutionParameters parameters) {
-    return determinePolicy(parameters, drools::lostItemPolicy, "lost item policy");
+    return determinePolicy(parameters, rulesEngine::lostItemPolicy, "lost item policy");
   }
 
   public Result<CirculationRuleMatch> determineOverduePolicy(RulesExecutionParameters parameters) {
-    return determinePolicy(parameters, drools::overduePolicy, "overdude policy");
+    return determinePolicy(parameters, rulesEngine::overduePolicy, "overdude policy");
   }
 
   private Result<CirculationRuleMatch> determinePolicy(RulesExecutionParameters parameters,
-    BiFunction<MultiMap, Location, CirculationRuleMatch> droolsExecutor, String policyType) {
+    BiFunction<MultiMap, Location, CirculationRuleMatch> rulesExecutor, String policyType) {
 
     if (log.isInfoEnabled()) {
       log.info("Executing circulation rules: `{}` with parameters: `{}` to determine {}",
         text, parameters, policyType);
     }
 
-    return of(() -> droolsExecutor.apply(parameters.toMap(), parameters.getLocation()))
+    return of(() -> rulesExecutor.apply(parameters.toMap(), parameters.getLocation()))
       .failWhen(this::noMatch, fail(parameters, policyType));
   }
 
@@ -0,0 +1,48 @@
+package org.folio.circulation.rules;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * One criterium of a circulation rule, e.g. "m book dvd", "g !visitor" or "t all".
+ */
+public class RuleCondition {
+  private final String criteriumTypeLetter;
+  private final boolean all;
+  private final boolean negated;
+  private final Set<String> names;
+
+  RuleCondition(String criteriumTypeLetter, boolean all, boolean negated, Set<String> names) {
+    this.criteriumTypeLetter = criteriumTypeLetter;
+    this.all = all;
+    this.negated = negated;
+    this.names = unmodifiableSet(new LinkedHashSet<>(names));
+  }
+
+  /**
+   * @return one of t, a, b, c, s, m, g
+   */
+  public String getCriteriumTypeLetter() {
+    return criteriumTypeLetter;
+  }
+
+  public Set<String> getNames() {
+    return names;
+  }
+
+  /**
+   * Whether the id of the item, patron or location fulfils this criterium,
+   * with the same semantics as the generated drools condition.
+   * @param id  UUID to check, may be null
+   * @return true if the criterium is fulfilled
+   */
+  public boolean matches(String id) {
+    if (all) {
+      return true;
+    }
+
+    return negated != names.contains(id);
+  }
+}
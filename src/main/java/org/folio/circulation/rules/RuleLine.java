@@ -0,0 +1,52 @@
+package org.folio.circulation.rules;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A line of the circulation rules that assigns policies, together with all criteria
+ * it inherits from the lines it is indented under.
+ */
+public class RuleLine {
+  private final int lineNumber;
+  private final int salience;
+  private final List<RuleCondition> conditions;
+  private final Map<String, String> policyIds;
+
+  RuleLine(int lineNumber, int salience, List<RuleCondition> conditions,
+    Map<String, String> policyIds) {
+
+    this.lineNumber = lineNumber;
+    this.salience = salience;
+    this.conditions = unmodifiableList(new ArrayList<>(conditions));
+    this.policyIds = unmodifiableMap(new HashMap<>(policyIds));
+  }
+
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * @return priority of the line, if several lines match the one with the highest salience applies
+   */
+  public int getSalience() {
+    return salience;
+  }
+
+  public List<RuleCondition> getConditions() {
+    return conditions;
+  }
+
+  /**
+   * @param policyTypeLetter  one of l, r, n, o, i
+   * @return id of the policy of that type
+   */
+  public String getPolicyId(String policyTypeLetter) {
+    return policyIds.get(policyTypeLetter);
+  }
+}
@@ -3,8 +3,10 @@ package org.folio.circulation.rules;
 import static java.util.Collections.emptySet;
 import static org.apache.commons.text.StringEscapeUtils.escapeJava;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +36,8 @@ import org.folio.circulation.rules.CirculationRulesParser.ThreePrioritiesContext
 import org.folio.circulation.rules.CirculationRulesParser.TwoPrioritiesContext;
 
 /**
- * Convert a circulation rules text in FOLIO format into a drools rules text.
+ * Convert a circulation rules text in FOLIO format into a drools rules text,
+ * or into the list of rule lines the drools rules are generated from.
  */
 public class Text2Drools extends CirculationRulesBaseListener {
   @SuppressWarnings("squid:CommentedOutCodeLine")  // Example code is allowed
@@ -86,6 +89,7 @@ public class Text2Drools extends CirculationRulesBaseListener {
       "global Match match\n" +
       "\n");
 
+  private final List<RuleLine> ruleLines = new ArrayList<>();
   private final LinkedList<Matcher> stack = new LinkedList<>();
   private final String[] policyTypes = {"l", "r", "n", "o", "i"};
   private final PolicyValidator policyValidator;
@@ -125,7 +129,26 @@ public class Text2Drools extends CirculationRulesBaseListener {
     return getDroolsRepresentation(text, text2drools);
   }
 
+  /**
+   * Convert circulation rules from FOLIO text format into the rule lines
+   * that assign policies, each with all criteria that apply to it.
+   * @param text String with a circulation rules file in FOLIO syntax.
+   * @return rule lines in the order of the circulation rules file
+   */
+  public static List<RuleLine> convertToRuleLines(String text) {
+    Text2Drools text2drools = new Text2Drools((policyType, policies, token) -> {});
+    walk(text, text2drools);
+
+    return text2drools.ruleLines;
+  }
+
   private static String getDroolsRepresentation(String text, Text2Drools text2drools) {
+    walk(text, text2drools);
+
+    return text2drools.drools.toString();
+  }
+
+  private static void walk(String text, Text2Drools text2drools) {
     CharStream input = CharStreams.fromString(text);
     CirculationRulesLexer lexer = new CirculationRulesLexer(input);
     CommonTokenStream tokens = new CommonTokenStream(lexer);
@@ -135,8 +158,6 @@ public class Text2Drools extends CirculationRulesBaseListener {
     CirculationRulesFileContext entryPoint = parser.circulationRulesFile();
     ParseTreeWalker walker = new ParseTreeWalker();
     walker.walk(text2drools, entryPoint);
-
-    return text2drools.drools.toString();
   }
 
   /**
@@ -316,8 +337,9 @@ public class Text2Drools extends CirculationRulesBaseListener {
     }
 
     int line = policies.getStart().getLine();
+    int salience = getSalience(line);
     drools.append("rule \"line ").append(line).append("\"\n");
-    drools.append("  salience ").append(getSalience(line)).append("\n");
+    drools.append("  salience ").append(salience).append("\n");
     drools.append("  when\n");
     stack.descendingIterator().forEachRemaining(matcher -> drools.append(matcher.drools));
     drools.append("  then\n");
@@ -331,6 +353,21 @@ public class Text2Drools extends CirculationRulesBaseListener {
     drools.append("    match.lineNumber = ").append(line).append(";\n");
     drools.append("    drools.halt();\n");
     drools.append("end\n\n");
+
+    addRuleLine(policies, line, salience);
+  }
+
+  private void addRuleLine(PoliciesContext policies, int line, int salience) {
+    List<RuleCondition> conditions = new ArrayList<>();
+    stack.descendingIterator().forEachRemaining(matcher -> conditions.addAll(matcher.conditions));
+
+    Map<String, String> policyIds = new HashMap<>();
+
+    for (PolicyContext policy : policies.policy()) {
+      policyIds.put(policy.POLICY_TYPE().getText(), policy.NAME().getText());
+    }
+
+    ruleLines.add(new RuleLine(line, salience, conditions, policyIds));
   }
 
   private static String policyMatchString(PolicyContext policy) {
@@ -408,6 +445,7 @@ public class Text2Drools extends CirculationRulesBaseListener {
 
     if (criteriumContext.all() != null) {
       matcher.drools.append("() // all\n");
+      matcher.conditions.add(new RuleCondition(criteriumTypeLetter, true, false, emptySet()));
       return;
     }
 
@@ -418,6 +456,11 @@ public class Text2Drools extends CirculationRulesBaseListener {
       not = true;
     }
 
+    matcher.conditions.add(new RuleCondition(criteriumTypeLetter, false, not,
+      criteriumContext.NAME().stream()
+        .map(TerminalNode::getText)
+        .collect(Collectors.toCollection(LinkedHashSet::new))));
+
     if (criteriumContext.NAME().size() == 1) {
       matcher.drools.append(not ? "(id != " : "(id == " );
       appendQuotedString(matcher.drools, criteriumContext.NAME(0).getText());
@@ -474,6 +517,7 @@ public class Text2Drools extends CirculationRulesBaseListener {
     Set<String> criteriaUsed = new HashSet<>(4);
     int maxCriteriumPriority;
     StringBuilder drools;
+    List<RuleCondition> conditions = new ArrayList<>();
 
     public Matcher(int indentation, Set<String> criteriaUsed,
       int maxCriteriumPriority, StringBuilder drools) {
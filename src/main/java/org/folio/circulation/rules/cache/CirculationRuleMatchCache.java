@@ -0,0 +1,100 @@
+package org.folio.circulation.rules.cache;
+
+import java.util.function.Supplier;
+
+import org.folio.Environment;
+import org.folio.circulation.domain.Location;
+import org.folio.circulation.rules.CirculationRuleMatch;
+import org.folio.circulation.rules.RulesExecutionParameters;
+import org.folio.circulation.support.cache.CacheStatistics;
+import org.folio.circulation.support.cache.LruCache;
+import org.folio.circulation.support.results.Result;
+
+import lombok.Value;
+
+/**
+ * Policies already determined by the circulation rules, for each tenant, version
+ * of the rules, type of policy and the values of the seven criteria.
+ *
+ * Only a limited number of matches is kept, the least recently used are dropped first.
+ * The matches of a tenant are removed when new circulation rules are loaded for that tenant.
+ */
+public final class CirculationRuleMatchCache {
+  private static final CirculationRuleMatchCache instance = new CirculationRuleMatchCache(
+    Environment.getCirculationRuleMatchCacheSize());
+
+  private final LruCache<Key, CirculationRuleMatch> matches;
+
+  public static CirculationRuleMatchCache getInstance() {
+    return instance;
+  }
+
+  private CirculationRuleMatchCache(int maximumSize) {
+    matches = new LruCache<>(maximumSize);
+  }
+
+  /**
+   * Use the match determined before for the same tenant, rules version, policy type and
+   * criteria, otherwise determine the match and keep it when successful.
+   *
+   * @param parameters  criteria, the location must have been fetched
+   * @param determineMatch  executes the rules
+   */
+  public Result<CirculationRuleMatch> getOrDetermine(String tenantId, long rulesVersion,
+    String policyType, RulesExecutionParameters parameters,
+    Supplier<Result<CirculationRuleMatch>> determineMatch) {
+
+    final Key key = Key.of(tenantId, rulesVersion, policyType, parameters);
+    final CirculationRuleMatch cachedMatch = matches.get(key);
+
+    if (cachedMatch != null) {
+      return Result.succeeded(cachedMatch);
+    }
+
+    return determineMatch.get()
+      .map(match -> {
+        matches.put(key, match);
+        return match;
+      });
+  }
+
+  /**
+   * Remove all matches of a tenant, used when the tenant's rules have changed.
+   * @param tenantId  id of the tenant
+   */
+  public void flush(String tenantId) {
+    matches.removeIf(key -> key.getTenantId().equals(tenantId));
+  }
+
+  public void flushAll() {
+    matches.clear();
+  }
+
+  public CacheStatistics getStatistics() {
+    return matches.getStatistics();
+  }
+
+  @Value
+  private static class Key {
+    String tenantId;
+    long rulesVersion;
+    String policyType;
+    String materialTypeId;
+    String loanTypeId;
+    String patronGroupId;
+    String locationId;
+    String institutionId;
+    String campusId;
+    String libraryId;
+
+    private static Key of(String tenantId, long rulesVersion, String policyType,
+      RulesExecutionParameters parameters) {
+
+      final Location location = parameters.getLocation();
+
+      return new Key(tenantId, rulesVersion, policyType, parameters.getMaterialTypeId(),
+        parameters.getLoanTypeId(), parameters.getPatronGroupId(), parameters.getLocationId(),
+        location.getInstitutionId(), location.getCampusId(), location.getLibraryId());
+    }
+  }
+}
@@ -1,39 +1,65 @@
 package org.folio.circulation.rules.cache;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.folio.circulation.support.results.Result.failed;
-import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import static org.folio.circulation.support.executors.CirculationExecutors.completeOnCurrentContext;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.folio.circulation.support.executors.CirculationExecutors.supplyCpuBound;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
+import org.folio.circulation.rules.CirculationRulesEngine;
+import org.folio.circulation.rules.DecisionTable;
 import org.folio.circulation.rules.Drools;
 import org.folio.circulation.rules.ExecutableRules;
 import org.folio.circulation.rules.Text2Drools;
 import org.folio.circulation.support.CollectionResourceClient;
 import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.cache.CacheStatistics;
 import org.folio.circulation.support.results.Result;
 
-
 import io.vertx.core.json.JsonObject;
 
+/**
+ * Compiled circulation rules for each tenant.
+ *
+ * Once loaded, the rules are served from memory. Changes made through this module
+ * (see {@link #rulesUpdated(String, String)}) invalidate the tenant's rules immediately
+ * and are compiled straight away, changes made elsewhere are picked up by a background
+ * reload once the rules are older than the refresh interval.
+ *
+ * Compilation happens on the CPU bound executor and the new rules replace the previous
+ * ones in a single step, requests that already have the previous rules keep using them.
+ *
+ * The rules are compiled for the engine chosen by the CIRCULATION_RULES_ENGINE
+ * environment variable: Drools (the default) or the {@link DecisionTable}.
+ */
 public final class CirculationRulesCache {
   private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
 
   private static final CirculationRulesCache instance = new CirculationRulesCache();
-  /** after this time the rules get loaded before executing the circulation rules engine */
-  private static final long MAX_AGE_IN_MILLISECONDS = 5000;
-  /** after this time the circulation rules engine is executed first for a fast reply
-   * and then the circulation rules get reloaded */
-  private static final long TRIGGER_AGE_IN_MILLISECONDS = 4000;
-  /** rules and Drools for each tenantId */
-  private final Map<String, Rules> rulesMap = new ConcurrentHashMap<>();
+  /** after this time the rules are still used for a fast reply
+   * and then get reloaded in the background */
+  private static final long REFRESH_AGE_IN_MILLISECONDS =
+    Environment.getCirculationRulesRefreshIntervalInMilliseconds();
+  private static final boolean USE_DECISION_TABLE =
+    "decision-table".equalsIgnoreCase(Environment.getCirculationRulesEngine());
+  /** rules and rules engine for each tenantId */
+  private final Map<String, TenantRules> rulesMap = new ConcurrentHashMap<>();
+  private final CacheStatistics statistics = new CacheStatistics();
+  /** source of the versions of the compiled rules */
+  private final AtomicLong versions = new AtomicLong();
 
   public static CirculationRulesCache getInstance() {
     return instance;
@@ -42,122 +68,258 @@ public final class CirculationRulesCache {
   private CirculationRulesCache() {}
 
   /**
-   * Completely drop the cache. This enforces rebuilding the drools rules
+   * Completely drop the cache. This enforces rebuilding the rules engine
    * even when the circulation rules haven't changed.
    */
   public void dropCache() {
     rulesMap.clear();
+    CirculationRuleMatchCache.getInstance().flushAll();
   }
 
   /**
    * Enforce reload of the tenant's circulation rules.
-   * This doesn't rebuild the drools rules if the circulation rules haven't changed.
+   * This doesn't rebuild the rules engine if the circulation rules haven't changed.
    * @param tenantId  id of the tenant
    */
   public void clearCache(String tenantId) {
-    Rules rules = rulesMap.get(tenantId);
+    TenantRules rules = rulesMap.get(tenantId);
     if (rules == null) {
       return;
     }
-    rules.reloadTimestamp = 0;
-  }
-
-  private boolean isCurrent(Rules rules) {
-    if (rules == null) {
-      return false;
-    }
-    return rules.reloadTimestamp + MAX_AGE_IN_MILLISECONDS > System.currentTimeMillis();
+    rules.invalidate();
   }
 
   /**
-   * Reload is needed if the last reload is TRIGGER_AGE_IN_MILLISECONDS old
-   * and a reload hasn't been initiated yet.
-   * @param rules - rules to reload
-   * @return whether reload is needed
+   * Replace the tenant's circulation rules after they have been changed in storage.
+   * The new rules are compiled in the background, requests that arrive
+   * in the meantime wait for the new rules rather than using the previous ones.
+   * @param tenantId  id of the tenant
+   * @param rulesAsText  the circulation rules that have been stored
+   * @return the compiled rules
    */
-  private boolean reloadNeeded(Rules rules) {
-    if (rules.reloadInitiated) {
-      return false;
-    }
-    return rules.reloadTimestamp + TRIGGER_AGE_IN_MILLISECONDS < System.currentTimeMillis();
+  public CompletableFuture<Result<CirculationRulesEngine>> rulesUpdated(String tenantId,
+    String rulesAsText) {
+
+    return tenantRules(tenantId).update(rulesAsText)
+      .thenApply(r -> r.map(Rules::getRulesEngine));
   }
 
-  private CompletableFuture<Result<Rules>> reloadRules(Rules rules,
+  public CompletableFuture<Result<ExecutableRules>> getExecutableRules(String tenantId,
     CollectionResourceClient circulationRulesClient) {
 
-    return circulationRulesClient.get()
-      .thenCompose(r -> r.after(response -> {
-        JsonObject circulationRules = new JsonObject(response.getBody());
+    return getRules(tenantId, circulationRulesClient)
+      .thenApply(r -> r.map(rules -> new ExecutableRules(rules.rulesAsText, rules.rulesEngine,
+        rules.version)));
+  }
 
-        rules.reloadTimestamp = System.currentTimeMillis();
-        rules.reloadInitiated = false;
+  public CompletableFuture<Result<CirculationRulesEngine>> getRulesEngine(String tenantId,
+    CollectionResourceClient circulationRulesClient) {
 
-        if (log.isInfoEnabled()) {
-          log.info("circulationRules = {}", circulationRules.encodePrettily());
-        }
+    return getRules(tenantId, circulationRulesClient)
+      .thenApply(r -> r.map(Rules::getRulesEngine));
+  }
 
-        String rulesAsText = circulationRules.getString("rulesAsText");
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
 
-        if (isBlank(rulesAsText)) {
-          return completedFuture(failed(new ServerErrorFailure(
-            "Cannot apply blank circulation rules")));
-        }
+  private CompletableFuture<Result<Rules>> getRules(String tenantId,
+    CollectionResourceClient circulationRulesClient) {
 
-        if (rules.rulesAsText.equals(rulesAsText)) {
-          return ofAsync(() -> rules);
-        }
+    final TenantRules tenantRules = tenantRules(tenantId);
+    final Rules current = tenantRules.getCurrentRules();
 
-        rules.rulesAsText = rulesAsText;
-        rules.rulesAsDrools = Text2Drools.convert(rulesAsText);
+    if (current == null) {
+      statistics.recordMiss();
 
-        log.info("rulesAsDrools = {}", rules.rulesAsDrools);
-        rules.drools = new Drools(rules.rulesAsDrools);
+      // the load may have been started by a request on another verticle instance
+      return completeOnCurrentContext(tenantRules.reload(circulationRulesClient));
+    }
 
-        return ofAsync(() -> rules);
-      }));
+    statistics.recordHit();
+
+    if (current.isDueForRefresh()) {
+      tenantRules.reload(circulationRulesClient);
+    }
+
+    return completedFuture(succeeded(current));
   }
 
-  public CompletableFuture<Result<ExecutableRules>> getExecutableRules(String tenantId,
-    CollectionResourceClient circulationRulesClient) {
+  private TenantRules tenantRules(String tenantId) {
+    return rulesMap.computeIfAbsent(tenantId, TenantRules::new);
+  }
 
-    return getDrools(tenantId, circulationRulesClient)
-      .thenApply(r -> r.map(drools ->
-        new ExecutableRules(rulesMap.get(tenantId).rulesAsText, drools)));
+  private CompletableFuture<Result<CirculationRulesEngine>> compile(String rulesAsText) {
+    // continue on the context that asked for the rules once they are compiled
+    final Executor requestingContext = onCurrentContext();
+
+    return supplyCpuBound(() -> compileNow(rulesAsText))
+      .exceptionally(e -> failed(new ServerErrorFailure(
+        "Circulation rules could not be compiled: " + e.getMessage())))
+      .thenApplyAsync(identity(), requestingContext);
   }
 
-  public CompletableFuture<Result<Drools>> getDrools(String tenantId,
-    CollectionResourceClient circulationRulesClient) {
+  private Result<CirculationRulesEngine> compileNow(String rulesAsText) {
+    final long start = System.currentTimeMillis();
 
-    final CompletableFuture<Result<Drools>> cfDrools = new CompletableFuture<>();
-    Rules rules = rulesMap.get(tenantId);
+    return Result.of(() -> {
+      final CirculationRulesEngine rulesEngine = USE_DECISION_TABLE
+        ? new DecisionTable(rulesAsText)
+        : compileDrools(rulesAsText);
 
-    if (isCurrent(rules)) {
-      cfDrools.complete(succeeded(rules.drools));
+      final long duration = System.currentTimeMillis() - start;
 
-      if (reloadNeeded(rules)) {
-        rules.reloadInitiated = true;
-        reloadRules(rules, circulationRulesClient)
-          .thenCompose(r -> r.after(updatedRules -> ofAsync(() -> updatedRules.drools)));
-      }
+      statistics.recordLoad(duration);
 
-      return cfDrools;
+      log.info("Circulation rules compiled in {} milliseconds, cache statistics: {}",
+        duration, statistics.toJson().encode());
+
+      return rulesEngine;
+    });
+  }
+
+  private Rules newRules(String rulesAsText, CirculationRulesEngine rulesEngine) {
+    return new Rules(rulesAsText, rulesEngine, versions.incrementAndGet());
+  }
+
+  private static Drools compileDrools(String rulesAsText) {
+    final String rulesAsDrools = Text2Drools.convert(rulesAsText);
+
+    log.info("rulesAsDrools = {}", rulesAsDrools);
+
+    return new Drools(rulesAsDrools);
+  }
+
+  /**
+   * Compiled rules that are never changed once created,
+   * replacing the current rules of a tenant is a single reference update
+   */
+  private static class Rules {
+    private final String rulesAsText;
+    private final CirculationRulesEngine rulesEngine;
+    private final long version;
+    /** System.currentTimeMillis() of the last load/reload of the rules from the storage */
+    private final long reloadTimestamp;
+
+    private Rules(String rulesAsText, CirculationRulesEngine rulesEngine, long version) {
+      this.rulesAsText = rulesAsText;
+      this.rulesEngine = rulesEngine;
+      this.version = version;
+      this.reloadTimestamp = System.currentTimeMillis();
     }
 
-    if (rules == null) {
-      rules = new Rules();
-      rulesMap.put(tenantId, rules);
+    private CirculationRulesEngine getRulesEngine() {
+      return rulesEngine;
+    }
+
+    private boolean isDueForRefresh() {
+      return reloadTimestamp + REFRESH_AGE_IN_MILLISECONDS < System.currentTimeMillis();
     }
 
-    return reloadRules(rules, circulationRulesClient)
-      .thenCompose(r -> r.after(updatedRules -> ofAsync(() -> updatedRules.drools)));
+    private Rules reloaded() {
+      return new Rules(rulesAsText, rulesEngine, version);
+    }
   }
 
-  private class Rules {
-    private volatile String rulesAsText = "";
-    private volatile String rulesAsDrools = "";
-    private volatile Drools drools;
-    /** System.currentTimeMillis() of the last load/reload of the rules from the storage */
-    private volatile long reloadTimestamp;
-    private volatile boolean reloadInitiated = false;
+  private class TenantRules {
+    private final String tenantId;
+    private volatile Rules current;
+    private volatile boolean invalidated;
+    /** incremented whenever the rules are invalidated, loads started before are outdated */
+    private long generation;
+    /** the single load in progress, concurrent requests share it */
+    private CompletableFuture<Result<Rules>> pendingLoad;
+
+    private TenantRules(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    private Rules getCurrentRules() {
+      return invalidated ? null : current;
+    }
+
+    private synchronized void invalidate() {
+      invalidated = true;
+      generation++;
+      pendingLoad = null;
+    }
+
+    private synchronized CompletableFuture<Result<Rules>> update(String rulesAsText) {
+      invalidate();
+
+      return track(compile(rulesAsText)
+        .thenApply(r -> r.map(rulesEngine -> newRules(rulesAsText, rulesEngine))));
+    }
+
+    private synchronized CompletableFuture<Result<Rules>> reload(
+      CollectionResourceClient circulationRulesClient) {
+
+      if (pendingLoad != null) {
+        return pendingLoad;
+      }
+
+      return track(circulationRulesClient.get()
+        .thenCompose(r -> r.after(response -> {
+          JsonObject circulationRules = new JsonObject(response.getBody());
+
+          if (log.isInfoEnabled()) {
+            log.info("circulationRules = {}", circulationRules.encodePrettily());
+          }
+
+          String rulesAsText = circulationRules.getString("rulesAsText");
+
+          if (isBlank(rulesAsText)) {
+            return completedFuture(failed(new ServerErrorFailure(
+              "Cannot apply blank circulation rules")));
+          }
+
+          final Rules previous = current;
+
+          if (previous != null && previous.rulesAsText.equals(rulesAsText)) {
+            return completedFuture(succeeded(previous.reloaded()));
+          }
+
+          return compile(rulesAsText)
+            .thenApply(compiled -> compiled.map(rulesEngine -> newRules(rulesAsText, rulesEngine)));
+        })));
+    }
+
+    private CompletableFuture<Result<Rules>> track(CompletableFuture<Result<Rules>> load) {
+      final long loadGeneration = generation;
+
+      final CompletableFuture<Result<Rules>> installed = load
+        .thenApply(r -> r.map(rules -> install(rules, loadGeneration)));
+
+      pendingLoad = installed;
+
+      installed.whenComplete((result, throwable) -> finished(installed));
+
+      return installed;
+    }
+
+    private synchronized Rules install(Rules rules, long loadGeneration) {
+      // rules from a load that was overtaken by a change are only used by those waiting for it
+      if (loadGeneration == generation) {
+        final Rules previous = current;
+
+        current = rules;
+        invalidated = false;
+
+        if (previous != null && previous.version != rules.version) {
+          // matches of the previous rules can no longer be used
+          CirculationRuleMatchCache.getInstance().flush(tenantId);
+        }
+
+        log.debug("Installed circulation rules for tenant {}", tenantId);
+      }
+
+      return rules;
+    }
+
+    private synchronized void finished(CompletableFuture<Result<Rules>> load) {
+      if (pendingLoad == load) {
+        pendingLoad = null;
+      }
+    }
   }
 }
@@ -0,0 +1,407 @@
+package org.folio.circulation.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
+import org.folio.rest.jaxrs.model.Event;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.util.pubsub.PubSubClientUtils;
+
+import io.vertx.core.Context;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import lombok.Value;
+
+/**
+ * Events waiting to be published to pub-sub, shared by all of the verticle instances.
+ *
+ * Events are published in batches of PUBSUB_OUTBOX_BATCH_SIZE events at the same time.
+ * An event that cannot be published is retried after PUBSUB_OUTBOX_RETRY_DELAY_MILLISECONDS,
+ * doubling for each retry, up to PUBSUB_OUTBOX_MAX_ATTEMPTS attempts.
+ *
+ * When PUBSUB_OUTBOX_CAPACITY events are waiting (e.g. because pub-sub is slow), further
+ * events are appended to a journal (PUBSUB_OUTBOX_SPILL_FILE), along with the connection
+ * parameters of the request they were created for, and read back once the outbox has room.
+ * Whilst any events are in the journal, new events are also appended to it, so that events
+ * are published in the order they were created. Events left in the journal when the module
+ * stopped are published once it has started again.
+ *
+ * Events are published on a context owned by the module, given to {@link #start}.
+ */
+public final class EventOutbox {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String OKAPI_URL = "okapiUrl";
+  private static final String TENANT_ID = "tenantId";
+  private static final String TOKEN = "token";
+  private static final String ID = "id";
+  private static final String EVENT_TYPE = "eventType";
+  private static final String EVENT_PAYLOAD = "eventPayload";
+  private static final int MAXIMUM_RETRY_DELAY_DOUBLINGS = 10;
+
+  private static final EventOutbox instance = new EventOutbox(
+    Environment.getPubSubOutboxCapacity(), Environment.getPubSubOutboxBatchSize(),
+    Environment.getPubSubOutboxMaximumAttempts(),
+    Environment.getPubSubOutboxRetryDelayInMilliseconds(),
+    Path.of(Environment.getPubSubOutboxSpillFile()), PubSubClientUtils::sendEventMessage);
+
+  private final int capacity;
+  private final int batchSize;
+  private final int maximumAttempts;
+  private final long retryDelayInMilliseconds;
+  private final Path spillFile;
+  private final BiFunction<Event, OkapiConnectionParams, CompletableFuture<Boolean>> publisher;
+
+  private final Queue<PendingEvent> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushing = new AtomicBoolean();
+  private final JournalFile spillJournal;
+  private volatile Context context;
+
+  private final AtomicLong depth = new AtomicLong();
+  // events which have been, or are about to be, appended to the journal and not read back
+  private final AtomicLong spilled = new AtomicLong();
+  private final AtomicLong totalSpilled = new AtomicLong();
+  private final AtomicLong published = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong attempts = new AtomicLong();
+  private final AtomicLong totalPublishTimeInMicroseconds = new AtomicLong();
+  private final AtomicLong maximumPublishTimeInMicroseconds = new AtomicLong();
+
+  public static EventOutbox getInstance() {
+    return instance;
+  }
+
+  EventOutbox(int capacity, int batchSize, int maximumAttempts,
+    long retryDelayInMilliseconds, Path spillFile,
+    BiFunction<Event, OkapiConnectionParams, CompletableFuture<Boolean>> publisher) {
+
+    this.capacity = Math.max(capacity, 1);
+    this.batchSize = Math.max(batchSize, 1);
+    this.maximumAttempts = Math.max(maximumAttempts, 1);
+    this.retryDelayInMilliseconds = Math.max(retryDelayInMilliseconds, 1);
+    this.spillFile = spillFile;
+    this.publisher = publisher;
+
+    this.spillJournal = openSpillJournal(spillFile);
+
+    if (spillJournal != null) {
+      spilled.set(spillJournal.size());
+    }
+  }
+
+  /**
+   * Publishes events on the given context, which should be owned by the module rather
+   * than by a request, starting with any left in the journal by an earlier run. Only
+   * the first context given is used
+   */
+  public synchronized void start(Context context) {
+    if (this.context == null) {
+      this.context = context;
+    }
+
+    scheduleFlush();
+  }
+
+  /**
+   * Adds an event to be published using the connection parameters of the request it
+   * was created for
+   */
+  public void enqueue(Event event, OkapiConnectionParams connectionParams) {
+    if (spilled.get() > 0) {
+      spill(event, connectionParams);
+    }
+    else if (depth.incrementAndGet() > capacity) {
+      depth.decrementAndGet();
+      spill(event, connectionParams);
+    }
+    else {
+      pending.add(new PendingEvent(event, connectionParams, 1));
+    }
+
+    scheduleFlush();
+  }
+
+  public JsonObject getStatistics() {
+    final long attemptCount = attempts.get();
+
+    return new JsonObject()
+      .put("depth", depth.get())
+      .put("capacity", capacity)
+      .put("spilled", spilled.get())
+      .put("totalSpilled", totalSpilled.get())
+      .put("published", published.get())
+      .put("retried", retried.get())
+      .put("failed", failed.get())
+      .put("averagePublishTimeInMicroseconds", attemptCount == 0
+        ? 0 : (double) totalPublishTimeInMicroseconds.get() / attemptCount)
+      .put("maximumPublishTimeInMicroseconds", maximumPublishTimeInMicroseconds.get());
+  }
+
+  private void scheduleFlush() {
+    final Context flushContext = context;
+
+    if (flushContext != null && flushing.compareAndSet(false, true)) {
+      flushContext.runOnContext(notUsed -> flush(flushContext));
+    }
+  }
+
+  private void flush(Context flushContext) {
+    final List<PendingEvent> batch = takeBatch();
+
+    if (!batch.isEmpty()) {
+      CompletableFuture.allOf(batch.stream()
+          .map(this::publish)
+          .toArray(CompletableFuture[]::new))
+        .whenComplete((notUsed, throwable) ->
+          flushContext.runOnContext(v -> flush(flushContext)));
+
+      return;
+    }
+
+    final long room = capacity - depth.get();
+
+    if (room > 0 && hasSpilledEventsToRestore()) {
+      flushContext.<List<PendingEvent>>executeBlocking(
+          promise -> promise.complete(readSpilledEvents((int) room)), true)
+        .onComplete(restored -> {
+          if (restored.succeeded() && !restored.result().isEmpty()) {
+            depth.addAndGet(restored.result().size());
+            pending.addAll(restored.result());
+            flush(flushContext);
+          }
+          else {
+            finishFlush(false);
+          }
+        });
+
+      return;
+    }
+
+    finishFlush(true);
+  }
+
+  private void finishFlush(boolean includeSpilledEvents) {
+    flushing.set(false);
+
+    // an event may have been added or spilled after the last batch was taken
+    if (!pending.isEmpty() || (includeSpilledEvents
+      && capacity > depth.get() && hasSpilledEventsToRestore())) {
+
+      scheduleFlush();
+    }
+  }
+
+  private List<PendingEvent> takeBatch() {
+    final List<PendingEvent> batch = new ArrayList<>(batchSize);
+
+    while (batch.size() < batchSize) {
+      final PendingEvent pendingEvent = pending.poll();
+
+      if (pendingEvent == null) {
+        break;
+      }
+
+      batch.add(pendingEvent);
+    }
+
+    return batch;
+  }
+
+  private CompletableFuture<Void> publish(PendingEvent pendingEvent) {
+    final long startedAt = System.nanoTime();
+
+    CompletableFuture<Boolean> publishResult;
+
+    try {
+      publishResult = publisher.apply(pendingEvent.getEvent(),
+        pendingEvent.getConnectionParams());
+    }
+    catch (Exception e) {
+      publishResult = CompletableFuture.failedFuture(e);
+    }
+
+    return publishResult.handle((isPublished, throwable) -> {
+      recordPublishTime(startedAt);
+
+      if (Boolean.TRUE.equals(isPublished)) {
+        published.incrementAndGet();
+        depth.decrementAndGet();
+      }
+      else {
+        retryOrGiveUp(pendingEvent, throwable);
+      }
+
+      return null;
+    });
+  }
+
+  private void retryOrGiveUp(PendingEvent pendingEvent, Throwable cause) {
+    final Event event = pendingEvent.getEvent();
+
+    if (pendingEvent.getAttempt() >= maximumAttempts) {
+      failed.incrementAndGet();
+      depth.decrementAndGet();
+
+      log.error("Failed to publish event after {} attempts. ID: {}, type: {}, payload: {}",
+        pendingEvent.getAttempt(), event.getId(), event.getEventType(),
+        event.getEventPayload(), cause);
+
+      return;
+    }
+
+    final long delay = retryDelayInMilliseconds
+      << Math.min(pendingEvent.getAttempt() - 1, MAXIMUM_RETRY_DELAY_DOUBLINGS);
+
+    retried.incrementAndGet();
+
+    log.warn("Failed to publish event, retrying in {} ms. ID: {}, type: {}",
+      delay, event.getId(), event.getEventType(), cause);
+
+    context.owner().setTimer(delay, timerId -> {
+      pending.add(pendingEvent.nextAttempt());
+      scheduleFlush();
+    });
+  }
+
+  private void recordPublishTime(long startedAt) {
+    final long publishTimeInMicroseconds = (System.nanoTime() - startedAt) / 1000;
+
+    attempts.incrementAndGet();
+    totalPublishTimeInMicroseconds.addAndGet(publishTimeInMicroseconds);
+    maximumPublishTimeInMicroseconds.accumulateAndGet(publishTimeInMicroseconds, Math::max);
+  }
+
+  private void spill(Event event, OkapiConnectionParams connectionParams) {
+    spilled.incrementAndGet();
+    totalSpilled.incrementAndGet();
+
+    final String line = new JsonObject()
+      .put(OKAPI_URL, connectionParams.getOkapiUrl())
+      .put(TENANT_ID, connectionParams.getTenantId())
+      .put(TOKEN, connectionParams.getToken())
+      .put(ID, event.getId())
+      .put(EVENT_TYPE, event.getEventType())
+      .put(EVENT_PAYLOAD, event.getEventPayload())
+      .encode();
+
+    final Context spillContext = context;
+
+    if (spillContext == null) {
+      appendToSpillJournal(line);
+    }
+    else {
+      // appended in the order the events were spilled
+      spillContext.executeBlocking(promise -> {
+        appendToSpillJournal(line);
+        promise.complete();
+      }, true)
+        // the event can only be read back once it has been written
+        .onComplete(notUsed -> scheduleFlush());
+    }
+  }
+
+  private void appendToSpillJournal(String line) {
+    try {
+      if (spillJournal == null) {
+        throw new IOException("Journal could not be opened");
+      }
+
+      spillJournal.append(line);
+    }
+    catch (IOException | UncheckedIOException e) {
+      spilled.decrementAndGet();
+      failed.incrementAndGet();
+
+      log.error("Failed to write event to {}, it will not be published: {}",
+        spillFile, line, e);
+    }
+  }
+
+  private static JournalFile openSpillJournal(Path spillFile) {
+    try {
+      return new JournalFile(spillFile);
+    }
+    catch (IOException | UncheckedIOException e) {
+      log.error("Failed to open {}, events will not be spilled", spillFile, e);
+
+      return null;
+    }
+  }
+
+  private boolean hasSpilledEventsToRestore() {
+    return spillJournal != null && !spillJournal.isEmpty();
+  }
+
+  /**
+   * Takes events from the journal in the order they were spilled
+   */
+  private List<PendingEvent> readSpilledEvents(int limit) {
+    final List<PendingEvent> restored = new ArrayList<>();
+
+    try {
+      final List<String> lines = spillJournal.take(limit);
+
+      spilled.addAndGet(-lines.size());
+
+      lines.stream()
+        .filter(StringUtils::isNotBlank)
+        .map(this::decode)
+        .filter(Objects::nonNull)
+        .forEach(restored::add);
+    }
+    catch (IOException | UncheckedIOException e) {
+      log.error("Failed to read events from {}", spillFile, e);
+    }
+
+    return restored;
+  }
+
+  private PendingEvent decode(String line) {
+    try {
+      final JsonObject representation = new JsonObject(line);
+
+      final OkapiConnectionParams connectionParams = new OkapiConnectionParams();
+      connectionParams.setOkapiUrl(representation.getString(OKAPI_URL));
+      connectionParams.setTenantId(representation.getString(TENANT_ID));
+      connectionParams.setToken(representation.getString(TOKEN));
+
+      return new PendingEvent(PubSubPublishingService.createEvent(
+        representation.getString(ID), representation.getString(EVENT_TYPE),
+        representation.getString(EVENT_PAYLOAD), connectionParams.getTenantId()),
+        connectionParams, 1);
+    }
+    catch (DecodeException | ClassCastException e) {
+      log.error("Discarding event which cannot be read from {}: {}", spillFile, line, e);
+      failed.incrementAndGet();
+
+      return null;
+    }
+  }
+
+  @Value
+  private static class PendingEvent {
+    Event event;
+    OkapiConnectionParams connectionParams;
+    int attempt;
+
+    private PendingEvent nextAttempt() {
+      return new PendingEvent(event, connectionParams, attempt + 1);
+    }
+  }
+}
@@ -23,12 +23,16 @@ import static org.folio.circulation.domain.representations.logs.LogEventType.NOT
 import static org.folio.circulation.domain.representations.logs.LogEventType.NOTICE_ERROR;
 import static org.folio.circulation.domain.representations.logs.RequestUpdateLogEventMapper.mapToRequestLogEventJson;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.json.JsonPropertyWriter.write;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTimeOptional;
 
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -51,9 +55,11 @@ import org.folio.circulation.infrastructure.storage.users.UserRepository;
 import org.folio.circulation.resources.context.RenewalContext;
 import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.HttpFailure;
+import org.folio.circulation.support.ServerErrorFailure;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.utils.ClockUtil;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
@@ -69,6 +75,11 @@ public class EventPublisher {
   public static final String FAILED_TO_PUBLISH_LOG_TEMPLATE =
     "Failed to publish {} event: loan is null";
 
+  private static final String EVENTS_FIELD = "events";
+  private static final String EVENT_ID_FIELD = "id";
+  private static final String EVENT_TYPE_FIELD = "eventType";
+  private static final String EVENT_PAYLOAD_FIELD = "eventPayload";
+
   private final PubSubPublishingService pubSubPublishingService;
 
   public EventPublisher(RoutingContext routingContext) {
@@ -98,7 +109,7 @@ public class EventPublisher {
 
       runAsync(() -> userRepository.getUser(loanAndRelatedRecords.getLoggedInUserId())
         .thenApplyAsync(r -> r.after(loggedInUser -> CompletableFuture.completedFuture(
-          Result.succeeded(pubSubPublishingService.publishEvent(LOG_RECORD.name(), mapToCheckOutLogEventContent(loanAndRelatedRecords, loggedInUser)))))));
+          Result.succeeded(pubSubPublishingService.publishEvent(LOG_RECORD.name(), mapToCheckOutLogEventContent(loanAndRelatedRecords, loggedInUser))))), onCurrentContext()), onCurrentContext());
 
       return pubSubPublishingService.publishEvent(ITEM_CHECKED_OUT.name(), payloadJsonObject.encode())
         .thenApply(r -> succeeded(loanAndRelatedRecords));
@@ -115,7 +126,7 @@ public class EventPublisher {
 
     runAsync(() -> userRepository.getUser(checkInContext.getLoggedInUserId())
       .thenApplyAsync(r -> r.after(loggedInUser -> CompletableFuture.completedFuture(
-        Result.succeeded(pubSubPublishingService.publishEvent(LOG_RECORD.name(), mapToCheckInLogEventContent(checkInContext, loggedInUser)))))));
+        Result.succeeded(pubSubPublishingService.publishEvent(LOG_RECORD.name(), mapToCheckInLogEventContent(checkInContext, loggedInUser))))), onCurrentContext()), onCurrentContext());
 
     if (checkInContext.getLoan() != null) {
       Loan loan = checkInContext.getLoan();
@@ -137,6 +148,72 @@ public class EventPublisher {
     return completedFuture(succeeded(checkInContext));
   }
 
+  /**
+   * Describes the events published for a check in, each with an ID chosen up front, so
+   * that publishing them more than once (e.g. when retrying) publishes the same events
+   */
+  public CompletableFuture<Result<JsonObject>> describeItemCheckedInEvents(
+    CheckInContext checkInContext, UserRepository userRepository) {
+
+    return userRepository.getUser(checkInContext.getLoggedInUserId())
+      .thenApply(r -> {
+        final JsonArray events = new JsonArray();
+        final User loggedInUser = r.orElse(null);
+
+        if (loggedInUser != null) {
+          events.add(describeEvent(LOG_RECORD.name(),
+            mapToCheckInLogEventContent(checkInContext, loggedInUser)));
+        }
+        else {
+          logger.error("Failed to publish {} event: logged in user could not be fetched",
+            LOG_RECORD.name());
+        }
+
+        if (checkInContext.getLoan() != null) {
+          Loan loan = checkInContext.getLoan();
+
+          JsonObject payloadJsonObject = new JsonObject();
+          write(payloadJsonObject, USER_ID_FIELD, loan.getUserId());
+          write(payloadJsonObject, LOAN_ID_FIELD, loan.getId());
+          write(payloadJsonObject, RETURN_DATE_FIELD, loan.getReturnDate());
+
+          events.add(describeEvent(ITEM_CHECKED_IN.name(), payloadJsonObject.encode()));
+        }
+        else {
+          logger.error(FAILED_TO_PUBLISH_LOG_TEMPLATE, ITEM_CHECKED_IN.name());
+        }
+
+        return succeeded(new JsonObject().put(EVENTS_FIELD, events));
+      });
+  }
+
+  /**
+   * Publishes events described by {@link #describeItemCheckedInEvents}, failing when
+   * any of them are not published
+   */
+  public CompletableFuture<Result<Void>> publishDescribedEvents(JsonObject description) {
+    final List<JsonObject> events = description.getJsonArray(EVENTS_FIELD, new JsonArray())
+      .stream()
+      .map(JsonObject.class::cast)
+      .collect(Collectors.toList());
+
+    return allOf(events, event -> pubSubPublishingService.publishEvent(
+        event.getString(EVENT_ID_FIELD), event.getString(EVENT_TYPE_FIELD),
+        event.getString(EVENT_PAYLOAD_FIELD))
+      .thenApply(published -> Boolean.TRUE.equals(published)
+        ? succeeded(event)
+        : Result.<JsonObject>failed(new ServerErrorFailure(
+          "Failed to publish event " + event.getString(EVENT_ID_FIELD)))))
+      .thenApply(r -> r.map(notUsed -> null));
+  }
+
+  private static JsonObject describeEvent(String eventType, String payload) {
+    return new JsonObject()
+      .put(EVENT_ID_FIELD, UUID.randomUUID().toString())
+      .put(EVENT_TYPE_FIELD, eventType)
+      .put(EVENT_PAYLOAD_FIELD, payload);
+  }
+
   public CompletableFuture<Result<Loan>> publishDeclaredLostEvent(Loan loan) {
     return publishStatusChangeEvent(ITEM_DECLARED_LOST, loan);
   }
@@ -155,7 +232,7 @@ public class EventPublisher {
 
     LoanLogContext loanLogContext = LoanLogContext.from(loan)
       .withDescription(String.format("Additional information: %s", loan.getActionComment()));
-    runAsync(() -> publishLogRecord(loanLogContext.asJson(), LOAN));
+    runAsync(() -> publishLogRecord(loanLogContext.asJson(), LOAN), onCurrentContext());
 
     JsonObject payloadJson = new JsonObject();
     write(payloadJson, USER_ID_FIELD, loan.getUserId());
@@ -193,9 +270,9 @@ public class EventPublisher {
       write(payloadJsonObject, DUE_DATE_FIELD, loan.getDueDate());
       write(payloadJsonObject, DUE_DATE_CHANGED_BY_RECALL_FIELD, loan.wasDueDateChangedByRecall());
 
-      runAsync(() -> publishDueDateLogEvent(loan));
+      runAsync(() -> publishDueDateLogEvent(loan), onCurrentContext());
       if (renewalContext) {
-        runAsync(() -> publishRenewedEvent(loan.copy().withUser(user)));
+        runAsync(() -> publishRenewedEvent(loan.copy().withUser(user)), onCurrentContext());
       }
 
       return pubSubPublishingService.publishEvent(LOAN_DUE_DATE_CHANGED.name(),
@@ -339,7 +416,7 @@ public class EventPublisher {
   }
 
   public RequestAndRelatedRecords publishLogRecordAsync(RequestAndRelatedRecords requestAndRelatedRecords, Request originalRequest, LogEventType logEventType) {
-    runAsync(() -> publishLogRecord(mapToRequestLogEventJson(originalRequest, requestAndRelatedRecords.getRequest()), logEventType));
+    runAsync(() -> publishLogRecord(mapToRequestLogEventJson(originalRequest, requestAndRelatedRecords.getRequest()), logEventType), onCurrentContext());
     return requestAndRelatedRecords;
   }
 
@@ -0,0 +1,315 @@
+package org.folio.circulation.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import lombok.Value;
+
+/**
+ * A file that lines are only ever appended to, and read from the front once, using a
+ * read position kept in a second file (the name of the journal followed by .offset).
+ *
+ * The lines before the read position are discarded once all of the lines have been read,
+ * or when they take up more than half of a large file, so reading a line never involves
+ * rewriting the lines after it.
+ *
+ * Positions are counted from when the journal was opened, so that they stay the same
+ * when lines are discarded. Lines may be read again after a restart when the module
+ * stopped between reading them and moving the read position past them.
+ *
+ * The journal and its copies are only readable by the user the module runs as (where the
+ * file system supports it), as the lines can include tokens and patron details.
+ *
+ * Safe to use from any thread, all of the methods other than {@link #size} and
+ * {@link #isEmpty} block whilst the file is written to.
+ */
+final class JournalFile {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final byte NEW_LINE = '\n';
+  private static final long COMPACTION_THRESHOLD_IN_BYTES = 16L * 1024 * 1024;
+
+  private final Path file;
+  private final Path offsetFile;
+
+  // bytes discarded from the front of the file since the journal was opened
+  private long discarded;
+  private long readOffset;
+  private long length;
+  // only changed once a line has been written or the read position has been moved,
+  // read without waiting for either
+  private volatile long unread;
+
+  JournalFile(Path file) throws IOException {
+    this.file = file;
+    this.offsetFile = file.resolveSibling(file.getFileName() + ".offset");
+
+    open();
+  }
+
+  Path getFile() {
+    return file;
+  }
+
+  /**
+   * @return the position after the line, which can be passed to {@link #skipTo}
+   */
+  synchronized long append(String line) throws IOException {
+    final byte[] bytes = (line + "\n").getBytes(UTF_8);
+
+    try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, APPEND)) {
+      final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+
+    length += bytes.length;
+    unread++;
+
+    return discarded + length;
+  }
+
+  /**
+   * Reads up to {@code limit} lines from the read position, without moving it
+   */
+  synchronized List<Line> read(int limit) throws IOException {
+    final List<Line> lines = new ArrayList<>();
+
+    if (limit < 1 || readOffset >= length) {
+      return lines;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      channel.position(readOffset);
+
+      final InputStream input = new BufferedInputStream(Channels.newInputStream(channel));
+      final ByteArrayOutputStream current = new ByteArrayOutputStream();
+
+      long position = readOffset;
+      int next;
+
+      while (lines.size() < limit && position < length && (next = input.read()) != -1) {
+        position++;
+
+        if (next == NEW_LINE) {
+          lines.add(new Line(current.toString(UTF_8), discarded + position));
+          current.reset();
+        }
+        else {
+          current.write(next);
+        }
+      }
+    }
+
+    return lines;
+  }
+
+  /**
+   * Reads up to {@code limit} lines and moves the read position past them
+   */
+  synchronized List<String> take(int limit) throws IOException {
+    final List<Line> lines = read(limit);
+
+    if (!lines.isEmpty()) {
+      skipTo(lines.get(lines.size() - 1).getEndPosition(), lines.size());
+    }
+
+    final List<String> contents = new ArrayList<>(lines.size());
+
+    lines.forEach(line -> contents.add(line.getContent()));
+
+    return contents;
+  }
+
+  /**
+   * Moves the read position to {@code position}, past {@code numberOfLines} lines
+   */
+  synchronized void skipTo(long position, int numberOfLines) throws IOException {
+    final long offset = position - discarded;
+
+    if (offset <= readOffset) {
+      return;
+    }
+
+    readOffset = Math.min(offset, length);
+    unread = Math.max(unread - numberOfLines, 0);
+
+    if (readOffset >= length) {
+      discardAll();
+    }
+    else if (readOffset > COMPACTION_THRESHOLD_IN_BYTES && readOffset > length / 2) {
+      compact();
+    }
+    else {
+      writeReadOffset(readOffset);
+    }
+  }
+
+  /**
+   * @return the number of lines after the read position
+   */
+  long size() {
+    return unread;
+  }
+
+  boolean isEmpty() {
+    return unread == 0;
+  }
+
+  private void open() throws IOException {
+    if (!Files.exists(file)) {
+      createOwnerOnlyFile(file);
+
+      return;
+    }
+
+    length = Files.size(file);
+    readOffset = Math.min(readReadOffset(), length);
+
+    // a line only partly written when the module stopped is ended, so that it is
+    // not joined to the next line written
+    if (length > 0 && lastByte() != NEW_LINE) {
+      log.warn("Ending incomplete line at the end of {}", file);
+
+      append("");
+    }
+
+    unread = countLines();
+  }
+
+  private long countLines() throws IOException {
+    long count = 0;
+
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      channel.position(readOffset);
+
+      final InputStream input = new BufferedInputStream(Channels.newInputStream(channel));
+      int next;
+
+      while ((next = input.read()) != -1) {
+        if (next == NEW_LINE) {
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  private byte lastByte() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      final ByteBuffer buffer = ByteBuffer.allocate(1);
+
+      channel.read(buffer, length - 1);
+
+      return buffer.get(0);
+    }
+  }
+
+  private void discardAll() throws IOException {
+    // the read position is written first, so stopping part way through
+    // can only cause lines to be read again, rather than lost
+    writeReadOffset(0);
+
+    try (FileChannel channel = FileChannel.open(file, WRITE)) {
+      channel.truncate(0);
+    }
+
+    discarded += length;
+    length = 0;
+    readOffset = 0;
+  }
+
+  private void compact() throws IOException {
+    final Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+
+    Files.deleteIfExists(compacted);
+    createOwnerOnlyFile(compacted);
+
+    try (FileChannel source = FileChannel.open(file, READ);
+      FileChannel target = FileChannel.open(compacted, WRITE, TRUNCATE_EXISTING)) {
+
+      long transferred = 0;
+      final long remaining = length - readOffset;
+
+      while (transferred < remaining) {
+        transferred += source.transferTo(readOffset + transferred,
+          remaining - transferred, target);
+      }
+    }
+
+    writeReadOffset(0);
+    Files.move(compacted, file, REPLACE_EXISTING, ATOMIC_MOVE);
+
+    log.info("Discarded {} bytes of lines already read from {}", readOffset, file);
+
+    discarded += readOffset;
+    length -= readOffset;
+    readOffset = 0;
+  }
+
+  private long readReadOffset() {
+    if (!Files.exists(offsetFile)) {
+      return 0;
+    }
+
+    try {
+      return Long.parseLong(Files.readString(offsetFile, UTF_8).trim());
+    }
+    catch (IOException | NumberFormatException e) {
+      log.error("Failed to read position from {}, reading {} from the start",
+        offsetFile, file, e);
+
+      return 0;
+    }
+  }
+
+  private void writeReadOffset(long offset) throws IOException {
+    final Path written = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+
+    Files.writeString(written, Long.toString(offset), UTF_8, CREATE, WRITE,
+      TRUNCATE_EXISTING);
+    Files.move(written, offsetFile, REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  private static void createOwnerOnlyFile(Path path) throws IOException {
+    try {
+      Files.createFile(path, PosixFilePermissions.asFileAttribute(
+        PosixFilePermissions.fromString("rw-------")));
+    }
+    catch (UnsupportedOperationException e) {
+      Files.createFile(path);
+    }
+  }
+
+  @Value
+  static class Line {
+    String content;
+    long endPosition;
+  }
+}
@@ -1,5 +1,6 @@
 package org.folio.circulation.services;
 
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.circulation.domain.CheckInContext;
@@ -9,6 +10,8 @@ import org.folio.circulation.support.Clients;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.utils.ClockUtil;
 
+import io.vertx.core.json.JsonObject;
+
 public class LogCheckInService {
   private final CheckInStorageRepository checkInStorageRepository;
 
@@ -19,17 +22,35 @@ public class LogCheckInService {
   public CompletableFuture<Result<CheckInContext>> logCheckInOperation(
     CheckInContext checkInContext) {
 
-    final CheckInRecord checkInRecord = CheckInRecord.builder()
+    final CheckInRecord checkInRecord = checkInRecord(checkInContext).build();
+
+    return checkInStorageRepository.createCheckInLogRecord(checkInRecord)
+      .thenApply(result -> result.map(notUsed -> checkInContext));
+  }
+
+  /**
+   * Describes the check in record, with an ID chosen up front, so that logging it more
+   * than once (e.g. when retrying) only creates one record
+   */
+  public JsonObject describeCheckInOperation(CheckInContext checkInContext) {
+    return checkInRecord(checkInContext)
+      .withId(UUID.randomUUID().toString())
+      .build()
+      .toJson();
+  }
+
+  public CompletableFuture<Result<Void>> logCheckInOperation(JsonObject description) {
+    return checkInStorageRepository.createCheckInLogRecordIfAbsent(description);
+  }
+
+  private CheckInRecord.Builder checkInRecord(CheckInContext checkInContext) {
+    return CheckInRecord.builder()
       .withOccurredDateTime(ClockUtil.getDateTime())
       .withItemId(checkInContext.getItem().getItemId())
       .withServicePointId(checkInContext.getCheckInServicePointId().toString())
       .withPerformedByUserId(checkInContext.getLoggedInUserId())
       .withItemStatusPriorToCheckIn(checkInContext.getItem().getStatusName())
       .withItemLocationId(checkInContext.getItem().getLocationId())
-      .withRequestQueueSize(checkInContext.getRequestQueue().size())
-      .build();
-
-    return checkInStorageRepository.createCheckInLogRecord(checkInRecord)
-      .thenApply(result -> result.map(notUsed -> checkInContext));
+      .withRequestQueueSize(checkInContext.getRequestQueue().size());
   }
 }
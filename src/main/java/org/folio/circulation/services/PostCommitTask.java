@@ -0,0 +1,24 @@
+package org.folio.circulation.services;
+
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+import lombok.Value;
+
+/**
+ * A side effect of a request which is run after it has been responded to, described
+ * well enough to be written to a journal and run again after the module restarts
+ */
+@Value
+public class PostCommitTask {
+  /**
+   * Identifies how the task is run, and describes it when it fails
+   */
+  String name;
+  JsonObject description;
+  /**
+   * The Okapi headers of the request (URL, tenant, token and user), so that the task is
+   * run on behalf of that request even when it is run again after the module restarts
+   */
+  Map<String, String> okapiHeaders;
+}
@@ -0,0 +1,344 @@
+package org.folio.circulation.services;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.Context;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Side effects of a request which are run after it has been responded to (e.g. logging
+ * a check in or sending notices), shared by all of the verticle instances.
+ *
+ * Tasks which can be run more than once with the same effect are written to a journal
+ * (POST_COMMIT_TASK_JOURNAL_FILE), along with the Okapi headers of their request, before
+ * being run. A task which fails is retried after POST_COMMIT_TASK_RETRY_DELAY_MILLISECONDS,
+ * doubling for each retry, up to POST_COMMIT_TASK_MAX_ATTEMPTS attempts. Tasks which
+ * had not finished when the module stopped are run again once it has started.
+ *
+ * Other tasks (e.g. sending a notice) are only held in memory and are only tried once,
+ * as trying them again could repeat them.
+ */
+public final class PostCommitTasks {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private static final String NAME = "name";
+  private static final String DESCRIPTION = "description";
+  private static final String OKAPI_HEADERS = "okapiHeaders";
+  private static final int MAXIMUM_RETRY_DELAY_DOUBLINGS = 10;
+
+  private static final PostCommitTasks instance = new PostCommitTasks(
+    Environment.getPostCommitTaskMaximumAttempts(),
+    Environment.getPostCommitTaskRetryDelayInMilliseconds(),
+    Path.of(Environment.getPostCommitTaskJournalFile()));
+
+  private final int maximumAttempts;
+  private final long retryDelayInMilliseconds;
+  private final Path journalFile;
+  private final AtomicBoolean resumeStarted = new AtomicBoolean();
+  private TaskJournal journal;
+
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong resumed = new AtomicLong();
+
+  public static PostCommitTasks getInstance() {
+    return instance;
+  }
+
+  PostCommitTasks(int maximumAttempts, long retryDelayInMilliseconds, Path journalFile) {
+    this.maximumAttempts = Math.max(maximumAttempts, 1);
+    this.retryDelayInMilliseconds = Math.max(retryDelayInMilliseconds, 1);
+    this.journalFile = journalFile;
+  }
+
+  /**
+   * Runs a task once on the given context, it is not retried or written to the journal
+   * as running it again could repeat it, tasks submitted without a context are run
+   * straight away
+   *
+   * @param name  describes the task when it fails
+   */
+  public <T> void submitOnce(String name, Supplier<CompletableFuture<Result<T>>> task,
+    Context context) {
+
+    pending.incrementAndGet();
+
+    if (context == null) {
+      run(name, task, 1, 1, null, () -> {});
+    }
+    else {
+      context.runOnContext(notUsed -> run(name, task, 1, 1, context, () -> {}));
+    }
+  }
+
+  /**
+   * Writes a task to the journal and then runs it on the given context,
+   * retrying it if it fails. A task which has not finished when the module stops is run
+   * again by {@link #resume}, so running it more than once must have the same effect as
+   * running it once (e.g. by only creating a record when one with the ID in the
+   * description does not already exist). Tasks submitted without a context are run
+   * straight away and are not retried
+   */
+  public void submit(PostCommitTask task,
+    Function<PostCommitTask, CompletableFuture<Result<Void>>> handler, Context context) {
+
+    pending.incrementAndGet();
+
+    if (context == null) {
+      run(task.getName(), () -> handler.apply(task), 1, 1, null, () -> {});
+
+      return;
+    }
+
+    final String line = new JsonObject()
+      .put(NAME, task.getName())
+      .put(DESCRIPTION, task.getDescription())
+      .put(OKAPI_HEADERS, new JsonObject(new HashMap<>(task.getOkapiHeaders())))
+      .encode();
+
+    context.<Long>executeBlocking(promise -> {
+      try {
+        promise.complete(journal().add(line));
+      }
+      catch (IOException e) {
+        promise.fail(e);
+      }
+    }, true)
+      .onComplete(written -> {
+        final Runnable onFinished;
+
+        if (written.succeeded()) {
+          onFinished = () -> finish(written.result(), context);
+        }
+        else {
+          log.error("Failed to write {} to {}, it will not be run again if the module "
+            + "stops: {}", task.getName(), journalFile, line, written.cause());
+
+          onFinished = () -> {};
+        }
+
+        run(task.getName(), () -> handler.apply(task), 1, maximumAttempts, context,
+          onFinished);
+      });
+  }
+
+  /**
+   * Runs the tasks left in the journal by an earlier run of the module on the given
+   * context (which should belong to the module rather than a request), only the first
+   * time that this is called. Each task is run on behalf of the request it was
+   * submitted for, using the Okapi headers written to the journal with it
+   */
+  public void resume(Function<PostCommitTask, CompletableFuture<Result<Void>>> handler,
+    Context context) {
+
+    if (context == null || !resumeStarted.compareAndSet(false, true)) {
+      return;
+    }
+
+    context.<List<JournalFile.Line>>executeBlocking(promise -> {
+      try {
+        promise.complete(journal().takeLeftOver());
+      }
+      catch (IOException e) {
+        promise.fail(e);
+      }
+    }, false)
+      .onSuccess(lines -> lines.forEach(line -> resume(line, handler, context)))
+      .onFailure(cause -> {
+        resumeStarted.set(false);
+
+        log.error("Failed to read tasks left in {}", journalFile, cause);
+      });
+  }
+
+  public JsonObject getStatistics() {
+    return new JsonObject()
+      .put("pending", pending.get())
+      .put("completed", completed.get())
+      .put("retried", retried.get())
+      .put("failed", failed.get())
+      .put("resumed", resumed.get());
+  }
+
+  private void resume(JournalFile.Line line,
+    Function<PostCommitTask, CompletableFuture<Result<Void>>> handler, Context context) {
+
+    final PostCommitTask task = decode(line.getContent());
+
+    if (task == null) {
+      finish(line.getEndPosition(), context);
+
+      return;
+    }
+
+    pending.incrementAndGet();
+    resumed.incrementAndGet();
+
+    log.info("Running {} left unfinished by an earlier run: {}", task.getName(),
+      task.getDescription());
+
+    run(task.getName(), () -> handler.apply(task), 1, maximumAttempts, context,
+      () -> finish(line.getEndPosition(), context));
+  }
+
+  private <T> void run(String name, Supplier<CompletableFuture<Result<T>>> task,
+    int attempt, int allowedAttempts, Context context, Runnable onFinished) {
+
+    CompletableFuture<Result<T>> taskResult;
+
+    try {
+      taskResult = task.get();
+    }
+    catch (Exception e) {
+      taskResult = CompletableFuture.failedFuture(e);
+    }
+
+    taskResult.whenComplete((result, throwable) -> {
+      if (throwable == null && result != null && result.succeeded()) {
+        pending.decrementAndGet();
+        completed.incrementAndGet();
+        onFinished.run();
+      }
+      else {
+        retryOrGiveUp(name, task, attempt, allowedAttempts, context, onFinished,
+          throwable != null || result == null ? throwable : result.cause());
+      }
+    });
+  }
+
+  private <T> void retryOrGiveUp(String name, Supplier<CompletableFuture<Result<T>>> task,
+    int attempt, int allowedAttempts, Context context, Runnable onFinished, Object cause) {
+
+    if (attempt >= allowedAttempts || context == null) {
+      pending.decrementAndGet();
+      failed.incrementAndGet();
+      onFinished.run();
+
+      log.error("Failed to {} after {} attempts: {}", name, attempt, cause);
+
+      return;
+    }
+
+    final long delay = retryDelayInMilliseconds
+      << Math.min(attempt - 1, MAXIMUM_RETRY_DELAY_DOUBLINGS);
+
+    retried.incrementAndGet();
+
+    log.warn("Failed to {}, retrying in {} ms: {}", name, delay, cause);
+
+    context.owner().setTimer(delay, timerId ->
+      run(name, task, attempt + 1, allowedAttempts, context, onFinished));
+  }
+
+  private void finish(long position, Context context) {
+    context.<Void>executeBlocking(promise -> {
+      try {
+        journal().finished(position);
+        promise.complete();
+      }
+      catch (IOException e) {
+        promise.fail(e);
+      }
+    }, false)
+      .onFailure(cause -> log.error("Failed to move the read position of {}",
+        journalFile, cause));
+  }
+
+  private PostCommitTask decode(String line) {
+    try {
+      final JsonObject representation = new JsonObject(line);
+      final Map<String, String> okapiHeaders = new HashMap<>();
+
+      representation.getJsonObject(OKAPI_HEADERS, new JsonObject())
+        .forEach(header -> okapiHeaders.put(header.getKey(), (String) header.getValue()));
+
+      return new PostCommitTask(representation.getString(NAME),
+        representation.getJsonObject(DESCRIPTION), okapiHeaders);
+    }
+    catch (DecodeException | ClassCastException e) {
+      log.error("Discarding task which cannot be read from {}: {}", journalFile, line, e);
+
+      return null;
+    }
+  }
+
+  private synchronized TaskJournal journal() throws IOException {
+    if (journal == null) {
+      journal = new TaskJournal(new JournalFile(journalFile));
+    }
+
+    return journal;
+  }
+
+  /**
+   * The journal, and which of the tasks written to it have finished, so that the read
+   * position is only moved past a task once it and all of the tasks written before it
+   * have finished
+   */
+  private static class TaskJournal {
+    private final JournalFile journal;
+    // whether each task that is still in the journal has finished, by end position
+    private final NavigableMap<Long, Boolean> finished = new TreeMap<>();
+    private final List<JournalFile.Line> leftOver;
+
+    private TaskJournal(JournalFile journal) throws IOException {
+      this.journal = journal;
+      this.leftOver = new ArrayList<>(journal.read(Integer.MAX_VALUE));
+
+      leftOver.forEach(line -> finished.put(line.getEndPosition(), false));
+    }
+
+    private synchronized long add(String line) throws IOException {
+      final long position = journal.append(line);
+
+      finished.put(position, false);
+
+      return position;
+    }
+
+    private synchronized List<JournalFile.Line> takeLeftOver() {
+      final List<JournalFile.Line> taken = new ArrayList<>(leftOver);
+
+      leftOver.clear();
+
+      return taken;
+    }
+
+    private synchronized void finished(long position) throws IOException {
+      finished.replace(position, true);
+
+      long readTo = -1;
+      int numberOfLines = 0;
+
+      while (!finished.isEmpty() && Boolean.TRUE.equals(finished.firstEntry().getValue())) {
+        readTo = finished.pollFirstEntry().getKey();
+        numberOfLines++;
+      }
+
+      if (numberOfLines > 0) {
+        journal.skipTo(readTo, numberOfLines);
+      }
+    }
+  }
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
 import org.folio.circulation.support.http.server.WebContext;
 import org.folio.rest.jaxrs.model.Event;
 import org.folio.rest.jaxrs.model.EventMetadata;
@@ -35,22 +36,37 @@ public class PubSubPublishingService {
     vertxContext = Vertx.currentContext();
   }
 
+  /**
+   * Publishes an event, when the outbox is enabled the event is published in the
+   * background and the result is only whether it was accepted by the outbox
+   */
   public CompletableFuture<Boolean> publishEvent(String eventType, String payload) {
-    Event event = new Event()
-      .withId(UUID.randomUUID().toString())
-      .withEventType(eventType)
-      .withEventPayload(payload)
-      .withEventMetadata(new EventMetadata()
-        .withPublishedBy(PubSubClientUtils.constructModuleName())
-        .withTenantId(okapiHeaders.get(OKAPI_TENANT_HEADER))
-        .withEventTTL(1));
+    return publishEvent(UUID.randomUUID().toString(), eventType, payload);
+  }
+
+  /**
+   * Publishes an event with an ID chosen by the caller, so that publishing the same
+   * event again (e.g. when retrying) can be recognised by the subscribers
+   */
+  public CompletableFuture<Boolean> publishEvent(String id, String eventType,
+    String payload) {
+
+    Event event = createEvent(id, eventType, payload,
+      okapiHeaders.get(OKAPI_TENANT_HEADER));
 
-    final CompletableFuture<Boolean> publishResult = new CompletableFuture<>();
     OkapiConnectionParams params = new OkapiConnectionParams();
     params.setOkapiUrl(okapiHeaders.get(OKAPI_URL_HEADER));
     params.setTenantId(okapiHeaders.get(OKAPI_TENANT_HEADER));
     params.setToken(okapiHeaders.get(OKAPI_TOKEN_HEADER));
 
+    if (Environment.isPubSubOutboxEnabled()) {
+      EventOutbox.getInstance().enqueue(event, params);
+
+      return CompletableFuture.completedFuture(true);
+    }
+
+    final CompletableFuture<Boolean> publishResult = new CompletableFuture<>();
+
     vertxContext.runOnContext(v -> PubSubClientUtils.sendEventMessage(event, params)
       .whenComplete((result, throwable) -> {
         if (Boolean.TRUE.equals(result)) {
@@ -71,4 +87,15 @@ public class PubSubPublishingService {
 
     return publishResult;
   }
+
+  static Event createEvent(String id, String eventType, String payload, String tenantId) {
+    return new Event()
+      .withId(id)
+      .withEventType(eventType)
+      .withEventPayload(payload)
+      .withEventMetadata(new EventMetadata()
+        .withPublishedBy(PubSubClientUtils.constructModuleName())
+        .withTenantId(tenantId)
+        .withEventTTL(1));
+  }
 }
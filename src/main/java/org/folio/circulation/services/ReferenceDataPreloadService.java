@@ -0,0 +1,62 @@
+package org.folio.circulation.services;
+
+import static java.util.function.Function.identity;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.CAMPUS;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.INSTITUTION;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LIBRARY;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LOAN_TYPE;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LOCATION;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.MATERIAL_TYPE;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.SERVICE_POINT;
+import static org.folio.circulation.support.http.client.PageLimit.oneThousand;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.Clients;
+import org.folio.circulation.support.CollectionResourceClient;
+import org.folio.circulation.support.cache.ReferenceDataCache;
+import org.folio.circulation.support.cache.ReferenceDataCache.RecordType;
+
+/**
+ * Fills the reference data cache for a tenant, so that the first check outs,
+ * check ins and renewals don't have to fetch locations, service points etc.
+ * Only the first thousand records of each type are loaded.
+ */
+public class ReferenceDataPreloadService {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private final Clients clients;
+
+  public ReferenceDataPreloadService(Clients clients) {
+    this.clients = clients;
+  }
+
+  public CompletableFuture<Void> preload() {
+    return allOf(
+      preload(LOCATION, clients.locationsStorage(), "locations"),
+      preload(LIBRARY, clients.librariesStorage(), "loclibs"),
+      preload(CAMPUS, clients.campusesStorage(), "loccamps"),
+      preload(INSTITUTION, clients.institutionsStorage(), "locinsts"),
+      preload(SERVICE_POINT, clients.servicePointsStorage(), "servicepoints"),
+      preload(MATERIAL_TYPE, clients.materialTypesStorage(), "mtypes"),
+      preload(LOAN_TYPE, clients.loanTypesStorage(), "loantypes"));
+  }
+
+  private CompletableFuture<Void> preload(RecordType recordType,
+    CollectionResourceClient client, String recordsPropertyName) {
+
+    return client.get(oneThousand())
+      .thenApply(r -> r.next(response -> MultipleRecords.from(response, identity(),
+        recordsPropertyName)))
+      .thenAccept(r -> r.applySideEffect(
+        records -> ReferenceDataCache.getInstance().preload(clients.getTenantId(),
+          recordType, records.getRecords()),
+        failure -> log.warn("Could not preload {} records for tenant {}: {}",
+          recordType, clients.getTenantId(), failure)));
+  }
+}
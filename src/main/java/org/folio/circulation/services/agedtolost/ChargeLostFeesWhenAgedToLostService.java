@@ -10,9 +10,12 @@ import static org.folio.circulation.domain.representations.LoanProperties.ITEM_S
 import static org.folio.circulation.domain.representations.LoanProperties.LOST_ITEM_HAS_BEEN_BILLED;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
 import static org.folio.circulation.support.CqlSortBy.ascending;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.folio.circulation.support.fetching.KeysetPagination.keysetPagination;
 import static org.folio.circulation.support.ValidationErrorFailure.singleValidationError;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 import static org.folio.circulation.support.http.client.CqlQuery.lessThanOrEqualTo;
+import static org.folio.circulation.support.json.JsonPropertyFetcher.getNestedStringProperty;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -31,6 +34,7 @@ import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.Environment;
 import org.folio.circulation.StoreLoanAndItem;
 import org.folio.circulation.domain.FeeFine;
 import org.folio.circulation.domain.FeeFineOwner;
@@ -60,6 +64,11 @@ import lombok.val;
 public class ChargeLostFeesWhenAgedToLostService {
   private static final Logger log = LogManager.getLogger(ChargeLostFeesWhenAgedToLostService.class);
 
+  private static final int MAXIMUM_PAGES_IN_FLIGHT = 3;
+  private static final int MAXIMUM_PAGES_PROCESSED_CONCURRENTLY = 2;
+  private static final String BILLING_DATE_PROPERTY = AGED_TO_LOST_DELAYED_BILLING + "."
+    + DATE_LOST_ITEM_SHOULD_BE_BILLED;
+
   private final LostItemPolicyRepository lostItemPolicyRepository;
   private final FeeFineOwnerRepository feeFineOwnerRepository;
   private final FeeFineRepository feeFineRepository;
@@ -82,7 +91,11 @@ public class ChargeLostFeesWhenAgedToLostService {
     this.userRepository = new UserRepository(clients);
     this.storeLoanAndItem = new StoreLoanAndItem(loanRepository, itemRepository);
     this.eventPublisher = new EventPublisher(clients.pubSubPublishingService());
-    this.loanPageableFetcher = new PageableFetcher<>(loanRepository);
+    this.loanPageableFetcher = new PageableFetcher<>(loanRepository)
+      .withKeysetPagination(keysetPagination(BILLING_DATE_PROPERTY,
+        loan -> getNestedStringProperty(loan.asJson(), AGED_TO_LOST_DELAYED_BILLING,
+          DATE_LOST_ITEM_SHOULD_BE_BILLED), Loan::getId))
+      .withPrefetching(MAXIMUM_PAGES_IN_FLIGHT, MAXIMUM_PAGES_PROCESSED_CONCURRENTLY);
     this.feeFineScheduledNoticeService = FeeFineScheduledNoticeService.using(clients);
   }
 
@@ -105,7 +118,7 @@ public class ChargeLostFeesWhenAgedToLostService {
 
         return succeeded(LoanToChargeFees.usingLoans(allLoans))
           .after(this::fetchFeeFineOwners)
-          .thenComposeAsync(this::fetchFeeFineTypes)
+          .thenComposeAsync(this::fetchFeeFineTypes, onCurrentContext())
           .thenCompose(this::chargeLostFeesForLoans)
           .thenCompose(this::publishClosedLoansLogEvents);
       }));
@@ -115,7 +128,8 @@ public class ChargeLostFeesWhenAgedToLostService {
     Result<List<LoanToChargeFees>> loansToChargeFeesResult) {
 
     return loansToChargeFeesResult
-      .after(loansToChargeFees -> allOf(loansToChargeFees, this::chargeLostFeesForLoan));
+      .after(loansToChargeFees -> allOf(loansToChargeFees, this::chargeLostFeesForLoan,
+        Environment.getStorageWriteConcurrency()));
   }
 
   private CompletableFuture<Result<Loan>> chargeLostFeesForLoan(LoanToChargeFees loanToChargeFees) {
@@ -223,25 +237,23 @@ public class ChargeLostFeesWhenAgedToLostService {
 
     return itemRepository.fetchItemsFor(succeeded(loans), Loan::withItem)
       .thenCompose(r -> r.after(multipleLoans -> userRepository.findUsersForLoans(multipleLoans)))
-      .thenComposeAsync(r -> r.after(lostItemPolicyRepository::findLostItemPoliciesForLoans));
+      .thenComposeAsync(r -> r.after(lostItemPolicyRepository::findLostItemPoliciesForLoans), onCurrentContext());
   }
 
   private Result<CqlQuery> loanFetchQuery() {
-    final String billingDateProperty = AGED_TO_LOST_DELAYED_BILLING + "."
-      + DATE_LOST_ITEM_SHOULD_BE_BILLED;
     final String lostItemHasBeenBilled = AGED_TO_LOST_DELAYED_BILLING + "."
       + LOST_ITEM_HAS_BEEN_BILLED;
 
     final DateTime currentDate = ClockUtil.getDateTime();
 
-    final Result<CqlQuery> billingDateQuery = lessThanOrEqualTo(billingDateProperty, currentDate);
+    final Result<CqlQuery> billingDateQuery = lessThanOrEqualTo(BILLING_DATE_PROPERTY, currentDate);
     final Result<CqlQuery> agedToLostQuery = exactMatch(ITEM_STATUS, AGED_TO_LOST.getValue());
     final Result<CqlQuery> hasNotBeenBilledQuery = exactMatch(
       lostItemHasBeenBilled, "false");
 
     return billingDateQuery.combine(agedToLostQuery, CqlQuery::and)
       .combine(hasNotBeenBilledQuery, CqlQuery::and)
-      .map(query -> query.sortBy(ascending(billingDateProperty)));
+      .map(query -> query.sortBy(ascending(BILLING_DATE_PROPERTY)));
   }
 
   private Result<LoanToChargeFees> validateCanCreateAccountForLoan(LoanToChargeFees loanToChargeFees) {
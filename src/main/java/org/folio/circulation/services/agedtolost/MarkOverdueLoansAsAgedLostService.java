@@ -3,12 +3,15 @@ package org.folio.circulation.services.agedtolost;
 import static org.folio.circulation.domain.ItemStatus.AGED_TO_LOST;
 import static org.folio.circulation.domain.ItemStatus.CLAIMED_RETURNED;
 import static org.folio.circulation.domain.ItemStatus.DECLARED_LOST;
+import static org.folio.circulation.domain.representations.LoanProperties.DUE_DATE;
 import static org.folio.circulation.infrastructure.storage.inventory.ItemRepository.noLocationMaterialTypeAndLoanTypeInstance;
 import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
 import static org.folio.circulation.support.CqlSortBy.ascending;
+import static org.folio.circulation.support.fetching.KeysetPagination.keysetPagination;
 import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 import static org.folio.circulation.support.http.client.CqlQuery.lessThan;
 import static org.folio.circulation.support.http.client.CqlQuery.notEqual;
+import static org.folio.circulation.support.json.JsonPropertyFetcher.getProperty;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.folio.circulation.support.utils.DateFormatUtil.formatDateTime;
 
@@ -37,6 +40,9 @@ import org.joda.time.DateTime;
 public class MarkOverdueLoansAsAgedLostService {
   private static final Logger log = LogManager.getLogger(MarkOverdueLoansAsAgedLostService.class);
 
+  private static final int MAXIMUM_PAGES_IN_FLIGHT = 3;
+  private static final int MAXIMUM_PAGES_PROCESSED_CONCURRENTLY = 2;
+
   private final LostItemPolicyRepository lostItemPolicyRepository;
   private final ItemRepository itemRepository;
   private final StoreLoanAndItem storeLoanAndItem;
@@ -50,7 +56,10 @@ public class MarkOverdueLoansAsAgedLostService {
     this.itemRepository = noLocationMaterialTypeAndLoanTypeInstance(clients);
     this.storeLoanAndItem = new StoreLoanAndItem(clients);
     this.eventPublisher = new EventPublisher(clients.pubSubPublishingService());
-    this.loanPageableFetcher = new PageableFetcher<>(new LoanRepository(clients));
+    this.loanPageableFetcher = new PageableFetcher<>(new LoanRepository(clients))
+      .withKeysetPagination(keysetPagination(DUE_DATE,
+        loan -> getProperty(loan.asJson(), DUE_DATE), Loan::getId))
+      .withPrefetching(MAXIMUM_PAGES_IN_FLIGHT, MAXIMUM_PAGES_PROCESSED_CONCURRENTLY);
     this.loanScheduledNoticeService = LoanScheduledNoticeService.using(clients);
     this.userRepository = new UserRepository(clients);
   }
@@ -111,7 +120,7 @@ public class MarkOverdueLoansAsAgedLostService {
 
     return loanRecordsResult
       .map(MultipleRecords::getRecords)
-      .after(loans -> allOf(loans, storeLoanAndItem::updateLoanAndItemInStorage));
+      .after(storeLoanAndItem::updateLoansAndItemsInStorage);
   }
 
   private Result<MultipleRecords<Loan>> getLoansThatHaveToBeAgedToLost(
@@ -139,7 +148,7 @@ public class MarkOverdueLoansAsAgedLostService {
 
   private Result<CqlQuery> loanFetchQuery() {
     final Result<CqlQuery> statusQuery = exactMatch("status.name", "Open");
-    final Result<CqlQuery> dueDateQuery = lessThan("dueDate", formatDateTime(ClockUtil.getDateTime()));
+    final Result<CqlQuery> dueDateQuery = lessThan(DUE_DATE, formatDateTime(ClockUtil.getDateTime()));
     final Result<CqlQuery> claimedReturnedQuery = notEqual("itemStatus", CLAIMED_RETURNED.getValue());
     final Result<CqlQuery> agedToLostQuery = notEqual("itemStatus", AGED_TO_LOST.getValue());
     final Result<CqlQuery> declaredLostQuery = notEqual("itemStatus", DECLARED_LOST.getValue());
@@ -148,7 +157,7 @@ public class MarkOverdueLoansAsAgedLostService {
       .combine(claimedReturnedQuery, CqlQuery::and)
       .combine(agedToLostQuery, CqlQuery::and)
       .combine(declaredLostQuery, CqlQuery::and)
-      .map(query -> query.sortBy(ascending("dueDate")));
+      .map(query -> query.sortBy(ascending(DUE_DATE)));
   }
 
   private CompletableFuture<Result<Void>> scheduleAgedToLostNotices(Result<List<Loan>> result) {
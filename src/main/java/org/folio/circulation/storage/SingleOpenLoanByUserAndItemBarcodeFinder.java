@@ -1,5 +1,6 @@
 package org.folio.circulation.storage;
 
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.succeeded;
 import static org.folio.circulation.support.ValidationErrorFailure.failedValidation;
 
@@ -42,9 +43,9 @@ public class SingleOpenLoanByUserAndItemBarcodeFinder {
       this.userRepository, false);
 
     return itemFinder.findItemByBarcode(itemBarcode)
-      .thenComposeAsync(itemResult -> itemResult.after(singleOpenLoanFinder::findSingleOpenLoan))
+      .thenComposeAsync(itemResult -> itemResult.after(singleOpenLoanFinder::findSingleOpenLoan), onCurrentContext())
       .thenApply(UserNotFoundValidator::refuseWhenUserNotFound)
-      .thenComposeAsync(loanResult -> loanResult.after(refuseWhenUserDoesNotMatch(userBarcode)));
+      .thenComposeAsync(loanResult -> loanResult.after(refuseWhenUserDoesNotMatch(userBarcode)), onCurrentContext());
   }
 
   private Function<Loan, CompletableFuture<Result<Loan>>> refuseWhenUserDoesNotMatch(
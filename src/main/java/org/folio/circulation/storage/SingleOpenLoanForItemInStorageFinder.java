@@ -3,7 +3,9 @@ package org.folio.circulation.storage;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static org.folio.circulation.domain.validation.CommonFailures.moreThanOneOpenLoanFailure;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 import static org.folio.circulation.support.results.Result.of;
+import static org.folio.circulation.support.results.Result.succeeded;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +36,17 @@ public class SingleOpenLoanForItemInStorageFinder {
   }
 
   public CompletableFuture<Result<Loan>> findSingleOpenLoan(Item item) {
+    return loanRepository.findOpenLoans(item)
+      .thenCompose(r -> r.after(openLoans -> findSingleOpenLoan(item, openLoans)));
+  }
+
+  /**
+   * Same as {@link #findSingleOpenLoan(Item)} for open loans that have already been fetched
+   * (e.g. in bulk for several items)
+   */
+  public CompletableFuture<Result<Loan>> findSingleOpenLoan(Item item,
+    MultipleRecords<Loan> openLoans) {
+
     //Use same error for no loans and more than one loan to maintain compatibility
     final MoreThanOneLoanValidator moreThanOneLoanValidator
       = new MoreThanOneLoanValidator(moreThanOneOpenLoanFailure(item.getBarcode()));
@@ -41,12 +54,12 @@ public class SingleOpenLoanForItemInStorageFinder {
     final NoLoanValidator noLoanValidator
       = new NoLoanValidator(moreThanOneOpenLoanFailure(item.getBarcode()));
 
-    return loanRepository.findOpenLoans(item)
+    return completedFuture(succeeded(openLoans))
       .thenApply(moreThanOneLoanValidator::failWhenMoreThanOneLoan)
       .thenApply(loanResult -> loanResult.map(this::getFirstLoan))
       .thenApply(checkForNoLoanIfNeeded(noLoanValidator, allowNoLoanToBeFound))
       .thenApply(loanResult -> loanResult.map(loan -> mapPossibleSingleLoan(loan, item)))
-      .thenComposeAsync(this::fetchUser)
+      .thenComposeAsync(this::fetchUser, onCurrentContext())
       .thenApply(loanResult -> loanResult.map(possibleLoan -> possibleLoan.orElse(null)));
   }
 
@@ -1,8 +1,11 @@
 package org.folio.circulation.support;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,4 +43,123 @@ public class AsyncCoordinationUtil {
       .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
   }
 
+  /**
+   * Applies {@code asyncAction} to all the elements in {@code collection},
+   * with no more than {@code maximumInFlight} of the actions incomplete at any time,
+   * and returns a CompletableFuture with a list of all results in the order of the elements
+   */
+  public static <T, R> CompletableFuture<List<Result<R>>> allResultsOf(
+    Collection<T> collection, Function<T, CompletableFuture<Result<R>>> asyncAction,
+    int maximumInFlight) {
+
+    if (maximumInFlight < 1) {
+      throw new IllegalArgumentException("maximumInFlight must be at least 1");
+    }
+
+    return new BoundedCoordination<>(new ArrayList<>(collection), asyncAction)
+      .start(maximumInFlight);
+  }
+
+  /**
+   * Applies {@code asyncAction} to all the elements in {@code collection},
+   * with no more than {@code maximumInFlight} of the actions incomplete at any time,
+   * and combines results to list
+   */
+  public static <T, R> CompletableFuture<Result<List<R>>> allOf(
+    Collection<T> collection, Function<T, CompletableFuture<Result<R>>> asyncAction,
+    int maximumInFlight) {
+
+    return allResultsOf(collection, asyncAction, maximumInFlight)
+      .thenApply(Result::combineAll);
+  }
+
+  /**
+   * Each of the lanes takes the next element once its previous action completes,
+   * actions that complete immediately are handled in a loop rather than recursively
+   */
+  private static class BoundedCoordination<T, R> {
+    private final List<T> elements;
+    private final Function<T, CompletableFuture<Result<R>>> asyncAction;
+    private final Result<R>[] results;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<List<Result<R>>> completed = new CompletableFuture<>();
+
+    @SuppressWarnings("unchecked")
+    private BoundedCoordination(List<T> elements,
+      Function<T, CompletableFuture<Result<R>>> asyncAction) {
+
+      this.elements = elements;
+      this.asyncAction = asyncAction;
+      this.results = new Result[elements.size()];
+      this.remaining = new AtomicInteger(elements.size());
+    }
+
+    private CompletableFuture<List<Result<R>>> start(int maximumInFlight) {
+      if (elements.isEmpty()) {
+        return CompletableFuture.completedFuture(new ArrayList<>());
+      }
+
+      for (int lane = 0; lane < Math.min(maximumInFlight, elements.size()); lane++) {
+        runLane();
+      }
+
+      return completed;
+    }
+
+    private void runLane() {
+      int index;
+
+      while (!completed.isDone() && (index = nextIndex.getAndIncrement()) < elements.size()) {
+        final int elementIndex = index;
+        final CompletableFuture<Result<R>> action;
+
+        try {
+          action = asyncAction.apply(elements.get(elementIndex));
+        } catch (Exception e) {
+          completed.completeExceptionally(e);
+          return;
+        }
+
+        if (!action.isDone()) {
+          action.whenComplete((result, throwable) -> {
+            if (finished(elementIndex, result, throwable)) {
+              runLane();
+            }
+          });
+
+          return;
+        }
+
+        if (action.isCompletedExceptionally()) {
+          finished(elementIndex, null, failureOf(action));
+          return;
+        }
+
+        if (!finished(elementIndex, action.getNow(null), null)) {
+          return;
+        }
+      }
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> action) {
+      // handle runs immediately for an already completed future
+      return action.handle((result, throwable) -> throwable).join();
+    }
+
+    private boolean finished(int index, Result<R> result, Throwable throwable) {
+      if (throwable != null) {
+        completed.completeExceptionally(throwable);
+        return false;
+      }
+
+      results[index] = result;
+
+      if (remaining.decrementAndGet() == 0) {
+        completed.complete(Arrays.asList(results));
+      }
+
+      return true;
+    }
+  }
 }
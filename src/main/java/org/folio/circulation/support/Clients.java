@@ -2,6 +2,7 @@ package org.folio.circulation.support;
 
 import java.net.MalformedURLException;
 
+import org.folio.circulation.infrastructure.storage.inventory.LocationRepository;
 import org.folio.circulation.rules.CirculationRulesProcessor;
 import org.folio.circulation.services.PubSubPublishingService;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
@@ -10,6 +11,7 @@ import org.folio.circulation.support.http.server.WebContext;
 import io.vertx.core.http.HttpClient;
 
 public class Clients {
+  private final String tenantId;
   private final CollectionResourceClient requestsStorageClient;
   private final CollectionResourceClient requestsBatchStorageClient;
   private final CollectionResourceClient cancellationReasonStorageClient;
@@ -67,6 +69,8 @@ public class Clients {
   }
 
   private Clients(OkapiHttpClient client, WebContext context) {
+    tenantId = context.getTenantId();
+
     try {
       requestsStorageClient = createRequestsStorageClient(client, context);
       requestsBatchStorageClient = createRequestsBatchStorageClient(client, context);
@@ -117,7 +121,7 @@ public class Clients {
       noteTypesClient = createNoteTypesClient(client, context);
       pubSubPublishingService = createPubSubPublishingService(context);
       circulationRulesProcessor = new CirculationRulesProcessor(context.getTenantId(),
-        circulationRulesStorageClient, locationsStorageClient);
+        circulationRulesStorageClient, LocationRepository.using(this));
       accountsRefundClient = createAccountsRefundClient(client, context);
       accountsCancelClient = createAccountsCancelClient(client, context);
     }
@@ -126,6 +130,10 @@ public class Clients {
     }
   }
 
+  public String getTenantId() {
+    return tenantId;
+  }
+
   public CollectionResourceClient requestsStorage() {
     return requestsStorageClient;
   }
@@ -54,6 +54,14 @@ public class VertxAssistant {
     Class<T> verticleClass,
     JsonObject config) {
 
+    return deployVerticle(verticleClass, config, 1);
+  }
+
+  public <T> CompletableFuture<String> deployVerticle(
+    Class<T> verticleClass,
+    JsonObject config,
+    int instances) {
+
     String verticleClass1 = verticleClass.getName();
 
     CompletableFuture<String> deployed = new CompletableFuture<>();
@@ -64,12 +72,14 @@ public class VertxAssistant {
 
     options.setConfig(config);
     options.setWorker(true);
+    options.setInstances(instances);
 
     vertx.deployVerticle(verticleClass1, options, result -> {
       if (result.succeeded()) {
         long elapsedTime = System.currentTimeMillis() - startTime;
 
-        log.info("{} deployed in {} milliseconds", verticleClass1, elapsedTime);
+        log.info("{} ({} instances) deployed in {} milliseconds", verticleClass1,
+          instances, elapsedTime);
 
         deployed.complete(result.result());
       } else {
@@ -0,0 +1,60 @@
+package org.folio.circulation.support.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Counters describing how well an in-memory cache is doing, safe to update
+ * from any thread.
+ */
+public class CacheStatistics {
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong loads = new AtomicLong();
+  private final AtomicLong totalLoadTimeInMilliseconds = new AtomicLong();
+  private final AtomicLong lastLoadTimeInMilliseconds = new AtomicLong();
+
+  public void recordHit() {
+    hits.incrementAndGet();
+  }
+
+  public void recordMiss() {
+    misses.incrementAndGet();
+  }
+
+  public void recordLoad(long loadTimeInMilliseconds) {
+    loads.incrementAndGet();
+    totalLoadTimeInMilliseconds.addAndGet(loadTimeInMilliseconds);
+    lastLoadTimeInMilliseconds.set(loadTimeInMilliseconds);
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getLoads() {
+    return loads.get();
+  }
+
+  public double getHitRate() {
+    final long hitCount = getHits();
+    final long requestCount = hitCount + getMisses();
+
+    return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("hits", getHits())
+      .put("misses", getMisses())
+      .put("hitRate", getHitRate())
+      .put("loads", getLoads())
+      .put("totalLoadTimeInMilliseconds", totalLoadTimeInMilliseconds.get())
+      .put("lastLoadTimeInMilliseconds", lastLoadTimeInMilliseconds.get());
+  }
+}
@@ -0,0 +1,97 @@
+package org.folio.circulation.support.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * A map holding at most a fixed number of entries, when full the least recently used
+ * entry is dropped. Safe to use from any thread.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class LruCache<K, V> {
+  private final Map<K, V> entries;
+  private final CacheStatistics statistics = new CacheStatistics();
+
+  public LruCache(int maximumSize) {
+    this(maximumSize, (key, value) -> { });
+  }
+
+  /**
+   * @param onEviction  called with each entry dropped to make room, whilst the cache
+   *                    is locked, so should be quick
+   */
+  public LruCache(int maximumSize, BiConsumer<K, V> onEviction) {
+    entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        final boolean full = size() > maximumSize;
+
+        if (full) {
+          onEviction.accept(eldest.getKey(), eldest.getValue());
+        }
+
+        return full;
+      }
+    };
+  }
+
+  /**
+   * @return the value for the key or null when there is none
+   */
+  public synchronized V get(K key) {
+    final V value = entries.get(key);
+
+    if (value == null) {
+      statistics.recordMiss();
+    } else {
+      statistics.recordHit();
+    }
+
+    return value;
+  }
+
+  /**
+   * @return the previous value for the key or null when there was none
+   */
+  public synchronized V put(K key, V value) {
+    return entries.put(key, value);
+  }
+
+  /**
+   * Replaces the value for the key, when there is one, with the result of the function
+   *
+   * @return the new value or null when there was no value for the key
+   */
+  public synchronized V computeIfPresent(K key, BiFunction<K, V, V> function) {
+    return entries.computeIfPresent(key, function);
+  }
+
+  /**
+   * Replaces each value with the result of the function, without changing how
+   * recently the entries were used
+   */
+  public synchronized void replaceAll(BiFunction<K, V, V> function) {
+    entries.replaceAll(function);
+  }
+
+  public synchronized void removeIf(Predicate<K> keyPredicate) {
+    entries.keySet().removeIf(keyPredicate);
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
+}
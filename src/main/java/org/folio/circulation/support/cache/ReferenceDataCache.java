@@ -0,0 +1,171 @@
+package org.folio.circulation.support.cache;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.completeOnCurrentContext;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.folio.Environment;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.json.JsonObject;
+import lombok.Value;
+
+/**
+ * Reference data records (locations and their library, campus and institution,
+ * service points, material types and loan types) fetched by id, for each tenant.
+ *
+ * These rarely change, so records are kept for a limited time (REFERENCE_DATA_CACHE_TTL_SECONDS)
+ * and only a limited number of them (REFERENCE_DATA_CACHE_SIZE). Concurrent requests for a
+ * record that isn't cached share a single fetch. Records that are not found are not cached.
+ */
+public final class ReferenceDataCache {
+  public enum RecordType {
+    LOCATION,
+    LIBRARY,
+    CAMPUS,
+    INSTITUTION,
+    SERVICE_POINT,
+    MATERIAL_TYPE,
+    LOAN_TYPE
+  }
+
+  private static final ReferenceDataCache instance = new ReferenceDataCache(
+    Environment.getReferenceDataCacheSize(),
+    Environment.getReferenceDataCacheTimeToLiveInSeconds() * 1000L);
+
+  private final LruCache<Key, CachedRecord> records;
+  private final Map<Key, CompletableFuture<Result<JsonObject>>> pendingFetches =
+    new ConcurrentHashMap<>();
+  private final long timeToLiveInMilliseconds;
+  private final CacheStatistics statistics = new CacheStatistics();
+
+  public static ReferenceDataCache getInstance() {
+    return instance;
+  }
+
+  ReferenceDataCache(int maximumSize, long timeToLiveInMilliseconds) {
+    this.records = new LruCache<>(maximumSize);
+    this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+  }
+
+  /**
+   * Get a record from the cache or, when it isn't cached or has expired, fetch it
+   *
+   * @param fetcher  fetches the record by id, succeeds with null when there is no record
+   * @return a copy of the record, so callers can't change the cached record
+   */
+  public CompletableFuture<Result<JsonObject>> get(String tenantId, RecordType recordType,
+    String id, Function<String, CompletableFuture<Result<JsonObject>>> fetcher) {
+
+    if (timeToLiveInMilliseconds <= 0) {
+      return fetcher.apply(id);
+    }
+
+    final Key key = new Key(tenantId, recordType, id);
+    final CachedRecord cachedRecord = records.get(key);
+
+    if (cachedRecord != null && !cachedRecord.hasExpired()) {
+      statistics.recordHit();
+
+      return completedFuture(succeeded(cachedRecord.representation.copy()));
+    }
+
+    statistics.recordMiss();
+
+    return completeOnCurrentContext(fetchOnce(key, fetcher))
+      .thenApply(r -> r.map(representation -> representation == null
+        ? null
+        : representation.copy()));
+  }
+
+  /**
+   * Add records fetched in bulk, e.g. when the module is enabled for a tenant
+   */
+  public void preload(String tenantId, RecordType recordType, Collection<JsonObject> representations) {
+    if (timeToLiveInMilliseconds <= 0) {
+      return;
+    }
+
+    representations.forEach(representation -> records.put(
+      new Key(tenantId, recordType, representation.getString("id")),
+      new CachedRecord(representation)));
+  }
+
+  public void flush(String tenantId) {
+    records.removeIf(key -> Objects.equals(key.getTenantId(), tenantId));
+  }
+
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
+
+  private CompletableFuture<Result<JsonObject>> fetchOnce(Key key,
+    Function<String, CompletableFuture<Result<JsonObject>>> fetcher) {
+
+    final CompletableFuture<Result<JsonObject>> fetch = new CompletableFuture<>();
+    final CompletableFuture<Result<JsonObject>> pendingFetch = pendingFetches.putIfAbsent(key, fetch);
+
+    if (pendingFetch != null) {
+      return pendingFetch;
+    }
+
+    final long start = System.currentTimeMillis();
+    final CompletableFuture<Result<JsonObject>> fetched;
+
+    try {
+      fetched = fetcher.apply(key.getId());
+    }
+    catch (RuntimeException e) {
+      pendingFetches.remove(key, fetch);
+      fetch.completeExceptionally(e);
+
+      return fetch;
+    }
+
+    fetched
+      .whenComplete((result, throwable) -> {
+        if (result != null && result.succeeded() && result.value() != null) {
+          records.put(key, new CachedRecord(result.value()));
+          statistics.recordLoad(System.currentTimeMillis() - start);
+        }
+
+        pendingFetches.remove(key, fetch);
+
+        if (throwable != null) {
+          fetch.completeExceptionally(throwable);
+        } else {
+          fetch.complete(result);
+        }
+      });
+
+    return fetch;
+  }
+
+  @Value
+  private static class Key {
+    String tenantId;
+    RecordType recordType;
+    String id;
+  }
+
+  private class CachedRecord {
+    private final JsonObject representation;
+    private final long expiryTimestamp;
+
+    private CachedRecord(JsonObject representation) {
+      this.representation = representation.copy();
+      this.expiryTimestamp = System.currentTimeMillis() + timeToLiveInMilliseconds;
+    }
+
+    private boolean hasExpired() {
+      return expiryTimestamp < System.currentTimeMillis();
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package org.folio.circulation.support.executors;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.folio.Environment;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Executors for the asynchronous steps used to process a request.
+ *
+ * Steps chained with {@link #onCurrentContext()} run on the vert.x context that was
+ * current when they were chained, so processing stays on the verticle's context rather
+ * than hopping to the common fork join pool. When there is no context (e.g. during start up
+ * or in unit tests), they run on the thread that completed the previous step.
+ *
+ * A future shared by the requests of several verticle instances (e.g. a cached record
+ * fetched once for all of the requests waiting for it) is completed on the context of
+ * whichever instance made the fetch, {@link #completeOnCurrentContext} brings each request
+ * back to its own context.
+ *
+ * CPU heavy work (e.g. compiling circulation rules) can use {@link #cpuBound()}, a pool of
+ * CPU_BOUND_POOL_SIZE threads with a queue of CPU_BOUND_QUEUE_SIZE tasks, a task that
+ * doesn't fit in the queue is rejected rather than being run on the thread submitting it
+ * (which would usually be an event loop).
+ */
+public final class CirculationExecutors {
+  private static final ExecutorStatistics contextStatistics = new ExecutorStatistics();
+  private static final ExecutorStatistics cpuBoundStatistics = new ExecutorStatistics();
+
+  private static final ThreadPoolExecutor cpuBoundPool = createCpuBoundPool(
+    Environment.getCpuBoundPoolSize(), Environment.getCpuBoundQueueSize());
+
+  private CirculationExecutors() { }
+
+  /**
+   * @return an executor running tasks on the vert.x context that is current now,
+   * or on the thread completing the previous step when there is no context
+   */
+  public static Executor onCurrentContext() {
+    final Context context = Vertx.currentContext();
+
+    if (context == null) {
+      return CirculationExecutors::runOnSubmittingThread;
+    }
+
+    return task -> {
+      final long submittedAt = System.nanoTime();
+
+      contextStatistics.recordSubmitted();
+
+      context.runOnContext(notUsed -> {
+        contextStatistics.recordStarted(submittedAt);
+        task.run();
+      });
+    };
+  }
+
+  /**
+   * @param shared  a future which may be completed on the context of another verticle
+   * instance, e.g. a fetch shared by requests waiting for the same record
+   * @return a future completed (successfully or not) on the vert.x context that is current
+   * now, or the shared future when it has already completed or there is no context
+   */
+  public static <T> CompletableFuture<T> completeOnCurrentContext(
+    CompletableFuture<T> shared) {
+
+    if (shared.isDone() || Vertx.currentContext() == null) {
+      return shared;
+    }
+
+    final Executor currentContext = onCurrentContext();
+    final CompletableFuture<T> completed = new CompletableFuture<>();
+
+    shared.whenComplete((result, throwable) -> currentContext.execute(() -> {
+      if (throwable != null) {
+        completed.completeExceptionally(throwable);
+      }
+      else {
+        completed.complete(result);
+      }
+    }));
+
+    return completed;
+  }
+
+  /**
+   * @return an executor with a bounded number of threads and queue for CPU heavy work,
+   * the caller should return to its context (see {@link #onCurrentContext()})
+   * before continuing with other steps. When the queue is full, it throws a
+   * {@link RejectedExecutionException}, which fails the step chained with it
+   */
+  public static Executor cpuBound() {
+    return task -> {
+      final long submittedAt = System.nanoTime();
+
+      cpuBoundStatistics.recordSubmitted();
+
+      cpuBoundPool.execute(() -> {
+        cpuBoundStatistics.recordStarted(submittedAt);
+        task.run();
+      });
+    };
+  }
+
+  /**
+   * Runs CPU heavy work on the {@link #cpuBound()} pool
+   *
+   * @return the result of the work, or a future failed with a
+   * {@link RejectedExecutionException} when the queue is full
+   */
+  public static <T> CompletableFuture<T> supplyCpuBound(Supplier<T> work) {
+    try {
+      return CompletableFuture.supplyAsync(work, cpuBound());
+    }
+    catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  public static JsonObject getStatistics() {
+    return new JsonObject()
+      .put("context", contextStatistics.toJson())
+      .put("cpuBound", cpuBoundStatistics.toJson()
+        .put("poolSize", cpuBoundPool.getPoolSize())
+        .put("maximumPoolSize", cpuBoundPool.getMaximumPoolSize())
+        .put("activeThreads", cpuBoundPool.getActiveCount())
+        .put("queuedTasks", cpuBoundPool.getQueue().size())
+        .put("queueCapacity", cpuBoundPool.getQueue().size()
+          + cpuBoundPool.getQueue().remainingCapacity()));
+  }
+
+  private static void runOnSubmittingThread(Runnable task) {
+    contextStatistics.recordRanOnSubmittingThread();
+
+    task.run();
+  }
+
+  private static ThreadPoolExecutor createCpuBoundPool(int poolSize, int queueSize) {
+    final ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize,
+      60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), new CpuBoundThreads(),
+      (task, executor) -> {
+        cpuBoundStatistics.recordRejected();
+
+        throw new RejectedExecutionException(String.format(
+          "Too many CPU heavy tasks waiting (%d), try again later",
+          executor.getQueue().size()));
+      });
+
+    pool.allowCoreThreadTimeOut(true);
+
+    return pool;
+  }
+
+  private static class CpuBoundThreads implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      final Thread thread = new Thread(runnable,
+        "circulation-cpu-bound-" + threadNumber.incrementAndGet());
+
+      thread.setDaemon(true);
+
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package org.folio.circulation.support.executors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Counters describing the tasks handed to an executor and how long they
+ * waited before they started, safe to update from any thread.
+ */
+public class ExecutorStatistics {
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong started = new AtomicLong();
+  private final AtomicLong ranOnSubmittingThread = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong totalWaitTimeInMicroseconds = new AtomicLong();
+  private final AtomicLong maximumWaitTimeInMicroseconds = new AtomicLong();
+
+  public void recordSubmitted() {
+    submitted.incrementAndGet();
+  }
+
+  public void recordStarted(long submittedNanoTime) {
+    final long waitTimeInMicroseconds = (System.nanoTime() - submittedNanoTime) / 1000;
+
+    started.incrementAndGet();
+    totalWaitTimeInMicroseconds.addAndGet(waitTimeInMicroseconds);
+    maximumWaitTimeInMicroseconds.accumulateAndGet(waitTimeInMicroseconds, Math::max);
+  }
+
+  /**
+   * A task that was run straight away on the thread that submitted it,
+   * because there was nowhere else to run it
+   */
+  public void recordRanOnSubmittingThread() {
+    ranOnSubmittingThread.incrementAndGet();
+  }
+
+  /**
+   * A task that was not run because the executor was full
+   */
+  public void recordRejected() {
+    rejected.incrementAndGet();
+  }
+
+  public long getSubmitted() {
+    return submitted.get();
+  }
+
+  public long getStarted() {
+    return started.get();
+  }
+
+  public long getRanOnSubmittingThread() {
+    return ranOnSubmittingThread.get();
+  }
+
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  public double getAverageWaitTimeInMicroseconds() {
+    final long startedCount = getStarted();
+
+    return startedCount == 0 ? 0 : (double) totalWaitTimeInMicroseconds.get() / startedCount;
+  }
+
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("submitted", getSubmitted())
+      .put("started", getStarted())
+      .put("ranOnSubmittingThread", getRanOnSubmittingThread())
+      .put("rejected", getRejected())
+      .put("averageWaitTimeInMicroseconds", getAverageWaitTimeInMicroseconds())
+      .put("maximumWaitTimeInMicroseconds", maximumWaitTimeInMicroseconds.get());
+  }
+}
@@ -1,8 +1,8 @@
 package org.folio.circulation.support.fetching;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
-import static java.util.stream.Collectors.collectingAndThen;
 import static org.apache.commons.collections4.ListUtils.partition;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allResultsOf;
 import static org.folio.circulation.domain.MultipleRecords.empty;
 import static org.folio.circulation.support.results.Result.of;
 import static org.folio.circulation.support.fetching.MultipleCqlIndexValuesCriteria.byId;
@@ -24,16 +24,25 @@ import org.folio.circulation.support.http.client.CqlQuery;
 import lombok.val;
 
 public class CqlIndexValuesFinder<T> implements FindWithMultipleCqlIndexValues<T> {
-  private static final int DEFAULT_MAX_ID_VALUES_PER_CQL_SEARCH_QUERY = 50;
+  static final int DEFAULT_MAX_ID_VALUES_PER_CQL_SEARCH_QUERY = 50;
+  private static final int UNLIMITED_CONCURRENT_QUERIES = Integer.MAX_VALUE;
 
   private final FindWithCqlQuery<T> cqlFinder;
   private final int maxValuesPerCqlSearchQuery;
+  private final int maxConcurrentQueries;
 
   public CqlIndexValuesFinder(FindWithCqlQuery<T> cqlFinder,
-    int maxValuesPerCqlSearchQuery) {
+    int maxValuesPerCqlSearchQuery, int maxConcurrentQueries) {
 
     this.cqlFinder = cqlFinder;
     this.maxValuesPerCqlSearchQuery = maxValuesPerCqlSearchQuery;
+    this.maxConcurrentQueries = maxConcurrentQueries;
+  }
+
+  public CqlIndexValuesFinder(FindWithCqlQuery<T> cqlFinder,
+    int maxValuesPerCqlSearchQuery) {
+
+    this(cqlFinder, maxValuesPerCqlSearchQuery, UNLIMITED_CONCURRENT_QUERIES);
   }
 
   public CqlIndexValuesFinder(FindWithCqlQuery<T> cqlFinder) {
@@ -90,14 +99,9 @@ public class CqlIndexValuesFinder<T> implements FindWithMultipleCqlIndexValues<T
     List<Result<CqlQuery>> queries) {
 
     // NOTE: query limit is max value to ensure all records are returned
-    List<CompletableFuture<Result<MultipleRecords<T>>>> results = queries.stream()
-      .map(query -> cqlFinder.findByQuery(query, maximumLimit()))
-      .collect(Collectors.toList());
-
-    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
-      .thenApply(notUsed -> results.stream()
-        .map(CompletableFuture::join)
-        .collect(collectingAndThen(Collectors.toList(), this::aggregate)));
+    return allResultsOf(queries,
+      query -> cqlFinder.findByQuery(query, maximumLimit()), maxConcurrentQueries)
+      .thenApply(this::aggregate);
   }
 
   private Result<MultipleRecords<T>> aggregate(
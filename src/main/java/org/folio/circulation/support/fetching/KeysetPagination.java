@@ -0,0 +1,71 @@
+package org.folio.circulation.support.fetching;
+
+import static org.folio.circulation.support.CqlSortBy.sortBy;
+import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
+import static org.folio.circulation.support.http.client.CqlQuery.greaterThan;
+import static org.folio.circulation.support.results.CommonFailures.failedDueToServerError;
+
+import java.util.function.Function;
+
+import org.folio.circulation.support.CqlSortBy;
+import org.folio.circulation.support.CqlSortClause;
+import org.folio.circulation.support.http.client.CqlQuery;
+import org.folio.circulation.support.results.Result;
+
+/**
+ * Fetches each page by querying for records after the last record of the
+ * previous page, ordered by a sort index and then by id
+ *
+ * Unlike offsets, this does not skip or repeat records when the records
+ * on earlier pages no longer match the query once they have been processed,
+ * and the cost of fetching a page does not grow with the number of pages
+ */
+public class KeysetPagination<T> {
+  private static final String ID_INDEX = "id";
+
+  private final String sortIndex;
+  private final Function<T, String> sortValue;
+  private final Function<T, String> idValue;
+
+  private KeysetPagination(String sortIndex, Function<T, String> sortValue,
+    Function<T, String> idValue) {
+
+    this.sortIndex = sortIndex;
+    this.sortValue = sortValue;
+    this.idValue = idValue;
+  }
+
+  public static <T> KeysetPagination<T> keysetPagination(String sortIndex,
+    Function<T, String> sortValue, Function<T, String> idValue) {
+
+    return new KeysetPagination<>(sortIndex, sortValue, idValue);
+  }
+
+  public CqlQuery firstPage(CqlQuery query) {
+    return query.sortBy(sortOrder());
+  }
+
+  public Result<CqlQuery> pageAfter(CqlQuery query, T lastRecord) {
+    final String lastSortValue = sortValue.apply(lastRecord);
+    final String lastId = idValue.apply(lastRecord);
+
+    if (lastSortValue == null || lastId == null) {
+      return failedDueToServerError(String.format(
+        "Cannot fetch next page after record %s with no value for %s", lastId,
+        sortIndex));
+    }
+
+    final Result<CqlQuery> afterSortValue = greaterThan(sortIndex, lastSortValue);
+    final Result<CqlQuery> afterIdWithSameSortValue = exactMatch(sortIndex, lastSortValue)
+      .combine(greaterThan(ID_INDEX, lastId), CqlQuery::and);
+
+    // The sort is removed first so that it is not included part way through
+    return afterSortValue.combine(afterIdWithSameSortValue, CqlQuery::or)
+      .map(query.sortBy(CqlSortBy.none())::and)
+      .map(this::firstPage);
+  }
+
+  private CqlSortBy sortOrder() {
+    return sortBy(CqlSortClause.ascending(sortIndex), CqlSortClause.ascending(ID_INDEX));
+  }
+}
@@ -1,72 +1,88 @@
 package org.folio.circulation.support.fetching;
 
-import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.circulation.support.http.client.Offset.zeroOffset;
 import static org.folio.circulation.support.http.client.PageLimit.limit;
 import static org.folio.circulation.support.results.Result.failed;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import static org.folio.circulation.support.results.Result.succeeded;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.CompletableFuture;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.support.ServerErrorFailure;
 import org.folio.circulation.support.http.client.CqlQuery;
 import org.folio.circulation.support.http.client.Offset;
 import org.folio.circulation.support.http.client.PageLimit;
+import org.folio.circulation.support.results.CommonFailures;
 import org.folio.circulation.support.results.Result;
 
-import lombok.AllArgsConstructor;
-
-@AllArgsConstructor
+/**
+ * Fetches pages of records and hands each one to a page processor
+ *
+ * By default, each page is fetched once the previous page has been processed.
+ * With prefetching, the next page is fetched whilst earlier pages are processed,
+ * with no more than the maximum number of pages fetched but not yet processed,
+ * which should be combined with keyset pagination when processing a page
+ * changes whether its records match the query
+ */
 public final class PageableFetcher<T> {
   private static final Logger log = LogManager.getLogger(PageableFetcher.class);
 
-  // This limit needed to prevent stack overflow for recursive fetch
-  private static final int DEFAULT_MAX_ALLOWED_RECORDS_LIMIT = 1_000_000;
+  // Fetching is no longer recursive, this only guards against runaway processes
+  private static final int DEFAULT_MAX_ALLOWED_RECORDS_LIMIT = Integer.MAX_VALUE;
   private static final PageLimit DEFAULT_PAGE_SIZE_LIMIT = limit(500);
 
   private final GetManyRecordsRepository<T> repository;
   private final PageLimit pageSize;
   private final int maxAllowedRecordsToFetchLimit;
+  private final KeysetPagination<T> keysetPagination;
+  private final int maximumPagesInFlight;
+  private final int maximumPagesProcessedConcurrently;
 
   public PageableFetcher(GetManyRecordsRepository<T> repository) {
     this(repository, DEFAULT_PAGE_SIZE_LIMIT, DEFAULT_MAX_ALLOWED_RECORDS_LIMIT);
   }
 
-  public CompletableFuture<Result<Void>> processPages(CqlQuery query, PageProcessor<T> pageProcessor) {
-    return processPagesRecursively(query, pageProcessor, zeroOffset(), 0);
+  public PageableFetcher(GetManyRecordsRepository<T> repository,
+    PageLimit pageSize, int maxAllowedRecordsToFetchLimit) {
+
+    this(repository, pageSize, maxAllowedRecordsToFetchLimit, null, 1, 1);
   }
 
-  private CompletableFuture<Result<Void>> processPagesRecursively(CqlQuery query,
-    PageProcessor<T> pageProcessor, Offset currentOffset, int recordsFetchedOnPreviousIteration) {
-
-    return repository.getMany(query, pageSize, currentOffset)
-      .thenCompose(r -> r.after(records -> pageProcessor.processPage(records)
-          .thenCompose(processResult -> processResult.after(unused -> {
-            final int recordsFetchedSoFar = recordsFetchedOnPreviousIteration + records.size();
-
-            if (hasFetchedAllPages(records)) {
-              log.info("All pages have been fetched, total records fetched {}", recordsFetchedSoFar);
-
-              return completedFuture(processResult);
-            } else if (hasReachedRecordsLimit(recordsFetchedSoFar)) {
-              log.warn("Terminating fetching because records limit in {} has been reached",
-                maxAllowedRecordsToFetchLimit);
-
-              return itemCountLimitHasBeenReached();
-            } else {
-              final var nextOffset = currentOffset.nextPage(pageSize);
-              return processPagesRecursively(query, pageProcessor, nextOffset, recordsFetchedSoFar);
-            }
-          }))
-      ));
+  private PageableFetcher(GetManyRecordsRepository<T> repository,
+    PageLimit pageSize, int maxAllowedRecordsToFetchLimit,
+    KeysetPagination<T> keysetPagination, int maximumPagesInFlight,
+    int maximumPagesProcessedConcurrently) {
+
+    this.repository = repository;
+    this.pageSize = pageSize;
+    this.maxAllowedRecordsToFetchLimit = maxAllowedRecordsToFetchLimit;
+    this.keysetPagination = keysetPagination;
+    this.maximumPagesInFlight = maximumPagesInFlight;
+    this.maximumPagesProcessedConcurrently = maximumPagesProcessedConcurrently;
   }
 
-  private CompletableFuture<Result<Void>> itemCountLimitHasBeenReached() {
-    return completedFuture(failed(new ServerErrorFailure(
-      "Maximum allowed item count is set to " + maxAllowedRecordsToFetchLimit
-        + " and it has been reached")));
+  public PageableFetcher<T> withKeysetPagination(KeysetPagination<T> keysetPagination) {
+    return new PageableFetcher<>(repository, pageSize, maxAllowedRecordsToFetchLimit,
+      keysetPagination, maximumPagesInFlight, maximumPagesProcessedConcurrently);
+  }
+
+  public PageableFetcher<T> withPrefetching(int maximumPagesInFlight,
+    int maximumPagesProcessedConcurrently) {
+
+    if (maximumPagesInFlight < 1 || maximumPagesProcessedConcurrently < 1) {
+      throw new IllegalArgumentException("Must allow at least one page in flight");
+    }
+
+    return new PageableFetcher<>(repository, pageSize, maxAllowedRecordsToFetchLimit,
+      keysetPagination, maximumPagesInFlight, maximumPagesProcessedConcurrently);
+  }
+
+  public CompletableFuture<Result<Void>> processPages(CqlQuery query, PageProcessor<T> pageProcessor) {
+    return new PageProcessing(query, pageProcessor).start();
   }
 
   private boolean hasReachedRecordsLimit(int recordFetchedSoFar) {
@@ -80,4 +96,201 @@ public final class PageableFetcher<T> {
 
     return latestPage.size() < pageSize.getLimit();
   }
+
+  /**
+   * The state of processing the pages for a single query
+   *
+   * Whenever a fetch or the processing of a page completes, the state is advanced
+   * in a loop, rather than recursively, so that pages which are fetched or
+   * processed immediately do not grow the stack
+   */
+  private class PageProcessing {
+    private final CqlQuery query;
+    private final PageProcessor<T> pageProcessor;
+    private final CompletableFuture<Result<Void>> completed = new CompletableFuture<>();
+    private final Deque<FetchedPage> fetchedPages = new ArrayDeque<>();
+
+    private Result<CqlQuery> nextPageQuery;
+    private Offset nextPageOffset = zeroOffset();
+    private int nextPageNumber = 1;
+    private boolean fetching = false;
+    private boolean allPagesFetched = false;
+    private boolean recordsLimitReached = false;
+    private int pagesBeingProcessed = 0;
+    private int recordsFetchedSoFar = 0;
+    private boolean advancing = false;
+    private boolean advanceRequested = false;
+
+    private PageProcessing(CqlQuery query, PageProcessor<T> pageProcessor) {
+      this.query = query;
+      this.pageProcessor = pageProcessor;
+      this.nextPageQuery = succeeded(keysetPagination != null
+        ? keysetPagination.firstPage(query)
+        : query);
+    }
+
+    private CompletableFuture<Result<Void>> start() {
+      advance();
+
+      return completed;
+    }
+
+    private synchronized void advance() {
+      if (advancing) {
+        advanceRequested = true;
+        return;
+      }
+
+      advancing = true;
+
+      try {
+        do {
+          advanceRequested = false;
+
+          if (completed.isDone()) {
+            return;
+          }
+
+          if (canFetchNextPage()) {
+            fetchNextPage();
+          }
+
+          while (!completed.isDone() && !fetchedPages.isEmpty()
+            && pagesBeingProcessed < maximumPagesProcessedConcurrently) {
+
+            processPage(fetchedPages.removeFirst());
+          }
+
+          completeWhenFinished();
+        } while (advanceRequested);
+      }
+      finally {
+        advancing = false;
+      }
+    }
+
+    private boolean canFetchNextPage() {
+      return !fetching && !allPagesFetched && !recordsLimitReached
+        && fetchedPages.size() + pagesBeingProcessed < maximumPagesInFlight;
+    }
+
+    private void fetchNextPage() {
+      if (nextPageQuery.failed()) {
+        completed.complete(failed(nextPageQuery.cause()));
+        return;
+      }
+
+      final int pageNumber = nextPageNumber++;
+      final long startedAt = System.currentTimeMillis();
+
+      fetching = true;
+
+      repository.getMany(nextPageQuery.value(), pageSize, nextPageOffset)
+        .exceptionally(CommonFailures::failedDueToServerError)
+        .thenAccept(result -> pageFetched(pageNumber, startedAt, result));
+    }
+
+    private synchronized void pageFetched(int pageNumber, long startedAt,
+      Result<MultipleRecords<T>> result) {
+
+      fetching = false;
+
+      if (result.failed()) {
+        completed.complete(failed(result.cause()));
+        return;
+      }
+
+      final MultipleRecords<T> records = result.value();
+
+      recordsFetchedSoFar += records.size();
+
+      log.info("Fetched page {} of {} records in {} ms", pageNumber, records.size(),
+        System.currentTimeMillis() - startedAt);
+
+      if (hasFetchedAllPages(records)) {
+        log.info("All pages have been fetched, total records fetched {}", recordsFetchedSoFar);
+
+        allPagesFetched = true;
+      } else if (hasReachedRecordsLimit(recordsFetchedSoFar)) {
+        log.warn("Terminating fetching because records limit in {} has been reached",
+          maxAllowedRecordsToFetchLimit);
+
+        recordsLimitReached = true;
+      } else {
+        prepareNextPage(records);
+      }
+
+      fetchedPages.addLast(new FetchedPage(pageNumber, records));
+
+      advance();
+    }
+
+    private void prepareNextPage(MultipleRecords<T> records) {
+      if (keysetPagination != null) {
+        nextPageQuery = keysetPagination.pageAfter(query, lastRecord(records));
+      } else {
+        nextPageOffset = nextPageOffset.nextPage(pageSize);
+      }
+    }
+
+    private void processPage(FetchedPage page) {
+      final long startedAt = System.currentTimeMillis();
+
+      pagesBeingProcessed++;
+
+      pageProcessor.processPage(page.records)
+        .exceptionally(CommonFailures::failedDueToServerError)
+        .thenAccept(result -> pageProcessed(page, startedAt, result));
+    }
+
+    private synchronized void pageProcessed(FetchedPage page, long startedAt,
+      Result<Void> result) {
+
+      pagesBeingProcessed--;
+
+      log.info("Processed page {} of {} records in {} ms", page.pageNumber,
+        page.records.size(), System.currentTimeMillis() - startedAt);
+
+      if (result.failed()) {
+        completed.complete(result);
+        return;
+      }
+
+      advance();
+    }
+
+    private void completeWhenFinished() {
+      if (fetching || pagesBeingProcessed > 0 || !fetchedPages.isEmpty()) {
+        return;
+      }
+
+      if (allPagesFetched) {
+        completed.complete(succeeded(null));
+      } else if (recordsLimitReached) {
+        completed.complete(failed(new ServerErrorFailure(
+          "Maximum allowed item count is set to " + maxAllowedRecordsToFetchLimit
+            + " and it has been reached")));
+      }
+    }
+
+    private T lastRecord(MultipleRecords<T> records) {
+      T last = null;
+
+      for (T record : records.getRecords()) {
+        last = record;
+      }
+
+      return last;
+    }
+  }
+
+  private class FetchedPage {
+    private final int pageNumber;
+    private final MultipleRecords<T> records;
+
+    private FetchedPage(int pageNumber, MultipleRecords<T> records) {
+      this.pageNumber = pageNumber;
+      this.records = records;
+    }
+  }
 }
@@ -18,6 +18,20 @@ public class RecordFetching {
       new CqlQueryFinder<>(client, recordsPropertyName, recordMapper));
   }
 
+  /**
+   * Same as {@link #findWithMultipleCqlIndexValues(GetManyRecordsClient, String, Function)}
+   * with no more than {@code maximumConcurrentQueries} batch queries in flight at any time
+   */
+  public static <T> FindWithMultipleCqlIndexValues<T> findWithMultipleCqlIndexValues(
+      GetManyRecordsClient client, String recordsPropertyName,
+      Function<JsonObject, T> recordMapper, int maximumConcurrentQueries) {
+
+    return new CqlIndexValuesFinder<>(
+      new CqlQueryFinder<>(client, recordsPropertyName, recordMapper),
+      CqlIndexValuesFinder.DEFAULT_MAX_ID_VALUES_PER_CQL_SEARCH_QUERY,
+      maximumConcurrentQueries);
+  }
+
   public static <T> CqlQueryFinder<T> findWithCqlQuery(
     GetManyRecordsClient client, String recordsPropertyName,
     Function<JsonObject, T> recordMapper) {
@@ -101,6 +101,18 @@ public class CqlQuery implements QueryParameter {
     return new CqlQuery(format("%s and %s", asText(), other.asText()), sortBy);
   }
 
+  /**
+   * Both operands are wrapped in parentheses, as all CQL boolean operators
+   * have the same precedence and would otherwise be evaluated left to right
+   */
+  public CqlQuery or(CqlQuery other) {
+    if (StringUtils.isBlank(other.asText())) {
+      return this;
+    }
+
+    return new CqlQuery(format("((%s) or (%s))", asText(), other.asText()), sortBy);
+  }
+
   public CqlQuery sortBy(CqlSortBy sortBy) {
     return new CqlQuery(query, sortBy);
   }
@@ -0,0 +1,287 @@
+package org.folio.circulation.support.http.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.Environment;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.metrics.HttpClientMetrics;
+import org.folio.circulation.support.metrics.PrometheusFormat;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.Value;
+
+/**
+ * Limits how many requests are made to each other module at the same time for each
+ * tenant, so that a large batch of lookups or updates doesn't use all of the connections
+ * or overwhelm storage. Requests are grouped by the longest configured path prefix
+ * (HTTP_CLIENT_CONCURRENCY_LIMITS) that they match, otherwise by the first segment of
+ * the path (e.g. /item-storage) with the default limit (HTTP_CLIENT_CONCURRENCY_LIMIT).
+ *
+ * Requests over the limit wait, up to HTTP_CLIENT_QUEUE_SIZE of them, further requests
+ * fail straight away. A request fails if it has waited for longer than its timeout. The limit adapts to how the other module is coping: it is reduced
+ * by 10% when a response is an error, times out or takes longer than
+ * HTTP_CLIENT_LATENCY_THRESHOLD_MILLISECONDS, and increased by one (up to the configured
+ * limit) for other responses received while at least half of the limit is in use.
+ */
+public final class HttpClientConcurrencyLimiter {
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private static final Permit UNLIMITED = (latencyInMilliseconds, failed) -> { };
+
+  private static final HttpClientConcurrencyLimiter instance =
+    new HttpClientConcurrencyLimiter(Environment.getHttpClientConcurrencyLimit(),
+      Environment.getHttpClientConcurrencyLimits(), Environment.getHttpClientQueueSize(),
+      Environment.getHttpClientLatencyThresholdInMilliseconds());
+
+  private final int defaultLimit;
+  private final PathPrefixValues<Integer> limitsByPathPrefix;
+  private final int queueSize;
+  private final long latencyThresholdInMilliseconds;
+  private final Map<Key, Limit> limits = new ConcurrentHashMap<>();
+
+  public static HttpClientConcurrencyLimiter getInstance() {
+    return instance;
+  }
+
+  HttpClientConcurrencyLimiter(int defaultLimit, String limits, int queueSize,
+    long latencyThresholdInMilliseconds) {
+
+    this.defaultLimit = defaultLimit;
+    this.limitsByPathPrefix = new PathPrefixValues<>(limits, Integer::valueOf,
+      "HTTP client concurrency limit");
+    this.queueSize = Math.max(queueSize, 0);
+    this.latencyThresholdInMilliseconds = latencyThresholdInMilliseconds;
+  }
+
+  /**
+   * Waits until a request can be made, the permit must be released once the response
+   * has been received (or the request has failed)
+   *
+   * @param timeout  how long to wait for a permit, the timeout of the request
+   * @return a permit, or a failure when too many requests are already waiting or the
+   * request has waited for longer than the timeout
+   */
+  CompletableFuture<Result<Permit>> acquire(String tenantId, String url,
+    Duration timeout) {
+
+    final Destination destination = destinationOf(url);
+
+    if (destination.getMaximumLimit() <= 0) {
+      return completedFuture(succeeded(UNLIMITED));
+    }
+
+    return limits.computeIfAbsent(new Key(tenantId, destination.getName()),
+        key -> new Limit(key, destination.getMaximumLimit()))
+      .acquire(Vertx.currentContext(), timeout);
+  }
+
+  public void writeTo(PrometheusFormat format) {
+    limits.forEach((key, limit) -> format.gauges("circulation_http_client_concurrency",
+      "Requests made to other modules at the same time", key.toLabels(),
+      limit.getStatistics()));
+  }
+
+  private Destination destinationOf(String url) {
+    return limitsByPathPrefix.find(url)
+      .map(limit -> new Destination(limit.getKey(), limit.getValue()))
+      .orElseGet(() -> new Destination(firstSegmentOf(url), defaultLimit));
+  }
+
+  private static String firstSegmentOf(String url) {
+    final String path = PathPrefixValues.pathOf(url);
+
+    if (path.isEmpty()) {
+      return "unknown";
+    }
+
+    final int endOfSegment = path.indexOf('/', 1);
+
+    return endOfSegment < 0 ? path : path.substring(0, endOfSegment);
+  }
+
+  interface Permit {
+    /**
+     * @param failed  whether the request failed or timed out, or the response was an
+     * error that suggests the other module is not coping
+     */
+    void release(long latencyInMilliseconds, boolean failed);
+  }
+
+  private class Limit {
+    private final Key key;
+    private final int maximumLimit;
+    private final Queue<Waiter> waiting = new ArrayDeque<>();
+    private int limit;
+    private int inFlight;
+
+    private Limit(Key key, int maximumLimit) {
+      this.key = key;
+      this.maximumLimit = maximumLimit;
+      this.limit = maximumLimit;
+    }
+
+    private CompletableFuture<Result<Permit>> acquire(Context context, Duration timeout) {
+      final Waiter waiter;
+
+      synchronized (this) {
+        if (inFlight < limit) {
+          inFlight++;
+          waiter = null;
+        }
+        else if (waiting.size() < queueSize) {
+          waiter = new Waiter(context, System.currentTimeMillis());
+
+          waiting.add(waiter);
+        }
+        else {
+          HttpClientMetrics.getInstance().recordRejection(key.getTenantId(),
+            key.getDestination());
+
+          return completedFuture(failed(new ServerErrorFailure(String.format(
+            "Too many requests waiting for %s", key.getDestination()))));
+        }
+      }
+
+      if (waiter != null) {
+        waiter.expireAfter(timeout);
+
+        return waiter.permit;
+      }
+
+      HttpClientMetrics.getInstance().recordQueueTime(key.getTenantId(),
+        key.getDestination(), 0);
+
+      return completedFuture(succeeded(this::release));
+    }
+
+    private void release(long latencyInMilliseconds, boolean failed) {
+      final List<Waiter> granted = new ArrayList<>();
+
+      synchronized (this) {
+        if (failed || latencyInMilliseconds > latencyThresholdInMilliseconds) {
+          limit = Math.max(1, (int) (limit * BACKOFF_RATIO));
+        }
+        else if (inFlight * 2 >= limit) {
+          limit = Math.min(maximumLimit, limit + 1);
+        }
+
+        inFlight--;
+
+        while (inFlight < limit && !waiting.isEmpty()) {
+          inFlight++;
+          granted.add(waiting.poll());
+        }
+      }
+
+      granted.forEach(Waiter::grant);
+    }
+
+    private synchronized JsonObject getStatistics() {
+      return new JsonObject()
+        .put("limit", limit)
+        .put("maximumLimit", maximumLimit)
+        .put("inFlight", inFlight)
+        .put("waiting", waiting.size());
+    }
+
+    /**
+     * Stops waiting once the timeout has passed, unless granted a permit before then
+     */
+    private void expire(Waiter waiter) {
+      synchronized (this) {
+        if (!waiting.remove(waiter)) {
+          return;
+        }
+      }
+
+      HttpClientMetrics.getInstance().recordRejection(key.getTenantId(),
+        key.getDestination());
+
+      waiter.complete(failed(new ServerErrorFailure(String.format(
+        "Timed out waiting to make a request to %s", key.getDestination()))));
+    }
+
+    private class Waiter {
+      private final Context context;
+      private final long waitingSince;
+      private final CompletableFuture<Result<Permit>> permit = new CompletableFuture<>();
+      private volatile long timerId = -1;
+
+      private Waiter(Context context, long waitingSince) {
+        this.context = context;
+        this.waitingSince = waitingSince;
+      }
+
+      private void expireAfter(Duration timeout) {
+        final long timeoutInMilliseconds = Math.max(timeout.toMillis(), 1);
+
+        if (context == null) {
+          CompletableFuture.delayedExecutor(timeoutInMilliseconds, TimeUnit.MILLISECONDS)
+            .execute(() -> expire(this));
+        }
+        else {
+          timerId = context.owner().setTimer(timeoutInMilliseconds,
+            notUsed -> expire(this));
+        }
+      }
+
+      private void grant() {
+        HttpClientMetrics.getInstance().recordQueueTime(key.getTenantId(),
+          key.getDestination(), System.currentTimeMillis() - waitingSince);
+
+        if (context != null && timerId >= 0) {
+          context.owner().cancelTimer(timerId);
+        }
+
+        complete(succeeded(Limit.this::release));
+      }
+
+      private void complete(Result<Permit> result) {
+        // continue on the context of the request which was waiting
+        if (context == null) {
+          permit.complete(result);
+        }
+        else {
+          context.runOnContext(notUsed -> permit.complete(result));
+        }
+      }
+    }
+  }
+
+  @Value
+  private static class Destination {
+    String name;
+    int maximumLimit;
+  }
+
+  @Value
+  private static class Key {
+    String tenantId;
+    String destination;
+
+    private Map<String, String> toLabels() {
+      final Map<String, String> labels = new LinkedHashMap<>();
+
+      labels.put("tenant", String.valueOf(tenantId));
+      labels.put("destination", destination);
+
+      return labels;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.folio.circulation.support.http.client;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.folio.Environment;
+
+/**
+ * How long to wait for a response from other modules, chosen by the longest configured
+ * path prefix (HTTP_CLIENT_TIMEOUTS) that the request matches, otherwise the default
+ * (HTTP_CLIENT_TIMEOUT_SECONDS)
+ */
+class HttpClientTimeouts {
+  private static final HttpClientTimeouts instance = new HttpClientTimeouts(
+    Duration.of(Environment.getHttpClientTimeoutInSeconds(), SECONDS),
+    Environment.getHttpClientTimeouts());
+
+  private final Duration defaultTimeout;
+  private final PathPrefixValues<Duration> timeoutsByPathPrefix;
+
+  static HttpClientTimeouts getInstance() {
+    return instance;
+  }
+
+  HttpClientTimeouts(Duration defaultTimeout, String timeouts) {
+    this.defaultTimeout = defaultTimeout;
+    this.timeoutsByPathPrefix = new PathPrefixValues<>(timeouts,
+      seconds -> Duration.of(Long.parseLong(seconds), SECONDS), "HTTP client timeout");
+  }
+
+  Duration timeoutFor(String url) {
+    return timeoutsByPathPrefix.find(url)
+      .map(Map.Entry::getValue)
+      .orElse(defaultTimeout);
+  }
+}
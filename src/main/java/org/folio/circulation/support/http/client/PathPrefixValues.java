@@ -0,0 +1,83 @@
+package org.folio.circulation.support.http.client;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Settings for particular clients, configured as a comma separated list of path prefixes
+ * and values, e.g. "/calendar=5,/pubsub=10", the longest prefix that a request matches
+ * is used
+ */
+final class PathPrefixValues<T> {
+  private static final Logger log = LogManager.getLogger(PathPrefixValues.class);
+
+  private final List<Map.Entry<String, T>> valuesByPathPrefix;
+
+  /**
+   * @param valueParser  parses each value, throwing an IllegalArgumentException
+   * (e.g. a NumberFormatException) when it is invalid
+   * @param description  describes the values when an invalid one is ignored
+   */
+  PathPrefixValues(String values, Function<String, T> valueParser, String description) {
+    this.valuesByPathPrefix = Stream.of(values == null ? new String[0] : values.split(","))
+      .map(String::trim)
+      .filter(value -> !value.isEmpty())
+      .map(value -> parse(value, valueParser, description))
+      .filter(Objects::nonNull)
+      // longest prefix first so the most specific value is used
+      .sorted(Comparator.comparingInt(
+        (Map.Entry<String, T> value) -> value.getKey().length()).reversed())
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the longest path prefix matching the URL and its value
+   */
+  Optional<Map.Entry<String, T>> find(String url) {
+    final String path = pathOf(url);
+
+    return valuesByPathPrefix.stream()
+      .filter(value -> path.startsWith(value.getKey()))
+      .findFirst();
+  }
+
+  static String pathOf(String url) {
+    try {
+      final String path = URI.create(url).getRawPath();
+
+      return path == null ? "" : path;
+    }
+    catch (IllegalArgumentException e) {
+      return "";
+    }
+  }
+
+  private static <T> Map.Entry<String, T> parse(String value,
+    Function<String, T> valueParser, String description) {
+
+    final String[] parts = value.split("=");
+
+    try {
+      if (parts.length == 2 && !parts[0].isBlank()) {
+        return Map.entry(parts[0].trim(), valueParser.apply(parts[1].trim()));
+      }
+    }
+    catch (IllegalArgumentException e) {
+      // reported below
+    }
+
+    log.warn("Ignoring invalid {}: \"{}\"", description, value);
+
+    return null;
+  }
+}
@@ -2,8 +2,8 @@ package org.folio.circulation.support.http.client;
 
 import static io.vertx.core.MultiMap.caseInsensitiveMultiMap;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
 
 import io.vertx.core.MultiMap;
@@ -12,13 +12,20 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import lombok.val;
 
+/**
+ * A response from another module, the body is kept as received and is only decoded
+ * (as a string or JSON) when needed
+ */
 public class Response {
-  protected final String body;
+  private final Buffer body;
   private final int statusCode;
   private final String contentType;
   private final MultiMap headers;
   private final String fromUrl;
 
+  private String bodyAsString;
+  private JsonObject json;
+
   public Response(int statusCode, String body, String contentType) {
     this(statusCode, body, contentType, caseInsensitiveMultiMap(), null);
   }
@@ -26,6 +33,15 @@ public class Response {
   public Response(int statusCode, String body, String contentType,
     MultiMap headers, String fromUrl) {
 
+    this(statusCode, body == null ? null : Buffer.buffer(body, UTF_8.name()),
+      contentType, headers, fromUrl);
+
+    this.bodyAsString = body;
+  }
+
+  public Response(int statusCode, Buffer body, String contentType,
+    MultiMap headers, String fromUrl) {
+
     this.statusCode = statusCode;
     this.body = body;
     this.contentType = contentType;
@@ -38,12 +54,22 @@ public class Response {
 
     headers.addAll(response.headers());
 
-    return new Response(response.statusCode(), response.bodyAsString(),
+    return new Response(response.statusCode(), response.body(),
       headers.get(HttpHeaders.CONTENT_TYPE), headers, url);
   }
 
   public boolean hasBody() {
-    return StringUtils.isNotBlank(getBody());
+    if (body == null) {
+      return false;
+    }
+
+    for (int index = 0; index < body.length(); index++) {
+      if (!Character.isWhitespace(body.getByte(index))) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   public int getStatusCode() {
@@ -51,16 +77,29 @@ public class Response {
   }
 
   public String getBody() {
+    if (bodyAsString == null && body != null) {
+      bodyAsString = body.toString(UTF_8);
+    }
+
+    return bodyAsString;
+  }
+
+  /**
+   * @return the body as received, without converting it to a string
+   */
+  public Buffer getBodyAsBuffer() {
     return body;
   }
 
+  /**
+   * The body is only parsed the first time, after that the same object is returned
+   */
   public JsonObject getJson() {
-    if(hasBody()) {
-      return new JsonObject(getBody());
-    }
-    else {
-      return new JsonObject();
+    if (json == null) {
+      json = hasBody() ? new JsonObject(body) : new JsonObject();
     }
+
+    return json;
   }
 
   public String getContentType() {
@@ -1,6 +1,5 @@
 package org.folio.circulation.support.http.client;
 
-import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.apache.http.HttpHeaders.ACCEPT;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.succeeded;
@@ -14,12 +13,16 @@ import static org.folio.circulation.support.http.client.Response.responseFrom;
 import java.net.URL;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import org.folio.circulation.support.metrics.HttpClientMetrics;
 import org.folio.circulation.support.results.Result;
 import org.folio.circulation.support.ServerErrorFailure;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.json.JsonObject;
@@ -29,24 +32,36 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.core.http.HttpMethod;
 
 public class VertxWebClientOkapiHttpClient implements OkapiHttpClient {
-  private static final Duration DEFAULT_TIMEOUT = Duration.of(20, SECONDS);
-
   private final WebClient webClient;
   private final URL okapiUrl;
   private final String tenantId;
   private final String token;
   private final String userId;
   private final String requestId;
+  private final Runnable onRequestMade;
 
   public static OkapiHttpClient createClientUsing(HttpClient httpClient,
     URL okapiUrl, String tenantId, String token, String userId, String requestId) {
 
+    return createClientUsing(httpClient, okapiUrl, tenantId, token, userId,
+      requestId, () -> {});
+  }
+
+  /**
+   * @param onRequestMade  called for every request made by the client, e.g. to count
+   * the requests made when handling a request to this module
+   */
+  public static OkapiHttpClient createClientUsing(HttpClient httpClient,
+    URL okapiUrl, String tenantId, String token, String userId, String requestId,
+    Runnable onRequestMade) {
+
     return new VertxWebClientOkapiHttpClient(WebClient.wrap(httpClient),
-      okapiUrl, tenantId, token, userId, requestId);
+      okapiUrl, tenantId, token, userId, requestId, onRequestMade);
   }
 
   private VertxWebClientOkapiHttpClient(WebClient webClient, URL okapiUrl,
-    String tenantId, String token, String userId, String requestId) {
+    String tenantId, String token, String userId, String requestId,
+    Runnable onRequestMade) {
 
     this.webClient = webClient;
     this.okapiUrl = okapiUrl;
@@ -54,55 +69,46 @@ public class VertxWebClientOkapiHttpClient implements OkapiHttpClient {
     this.token = token;
     this.userId = userId;
     this.requestId = requestId;
+    this.onRequestMade = onRequestMade;
   }
 
   @Override
   public CompletableFuture<Result<Response>> post(URL url, JsonObject body) {
-    return post(url.toString(), body, DEFAULT_TIMEOUT);
+    return post(url.toString(), body);
   }
 
   @Override
   public CompletableFuture<Result<Response>> post(String url, JsonObject body) {
-    return post(url, body, DEFAULT_TIMEOUT);
+    return post(url, body, timeoutFor(url));
   }
 
   @Override
   public CompletableFuture<Result<Response>> post(String url,
     JsonObject body, Duration timeout) {
 
-    final CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse
-      = new CompletableFuture<>();
-
     final HttpRequest<Buffer> request = withStandardHeaders(
       webClient.requestAbs(HttpMethod.POST, url));
 
-    request
-      .timeout(timeout.toMillis())
-      .sendJsonObject(body, futureResponse::complete);
+    request.timeout(timeout.toMillis());
 
-    return futureResponse
-      .thenApply(asyncResult -> mapAsyncResultToResult(url, asyncResult));
+    return send(HttpMethod.POST, url, timeout,
+      futureResponse -> request.sendJsonObject(body, futureResponse::complete));
   }
 
   @Override
   public CompletableFuture<Result<Response>> get(String url,
     Duration timeout, QueryParameter... queryParameters) {
 
-    final CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse
-      = new CompletableFuture<>();
-
     final HttpRequest<Buffer> request = withStandardHeaders(
       webClient.requestAbs(HttpMethod.GET, url));
 
     Stream.of(queryParameters)
       .forEach(parameter -> parameter.consume(request::addQueryParam));
 
-    request
-      .timeout(timeout.toMillis())
-      .send(futureResponse::complete);
+    request.timeout(timeout.toMillis());
 
-    return futureResponse
-      .thenApply(asyncResult -> mapAsyncResultToResult(url, asyncResult));
+    return send(HttpMethod.GET, url, timeout,
+      futureResponse -> request.send(futureResponse::complete));
   }
 
   @Override
@@ -116,35 +122,30 @@ public class VertxWebClientOkapiHttpClient implements OkapiHttpClient {
   public CompletableFuture<Result<Response>> get(String url,
     QueryParameter... queryParameters) {
 
-    return get(url, DEFAULT_TIMEOUT, queryParameters);
+    return get(url, timeoutFor(url), queryParameters);
   }
 
   @Override
   public CompletableFuture<Result<Response>> put(URL url, JsonObject body) {
-    return put(url.toString(), body, DEFAULT_TIMEOUT);
+    return put(url.toString(), body);
   }
 
   @Override
   public CompletableFuture<Result<Response>> put(String url, JsonObject body) {
-    return put(url, body, DEFAULT_TIMEOUT);
+    return put(url, body, timeoutFor(url));
   }
 
   @Override
   public CompletableFuture<Result<Response>> put(String url, JsonObject body,
     Duration timeout) {
 
-    final CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse
-      = new CompletableFuture<>();
-
     final HttpRequest<Buffer> request = withStandardHeaders(
       webClient.requestAbs(HttpMethod.PUT, url));
 
-    request
-      .timeout(timeout.toMillis())
-      .sendJsonObject(body, futureResponse::complete);
+    request.timeout(timeout.toMillis());
 
-    return futureResponse
-      .thenApply(asyncResult -> mapAsyncResultToResult(url, asyncResult));
+    return send(HttpMethod.PUT, url, timeout,
+      futureResponse -> request.sendJsonObject(body, futureResponse::complete));
   }
 
   @Override
@@ -158,30 +159,89 @@ public class VertxWebClientOkapiHttpClient implements OkapiHttpClient {
   public CompletableFuture<Result<Response>> delete(String url,
     QueryParameter... queryParameters) {
 
-    return delete(url, DEFAULT_TIMEOUT, queryParameters);
+    return delete(url, timeoutFor(url), queryParameters);
   }
 
   @Override
   public CompletableFuture<Result<Response>> delete(String url,
     Duration timeout, QueryParameter... queryParameters) {
 
-    final CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse
-      = new CompletableFuture<>();
-
     final HttpRequest<Buffer> request = withStandardHeaders(
       webClient.requestAbs(HttpMethod.DELETE, url));
 
     Stream.of(queryParameters)
       .forEach(parameter -> parameter.consume(request::addQueryParam));
 
-    request
-      .timeout(timeout.toMillis())
-      .send(futureResponse::complete);
+    request.timeout(timeout.toMillis());
+
+    return send(HttpMethod.DELETE, url, timeout,
+      futureResponse -> request.send(futureResponse::complete));
+  }
+
+  private CompletableFuture<Result<Response>> send(HttpMethod method, String url,
+    Duration timeout,
+    Consumer<CompletableFuture<AsyncResult<HttpResponse<Buffer>>>> sender) {
+
+    return HttpClientConcurrencyLimiter.getInstance().acquire(tenantId, url, timeout)
+      .thenCompose(r -> r.after(permit -> send(method, url, sender, permit)));
+  }
+
+  private CompletableFuture<Result<Response>> send(HttpMethod method, String url,
+    Consumer<CompletableFuture<AsyncResult<HttpResponse<Buffer>>>> sender,
+    HttpClientConcurrencyLimiter.Permit permit) {
+
+    final CompletableFuture<AsyncResult<HttpResponse<Buffer>>> futureResponse
+      = new CompletableFuture<>();
+
+    final long start = System.currentTimeMillis();
+
+    onRequestMade.run();
+
+    try {
+      sender.accept(futureResponse);
+    }
+    catch (RuntimeException e) {
+      futureResponse.complete(Future.failedFuture(e));
+    }
 
     return futureResponse
+      .whenComplete((asyncResult, throwable) -> {
+        final long duration = System.currentTimeMillis() - start;
+
+        HttpClientMetrics.getInstance().recordCall(tenantId, url, method.name(),
+          statusOf(asyncResult), duration);
+
+        permit.release(duration, isOverloaded(asyncResult));
+      })
       .thenApply(asyncResult -> mapAsyncResultToResult(url, asyncResult));
   }
 
+  /**
+   * @return whether the request failed in a way that suggests the other module is not
+   * coping, rather than because of the request itself
+   */
+  private static boolean isOverloaded(AsyncResult<HttpResponse<Buffer>> asyncResult) {
+    if (asyncResult.failed()) {
+      return true;
+    }
+
+    final int statusCode = asyncResult.result().statusCode();
+
+    return statusCode >= 500 || statusCode == 429;
+  }
+
+  private static String statusOf(AsyncResult<HttpResponse<Buffer>> asyncResult) {
+    if (asyncResult.succeeded()) {
+      return Integer.toString(asyncResult.result().statusCode());
+    }
+
+    return asyncResult.cause() instanceof TimeoutException ? "timeout" : "error";
+  }
+
+  private static Duration timeoutFor(String url) {
+    return HttpClientTimeouts.getInstance().timeoutFor(url);
+  }
+
   private HttpRequest<Buffer> withStandardHeaders(HttpRequest<Buffer> request) {
     return request
       .putHeader(ACCEPT, "application/json, text/plain")
@@ -0,0 +1,238 @@
+package org.folio.circulation.support.http.server;
+
+import static io.vertx.core.buffer.Buffer.buffer;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.results.Result;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Writes a JSON object with a single array property, followed by a trailing
+ * totalRecords property, as a chunked response one batch of elements at a time
+ *
+ * Nothing is written until the first batch (or the end) so that a failure
+ * before then can still be written as an ordinary error response.
+ * A batch is only considered written once the response can take more,
+ * so that callers do not get ahead of a slow client. Waiting for that fails
+ * if the client goes away, rather than waiting forever.
+ *
+ * The response is only interacted with on the context it was created on (including
+ * starting and ending it), so that a drain cannot be missed between writing and waiting
+ * for it, and the writes and the end happen in the order they were called
+ */
+public class JsonArrayStreamingResponse {
+  private static final Logger log = LogManager.getLogger(MethodHandles.lookup().lookupClass());
+
+  private final HttpServerResponse response;
+  private final String arrayPropertyName;
+  private final Context context;
+  private boolean started = false;
+  private int totalRecords = 0;
+  private CompletableFuture<Result<Void>> waitingForDrain;
+
+  public JsonArrayStreamingResponse(HttpServerResponse response,
+    String arrayPropertyName) {
+
+    this(response, arrayPropertyName, Vertx.currentContext());
+  }
+
+  JsonArrayStreamingResponse(HttpServerResponse response,
+    String arrayPropertyName, Context context) {
+
+    this.response = response;
+    this.arrayPropertyName = arrayPropertyName;
+    this.context = context;
+
+    onContext(() -> {
+      response.closeHandler(notUsed -> finishWaitingWrite(failed(
+        new ServerErrorFailure("Response was closed before all records were written"))));
+
+      response.exceptionHandler(throwable -> finishWaitingWrite(failed(
+        new ServerErrorFailure(String.format(
+          "Response failed before all records were written: %s",
+          throwable.getMessage())))));
+    });
+  }
+
+  public synchronized CompletableFuture<Result<Void>> write(
+    Collection<JsonObject> elements) {
+
+    if (response.closed()) {
+      return completedFuture(failed(new ServerErrorFailure(
+        "Response was closed before all records were written")));
+    }
+
+    if (elements.isEmpty()) {
+      return completedFuture(succeeded(null));
+    }
+
+    final Buffer chunk = buffer();
+    final boolean first = !started;
+
+    if (first) {
+      chunk.appendString(opening());
+      started = true;
+    }
+
+    for (JsonObject element : elements) {
+      chunk.appendString(totalRecords == 0 ? "\n" : ",\n")
+        .appendString(element.encode());
+
+      totalRecords++;
+    }
+
+    final CompletableFuture<Result<Void>> written = new CompletableFuture<>();
+
+    onContext(() -> {
+      if (first) {
+        startResponse();
+      }
+
+      writeChunk(chunk, written);
+    });
+
+    return written;
+  }
+
+  private void writeChunk(Buffer chunk, CompletableFuture<Result<Void>> written) {
+    if (response.closed()) {
+      written.complete(failed(new ServerErrorFailure(
+        "Response was closed before all records were written")));
+
+      return;
+    }
+
+    // Registered before writing, as the queue could drain straight afterwards
+    waitingForDrain = written;
+    response.drainHandler(notUsed -> finishWaitingWrite(succeeded(null)));
+
+    response.write(chunk);
+
+    if (!response.writeQueueFull()) {
+      finishWaitingWrite(succeeded(null));
+    }
+  }
+
+  private void finishWaitingWrite(Result<Void> outcome) {
+    final CompletableFuture<Result<Void>> waiting = waitingForDrain;
+
+    if (waiting == null) {
+      return;
+    }
+
+    waitingForDrain = null;
+    response.drainHandler(null);
+
+    waiting.complete(outcome);
+  }
+
+  private void onContext(Runnable action) {
+    if (context == null || context == Vertx.currentContext()) {
+      action.run();
+    }
+    else {
+      context.runOnContext(notUsed -> action.run());
+    }
+  }
+
+  /**
+   * Writes {@code records} in batches of {@code batchSize}, each record is only
+   * mapped to JSON when its batch is written
+   */
+  public <T> CompletableFuture<Result<Void>> writeInBatches(List<T> records,
+    Function<T, JsonObject> toJson, int batchSize) {
+
+    return writeInBatches(records, toJson, batchSize, 0);
+  }
+
+  private <T> CompletableFuture<Result<Void>> writeInBatches(List<T> records,
+    Function<T, JsonObject> toJson, int batchSize, int fromIndex) {
+
+    if (fromIndex >= records.size()) {
+      return completedFuture(succeeded(null));
+    }
+
+    final int toIndex = Math.min(fromIndex + batchSize, records.size());
+
+    final List<JsonObject> batch = records.subList(fromIndex, toIndex).stream()
+      .map(toJson)
+      .collect(Collectors.toList());
+
+    return write(batch)
+      .thenCompose(r -> r.after(notUsed ->
+        writeInBatches(records, toJson, batchSize, toIndex)));
+  }
+
+  /**
+   * Ends the response, a failure can only be written as such when no records
+   * have been written yet, otherwise the connection is reset so that the client
+   * does not mistake a partial response for a complete one
+   */
+  public synchronized void end(Result<?> outcome) {
+    final boolean alreadyStarted = started;
+    final int recordsWritten = totalRecords;
+
+    started = true;
+
+    onContext(() -> end(outcome, alreadyStarted, recordsWritten));
+  }
+
+  private void end(Result<?> outcome, boolean alreadyStarted, int recordsWritten) {
+    if (response.closed()) {
+      return;
+    }
+
+    if (outcome.failed()) {
+      if (!alreadyStarted) {
+        outcome.cause().writeTo(response);
+      }
+      else {
+        log.error("Failed after writing {} records to streamed response: {}",
+          recordsWritten, outcome.cause());
+
+        response.reset();
+      }
+
+      return;
+    }
+
+    final Buffer chunk = buffer();
+
+    if (!alreadyStarted) {
+      startResponse();
+      chunk.appendString(opening());
+    }
+
+    chunk.appendString(String.format("\n  ],\n  \"totalRecords\" : %d\n}",
+      recordsWritten));
+
+    response.end(chunk);
+  }
+
+  private void startResponse() {
+    response.setStatusCode(200);
+    response.putHeader("content-type", "application/json; charset=utf-8");
+    response.setChunked(true);
+  }
+
+  private String opening() {
+    return String.format("{\n  \"%s\" : [", arrayPropertyName);
+  }
+}
@@ -0,0 +1,34 @@
+package org.folio.circulation.support.http.server;
+
+import static io.vertx.core.buffer.Buffer.buffer;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+public class TextHttpResponse implements HttpResponse {
+  private final int statusCode;
+  private final String body;
+  private final String contentType;
+
+  public static HttpResponse ok(String body, String contentType) {
+    return new TextHttpResponse(200, body, contentType);
+  }
+
+  public TextHttpResponse(int statusCode, String body, String contentType) {
+    this.statusCode = statusCode;
+    this.body = body;
+    this.contentType = contentType;
+  }
+
+  @Override
+  public void writeTo(HttpServerResponse response) {
+    Buffer buffer = buffer(body, "UTF-8");
+
+    response.setStatusCode(statusCode);
+    response.putHeader("content-type", contentType);
+    response.putHeader("content-length", Integer.toString(buffer.length()));
+
+    response.write(buffer);
+    response.end();
+  }
+}
@@ -9,21 +9,62 @@ import static org.folio.circulation.support.http.OkapiHeader.USER_ID;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.folio.circulation.support.InvalidOkapiLocationException;
 import org.folio.circulation.support.http.client.OkapiHttpClient;
 import org.folio.circulation.support.http.client.VertxWebClientOkapiHttpClient;
+import org.folio.circulation.support.metrics.HttpClientMetrics;
 import org.folio.circulation.support.results.Result;
 
 import io.vertx.core.http.HttpClient;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 
 public class WebContext {
+  private static final String REQUESTS_MADE_KEY = "circulation.requestsMade";
+
   private final RoutingContext routingContext;
+  // only used when there is no routing context, keys are lower case
+  private final Map<String, String> okapiHeaders;
 
   public WebContext(RoutingContext routingContext) {
     this.routingContext = routingContext;
+    this.okapiHeaders = Map.of();
+  }
+
+  private WebContext(Map<String, String> okapiHeaders) {
+    this.routingContext = null;
+    this.okapiHeaders = okapiHeaders.entrySet().stream()
+      .filter(entry -> entry.getValue() != null)
+      .collect(toMap(entry -> entry.getKey().toLowerCase(), Map.Entry::getValue));
+  }
+
+  /**
+   * Context for work done on behalf of a request after it has been responded to (e.g. a
+   * deferred side effect run after the module restarts), using the headers recorded by
+   * {@link #getOkapiHeaders}. Only the headers can be used, there is no request to read
+   * parameters from or response to write to
+   */
+  public static WebContext fromOkapiHeaders(Map<String, String> okapiHeaders) {
+    return new WebContext(okapiHeaders);
+  }
+
+  /**
+   * @return the headers needed to make requests to other modules on behalf of this
+   * request (Okapi URL, tenant, token, user and request ID)
+   */
+  public Map<String, String> getOkapiHeaders() {
+    final Map<String, String> headers = new HashMap<>();
+
+    Stream.of(OKAPI_URL, TENANT, TOKEN, USER_ID, REQUEST_ID)
+      .filter(header -> getHeader(header) != null)
+      .forEach(header -> headers.put(header.toLowerCase(), getHeader(header)));
+
+    return headers;
   }
 
   public String getTenantId() {
@@ -49,7 +90,9 @@ public class WebContext {
   }
 
   private String getHeader(String header) {
-    return routingContext.request().getHeader(header);
+    return routingContext == null
+      ? okapiHeaders.get(header.toLowerCase())
+      : routingContext.request().getHeader(header);
   }
 
   public Integer getIntegerParameter(String name, Integer defaultValue) {
@@ -85,9 +128,45 @@ public class WebContext {
       throw new InvalidOkapiLocationException(getOkapiLocation(), e);
     }
 
+    final AtomicInteger requestsMade = requestsMade();
+
     return VertxWebClientOkapiHttpClient.createClientUsing(httpClient,
       okapiUrl, getTenantId(), getOkapiToken(), getUserId(),
-      getRequestId());
+      getRequestId(), requestsMade::incrementAndGet);
+  }
+
+  /**
+   * Counts the requests made to other modules by all clients created for this request
+   * and records how many there were once the response has been written
+   */
+  private AtomicInteger requestsMade() {
+    if (routingContext == null) {
+      return new AtomicInteger();
+    }
+
+    final AtomicInteger existingCount = routingContext.get(REQUESTS_MADE_KEY);
+
+    if (existingCount != null) {
+      return existingCount;
+    }
+
+    final AtomicInteger requestsMade = new AtomicInteger();
+    final String route = getRouteName();
+
+    routingContext.put(REQUESTS_MADE_KEY, requestsMade);
+
+    routingContext.addBodyEndHandler(v -> HttpClientMetrics.getInstance()
+      .recordCallsPerRequest(route, requestsMade.get()));
+
+    return requestsMade;
+  }
+
+  private String getRouteName() {
+    final Route route = routingContext.currentRoute();
+    final String path = route == null ? null : route.getPath();
+
+    return routingContext.request().method().name() + " "
+      + (path == null ? "other" : path);
   }
 
   public void write(HttpResponse response) {
@@ -99,6 +178,10 @@ public class WebContext {
   }
 
   public Map<String, String> getHeaders() {
+    if (routingContext == null) {
+      return new HashMap<>(okapiHeaders);
+    }
+
     return routingContext.request().headers().entries().stream()
       .collect(toMap(entry -> entry.getKey().toLowerCase(), Map.Entry::getValue));
   }
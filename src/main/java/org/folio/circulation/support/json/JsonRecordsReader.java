@@ -0,0 +1,142 @@
+package org.folio.circulation.support.json;
+
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.folio.circulation.domain.MultipleRecords;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.JacksonCodec;
+
+/**
+ * Reads a collection of records (e.g. a page of loans from storage) straight from
+ * the body of a response, mapping each record as soon as it has been read, rather than
+ * parsing the whole collection first
+ */
+public class JsonRecordsReader {
+  private static final String TOTAL_RECORDS_PROPERTY_NAME = "totalRecords";
+
+  private JsonRecordsReader() { }
+
+  /**
+   * @throws DecodeException when the body is not a JSON object
+   */
+  public static <T> MultipleRecords<T> readRecords(Buffer body,
+    String recordsPropertyName, Function<JsonObject, T> mapper) {
+
+    final List<T> records = new ArrayList<>();
+    Integer totalRecords = null;
+
+    if (body == null) {
+      return new MultipleRecords<>(records, null);
+    }
+
+    try (JsonParser parser = JacksonCodec.createParser(body)) {
+      final JsonToken firstToken = parser.nextToken();
+
+      // an empty body is treated the same as an empty object
+      if (firstToken == null) {
+        return new MultipleRecords<>(records, null);
+      }
+
+      if (firstToken != START_OBJECT) {
+        throw new DecodeException("Records must be a JSON object");
+      }
+
+      while (parser.nextToken() != END_OBJECT) {
+        final String propertyName = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+
+        if (recordsPropertyName.equals(propertyName) && value == START_ARRAY) {
+          readArray(parser, records, mapper);
+        }
+        else if (TOTAL_RECORDS_PROPERTY_NAME.equals(propertyName)
+          && value.isNumeric()) {
+
+          totalRecords = parser.getIntValue();
+        }
+        else {
+          parser.skipChildren();
+        }
+      }
+    }
+    catch (IOException e) {
+      throw new DecodeException("Failed to decode records: " + e.getMessage(), e);
+    }
+
+    return new MultipleRecords<>(records, totalRecords);
+  }
+
+  private static <T> void readArray(JsonParser parser, List<T> records,
+    Function<JsonObject, T> mapper) throws IOException {
+
+    JsonToken token;
+
+    while ((token = parser.nextToken()) != END_ARRAY) {
+      if (token == START_OBJECT) {
+        records.add(mapper.apply(new JsonObject(readObject(parser))));
+      }
+      else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static Map<String, Object> readObject(JsonParser parser) throws IOException {
+    final Map<String, Object> properties = new LinkedHashMap<>();
+    String propertyName;
+
+    while ((propertyName = parser.nextFieldName()) != null) {
+      parser.nextToken();
+      properties.put(propertyName, readValue(parser));
+    }
+
+    return properties;
+  }
+
+  private static List<Object> readList(JsonParser parser) throws IOException {
+    final List<Object> values = new ArrayList<>();
+
+    while (parser.nextToken() != END_ARRAY) {
+      values.add(readValue(parser));
+    }
+
+    return values;
+  }
+
+  private static Object readValue(JsonParser parser) throws IOException {
+    switch (parser.getCurrentToken()) {
+      case START_OBJECT:
+        return readObject(parser);
+      case START_ARRAY:
+        return readList(parser);
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new DecodeException("Unexpected token: " + parser.getCurrentToken());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package org.folio.circulation.support.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of observed values falling into fixed buckets, along with how many values
+ * there have been and their sum. Safe to update from any thread.
+ */
+public class Histogram {
+  private final long[] upperBounds;
+  private final LongAdder[] bucketCounts;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * @param upperBounds  inclusive upper bound of each bucket in ascending order, values
+   * above the last bound are only included in the count and sum
+   */
+  public Histogram(long... upperBounds) {
+    this.upperBounds = upperBounds.clone();
+    this.bucketCounts = new LongAdder[upperBounds.length];
+
+    Arrays.setAll(bucketCounts, index -> new LongAdder());
+  }
+
+  public void record(long value) {
+    for (int index = 0; index < upperBounds.length; index++) {
+      if (value <= upperBounds[index]) {
+        bucketCounts[index].increment();
+        break;
+      }
+    }
+
+    count.increment();
+    sum.add(value);
+  }
+
+  long[] getUpperBounds() {
+    return upperBounds.clone();
+  }
+
+  /**
+   * @return number of values less than or equal to each upper bound
+   */
+  long[] getCumulativeCounts() {
+    final long[] cumulativeCounts = new long[upperBounds.length];
+    long total = 0;
+
+    for (int index = 0; index < upperBounds.length; index++) {
+      total += bucketCounts[index].sum();
+      cumulativeCounts[index] = total;
+    }
+
+    return cumulativeCounts;
+  }
+
+  long getCount() {
+    return count.sum();
+  }
+
+  long getSum() {
+    return sum.sum();
+  }
+}
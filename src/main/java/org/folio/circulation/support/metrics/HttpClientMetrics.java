@@ -0,0 +1,152 @@
+package org.folio.circulation.support.metrics;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import lombok.Value;
+
+/**
+ * How long requests to other modules take, grouped by tenant, client (the path of the
+ * request with any ids replaced), method and status, and how many of those requests are
+ * made when handling each route of this module. Also how long requests wait for, or are
+ * refused by, the limit on requests made to each other module at the same time.
+ */
+public final class HttpClientMetrics {
+  private static final long[] DURATION_BUCKETS_IN_MILLISECONDS =
+    { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 20000 };
+
+  private static final long[] CALLS_PER_REQUEST_BUCKETS =
+    { 1, 2, 5, 10, 20, 50, 100, 200, 500 };
+
+  private static final Pattern ID_SEGMENT = Pattern.compile(
+    "/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(?=/|$)");
+
+  private static final HttpClientMetrics instance = new HttpClientMetrics();
+
+  private final Map<CallKey, Histogram> calls = new ConcurrentHashMap<>();
+  private final Map<String, Histogram> callsPerRequest = new ConcurrentHashMap<>();
+  private final Map<DestinationKey, Histogram> queueTimes = new ConcurrentHashMap<>();
+  private final Map<DestinationKey, LongAdder> rejections = new ConcurrentHashMap<>();
+
+  public static HttpClientMetrics getInstance() {
+    return instance;
+  }
+
+  HttpClientMetrics() { }
+
+  /**
+   * @param status  status code of the response, or why there was no response
+   */
+  public void recordCall(String tenantId, String url, String method, String status,
+    long durationInMilliseconds) {
+
+    calls.computeIfAbsent(new CallKey(tenantId, clientName(url), method, status),
+        key -> new Histogram(DURATION_BUCKETS_IN_MILLISECONDS))
+      .record(durationInMilliseconds);
+  }
+
+  /**
+   * @param route  method and path of the route handling a request to this module
+   */
+  public void recordCallsPerRequest(String route, long numberOfCalls) {
+    callsPerRequest.computeIfAbsent(route,
+        key -> new Histogram(CALLS_PER_REQUEST_BUCKETS))
+      .record(numberOfCalls);
+  }
+
+  /**
+   * @param destination  the group of clients that the limit applies to, e.g. "/item-storage"
+   */
+  public void recordQueueTime(String tenantId, String destination,
+    long queueTimeInMilliseconds) {
+
+    queueTimes.computeIfAbsent(new DestinationKey(tenantId, destination),
+        key -> new Histogram(DURATION_BUCKETS_IN_MILLISECONDS))
+      .record(queueTimeInMilliseconds);
+  }
+
+  public void recordRejection(String tenantId, String destination) {
+    rejections.computeIfAbsent(new DestinationKey(tenantId, destination),
+        key -> new LongAdder())
+      .increment();
+  }
+
+  public void writeTo(PrometheusFormat format) {
+    calls.forEach((key, histogram) -> format.histogram(
+      "circulation_http_client_request_duration_milliseconds",
+      "Time taken by requests to other modules", key.toLabels(), histogram));
+
+    callsPerRequest.forEach((route, histogram) -> format.histogram(
+      "circulation_http_client_requests_per_incoming_request",
+      "Requests made to other modules when handling a request to this module",
+      Map.of("route", route), histogram));
+
+    queueTimes.forEach((key, histogram) -> format.histogram(
+      "circulation_http_client_queue_time_milliseconds",
+      "Time requests to other modules waited because of the concurrency limit",
+      key.toLabels(), histogram));
+
+    rejections.forEach((key, rejected) -> format.counter(
+      "circulation_http_client_rejected_requests_total",
+      "Requests to other modules refused because too many were waiting",
+      key.toLabels(), rejected.sum()));
+  }
+
+  /**
+   * @return path of the URL with any ids replaced, e.g. "/item-storage/items/{id}"
+   */
+  static String clientName(String url) {
+    String path;
+
+    try {
+      path = URI.create(url).getRawPath();
+    }
+    catch (IllegalArgumentException e) {
+      path = null;
+    }
+
+    if (path == null || path.isEmpty()) {
+      return "unknown";
+    }
+
+    return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+  }
+
+  @Value
+  private static class DestinationKey {
+    String tenantId;
+    String destination;
+
+    private Map<String, String> toLabels() {
+      final Map<String, String> labels = new LinkedHashMap<>();
+
+      labels.put("tenant", String.valueOf(tenantId));
+      labels.put("destination", destination);
+
+      return labels;
+    }
+  }
+
+  @Value
+  private static class CallKey {
+    String tenantId;
+    String client;
+    String method;
+    String status;
+
+    private Map<String, String> toLabels() {
+      final Map<String, String> labels = new LinkedHashMap<>();
+
+      labels.put("tenant", String.valueOf(tenantId));
+      labels.put("client", client);
+      labels.put("method", method);
+      labels.put("status", status);
+
+      return labels;
+    }
+  }
+}
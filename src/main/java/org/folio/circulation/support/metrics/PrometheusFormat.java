@@ -0,0 +1,138 @@
+package org.folio.circulation.support.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Writes metrics in the Prometheus text exposition format. The samples of each metric
+ * are written together after its description, even when they were added at different
+ * times (e.g. a metric with a sample for each cache)
+ */
+public class PrometheusFormat {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  // the description and samples of each metric, in the order they were first added
+  private final Map<String, StringBuilder> metrics = new LinkedHashMap<>();
+
+  public PrometheusFormat gauge(String name, String help, Map<String, String> labels,
+    double value) {
+
+    sample(describe(name, help, "gauge"), name, labels, value);
+
+    return this;
+  }
+
+  public PrometheusFormat counter(String name, String help, Map<String, String> labels,
+    double value) {
+
+    sample(describe(name, help, "counter"), name, labels, value);
+
+    return this;
+  }
+
+  /**
+   * Write a gauge for each number (or boolean, as 0 or 1) in the statistics, named by
+   * the prefix and the property, nested objects are ignored
+   */
+  public PrometheusFormat gauges(String prefix, String help, Map<String, String> labels,
+    JsonObject statistics) {
+
+    statistics.forEach(property -> {
+      final Object value = property.getValue();
+      final String name = prefix + "_" + metricName(property.getKey());
+
+      if (value instanceof Number) {
+        gauge(name, help, labels, ((Number) value).doubleValue());
+      }
+      else if (value instanceof Boolean) {
+        gauge(name, help, labels, Boolean.TRUE.equals(value) ? 1 : 0);
+      }
+    });
+
+    return this;
+  }
+
+  public PrometheusFormat histogram(String name, String help, Map<String, String> labels,
+    Histogram histogram) {
+
+    final StringBuilder metric = describe(name, help, "histogram");
+    final long[] upperBounds = histogram.getUpperBounds();
+    final long[] cumulativeCounts = histogram.getCumulativeCounts();
+
+    for (int index = 0; index < upperBounds.length; index++) {
+      sample(metric, name + "_bucket",
+        withLabel(labels, "le", Long.toString(upperBounds[index])), cumulativeCounts[index]);
+    }
+
+    sample(metric, name + "_bucket", withLabel(labels, "le", "+Inf"), histogram.getCount());
+    sample(metric, name + "_sum", labels, histogram.getSum());
+    sample(metric, name + "_count", labels, histogram.getCount());
+
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return String.join("", metrics.values());
+  }
+
+  /**
+   * @return name made up of only the characters allowed in metric names,
+   * e.g. "hitRate" becomes "hit_rate"
+   */
+  public static String metricName(String name) {
+    return name
+      .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+      .replaceAll("[^a-zA-Z0-9_]", "_")
+      .toLowerCase();
+  }
+
+  /**
+   * @return where the samples of the metric are written, after its description
+   */
+  private StringBuilder describe(String name, String help, String type) {
+    return metrics.computeIfAbsent(name, notUsed -> new StringBuilder()
+      .append("# HELP ").append(name).append(' ').append(help).append('\n')
+      .append("# TYPE ").append(name).append(' ').append(type).append('\n'));
+  }
+
+  private static void sample(StringBuilder text, String name, Map<String, String> labels,
+    double value) {
+
+    text.append(name);
+
+    if (!labels.isEmpty()) {
+      text.append(labels.entrySet().stream()
+        .map(label -> label.getKey() + "=\"" + escape(label.getValue()) + "\"")
+        .collect(Collectors.joining(",", "{", "}")));
+    }
+
+    text.append(' ').append(format(value)).append('\n');
+  }
+
+  private static Map<String, String> withLabel(Map<String, String> labels, String name,
+    String value) {
+
+    final Map<String, String> allLabels = new LinkedHashMap<>(labels);
+
+    allLabels.put(name, value);
+
+    return allLabels;
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value) && !Double.isInfinite(value)
+      ? Long.toString((long) value)
+      : Double.toString(value);
+  }
+
+  private static String escape(String value) {
+    return String.valueOf(value)
+      .replace("\\", "\\\\")
+      .replace("\"", "\\\"")
+      .replace("\n", "\\n");
+  }
+}
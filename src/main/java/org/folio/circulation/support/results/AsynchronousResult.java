@@ -1,6 +1,7 @@
 package org.folio.circulation.support.results;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -75,7 +76,7 @@ public class AsynchronousResult<T> {
    * when the current result is successful and the mapping succeeds, otherwise a failure
    */
   public <R> AsynchronousResult<R> flatMapFuture(Function<T, CompletableFuture<Result<R>>> map) {
-    return fromFutureResult(completionStage.thenComposeAsync(r -> r.after(map)));
+    return fromFutureResult(completionStage.thenComposeAsync(r -> r.after(map), onCurrentContext()));
   }
 
   public <R> AsynchronousResult<R> map(Function<T, R> mapper) {
@@ -1,6 +1,7 @@
 package org.folio.circulation.support.results;
 
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -34,6 +35,6 @@ public class MappingFunctions {
       conditionFunction.apply(value)
         .thenComposeAsync(r -> r.after(condition -> isTrue(condition)
           ? whenTrue.apply(value)
-          : whenFalse.apply(value)));
+          : whenFalse.apply(value)), onCurrentContext());
   }
 }
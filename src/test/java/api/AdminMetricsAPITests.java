@@ -0,0 +1,36 @@
+package api;
+
+import static api.support.http.InterfaceUrls.adminMetricsUrl;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.folio.circulation.support.http.client.Response;
+import org.junit.jupiter.api.Test;
+
+import api.support.APITests;
+import api.support.RestAssuredClient;
+
+class AdminMetricsAPITests extends APITests {
+  @Test
+  void metricsIncludeRequestsMadeToOtherModules() {
+    checkOutFixture.checkOutByBarcode(itemsFixture.basedUponSmallAngryPlanet(),
+      usersFixture.jessica());
+
+    final Response response = RestAssuredClient.defaultRestAssuredClient()
+      .get(adminMetricsUrl(), 200, "get-admin-metrics");
+
+    assertThat(response.getContentType(), startsWith("text/plain"));
+
+    assertThat(response.getBody(), containsString(
+      "circulation_http_client_request_duration_milliseconds_count{"
+        + "tenant=\"test_tenant\",client=\"/item-storage/items\",method=\"GET\""));
+
+    assertThat(response.getBody(), containsString(
+      "circulation_http_client_requests_per_incoming_request_count{"
+        + "route=\"POST /circulation/check-out-by-barcode\"}"));
+
+    assertThat(response.getBody(), containsString(
+      "circulation_cache_hits{cache=\"reference_data\"}"));
+  }
+}
@@ -0,0 +1,184 @@
+package api.loans;
+
+import static api.support.matchers.ItemMatchers.isAvailable;
+import static api.support.matchers.ItemMatchers.isAwaitingPickup;
+import static api.support.matchers.LoanMatchers.isClosed;
+import static api.support.matchers.ResponseStatusCodeMatcher.hasStatus;
+import static api.support.matchers.ValidationErrorMatchers.hasErrorWith;
+import static api.support.matchers.ValidationErrorMatchers.hasMessage;
+import static java.util.Arrays.asList;
+import static org.folio.HttpStatus.HTTP_OK;
+import static org.folio.HttpStatus.HTTP_UNPROCESSABLE_ENTITY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.joda.time.DateTimeZone.UTC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.circulation.support.http.client.Response;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import api.support.APITests;
+import api.support.builders.CheckInByBarcodeRequestBuilder;
+import api.support.http.IndividualResource;
+import api.support.http.ItemResource;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class CheckInByBarcodeBatchTests extends APITests {
+  private static final DateTime CHECK_IN_DATE = new DateTime(2018, 3, 5, 14, 23, 41, UTC);
+
+  @Test
+  void canCheckInManyItemsInOneRequest() {
+    final IndividualResource james = usersFixture.james();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+    final ItemResource interestingTimes = itemsFixture.basedUponInterestingTimes();
+
+    final IndividualResource nodLoan = checkOutFixture.checkOutByBarcode(nod, james,
+      new DateTime(2018, 3, 1, 13, 25, 46, UTC));
+
+    final IndividualResource temeraireLoan = checkOutFixture.checkOutByBarcode(
+      temeraire, james, new DateTime(2018, 3, 2, 9, 10, 0, UTC));
+
+    final Response response = checkInFixture.attemptCheckInByBarcodeBatch(asList(
+      checkIn(nod), checkIn(temeraire), checkIn(interestingTimes)));
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray checkIns = response.getJson().getJsonArray("checkIns");
+
+    assertThat(response.getJson().getInteger("totalRecords"), is(3));
+    assertThat(checkIns.size(), is(3));
+
+    assertCheckedIn(checkIns.getJsonObject(0), nod);
+    assertCheckedIn(checkIns.getJsonObject(1), temeraire);
+    assertCheckedIn(checkIns.getJsonObject(2), interestingTimes);
+
+    assertThat(checkIns.getJsonObject(0).getJsonObject("checkIn")
+      .getJsonObject("loan").getString("id"), is(nodLoan.getId().toString()));
+
+    assertThat("item without a loan is checked in without one",
+      checkIns.getJsonObject(2).getJsonObject("checkIn").containsKey("loan"), is(false));
+
+    assertThat(loansStorageClient.getById(nodLoan.getId()).getJson(), isClosed());
+    assertThat(loansStorageClient.getById(temeraireLoan.getId()).getJson(), isClosed());
+
+    assertThat(itemsClient.getById(nod.getId()).getJson(), isAvailable());
+    assertThat(itemsClient.getById(temeraire.getId()).getJson(), isAvailable());
+    assertThat(itemsClient.getById(interestingTimes.getId()).getJson(), isAvailable());
+  }
+
+  @Test
+  void requestedItemIsCheckedInToTheHoldShelf() {
+    final IndividualResource james = usersFixture.james();
+    final IndividualResource jessica = usersFixture.jessica();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+
+    checkOutFixture.checkOutByBarcode(nod, james);
+    checkOutFixture.checkOutByBarcode(temeraire, james);
+
+    requestsFixture.placeHoldShelfRequest(nod, jessica,
+      new DateTime(2018, 3, 3, 10, 0, 0, UTC));
+
+    final Response response = checkInFixture.attemptCheckInByBarcodeBatch(asList(
+      checkIn(nod), checkIn(temeraire)));
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray checkIns = response.getJson().getJsonArray("checkIns");
+
+    assertCheckedIn(checkIns.getJsonObject(0), nod);
+    assertCheckedIn(checkIns.getJsonObject(1), temeraire);
+
+    assertThat(itemsClient.getById(nod.getId()).getJson(), isAwaitingPickup());
+
+    assertThat(itemsClient.getById(temeraire.getId()).getJson(), isAvailable());
+  }
+
+  @Test
+  void checkInsThatCannotBeProcessedAreReportedIndividually() {
+    final IndividualResource james = usersFixture.james();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+
+    final IndividualResource loan = checkOutFixture.checkOutByBarcode(nod, james);
+
+    final Response response = checkInFixture.attemptCheckInByBarcodeBatch(asList(
+      new CheckInByBarcodeRequestBuilder()
+        .withItemBarcode("543593485458")
+        .on(CHECK_IN_DATE)
+        .at(servicePointsFixture.cd1()),
+      checkIn(nod),
+      checkIn(nod),
+      new CheckInByBarcodeRequestBuilder()
+        .forItem(temeraire)
+        .on(CHECK_IN_DATE)
+        .atNoServicePoint()));
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray checkIns = response.getJson().getJsonArray("checkIns");
+
+    assertThat(checkIns.size(), is(4));
+
+    assertNotCheckedIn(checkIns.getJsonObject(0), "543593485458",
+      "No item with barcode 543593485458 exists");
+
+    assertCheckedIn(checkIns.getJsonObject(1), nod);
+
+    assertNotCheckedIn(checkIns.getJsonObject(2), nod.getBarcode(),
+      "Batch check in request has more than one check in for item barcode "
+        + nod.getBarcode());
+
+    assertNotCheckedIn(checkIns.getJsonObject(3), temeraire.getBarcode(),
+      "Checkin request must have a service point id");
+
+    assertThat(loansStorageClient.getById(loan.getId()).getJson(), isClosed());
+  }
+
+  @Test
+  void cannotCheckInMoreThanMaximumNumberOfItemsInOneRequest() {
+    final List<CheckInByBarcodeRequestBuilder> checkIns = new ArrayList<>();
+
+    for (int i = 0; i < 501; i++) {
+      checkIns.add(new CheckInByBarcodeRequestBuilder()
+        .withItemBarcode(UUID.randomUUID().toString())
+        .on(CHECK_IN_DATE)
+        .at(UUID.randomUUID()));
+    }
+
+    final Response response = checkInFixture.attemptCheckInByBarcodeBatch(checkIns);
+
+    assertThat(response, hasStatus(HTTP_UNPROCESSABLE_ENTITY));
+
+    assertThat(response.getJson(), hasErrorWith(hasMessage(
+      "Batch check in request cannot have more than 500 check ins")));
+  }
+
+  private CheckInByBarcodeRequestBuilder checkIn(IndividualResource item) {
+    return new CheckInByBarcodeRequestBuilder()
+      .forItem(item)
+      .on(CHECK_IN_DATE)
+      .at(servicePointsFixture.cd1());
+  }
+
+  private void assertCheckedIn(JsonObject outcome, ItemResource item) {
+    assertThat(outcome.getString("itemBarcode"), is(item.getBarcode()));
+    assertThat("should not have errors: " + outcome.encodePrettily(),
+      outcome.containsKey("errors"), is(false));
+    assertThat(outcome.getJsonObject("checkIn").getJsonObject("item").getString("id"),
+      is(item.getId().toString()));
+  }
+
+  private void assertNotCheckedIn(JsonObject outcome, String barcode, String message) {
+    assertThat(outcome.getString("itemBarcode"), is(barcode));
+    assertThat(outcome.containsKey("checkIn"), is(false));
+    assertThat(outcome.getInteger("status"), is(422));
+    assertThat(outcome, hasErrorWith(hasMessage(message)));
+  }
+}
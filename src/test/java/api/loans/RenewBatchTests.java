@@ -0,0 +1,178 @@
+package api.loans;
+
+import static api.support.matchers.ResponseStatusCodeMatcher.hasStatus;
+import static api.support.matchers.ValidationErrorMatchers.hasErrorWith;
+import static api.support.matchers.ValidationErrorMatchers.hasMessage;
+import static java.util.Arrays.asList;
+import static org.folio.HttpStatus.HTTP_OK;
+import static org.folio.HttpStatus.HTTP_UNPROCESSABLE_ENTITY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.joda.time.DateTimeZone.UTC;
+
+import java.util.UUID;
+
+import org.folio.circulation.support.http.client.Response;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import api.support.APITests;
+import api.support.http.IndividualResource;
+import api.support.http.ItemResource;
+import api.support.http.ResourceClient;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class RenewBatchTests extends APITests {
+  private static final DateTime LOAN_DATE = new DateTime(2018, 4, 21, 11, 21, 43, UTC);
+
+  @Test
+  void canRenewManyLoansInOneRequest() {
+    final IndividualResource jessica = usersFixture.jessica();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+
+    final IndividualResource nodLoan = checkOutFixture.checkOutByBarcode(nod, jessica,
+      LOAN_DATE);
+    final IndividualResource temeraireLoan = checkOutFixture.checkOutByBarcode(temeraire,
+      jessica, LOAN_DATE);
+
+    final Response response = loansFixture.attemptBatchRenewal(jessica,
+      asList(nod, temeraire));
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray renewals = response.getJson().getJsonArray("renewals");
+
+    assertThat(response.getJson().getInteger("totalRecords"), is(2));
+
+    assertRenewed(renewals.getJsonObject(0), nod, nodLoan);
+    assertRenewed(renewals.getJsonObject(1), temeraire, temeraireLoan);
+
+    assertThat(loansStorageClient.getById(nodLoan.getId()).getJson()
+      .getInteger("renewalCount"), is(1));
+    assertThat(loansStorageClient.getById(temeraireLoan.getId()).getJson()
+      .getInteger("renewalCount"), is(1));
+  }
+
+  @Test
+  void canRenewAllOfAPatronsLoans() {
+    final IndividualResource jessica = usersFixture.jessica();
+    final IndividualResource james = usersFixture.james();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+    final ItemResource interestingTimes = itemsFixture.basedUponInterestingTimes();
+
+    final IndividualResource nodLoan = checkOutFixture.checkOutByBarcode(nod, jessica,
+      LOAN_DATE);
+    final IndividualResource temeraireLoan = checkOutFixture.checkOutByBarcode(temeraire,
+      jessica, LOAN_DATE);
+    final IndividualResource otherPatronsLoan = checkOutFixture.checkOutByBarcode(
+      interestingTimes, james, LOAN_DATE);
+
+    final Response response = loansFixture.attemptToRenewAllLoans(jessica);
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray renewals = response.getJson().getJsonArray("renewals");
+
+    assertThat(renewals.size(), is(2));
+
+    renewals.stream()
+      .map(JsonObject.class::cast)
+      .forEach(renewal -> assertThat(renewal.getJsonObject("loan")
+        .getString("action"), is("renewed")));
+
+    assertThat(loansStorageClient.getById(nodLoan.getId()).getJson()
+      .getInteger("renewalCount"), is(1));
+    assertThat(loansStorageClient.getById(temeraireLoan.getId()).getJson()
+      .getInteger("renewalCount"), is(1));
+    assertThat("another patron's loan should not be renewed",
+      loansStorageClient.getById(otherPatronsLoan.getId()).getJson()
+        .containsKey("renewalCount"), is(false));
+  }
+
+  @Test
+  void renewalsThatCannotBeProcessedAreReportedIndividually() {
+    final IndividualResource jessica = usersFixture.jessica();
+    final IndividualResource james = usersFixture.james();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+    final ItemResource missingItem = itemsFixture.basedUponUprooted();
+
+    final IndividualResource nodLoan = checkOutFixture.checkOutByBarcode(nod, jessica,
+      LOAN_DATE);
+    checkOutFixture.checkOutByBarcode(temeraire, james, LOAN_DATE);
+
+    itemsClient.delete(missingItem.getId());
+
+    final Response response = loansFixture.attemptBatchRenewal(jessica,
+      asList(nod, temeraire, missingItem, nod));
+
+    assertThat(response, hasStatus(HTTP_OK));
+
+    final JsonArray renewals = response.getJson().getJsonArray("renewals");
+
+    assertThat(renewals.size(), is(4));
+
+    assertRenewed(renewals.getJsonObject(0), nod, nodLoan);
+
+    assertNotRenewed(renewals.getJsonObject(1), temeraire,
+      "Cannot renew item checked out to different user");
+
+    assertNotRenewed(renewals.getJsonObject(2), missingItem,
+      "No item with barcode " + missingItem.getBarcode() + " exists");
+
+    assertNotRenewed(renewals.getJsonObject(3), nod,
+      "Batch renewal request has more than one renewal for item barcode "
+        + nod.getBarcode());
+
+    assertThat(loansStorageClient.getById(nodLoan.getId()).getJson()
+      .getInteger("renewalCount"), is(1));
+  }
+
+  @Test
+  void cannotRenewAnyLoanWhenPatronIsInactive() {
+    IndividualResource jessica = usersFixture.jessica();
+    final ItemResource nod = itemsFixture.basedUponNod();
+    final ItemResource temeraire = itemsFixture.basedUponTemeraire();
+
+    checkOutFixture.checkOutByBarcode(nod, jessica, LOAN_DATE);
+    checkOutFixture.checkOutByBarcode(temeraire, jessica, LOAN_DATE);
+
+    final UUID userId = jessica.getId();
+    final ResourceClient usersClient = ResourceClient.forUsers();
+
+    usersClient.replace(userId, jessica.copyJson().put("active", false));
+
+    jessica = usersClient.get(userId);
+
+    final Response response = loansFixture.attemptToRenewAllLoans(jessica);
+
+    assertThat(response, hasStatus(HTTP_UNPROCESSABLE_ENTITY));
+
+    assertThat(response.getJson(), hasErrorWith(
+      hasMessage("Cannot renew loan when user is inactive or expired")));
+  }
+
+  private void assertRenewed(JsonObject outcome, ItemResource item,
+    IndividualResource loan) {
+
+    assertThat(outcome.getString("itemBarcode"), is(item.getBarcode()));
+    assertThat("should not have errors: " + outcome.encodePrettily(),
+      outcome.containsKey("errors"), is(false));
+
+    final JsonObject renewedLoan = outcome.getJsonObject("loan");
+
+    assertThat(renewedLoan.getString("id"), is(loan.getId().toString()));
+    assertThat(renewedLoan.getString("action"), is("renewed"));
+    assertThat(renewedLoan.getInteger("renewalCount"), is(1));
+  }
+
+  private void assertNotRenewed(JsonObject outcome, ItemResource item, String message) {
+    assertThat(outcome.getString("itemBarcode"), is(item.getBarcode()));
+    assertThat(outcome.containsKey("loan"), is(false));
+    assertThat(outcome.getInteger("status"), is(422));
+    assertThat(outcome, hasErrorWith(hasMessage(message)));
+  }
+}
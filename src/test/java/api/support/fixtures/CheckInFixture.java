@@ -1,9 +1,12 @@
 package api.support.fixtures;
 
 import static api.support.APITestContext.getOkapiHeadersFromContext;
+import static api.support.http.InterfaceUrls.checkInByBarcodeBatchUrl;
 import static api.support.http.InterfaceUrls.checkInByBarcodeUrl;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.utils.ClockUtil;
@@ -14,6 +17,7 @@ import api.support.RestAssuredClient;
 import api.support.builders.CheckInByBarcodeRequestBuilder;
 import api.support.http.IndividualResource;
 import api.support.http.OkapiHeaders;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 public class CheckInFixture {
@@ -82,6 +86,15 @@ public class CheckInFixture {
     restAssuredClient.post(representation, checkInByBarcodeUrl(), 200, okapiHeaders);
   }
 
+  public Response attemptCheckInByBarcodeBatch(List<CheckInByBarcodeRequestBuilder> builders) {
+    final JsonObject batch = new JsonObject().put("checkIns", new JsonArray(builders.stream()
+      .map(CheckInByBarcodeRequestBuilder::create)
+      .collect(Collectors.toList())));
+
+    return restAssuredClient.post(batch, checkInByBarcodeBatchUrl(),
+      "check-in-by-barcode-batch-request");
+  }
+
   private IndividualResource defaultServicePoint() {
     return servicePointsFixture.cd1();
   }
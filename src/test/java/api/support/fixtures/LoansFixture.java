@@ -6,6 +6,7 @@ import static api.support.MultipleJsonRecords.multipleRecordsFrom;
 import static api.support.http.AdditionalHttpStatusCodes.UNPROCESSABLE_ENTITY;
 import static api.support.http.CqlQuery.noQuery;
 import static api.support.http.InterfaceUrls.loansUrl;
+import static api.support.http.InterfaceUrls.renewBatchUrl;
 import static api.support.http.InterfaceUrls.renewByBarcodeUrl;
 import static api.support.http.InterfaceUrls.renewByIdUrl;
 import static api.support.http.Limit.maximumLimit;
@@ -14,7 +15,9 @@ import static api.support.http.Offset.noOffset;
 import static java.net.HttpURLConnection.HTTP_OK;
 
 import java.net.URL;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.folio.circulation.support.http.client.Response;
 import org.folio.circulation.support.utils.ClockUtil;
@@ -32,6 +35,7 @@ import api.support.http.IndividualResource;
 import api.support.http.Limit;
 import api.support.http.Offset;
 import api.support.http.OkapiHeaders;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 public class LoansFixture {
@@ -226,6 +230,25 @@ public class LoansFixture {
     return restAssuredClient.post(request, renewByIdUrl(), 422, "renewal-by-id-request");
   }
 
+  public Response attemptBatchRenewal(IndividualResource user,
+    List<? extends IndividualResource> items) {
+
+    final JsonObject request = new JsonObject()
+      .put("userBarcode", user.getJson().getString("barcode"))
+      .put("itemBarcodes", new JsonArray(items.stream()
+        .map(item -> item.getJson().getString("barcode"))
+        .collect(Collectors.toList())));
+
+    return restAssuredClient.post(request, renewBatchUrl(), "renew-batch-request");
+  }
+
+  public Response attemptToRenewAllLoans(IndividualResource user) {
+    final JsonObject request = new JsonObject()
+      .put("userBarcode", user.getJson().getString("barcode"));
+
+    return restAssuredClient.post(request, renewBatchUrl(), "renew-batch-request");
+  }
+
   public IndividualResource getLoanById(UUID id) {
     return new IndividualResource(restAssuredClient.get(urlForLoan(id), 200, "get-loan-by-id"));
   }
@@ -141,6 +141,10 @@ public class InterfaceUrls {
     return circulationModuleUrl("/circulation/check-in-by-barcode");
   }
 
+  public static URL checkInByBarcodeBatchUrl() {
+    return circulationModuleUrl("/circulation/check-in-by-barcode-batch");
+  }
+
   public static URL renewByBarcodeUrl() {
     return circulationModuleUrl("/circulation/renew-by-barcode");
   }
@@ -149,6 +153,10 @@ public class InterfaceUrls {
     return circulationModuleUrl("/circulation/renew-by-id");
   }
 
+  public static URL renewBatchUrl() {
+    return circulationModuleUrl("/circulation/renew-batch");
+  }
+
   public static URL loansUrl() {
     return loansUrl("");
   }
@@ -287,4 +295,8 @@ public class InterfaceUrls {
   public static URL scheduledAgeToLostFeeChargingUrl() {
     return circulationModuleUrl("/circulation/scheduled-age-to-lost-fee-charging");
   }
+
+  public static URL adminMetricsUrl() {
+    return circulationModuleUrl("/admin/metrics");
+  }
 }
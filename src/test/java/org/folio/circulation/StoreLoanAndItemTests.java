@@ -0,0 +1,127 @@
+package org.folio.circulation;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.infrastructure.storage.inventory.ItemRepository;
+import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class StoreLoanAndItemTests {
+  private final LoanRepository loanRepository = mock(LoanRepository.class);
+  private final ItemRepository itemRepository = mock(ItemRepository.class);
+
+  @Test
+  void loanWhichCannotBeUpdatedDoesNotFailTheOthers() {
+    final List<Loan> loans = loans(3);
+    final Loan loanWhichFails = loans.get(1);
+
+    when(loanRepository.updateLoan(any(Loan.class))).thenAnswer(invocation -> {
+      final Loan loan = invocation.getArgument(0);
+
+      return completedFuture(loan == loanWhichFails
+        ? failed(new ServerErrorFailure("storage unavailable"))
+        : succeeded(loan));
+    });
+
+    final Result<List<Loan>> result = new StoreLoanAndItem(loanRepository, itemRepository, 2)
+      .updateLoansAndItemsInStorage(loans)
+      .join();
+
+    assertThat(result.succeeded(), is(true));
+    assertThat(idsOf(result.value()), contains(loans.get(0).getId(), loans.get(2).getId()));
+  }
+
+  @Test
+  void loanWhoseUpdateThrowsDoesNotFailTheOthers() {
+    final List<Loan> loans = loans(3);
+    final Loan loanWhichCompletesExceptionally = loans.get(0);
+    final Loan loanWhichThrows = loans.get(1);
+
+    when(loanRepository.updateLoan(any(Loan.class))).thenAnswer(invocation -> {
+      final Loan loan = invocation.getArgument(0);
+
+      if (loan == loanWhichThrows) {
+        throw new IllegalStateException("cannot update");
+      }
+
+      return loan == loanWhichCompletesExceptionally
+        ? CompletableFuture.<Result<Loan>>failedFuture(new RuntimeException("timed out"))
+        : completedFuture(succeeded(loan));
+    });
+
+    final Result<List<Loan>> result = new StoreLoanAndItem(loanRepository, itemRepository, 2)
+      .updateLoansAndItemsInStorage(loans)
+      .join();
+
+    assertThat(result.succeeded(), is(true));
+    assertThat(idsOf(result.value()), contains(loans.get(2).getId()));
+  }
+
+  @Test
+  void limitsNumberOfLoansUpdatedAtTheSameTime() {
+    final List<Loan> loans = loans(10);
+    final List<CompletableFuture<Result<Loan>>> pendingUpdates = new ArrayList<>();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger mostInFlight = new AtomicInteger();
+
+    when(loanRepository.updateLoan(any(Loan.class))).thenAnswer(invocation -> {
+      final CompletableFuture<Result<Loan>> update = new CompletableFuture<>();
+
+      mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      pendingUpdates.add(update);
+
+      return update.thenApply(r -> {
+        inFlight.decrementAndGet();
+        return r;
+      });
+    });
+
+    final CompletableFuture<Result<List<Loan>>> updated
+      = new StoreLoanAndItem(loanRepository, itemRepository, 3)
+        .updateLoansAndItemsInStorage(loans);
+
+    for (int index = 0; index < loans.size(); index++) {
+      assertThat(pendingUpdates.size(), is(Math.min(index + 3, loans.size())));
+
+      pendingUpdates.get(index).complete(succeeded(loans.get(index)));
+    }
+
+    assertThat(idsOf(updated.join().value()), contains(idsOf(loans).toArray()));
+    assertThat(mostInFlight.get(), is(3));
+  }
+
+  private static List<Loan> loans(int count) {
+    return IntStream.range(0, count)
+      .mapToObj(index -> Loan.from(new JsonObject().put("id", UUID.randomUUID().toString()))
+        .withItem(Item.from(new JsonObject().put("id", UUID.randomUUID().toString()))))
+      .collect(toList());
+  }
+
+  private static List<String> idsOf(List<Loan> loans) {
+    return loans.stream()
+      .map(Loan::getId)
+      .collect(toList());
+  }
+}
@@ -0,0 +1,136 @@
+package org.folio.circulation.domain.anonymization.service;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.domain.anonymization.config.ClosingType.IMMEDIATELY;
+import static org.folio.circulation.domain.anonymization.config.ClosingType.INTERVAL;
+import static org.folio.circulation.support.json.JsonPropertyWriter.write;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.circulation.domain.Loan;
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.domain.anonymization.config.ClosingType;
+import org.folio.circulation.domain.anonymization.config.LoanAnonymizationConfiguration;
+import org.folio.circulation.infrastructure.storage.feesandfines.AccountRepository;
+import org.folio.circulation.infrastructure.storage.loans.LoanRepository;
+import org.folio.circulation.support.utils.ClockUtil;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class LoansForTenantFinderTests {
+  private static final String TENANT = "test_tenant";
+
+  private final DateTime now = new DateTime(2021, 3, 10, 12, 0, DateTimeZone.UTC);
+  private final LoanRepository loanRepository = mock(LoanRepository.class);
+  private final AccountRepository accountRepository = mock(AccountRepository.class);
+  private final ScheduledAnonymizationCursors cursors = new ScheduledAnonymizationCursors();
+
+  @BeforeEach
+  void setUp() {
+    ClockUtil.setClock(Clock.fixed(Instant.ofEpochMilli(now.getMillis()), ZoneOffset.UTC));
+
+    when(accountRepository.findAccountsForLoans(any()))
+      .thenAnswer(invocation -> completedFuture(succeeded(invocation.getArgument(0))));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ClockUtil.setDefaultClock();
+  }
+
+  @Test
+  void carriesOnAfterLastLoanOfFullPage() {
+    final Loan firstLoan = loan();
+    final Loan lastLoan = loan();
+
+    loansFound(firstLoan, lastLoan);
+
+    finder(2, anonymize(IMMEDIATELY)).findLoansToAnonymize().join();
+
+    assertThat(cursors.getLastLoanChecked(TENANT), is(lastLoan));
+
+    finder(2, anonymize(IMMEDIATELY)).findLoansToAnonymize().join();
+
+    verify(loanRepository).findLoansToAnonymize(isNull(), eq(lastLoan), any());
+  }
+
+  @Test
+  void startsFromBeginningAgainAfterLastPage() {
+    cursors.loanChecked(TENANT, loan());
+
+    loansFound(loan());
+
+    finder(2, anonymize(IMMEDIATELY)).findLoansToAnonymize().join();
+
+    assertThat(cursors.getLastLoanChecked(TENANT), is(nullValue()));
+  }
+
+  @Test
+  void onlyFindsLoansReturnedBeforeLoanClosePeriod() {
+    loansFound();
+
+    finder(2, anonymize(INTERVAL)).findLoansToAnonymize().join();
+
+    verify(loanRepository).findLoansToAnonymize(eq(now.minusDays(3)), isNull(), any());
+  }
+
+  @Test
+  void findsLoansReturnedAtAnyTimeWhenLoansWithFeesAndFinesAreTreatedDifferently() {
+    loansFound();
+
+    final JsonObject representation = anonymize(INTERVAL).getRepresentation();
+    write(representation, "treatEnabled", true);
+
+    finder(2, LoanAnonymizationConfiguration.from(representation))
+      .findLoansToAnonymize().join();
+
+    verify(loanRepository).findLoansToAnonymize(isNull(), isNull(), any());
+  }
+
+  private void loansFound(Loan... loans) {
+    when(loanRepository.findLoansToAnonymize(any(), any(), any()))
+      .thenReturn(completedFuture(succeeded(
+        new MultipleRecords<>(List.of(loans), loans.length))));
+  }
+
+  private LoansForTenantFinder finder(int numberOfLoansToCheck,
+    LoanAnonymizationConfiguration config) {
+
+    return new LoansForTenantFinder(loanRepository, accountRepository,
+      numberOfLoansToCheck, TENANT, config, cursors);
+  }
+
+  private static Loan loan() {
+    return Loan.from(new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("status", new JsonObject().put("name", "Closed")));
+  }
+
+  private static LoanAnonymizationConfiguration anonymize(ClosingType closingType) {
+    final JsonObject representation = new JsonObject()
+      .put("closingType", new JsonObject().put("loan", closingType.getRepresentation()))
+      .put("loan", new JsonObject().put("duration", 3).put("intervalId", "Days"))
+      .put("treatEnabled", false);
+
+    return LoanAnonymizationConfiguration.from(representation);
+  }
+}
@@ -0,0 +1,155 @@
+package org.folio.circulation.domain.notice.schedule;
+
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.circulation.domain.MultipleRecords;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.utils.ClockUtil;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class ScheduledNoticeBacklogTests {
+  private static final String TENANT = "test_tenant";
+  private static final String NOTICE_TYPE = "/circulation/loan-scheduled-notices-processing";
+
+  private static final long RUN_TIMEOUT = 60000;
+
+  private final ScheduledNoticeBacklog backlog = new ScheduledNoticeBacklog(RUN_TIMEOUT);
+  private final DateTime now = new DateTime(2021, 3, 1, 12, 0, DateTimeZone.UTC);
+
+  @BeforeEach
+  void setUp() {
+    ClockUtil.setClock(Clock.fixed(Instant.ofEpochMilli(now.getMillis()), ZoneOffset.UTC));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ClockUtil.setDefaultClock();
+  }
+
+  @Test
+  void onlyOneRunCanBeInProgressForTenantAndNoticeType() {
+    final var run = backlog.startRun(TENANT, NOTICE_TYPE);
+
+    assertThat(run.isPresent(), is(true));
+    assertThat(backlog.startRun(TENANT, NOTICE_TYPE).isPresent(), is(false));
+    assertThat(backlog.startRun("other_tenant", NOTICE_TYPE).isPresent(), is(true));
+    assertThat(backlog.isRunning(TENANT, NOTICE_TYPE), is(true));
+
+    backlog.runFinished(run.get(), succeeded(null));
+
+    assertThat(backlog.isRunning(TENANT, NOTICE_TYPE), is(false));
+    assertThat(backlog.startRun(TENANT, NOTICE_TYPE).isPresent(), is(true));
+  }
+
+  @Test
+  void runWithoutProgressForLongerThanTimeoutIsTreatedAsFinished() {
+    final var abandoned = backlog.startRun(TENANT, NOTICE_TYPE).orElseThrow();
+
+    advanceClock(RUN_TIMEOUT);
+
+    assertThat(backlog.startRun(TENANT, NOTICE_TYPE).isPresent(), is(false));
+
+    advanceClock(1);
+
+    final var replacement = backlog.startRun(TENANT, NOTICE_TYPE);
+
+    assertThat(replacement.isPresent(), is(true));
+    assertThat(statistics().getLong("abandonedRuns"), is(1L));
+
+    backlog.runFinished(abandoned, succeeded(null));
+
+    assertThat(backlog.isRunning(TENANT, NOTICE_TYPE), is(true));
+
+    backlog.runFinished(replacement.get(), succeeded(null));
+
+    assertThat(backlog.isRunning(TENANT, NOTICE_TYPE), is(false));
+  }
+
+  @Test
+  void fetchingPageKeepsRunFromTimingOut() {
+    backlog.startRun(TENANT, NOTICE_TYPE);
+
+    advanceClock(RUN_TIMEOUT);
+
+    backlog.pageFetched(TENANT, NOTICE_TYPE, MultipleRecords.empty());
+
+    advanceClock(RUN_TIMEOUT);
+
+    assertThat(backlog.startRun(TENANT, NOTICE_TYPE).isPresent(), is(false));
+  }
+
+  @Test
+  void failedRunsAreCounted() {
+    backlog.runFinished(backlog.startRun(TENANT, NOTICE_TYPE).orElseThrow(),
+      failed(new ServerErrorFailure("failed")));
+
+    backlog.runFinished(backlog.startRun(TENANT, NOTICE_TYPE).orElseThrow(),
+      succeeded(null));
+
+    final JsonObject statistics = statistics();
+
+    assertThat(statistics.getBoolean("running"), is(false));
+    assertThat(statistics.getLong("runs"), is(2L));
+    assertThat(statistics.getLong("failedRuns"), is(1L));
+  }
+
+  @Test
+  void backlogAndLagAreTakenFromLatestPage() {
+    backlog.pageFetched(TENANT, NOTICE_TYPE, new MultipleRecords<>(
+      List.of(notice(now.minusMinutes(1)), notice(now.minusMinutes(5))), 40));
+
+    backlog.pageFetched(TENANT, NOTICE_TYPE, new MultipleRecords<>(
+      List.of(notice(now.minusSeconds(30))), 10));
+
+    final JsonObject statistics = statistics();
+
+    assertThat(statistics.getLong("backlog"), is(10L));
+    assertThat(statistics.getLong("lagInMilliseconds"), is(30000L));
+    assertThat(statistics.getLong("pages"), is(2L));
+    assertThat(statistics.getLong("notices"), is(3L));
+  }
+
+  @Test
+  void emptyPageHasNoBacklogOrLag() {
+    backlog.pageFetched(TENANT, NOTICE_TYPE, new MultipleRecords<>(
+      List.of(notice(now.minusMinutes(1))), 1));
+
+    backlog.pageFetched(TENANT, NOTICE_TYPE, MultipleRecords.empty());
+
+    final JsonObject statistics = statistics();
+
+    assertThat(statistics.getLong("backlog"), is(0L));
+    assertThat(statistics.getLong("lagInMilliseconds"), is(0L));
+  }
+
+  private void advanceClock(long milliseconds) {
+    ClockUtil.setClock(Clock.offset(ClockUtil.getClock(), Duration.ofMillis(milliseconds)));
+  }
+
+  private JsonObject statistics() {
+    return backlog.getStatistics()
+      .getJsonObject(TENANT)
+      .getJsonObject(NOTICE_TYPE);
+  }
+
+  private static ScheduledNotice notice(DateTime nextRunTime) {
+    return new ScheduledNotice(UUID.randomUUID().toString(), null, null, null, null,
+      TriggeringEvent.DUE_DATE, nextRunTime, null);
+  }
+}
@@ -0,0 +1,116 @@
+package org.folio.circulation.domain.notice.schedule;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.circulation.domain.Item;
+import org.folio.circulation.domain.User;
+import org.folio.circulation.rules.CirculationRuleMatch;
+import org.folio.circulation.support.RecordNotFoundFailure;
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+import lombok.val;
+
+class ScheduledNoticeBatchTests {
+  private final ScheduledNoticeBatch batch = new ScheduledNoticeBatch(List.of());
+
+  @Test
+  void templateIsOnlyCheckedOnceForBatch() {
+    val checks = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      batch.checkTemplate("template", id -> {
+        checks.incrementAndGet();
+        return completedFuture(succeeded(null));
+      });
+    }
+
+    assertThat(checks.get(), is(1));
+  }
+
+  @Test
+  void templatesNotFoundWhenFetchingBatchAreNotCheckedAgain() {
+    batch.templatesFetched(Set.of("found", "missing"), Set.of("found"));
+
+    val checks = new AtomicInteger();
+
+    final Result<Void> found = batch.checkTemplate("found", id -> {
+      checks.incrementAndGet();
+      return completedFuture(succeeded(null));
+    }).join();
+
+    final Result<Void> missing = batch.checkTemplate("missing", id -> {
+      checks.incrementAndGet();
+      return completedFuture(succeeded(null));
+    }).join();
+
+    assertThat(checks.get(), is(0));
+    assertThat(found.succeeded(), is(true));
+    assertThat(missing.cause(), instanceOf(RecordNotFoundFailure.class));
+  }
+
+  @Test
+  void policyIsLookedUpOnceForSameCriteria() {
+    val lookups = new AtomicInteger();
+    val patronGroupId = UUID.randomUUID().toString();
+
+    for (int i = 0; i < 3; i++) {
+      batch.lookupPolicyId(item(), user(patronGroupId), (item, user) -> {
+        lookups.incrementAndGet();
+        return match();
+      });
+    }
+
+    batch.lookupPolicyId(item(), user(UUID.randomUUID().toString()), (item, user) -> {
+      lookups.incrementAndGet();
+      return match();
+    });
+
+    assertThat(lookups.get(), is(2));
+  }
+
+  @Test
+  void policyIsLookedUpEachTimeForItemWithoutHolding() {
+    val lookups = new AtomicInteger();
+    val user = user(UUID.randomUUID().toString());
+
+    for (int i = 0; i < 2; i++) {
+      batch.lookupPolicyId(item().withHoldingsRecord(null), user, (item, u) -> {
+        lookups.incrementAndGet();
+        return match();
+      });
+    }
+
+    assertThat(lookups.get(), is(2));
+  }
+
+  private static Item item() {
+    return Item.from(new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("materialTypeId", "material-type")
+      .put("permanentLoanTypeId", "loan-type")
+      .put("effectiveLocationId", "location"))
+      .withHoldingsRecord(new JsonObject());
+  }
+
+  private static User user(String patronGroupId) {
+    return new User(new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("patronGroup", patronGroupId));
+  }
+
+  private static CompletableFuture<Result<CirculationRuleMatch>> match() {
+    return completedFuture(succeeded(new CirculationRuleMatch("policy", null)));
+  }
+}
@@ -0,0 +1,178 @@
+package org.folio.circulation.infrastructure.storage.inventory;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.folio.circulation.domain.Location;
+import org.folio.circulation.support.results.Result;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class LocationHierarchyCacheTests {
+  private static final String TENANT = "tenant";
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicInteger refreshes = new AtomicInteger();
+
+  @Test
+  void locationIncludesLibraryCampusAndInstitution() {
+    final Location location = hierarchy().getLocation("location");
+
+    assertThat(location.getName(), is("Location"));
+    assertThat(location.getLibraryName(), is("Library"));
+    assertThat(location.getCampusName(), is("Campus"));
+    assertThat(location.getInstitutionName(), is("Institution"));
+    assertThat(hierarchy().getLocation("unknown"), is(nullValue()));
+  }
+
+  @Test
+  void hierarchyIsLoadedOnlyOnce() {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 60000);
+
+    get(cache);
+    get(cache);
+
+    assertThat(loads.get(), is(1));
+    assertThat(refreshes.get(), is(0));
+    assertThat(cache.getStatistics().getHits(), is(1L));
+  }
+
+  @Test
+  void concurrentRequestsShareLoad() {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 60000);
+    final CompletableFuture<Result<LocationHierarchy>> load = new CompletableFuture<>();
+
+    final Supplier<CompletableFuture<Result<LocationHierarchy>>> loader = () -> {
+      loads.incrementAndGet();
+      return load;
+    };
+
+    final CompletableFuture<Result<LocationHierarchy>> first =
+      cache.getHierarchy(TENANT, loader, refresh());
+    final CompletableFuture<Result<LocationHierarchy>> second =
+      cache.getHierarchy(TENANT, loader, refresh());
+
+    load.complete(succeeded(hierarchy()));
+
+    assertThat(first.join().value().size(), is(1));
+    assertThat(second.join().value().size(), is(1));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  void changesAreAppliedWhenRefreshIntervalHasPassed() {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(0, 60000);
+
+    get(cache);
+    get(cache);
+
+    assertThat(refreshes.get(), is(1));
+    assertThat(get(cache).getLocation("location").getName(), is("Renamed location"));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  void hierarchyIsLoadedAgainWhenExpired() throws InterruptedException {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 1);
+
+    get(cache);
+    Thread.sleep(5);
+    get(cache);
+
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  void expiredHierarchyIsUsedWhileItIsLoadedAgain() throws InterruptedException {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 1);
+    final CompletableFuture<Result<LocationHierarchy>> reload = new CompletableFuture<>();
+
+    get(cache);
+    Thread.sleep(5);
+
+    final CompletableFuture<Result<LocationHierarchy>> expired = cache.getHierarchy(TENANT,
+      () -> {
+        loads.incrementAndGet();
+        return reload;
+      }, refresh());
+
+    assertThat(expired.isDone(), is(true));
+    assertThat(expired.join().value().getLocation("location").getName(), is("Location"));
+    assertThat(loads.get(), is(2));
+
+    reload.complete(succeeded(hierarchy().withChanges(
+      List.of(location("Reloaded location")), List.of(), List.of(), List.of(),
+      DateTime.now(DateTimeZone.UTC))));
+
+    assertThat(get(cache).getLocation("location").getName(), is("Reloaded location"));
+  }
+
+  @Test
+  void flushRemovesHierarchyOfTenant() {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 60000);
+
+    get(cache);
+    cache.flush(TENANT);
+    get(cache);
+
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  void hierarchyIsEmptyWhenTimeToLiveIsZero() {
+    final LocationHierarchyCache cache = new LocationHierarchyCache(60000, 0);
+
+    assertThat(get(cache).getLocation("location"), is(nullValue()));
+    assertThat(loads.get(), is(0));
+  }
+
+  private LocationHierarchy get(LocationHierarchyCache cache) {
+    return cache.getHierarchy(TENANT, load(), refresh()).join().value();
+  }
+
+  private Supplier<CompletableFuture<Result<LocationHierarchy>>> load() {
+    return () -> {
+      loads.incrementAndGet();
+      return completedFuture(succeeded(hierarchy()));
+    };
+  }
+
+  private Function<LocationHierarchy, CompletableFuture<Result<LocationHierarchy>>> refresh() {
+    return hierarchy -> {
+      refreshes.incrementAndGet();
+
+      return completedFuture(succeeded(hierarchy.withChanges(
+        List.of(location("Renamed location")), List.of(), List.of(), List.of(),
+        DateTime.now(DateTimeZone.UTC))));
+    };
+  }
+
+  private static LocationHierarchy hierarchy() {
+    return LocationHierarchy.from(List.of(location("Location")),
+      List.of(new JsonObject().put("id", "library").put("name", "Library")),
+      List.of(new JsonObject().put("id", "campus").put("name", "Campus")),
+      List.of(new JsonObject().put("id", "institution").put("name", "Institution")),
+      DateTime.now(DateTimeZone.UTC).minusSeconds(1));
+  }
+
+  private static JsonObject location(String name) {
+    return new JsonObject()
+      .put("id", "location")
+      .put("name", name)
+      .put("libraryId", "library")
+      .put("campusId", "campus")
+      .put("institutionId", "institution");
+  }
+}
@@ -0,0 +1,192 @@
+package org.folio.circulation.infrastructure.storage.requests;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class RequestQueueCacheTests {
+  private static final String TENANT = "tenant";
+
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  @Test
+  void itemWithoutRequestsIsCached() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    assertThat(get(cache, "item", fetchRequests()), is(empty()));
+    assertThat(get(cache, "item", fetchRequests()), is(empty()));
+    assertThat(fetches.get(), is(1));
+    assertThat(cache.getStatistics().getHits(), is(1L));
+  }
+
+  @Test
+  void createdRequestIsAddedToQueueOfItem() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1)));
+
+    cache.requestChanged(TENANT, request("2", "item", "Open - Not yet filled", 2));
+
+    assertThat(requestIds(cache, "item"), contains("1", "2"));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  void closedRequestIsRemovedFromQueue() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1),
+      request("2", "item", "Open - Not yet filled", 2)));
+
+    cache.requestChanged(TENANT, request("1", "item", "Closed - Filled", null));
+    cache.requestChanged(TENANT, request("2", "item", "Open - Not yet filled", 1));
+
+    assertThat(requestIds(cache, "item"), contains("2"));
+  }
+
+  @Test
+  void movedRequestIsMovedBetweenQueues() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1)));
+    get(cache, "other-item", fetchRequests());
+
+    cache.requestChanged(TENANT, request("1", "other-item", "Open - Not yet filled", 1));
+
+    assertThat(requestIds(cache, "item"), is(empty()));
+    assertThat(requestIds(cache, "other-item"), contains("1"));
+  }
+
+  @Test
+  void removedRequestIsRemovedFromQueue() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1),
+      request("2", "item", "Open - Not yet filled", 2)));
+
+    cache.requestRemoved(TENANT, new JsonObject().put("id", "1"));
+
+    assertThat(requestIds(cache, "item"), contains("2"));
+  }
+
+  @Test
+  void requestAddedToQueueCanBeMovedAgain() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests());
+    get(cache, "other-item", fetchRequests());
+
+    cache.requestChanged(TENANT, request("1", "item", "Open - Not yet filled", 1));
+    cache.requestChanged(TENANT, request("1", "other-item", "Open - Not yet filled", 1));
+
+    assertThat(requestIds(cache, "item"), is(empty()));
+    assertThat(requestIds(cache, "other-item"), contains("1"));
+  }
+
+  @Test
+  void requestInQueueOfOtherTenantIsNotChanged() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1)));
+
+    cache.requestRemoved("other-tenant", new JsonObject().put("id", "1"));
+
+    assertThat(requestIds(cache, "item"), contains("1"));
+  }
+
+  @Test
+  void requestInEvictedQueueIsForgotten() {
+    final RequestQueueCache cache = new RequestQueueCache(1, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1)));
+    get(cache, "other-item", fetchRequests());
+
+    cache.requestChanged(TENANT, request("1", "other-item", "Open - Not yet filled", 1));
+
+    assertThat(requestIds(cache, "other-item"), contains("1"));
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  void queueIsNotCachedWhenRequestChangesDuringFetch() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+    final CompletableFuture<Result<List<JsonObject>>> fetch = new CompletableFuture<>();
+
+    final CompletableFuture<Result<List<JsonObject>>> pending =
+      cache.getOpenRequests(TENANT, "item", () -> fetch);
+
+    cache.requestChanged(TENANT, request("1", "item", "Open - Not yet filled", 1));
+
+    fetch.complete(succeeded(List.of()));
+    pending.join();
+
+    assertThat(requestIds(cache, "item"), is(empty()));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  void changingRequestDoesNotChangeCachedQueue() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 60000);
+
+    get(cache, "item", fetchRequests(request("1", "item", "Open - Not yet filled", 1)))
+      .get(0).put("status", "Closed - Filled");
+
+    assertThat(get(cache, "item", fetchRequests()).get(0).getString("status"),
+      is("Open - Not yet filled"));
+  }
+
+  @Test
+  void doesNotCacheWhenTimeToLiveIsZero() {
+    final RequestQueueCache cache = new RequestQueueCache(10, 0);
+
+    get(cache, "item", fetchRequests());
+    get(cache, "item", fetchRequests());
+
+    assertThat(fetches.get(), is(2));
+  }
+
+  private List<String> requestIds(RequestQueueCache cache, String itemId) {
+    return get(cache, itemId, fetchRequests()).stream()
+      .map(request -> request.getString("id"))
+      .collect(toList());
+  }
+
+  private List<JsonObject> get(RequestQueueCache cache, String itemId,
+    Supplier<CompletableFuture<Result<List<JsonObject>>>> fetcher) {
+
+    return cache.getOpenRequests(TENANT, itemId, fetcher).join().value();
+  }
+
+  private Supplier<CompletableFuture<Result<List<JsonObject>>>> fetchRequests(
+    JsonObject... requests) {
+
+    return () -> {
+      fetches.incrementAndGet();
+      return completedFuture(succeeded(List.of(requests)));
+    };
+  }
+
+  private static JsonObject request(String id, String itemId, String status,
+    Integer position) {
+
+    return new JsonObject()
+      .put("id", id)
+      .put("itemId", itemId)
+      .put("status", status)
+      .put("position", position);
+  }
+}
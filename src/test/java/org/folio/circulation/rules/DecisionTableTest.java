@@ -0,0 +1,204 @@
+package org.folio.circulation.rules;
+
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.ITEM_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOAN_TYPE_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.LOCATION_ID_NAME;
+import static org.folio.circulation.resources.AbstractCirculationRulesEngineResource.PATRON_TYPE_ID_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.folio.circulation.domain.Location;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import api.support.builders.LocationBuilder;
+import io.vertx.core.MultiMap;
+
+/**
+ * Differential tests: the decision table must determine the same policies,
+ * rule lines and applied rule conditions as the drools rules for the same text.
+ */
+class DecisionTableTest {
+  private static final String[] PRIORITIES = {
+    "priority: last-line",
+    "priority: first-line",
+    "priority: t, s, c, b, a, m, g",
+    "priority: criterium(t, s, c, b, a, m, g), number-of-criteria, first-line",
+    "priority: number-of-criteria, criterium(m, g, t, s, c, b, a), last-line",
+    "priority: number-of-criteria, first-line",
+    "priority: criterium(g, m, t, a, b, c, s), last-line",
+  };
+
+  private static final String[] LETTERS = { "t", "a", "b", "c", "s", "m", "g" };
+  private static final int IDS_PER_CRITERIUM = 3;
+  private static final int INPUTS_PER_RULES = 40;
+
+  private final String[][] ids = createIds();
+
+  @ParameterizedTest
+  @ValueSource(longs = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 })
+  void determinesSamePoliciesAsDrools(long seed) {
+    final Random random = new Random(seed);
+    final String rulesAsText = randomRules(random);
+
+    final Drools drools = new Drools(Text2Drools.convert(rulesAsText));
+    final DecisionTable decisionTable = new DecisionTable(rulesAsText);
+
+    for (int i = 0; i < INPUTS_PER_RULES; i++) {
+      final MultiMap params = params(randomId(random, "m"), randomId(random, "t"),
+        randomId(random, "g"), randomId(random, "s"));
+      final Location location = location(randomId(random, "a"), randomId(random, "c"),
+        randomId(random, "b"));
+      final String description = rulesAsText + "\nwith " + params + " and " + location;
+
+      assertSameMatch(description, decisionTable.loanPolicy(params, location),
+        drools.loanPolicy(params, location));
+      assertSameMatch(description, decisionTable.requestPolicy(params, location),
+        drools.requestPolicy(params, location));
+      assertSameMatch(description, decisionTable.noticePolicy(params, location),
+        drools.noticePolicy(params, location));
+      assertSameMatch(description, decisionTable.overduePolicy(params, location),
+        drools.overduePolicy(params, location));
+      assertSameMatch(description, decisionTable.lostItemPolicy(params, location),
+        drools.lostItemPolicy(params, location));
+
+      assertThat(description, decisionTable.loanPolicies(params, location),
+        is(drools.loanPolicies(params, location)));
+      assertThat(description, decisionTable.requestPolicies(params, location),
+        is(drools.requestPolicies(params, location)));
+      assertThat(description, decisionTable.noticePolicies(params, location),
+        is(drools.noticePolicies(params, location)));
+      assertThat(description, decisionTable.overduePolicies(params, location),
+        is(drools.overduePolicies(params, location)));
+      assertThat(description, decisionTable.lostItemPolicies(params, location),
+        is(drools.lostItemPolicies(params, location)));
+    }
+  }
+
+  private void assertSameMatch(String description, CirculationRuleMatch actual,
+    CirculationRuleMatch expected) {
+
+    assertThat(description, actual.getPolicyId(), is(expected.getPolicyId()));
+
+    final AppliedRuleConditions actualConditions = actual.getAppliedRuleConditions();
+    final AppliedRuleConditions expectedConditions = expected.getAppliedRuleConditions();
+
+    assertThat(description, actualConditions.isItemTypePresent(),
+      is(expectedConditions.isItemTypePresent()));
+    assertThat(description, actualConditions.isLoanTypePresent(),
+      is(expectedConditions.isLoanTypePresent()));
+    assertThat(description, actualConditions.isPatronGroupPresent(),
+      is(expectedConditions.isPatronGroupPresent()));
+  }
+
+  private String randomRules(Random random) {
+    final String priority = PRIORITIES[random.nextInt(PRIORITIES.length)];
+    final boolean fallbackLast = priority.equals("priority: first-line");
+    final List<String> lines = new ArrayList<>();
+
+    lines.add(priority);
+
+    if (!fallbackLast) {
+      lines.add("fallback-policy: " + policies("fallback"));
+    }
+
+    final int numberOfLines = 1 + random.nextInt(25);
+    int indentation = 0;
+
+    for (int line = 0; line < numberOfLines; line++) {
+      // same, less or one level more indentation than the previous line
+      indentation = line == 0 ? 0 : 2 * random.nextInt(indentation / 2 + 2);
+
+      lines.add(" ".repeat(indentation) + criteria(random) + ": " + policies("" + line));
+    }
+
+    if (fallbackLast) {
+      lines.add("fallback-policy: " + policies("fallback"));
+    }
+
+    return String.join("\n", lines);
+  }
+
+  private String criteria(Random random) {
+    final List<String> criteria = new ArrayList<>();
+    final int numberOfCriteria = 1 + random.nextInt(2);
+
+    for (int i = 0; i < numberOfCriteria; i++) {
+      final String letter = LETTERS[random.nextInt(LETTERS.length)];
+      final int form = random.nextInt(5);
+
+      if (form == 0) {
+        criteria.add(letter + " all");
+      } else if (form == 1) {
+        criteria.add(letter + " !" + randomId(random, letter));
+      } else if (form == 2) {
+        criteria.add(letter + " " + ids[index(letter)][0] + " " + randomId(random, letter));
+      } else {
+        criteria.add(letter + " " + randomId(random, letter));
+      }
+    }
+
+    return String.join(" + ", criteria);
+  }
+
+  private static String policies(String suffix) {
+    return String.format("l loan-%1$s r request-%1$s n notice-%1$s o overdue-%1$s i lost-%1$s",
+      suffix);
+  }
+
+  private String randomId(Random random, String letter) {
+    final String[] idsOfCriterium = ids[index(letter)];
+
+    // also use an id no rule mentions
+    final int choice = random.nextInt(idsOfCriterium.length + 1);
+
+    return choice == idsOfCriterium.length
+      ? UUID.randomUUID().toString()
+      : idsOfCriterium[choice];
+  }
+
+  private static int index(String letter) {
+    for (int i = 0; i < LETTERS.length; i++) {
+      if (LETTERS[i].equals(letter)) {
+        return i;
+      }
+    }
+
+    throw new IllegalArgumentException(letter);
+  }
+
+  private static String[][] createIds() {
+    final String[][] ids = new String[LETTERS.length][IDS_PER_CRITERIUM];
+
+    for (int letter = 0; letter < LETTERS.length; letter++) {
+      for (int i = 0; i < IDS_PER_CRITERIUM; i++) {
+        ids[letter][i] = UUID.randomUUID().toString();
+      }
+    }
+
+    return ids;
+  }
+
+  private static MultiMap params(String itemTypeId, String loanTypeId, String patronGroupId,
+    String locationId) {
+
+    return MultiMap.caseInsensitiveMultiMap()
+      .add(ITEM_TYPE_ID_NAME, itemTypeId)
+      .add(LOAN_TYPE_ID_NAME, loanTypeId)
+      .add(PATRON_TYPE_ID_NAME, patronGroupId)
+      .add(LOCATION_ID_NAME, locationId);
+  }
+
+  private static Location location(String institutionId, String libraryId, String campusId) {
+    return Location.from(new LocationBuilder()
+      .forInstitution(UUID.fromString(institutionId))
+      .forLibrary(UUID.fromString(libraryId))
+      .forCampus(UUID.fromString(campusId))
+      .create());
+  }
+}
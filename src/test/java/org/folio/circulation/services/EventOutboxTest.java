@@ -0,0 +1,243 @@
+package org.folio.circulation.services;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.awaitility.Awaitility;
+import org.folio.rest.jaxrs.model.Event;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import lombok.val;
+
+class EventOutboxTest {
+  private static final String TENANT = "test_tenant";
+  private static final String TOKEN = "secret-token";
+
+  @TempDir
+  Path directory;
+
+  private Vertx vertx;
+  private Context context;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void eventsArePublishedInBatches() {
+    val inFlight = new AtomicInteger();
+    val mostInFlight = new AtomicInteger();
+    val publishedIds = new CopyOnWriteArrayList<String>();
+
+    val outbox = outbox(100, 5, 1, (event, params) -> {
+      mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+      return CompletableFuture.supplyAsync(() -> {
+        publishedIds.add(event.getId());
+        inFlight.decrementAndGet();
+        return true;
+      }, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+    });
+
+    for (int i = 0; i < 20; i++) {
+      enqueue(outbox);
+    }
+
+    waitUntilPublished(outbox, 20);
+
+    assertThat(publishedIds, hasSize(20));
+    assertThat(mostInFlight.get(), lessThanOrEqualTo(5));
+    assertThat(outbox.getStatistics().getLong("depth"), is(0L));
+  }
+
+  @Test
+  void eventIsRetriedUntilPublished() {
+    val attempts = new AtomicInteger();
+
+    val outbox = outbox(100, 5, 5, (event, params) ->
+      attempts.incrementAndGet() < 3
+        ? failedFuture(new RuntimeException("pub-sub is unavailable"))
+        : completedFuture(true));
+
+    enqueue(outbox);
+
+    waitUntilPublished(outbox, 1);
+
+    assertThat(attempts.get(), is(3));
+    assertThat(outbox.getStatistics().getLong("retried"), is(2L));
+    assertThat(outbox.getStatistics().getLong("failed"), is(0L));
+  }
+
+  @Test
+  void eventIsDroppedAfterMaximumAttempts() {
+    val attempts = new AtomicInteger();
+
+    val outbox = outbox(100, 5, 3, (event, params) -> {
+      attempts.incrementAndGet();
+      return completedFuture(false);
+    });
+
+    enqueue(outbox);
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> outbox.getStatistics().getLong("failed"), is(1L));
+
+    assertThat(attempts.get(), is(3));
+    assertThat(outbox.getStatistics().getLong("depth"), is(0L));
+  }
+
+  @Test
+  void eventsAreSpilledToFileWhenOutboxIsFull() throws IOException {
+    val release = new CompletableFuture<Boolean>();
+    val publishedIds = new CopyOnWriteArrayList<String>();
+
+    val outbox = outbox(2, 5, 1, (event, params) ->
+      release.thenApply(released -> publishedIds.add(event.getId())));
+
+    for (int i = 0; i < 5; i++) {
+      enqueue(outbox);
+    }
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> spilledLines(), hasSize(3));
+
+    assertThat(outbox.getStatistics().getLong("spilled"), is(3L));
+
+    release.complete(true);
+
+    waitUntilPublished(outbox, 5);
+
+    assertThat(publishedIds, hasSize(5));
+    assertThat(spilledLines(), hasSize(0));
+    assertThat(outbox.getStatistics().getLong("totalSpilled"), is(3L));
+  }
+
+  @Test
+  void eventsArePublishedInOrderOnceSpillingHasStarted() {
+    val firstAttempt = new CompletableFuture<Boolean>();
+    val calls = new AtomicInteger();
+    val publishedIds = new CopyOnWriteArrayList<String>();
+
+    val outbox = outbox(1, 1, 1, (event, params) -> {
+      final CompletableFuture<Boolean> result = calls.incrementAndGet() == 1
+        ? firstAttempt : completedFuture(true);
+
+      return result.thenApply(published -> publishedIds.add(event.getId()));
+    });
+
+    val enqueuedIds = new ArrayList<String>();
+
+    for (int i = 0; i < 3; i++) {
+      enqueuedIds.add(enqueue(outbox));
+    }
+
+    firstAttempt.complete(true);
+
+    // the outbox has room again, but earlier events are still in the journal
+    enqueuedIds.add(enqueue(outbox));
+
+    waitUntilPublished(outbox, 4);
+
+    assertThat(publishedIds, contains(enqueuedIds.toArray()));
+  }
+
+  @Test
+  void spilledEventsArePublishedWithTheirOwnConnectionParametersAfterRestart() {
+    val firstRun = outbox(1, 5, 1, (event, params) -> new CompletableFuture<>());
+
+    for (int i = 0; i < 4; i++) {
+      enqueue(firstRun);
+    }
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> spilledLines(), hasSize(3));
+
+    val tokens = new CopyOnWriteArrayList<String>();
+
+    val secondRun = outbox(1, 5, 1, (event, params) -> {
+      tokens.add(params.getToken());
+      return completedFuture(true);
+    });
+
+    waitUntilPublished(secondRun, 3);
+
+    assertThat(tokens, everyItem(is(TOKEN)));
+    assertThat(secondRun.getStatistics().getLong("spilled"), is(0L));
+  }
+
+  private EventOutbox outbox(int capacity, int batchSize, int maximumAttempts,
+    BiFunction<Event, OkapiConnectionParams, CompletableFuture<Boolean>> publisher) {
+
+    val outbox = new EventOutbox(capacity, batchSize, maximumAttempts, 1, spillFile(),
+      publisher);
+
+    outbox.start(context);
+
+    return outbox;
+  }
+
+  private String enqueue(EventOutbox outbox) {
+    final String id = UUID.randomUUID().toString();
+
+    final OkapiConnectionParams params = new OkapiConnectionParams();
+    params.setOkapiUrl("http://localhost:9130");
+    params.setTenantId(TENANT);
+    params.setToken(TOKEN);
+
+    outbox.enqueue(PubSubPublishingService.createEvent(id, "LOG_RECORD", "{}", TENANT),
+      params);
+
+    return id;
+  }
+
+  private void waitUntilPublished(EventOutbox outbox, long numberOfEvents) {
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> outbox.getStatistics().getLong("published"), is(numberOfEvents));
+  }
+
+  private List<String> spilledLines() throws IOException {
+    return Files.exists(spillFile())
+      ? Files.readAllLines(spillFile(), StandardCharsets.UTF_8)
+      : List.of();
+  }
+
+  private Path spillFile() {
+    return directory.resolve("outbox.jsonl");
+  }
+}
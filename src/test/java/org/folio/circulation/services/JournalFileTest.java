@@ -0,0 +1,104 @@
+package org.folio.circulation.services;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.val;
+
+class JournalFileTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  void linesAreTakenInTheOrderTheyWereAppended() throws IOException {
+    val journal = journal();
+
+    journal.append("first");
+    journal.append("second");
+    journal.append("third");
+
+    assertThat(journal.size(), is(3L));
+    assertThat(journal.take(2), contains("first", "second"));
+    assertThat(journal.size(), is(1L));
+    assertThat(journal.take(2), contains("third"));
+    assertThat(journal.isEmpty(), is(true));
+  }
+
+  @Test
+  void fileIsEmptiedOnceAllLinesHaveBeenTaken() throws IOException {
+    val journal = journal();
+
+    journal.append("first");
+    journal.append("second");
+
+    journal.take(2);
+
+    assertThat(Files.size(file()), is(0L));
+
+    journal.append("third");
+
+    assertThat(journal.take(5), contains("third"));
+  }
+
+  @Test
+  void readPositionIsKeptWhenJournalIsOpenedAgain() throws IOException {
+    val journal = journal();
+
+    journal.append("first");
+    journal.append("second");
+    journal.append("third");
+
+    journal.take(1);
+
+    val reopened = journal();
+
+    assertThat(reopened.size(), is(2L));
+    assertThat(reopened.take(5), contains("second", "third"));
+  }
+
+  @Test
+  void linesAreNotTakenWhenOnlyRead() throws IOException {
+    val journal = journal();
+
+    journal.append("first");
+    val end = journal.append("second");
+
+    assertThat(journal.read(5).size(), is(2));
+    assertThat(journal.size(), is(2L));
+
+    journal.skipTo(end, 2);
+
+    assertThat(journal.read(5), is(empty()));
+  }
+
+  @Test
+  void incompleteLastLineIsNotJoinedToNextLine() throws IOException {
+    Files.writeString(file(), "first\nincomplete", StandardCharsets.UTF_8,
+      StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+    val journal = journal();
+
+    journal.append("second");
+
+    assertThat(journal.take(5), contains("first", "incomplete", "second"));
+  }
+
+  private JournalFile journal() throws IOException {
+    return new JournalFile(file());
+  }
+
+  private Path file() {
+    return directory.resolve("journal.jsonl");
+  }
+}
@@ -0,0 +1,200 @@
+package org.folio.circulation.services;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.folio.circulation.support.ServerErrorFailure;
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.val;
+
+class PostCommitTasksTest {
+  private static final String TENANT = "test_tenant";
+
+  @TempDir
+  Path directory;
+
+  private Vertx vertx;
+  private Context context;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void taskIsRunAfterBeingSubmitted() {
+    val tasks = tasks(3);
+    val runs = new AtomicInteger();
+
+    tasks.submit(task("1"), task -> {
+      runs.incrementAndGet();
+      return completedFuture(succeeded(null));
+    }, context);
+
+    waitUntil(tasks, "completed", 1);
+
+    assertThat(runs.get(), is(1));
+    assertThat(tasks.getStatistics().getLong("pending"), is(0L));
+    assertThat(tasks.getStatistics().getLong("retried"), is(0L));
+  }
+
+  @Test
+  void failedTaskIsRetried() {
+    val tasks = tasks(3);
+    val attempts = new AtomicInteger();
+
+    tasks.submit(task("1"), task -> attempts.incrementAndGet() < 3
+      ? completedFuture(failed(new ServerErrorFailure("storage unavailable")))
+      : completedFuture(succeeded(null)), context);
+
+    waitUntil(tasks, "completed", 1);
+
+    assertThat(attempts.get(), is(3));
+    assertThat(tasks.getStatistics().getLong("retried"), is(2L));
+    assertThat(tasks.getStatistics().getLong("failed"), is(0L));
+  }
+
+  @Test
+  void taskGivesUpAfterMaximumAttempts() {
+    val tasks = tasks(3);
+    val attempts = new AtomicInteger();
+
+    tasks.submit(task("1"), task -> {
+      attempts.incrementAndGet();
+      return CompletableFuture.<Result<Void>>failedFuture(new RuntimeException("failed"));
+    }, context);
+
+    waitUntil(tasks, "failed", 1);
+
+    assertThat(attempts.get(), is(3));
+    assertThat(tasks.getStatistics().getLong("pending"), is(0L));
+  }
+
+  @Test
+  void taskWhichThrowsIsRetried() {
+    val tasks = tasks(2);
+    val attempts = new AtomicInteger();
+
+    tasks.submit(task("1"), task -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new IllegalStateException("failed");
+      }
+
+      return completedFuture(succeeded(null));
+    }, context);
+
+    waitUntil(tasks, "completed", 1);
+
+    assertThat(attempts.get(), is(2));
+  }
+
+  @Test
+  void taskWhichCannotBeRepeatedIsOnlyTriedOnce() {
+    val tasks = tasks(3);
+    val attempts = new AtomicInteger();
+
+    tasks.submitOnce("send notice", () -> {
+      attempts.incrementAndGet();
+      return completedFuture(failed(new ServerErrorFailure("notice not sent")));
+    }, context);
+
+    waitUntil(tasks, "failed", 1);
+
+    assertThat(attempts.get(), is(1));
+    assertThat(tasks.getStatistics().getLong("retried"), is(0L));
+  }
+
+  @Test
+  void unfinishedTasksAreRunAgainWithTheirOwnHeadersWhenResumed() {
+    val firstRun = tasks(1);
+
+    firstRun.submit(task("finished"),
+      task -> completedFuture(succeeded(null)), context);
+
+    firstRun.submit(task("unfinished"),
+      task -> new CompletableFuture<>(), context);
+
+    waitUntil(firstRun, "completed", 1);
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> Files.exists(journal().resolveSibling(
+          journal().getFileName() + ".offset"))
+        && Files.readString(journal()).contains("unfinished"));
+
+    val secondRun = tasks(1);
+    val resumedIds = new CopyOnWriteArrayList<String>();
+    val resumedTokens = new CopyOnWriteArrayList<String>();
+
+    secondRun.resume(task -> {
+      resumedIds.add(task.getDescription().getString("id"));
+      resumedTokens.add(task.getOkapiHeaders().get("x-okapi-token"));
+      return completedFuture(succeeded(null));
+    }, context);
+
+    waitUntil(secondRun, "completed", 1);
+
+    assertThat(resumedIds, contains("unfinished"));
+    assertThat(resumedTokens, contains("token-unfinished"));
+    assertThat(secondRun.getStatistics().getLong("resumed"), is(1L));
+
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> Files.size(journal()), is(0L));
+
+    val thirdRun = tasks(1);
+
+    thirdRun.resume(task -> completedFuture(succeeded(null)), context);
+
+    Awaitility.await()
+      .pollDelay(100, TimeUnit.MILLISECONDS)
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> thirdRun.getStatistics().getLong("resumed"), is(0L));
+  }
+
+  private PostCommitTasks tasks(int maximumAttempts) {
+    return new PostCommitTasks(maximumAttempts, 1, directory.resolve("tasks.jsonl"));
+  }
+
+  private Path journal() {
+    return directory.resolve("tasks.jsonl");
+  }
+
+  private static PostCommitTask task(String id) {
+    return new PostCommitTask("run task", new JsonObject().put("id", id),
+      Map.of("x-okapi-tenant", TENANT, "x-okapi-token", "token-" + id));
+  }
+
+  private static void waitUntil(PostCommitTasks tasks, String statistic, long expected) {
+    Awaitility.await()
+      .atMost(5, TimeUnit.SECONDS)
+      .until(() -> tasks.getStatistics().getLong(statistic), is(expected));
+  }
+}
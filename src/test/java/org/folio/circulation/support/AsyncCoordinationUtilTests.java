@@ -0,0 +1,132 @@
+package org.folio.circulation.support;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allOf;
+import static org.folio.circulation.support.AsyncCoordinationUtil.allResultsOf;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+import lombok.val;
+
+class AsyncCoordinationUtilTests {
+  @Test
+  void shouldNotHaveMoreThanMaximumActionsInFlight() {
+    val inFlight = new AtomicInteger();
+    val mostInFlight = new AtomicInteger();
+    val pending = new ArrayList<CompletableFuture<Result<Integer>>>();
+
+    val combined = allResultsOf(numbers(10), number -> {
+      mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+      final CompletableFuture<Result<Integer>> future = new CompletableFuture<>();
+      pending.add(future);
+
+      return future.whenComplete((result, throwable) -> inFlight.decrementAndGet());
+    }, 3);
+
+    assertThat(pending.size(), is(3));
+
+    while (!combined.isDone()) {
+      pending.remove(0).complete(succeeded(pending.size()));
+    }
+
+    assertThat(mostInFlight.get(), is(3));
+    assertThat(combined.join().size(), is(10));
+  }
+
+  @Test
+  void shouldKeepResultsInOrderOfElements() {
+    val pending = new ArrayList<CompletableFuture<Result<Integer>>>();
+    val elements = numbers(4);
+
+    val combined = allOf(elements, number -> {
+      final CompletableFuture<Result<Integer>> future = new CompletableFuture<>();
+      pending.add(future);
+
+      return future.thenApply(r -> r.map(notUsed -> number * 10));
+    }, 4);
+
+    for (int index = pending.size() - 1; index >= 0; index--) {
+      pending.get(index).complete(succeeded(0));
+    }
+
+    assertThat(combined.join().value(), contains(0, 10, 20, 30));
+  }
+
+  @Test
+  void shouldHandleManyImmediatelyCompletedActions() {
+    val combined = allResultsOf(numbers(100_000),
+      number -> completedFuture(succeeded(number)), 2);
+
+    assertThat(combined.join().size(), is(100_000));
+  }
+
+  @Test
+  void shouldCompleteWhenThereAreNoElements() {
+    val combined = allOf(new ArrayList<Integer>(),
+      number -> completedFuture(succeeded(number)), 5);
+
+    assertThat(combined.join().value(), is(empty()));
+  }
+
+  @Test
+  void shouldFailWhenAnActionHasAlreadyFailed() {
+    val combined = allResultsOf(numbers(5), number -> number == 2
+      ? failedFuture(new IllegalStateException("failed"))
+      : completedFuture(succeeded(number)), 2);
+
+    assertTrue(combined.isCompletedExceptionally());
+
+    val thrown = assertThrows(CompletionException.class, combined::join);
+
+    assertThat(thrown.getCause(), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void shouldFailWhenAnActionFailsAfterEarlierActionsComplete() {
+    val pending = new ArrayList<CompletableFuture<Result<Integer>>>();
+
+    val combined = allResultsOf(numbers(4), number -> {
+      if (number == 3) {
+        return failedFuture(new IllegalStateException("failed"));
+      }
+
+      final CompletableFuture<Result<Integer>> future = new CompletableFuture<>();
+      pending.add(future);
+
+      return future;
+    }, 1);
+
+    while (!pending.isEmpty()) {
+      pending.remove(0).complete(succeeded(0));
+    }
+
+    assertTrue(combined.isCompletedExceptionally());
+
+    val thrown = assertThrows(CompletionException.class, combined::join);
+
+    assertThat(thrown.getCause(), instanceOf(IllegalStateException.class));
+  }
+
+  private static List<Integer> numbers(int count) {
+    return IntStream.range(0, count).boxed().collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,80 @@
+package org.folio.circulation.support.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTests {
+  @Test
+  void leastRecentlyUsedEntryIsDroppedWhenFull() {
+    final LruCache<String, Integer> cache = new LruCache<>(2);
+
+    cache.put("a", 1);
+    cache.put("b", 2);
+    cache.get("a");
+    cache.put("c", 3);
+
+    assertThat(cache.size(), is(2));
+    assertThat(cache.get("a"), is(1));
+    assertThat(cache.get("b"), is(nullValue()));
+    assertThat(cache.get("c"), is(3));
+  }
+
+  @Test
+  void droppedEntriesArePassedToEvictionListener() {
+    final Map<String, Integer> evicted = new HashMap<>();
+    final LruCache<String, Integer> cache = new LruCache<>(2, evicted::put);
+
+    cache.put("a", 1);
+    cache.put("b", 2);
+    cache.put("c", 3);
+
+    assertThat(evicted, is(Map.of("a", 1)));
+  }
+
+  @Test
+  void onlyPresentEntryIsComputed() {
+    final LruCache<String, Integer> cache = new LruCache<>(10);
+
+    cache.put("a", 1);
+
+    assertThat(cache.computeIfPresent("a", (key, value) -> value + 1), is(2));
+    assertThat(cache.computeIfPresent("b", (key, value) -> value + 1), is(nullValue()));
+    assertThat(cache.get("a"), is(2));
+    assertThat(cache.size(), is(1));
+  }
+
+  @Test
+  void countsHitsAndMisses() {
+    final LruCache<String, Integer> cache = new LruCache<>(10);
+
+    cache.put("a", 1);
+    cache.get("a");
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    assertThat(cache.getStatistics().getHits(), is(3L));
+    assertThat(cache.getStatistics().getMisses(), is(1L));
+    assertThat(cache.getStatistics().getHitRate(), is(0.75));
+  }
+
+  @Test
+  void entriesCanBeRemovedByKey() {
+    final LruCache<String, Integer> cache = new LruCache<>(10);
+
+    cache.put("tenant-a-1", 1);
+    cache.put("tenant-a-2", 2);
+    cache.put("tenant-b-1", 3);
+
+    cache.removeIf(key -> key.startsWith("tenant-a"));
+
+    assertThat(cache.size(), is(1));
+    assertThat(cache.get("tenant-b-1"), is(3));
+  }
+}
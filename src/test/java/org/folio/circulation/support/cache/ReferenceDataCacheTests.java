@@ -0,0 +1,168 @@
+package org.folio.circulation.support.cache;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.LOCATION;
+import static org.folio.circulation.support.cache.ReferenceDataCache.RecordType.SERVICE_POINT;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class ReferenceDataCacheTests {
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  @Test
+  void fetchesRecordOnlyOnce() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    get(cache, "tenant", "1", fetchRecord());
+    final JsonObject record = get(cache, "tenant", "1", fetchRecord());
+
+    assertThat(record.getString("id"), is("1"));
+    assertThat(fetches.get(), is(1));
+    assertThat(cache.getStatistics().getHits(), is(1L));
+    assertThat(cache.getStatistics().getMisses(), is(1L));
+  }
+
+  @Test
+  void recordsAreCachedForEachTenant() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    get(cache, "tenant", "1", fetchRecord());
+    get(cache, "another-tenant", "1", fetchRecord());
+
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  void concurrentRequestsShareFetch() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+    final CompletableFuture<Result<JsonObject>> fetch = new CompletableFuture<>();
+
+    final Function<String, CompletableFuture<Result<JsonObject>>> fetcher = id -> {
+      fetches.incrementAndGet();
+      return fetch;
+    };
+
+    final CompletableFuture<Result<JsonObject>> first = cache.get("tenant", LOCATION, "1", fetcher);
+    final CompletableFuture<Result<JsonObject>> second = cache.get("tenant", LOCATION, "1", fetcher);
+
+    fetch.complete(succeeded(new JsonObject().put("id", "1")));
+
+    assertThat(first.join().value().getString("id"), is("1"));
+    assertThat(second.join().value().getString("id"), is("1"));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  void fetcherWhichThrowsDoesNotBlockLaterFetches() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    final Function<String, CompletableFuture<Result<JsonObject>>> throwing = id -> {
+      fetches.incrementAndGet();
+      throw new IllegalStateException("cannot fetch");
+    };
+
+    assertThat(cache.get("tenant", LOCATION, "1", throwing).isCompletedExceptionally(),
+      is(true));
+
+    assertThat(get(cache, "tenant", "1", fetchRecord()).getString("id"), is("1"));
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  void recordsNotFoundAreNotCached() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    final Function<String, CompletableFuture<Result<JsonObject>>> notFound = id -> {
+      fetches.incrementAndGet();
+      return completedFuture(succeeded(null));
+    };
+
+    assertThat(get(cache, "tenant", "1", notFound), is(nullValue()));
+    assertThat(get(cache, "tenant", "1", notFound), is(nullValue()));
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  void expiredRecordsAreFetchedAgain() throws InterruptedException {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 1);
+
+    get(cache, "tenant", "1", fetchRecord());
+    Thread.sleep(5);
+    get(cache, "tenant", "1", fetchRecord());
+
+    assertThat(fetches.get(), is(2));
+  }
+
+  @Test
+  void changingRecordDoesNotChangeCachedRecord() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    get(cache, "tenant", "1", fetchRecord()).put("name", "changed");
+
+    assertThat(get(cache, "tenant", "1", fetchRecord()).getString("name"), is("record 1"));
+  }
+
+  @Test
+  void preloadedRecordsAreNotFetched() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    cache.preload("tenant", SERVICE_POINT, List.of(new JsonObject().put("id", "1")));
+
+    cache.get("tenant", SERVICE_POINT, "1", fetchRecord()).join();
+
+    assertThat(fetches.get(), is(0));
+  }
+
+  @Test
+  void flushRemovesOnlyRecordsOfTenant() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 60000);
+
+    get(cache, "tenant", "1", fetchRecord());
+    get(cache, "another-tenant", "1", fetchRecord());
+
+    cache.flush("tenant");
+
+    get(cache, "tenant", "1", fetchRecord());
+    get(cache, "another-tenant", "1", fetchRecord());
+
+    assertThat(fetches.get(), is(3));
+  }
+
+  @Test
+  void doesNotCacheWhenTimeToLiveIsZero() {
+    final ReferenceDataCache cache = new ReferenceDataCache(10, 0);
+
+    get(cache, "tenant", "1", fetchRecord());
+    get(cache, "tenant", "1", fetchRecord());
+
+    assertThat(fetches.get(), is(2));
+  }
+
+  private JsonObject get(ReferenceDataCache cache, String tenantId, String id,
+    Function<String, CompletableFuture<Result<JsonObject>>> fetcher) {
+
+    return cache.get(tenantId, LOCATION, id, fetcher).join().value();
+  }
+
+  private Function<String, CompletableFuture<Result<JsonObject>>> fetchRecord() {
+    return id -> {
+      fetches.incrementAndGet();
+
+      return completedFuture(succeeded(new JsonObject()
+        .put("id", id)
+        .put("name", "record " + id)));
+    };
+  }
+}
@@ -0,0 +1,102 @@
+package org.folio.circulation.support.executors;
+
+import static org.folio.circulation.support.executors.CirculationExecutors.completeOnCurrentContext;
+import static org.folio.circulation.support.executors.CirculationExecutors.cpuBound;
+import static org.folio.circulation.support.executors.CirculationExecutors.getStatistics;
+import static org.folio.circulation.support.executors.CirculationExecutors.onCurrentContext;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import lombok.val;
+
+class CirculationExecutorsTests {
+  private Vertx vertx;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void shouldRunOnSubmittingThreadWhenThereIsNoContext() {
+    val ranOn = new CompletableFuture<Thread>();
+
+    onCurrentContext().execute(() -> ranOn.complete(Thread.currentThread()));
+
+    assertThat(ranOn.getNow(null), is(Thread.currentThread()));
+  }
+
+  @Test
+  void shouldRunOnContextThatWasCurrentWhenChained() throws Exception {
+    val context = vertx.getOrCreateContext();
+    val ranOnContext = new CompletableFuture<Context>();
+
+    context.runOnContext(notUsed -> CompletableFuture.supplyAsync(() -> "on another thread")
+      .thenApplyAsync(value -> ranOnContext.complete(Vertx.currentContext()),
+        onCurrentContext()));
+
+    assertThat(ranOnContext.get(5, TimeUnit.SECONDS), is(sameInstance(context)));
+  }
+
+  @Test
+  void shouldCompleteSharedFutureOnContextOfEachCaller() throws Exception {
+    val waitingContext = vertx.getOrCreateContext();
+    val completingContext = vertx.getOrCreateContext();
+    val shared = new CompletableFuture<String>();
+    val completedOn = new CompletableFuture<Context>();
+    val waiting = new CompletableFuture<Void>();
+
+    waitingContext.runOnContext(notUsed -> {
+      completeOnCurrentContext(shared)
+        .thenRun(() -> completedOn.complete(Vertx.currentContext()));
+
+      waiting.complete(null);
+    });
+
+    waiting.get(5, TimeUnit.SECONDS);
+
+    completingContext.runOnContext(notUsed -> shared.complete("fetched"));
+
+    assertThat(completedOn.get(5, TimeUnit.SECONDS), is(sameInstance(waitingContext)));
+  }
+
+  @Test
+  void shouldRunCpuBoundWorkOnDedicatedThreads() throws Exception {
+    val threadName = CompletableFuture.supplyAsync(
+      () -> Thread.currentThread().getName(), cpuBound());
+
+    assertThat(threadName.get(5, TimeUnit.SECONDS), startsWith("circulation-cpu-bound-"));
+  }
+
+  @Test
+  void shouldRecordTasksRunOnContext() throws Exception {
+    val context = vertx.getOrCreateContext();
+    val ran = new CompletableFuture<Void>();
+
+    context.runOnContext(notUsed -> onCurrentContext().execute(() -> ran.complete(null)));
+
+    ran.get(5, TimeUnit.SECONDS);
+
+    val statistics = getStatistics().getJsonObject("context");
+
+    assertThat(statistics.getLong("submitted"), greaterThan(0L));
+    assertThat(statistics.getLong("started"), greaterThan(0L));
+  }
+}
@@ -4,11 +4,14 @@ import static java.lang.Math.min;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.IntStream.range;
+import static org.folio.circulation.support.fetching.KeysetPagination.keysetPagination;
+import static org.folio.circulation.support.http.client.CqlQuery.exactMatch;
 import static org.folio.circulation.support.http.client.CqlQuery.noQuery;
 import static org.folio.circulation.support.http.client.PageLimit.limit;
 import static org.folio.circulation.support.results.Result.failed;
 import static org.folio.circulation.support.results.Result.ofAsync;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.everyItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -19,7 +22,9 @@ import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.noInteractions;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.folio.circulation.domain.MultipleRecords;
 import org.folio.circulation.support.ServerErrorFailure;
@@ -111,6 +116,93 @@ class PageableFetcherTest {
     verify(pageProcessor, times(10)).processPage(any());
   }
 
+  @Test
+  void shouldProcessManyPagesWithoutRecursion() {
+    final var pageSize = limit(1);
+    final var repository = repository(100_000);
+
+    final var voidResult = new PageableFetcher<>(repository, pageSize, 200_000)
+      .processPages(noQuery().value(), dummyProcessor())
+      .getNow(Result.failed(new ServerErrorFailure("Time out")));
+
+    assertThat(voidResult.succeeded(), is(true));
+  }
+
+  @Test
+  void shouldFetchPagesAfterLastRecordWhenUsingKeysetPagination() {
+    final var pageSize = limit(10);
+    final var queries = new ArrayList<String>();
+    final var offsets = new ArrayList<Integer>();
+    final var pageProcessor = spy(dummyProcessor());
+
+    final GetManyRecordsRepository<Integer> recordingRepository = (query, limit, offset) -> {
+      queries.add(query.toString());
+      offsets.add(offset.getOffset());
+
+      final var start = (queries.size() - 1) * limit.getLimit();
+      final var end = min(start + limit.getLimit(), 25);
+
+      return ofAsync(() -> new MultipleRecords<>(
+        range(start, end).boxed().collect(toList()), 25));
+    };
+
+    final var voidResult = new PageableFetcher<>(recordingRepository, pageSize, 1000)
+      .withKeysetPagination(keysetPagination("position",
+        number -> String.format("%03d", number), String::valueOf))
+      .processPages(exactMatch("status", "Open").value(), pageProcessor)
+      .getNow(Result.failed(new ServerErrorFailure("Time out")));
+
+    assertThat(voidResult.succeeded(), is(true));
+    verify(pageProcessor, times(3)).processPage(any());
+
+    assertThat(queries.get(0), containsString(
+      "status==\"Open\" sortBy position/sort.ascending id/sort.ascending"));
+    assertThat(queries.get(1), containsString("status==\"Open\" and ((position>\"009\") or "
+      + "(position==\"009\" and id>\"9\")) sortBy position/sort.ascending id/sort.ascending"));
+    assertThat(queries.get(2), containsString("position>\"019\""));
+    assertThat(offsets, everyItem(is(0)));
+  }
+
+  @Test
+  void shouldNotHaveMorePagesInFlightThanAllowedWhenPrefetching() {
+    final var pageSize = limit(10);
+    final var pagesInFlight = new AtomicInteger();
+    final var mostPagesInFlight = new AtomicInteger();
+    final var mostPagesProcessed = new AtomicInteger();
+    final var pagesBeingProcessed = new AtomicInteger();
+    final var pendingPages = new ArrayList<CompletableFuture<Result<Void>>>();
+
+    final GetManyRecordsRepository<Integer> repository = (query, limit, offset) -> {
+      mostPagesInFlight.accumulateAndGet(pagesInFlight.incrementAndGet(), Math::max);
+
+      return repository(100).getMany(query, limit, offset);
+    };
+
+    final PageProcessor<Integer> pageProcessor = records -> {
+      mostPagesProcessed.accumulateAndGet(pagesBeingProcessed.incrementAndGet(), Math::max);
+
+      final var processed = new CompletableFuture<Result<Void>>();
+      pendingPages.add(processed);
+
+      return processed.whenComplete((result, error) -> {
+        pagesBeingProcessed.decrementAndGet();
+        pagesInFlight.decrementAndGet();
+      });
+    };
+
+    final var processing = new PageableFetcher<>(repository, pageSize, 1000)
+      .withPrefetching(3, 2)
+      .processPages(noQuery().value(), pageProcessor);
+
+    while (!processing.isDone()) {
+      pendingPages.remove(0).complete(Result.succeeded(null));
+    }
+
+    assertThat(processing.join().succeeded(), is(true));
+    assertThat(mostPagesInFlight.get(), is(3));
+    assertThat(mostPagesProcessed.get(), is(2));
+  }
+
   private <T> Result<Void> processPages(GetManyRecordsRepository<T> repository,
     PageLimit pageLimit, PageProcessor<T> processor) {
 
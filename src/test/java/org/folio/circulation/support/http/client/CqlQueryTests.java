@@ -80,6 +80,21 @@ class CqlQueryTests {
       is("barcode==\"12345\" and status==\"Open\""));
   }
 
+  @Test
+  void canApplyOrOperatorToTwoQueries() {
+    final Result<CqlQuery> query = greaterThan("dueDate", "2020-01-01");
+
+    final Result<CqlQuery> secondQuery = exactMatch("dueDate", "2020-01-01")
+      .combine(greaterThan("id", "1234"), CqlQuery::and);
+
+    final Result<CqlQuery> combinedQuery = exactMatch("status", "Open")
+      .combine(query.combine(secondQuery, CqlQuery::or), CqlQuery::and);
+
+    assertThat(combinedQuery.value().asText(),
+      is("status==\"Open\" and ((dueDate>\"2020-01-01\") or "
+        + "(dueDate==\"2020-01-01\" and id>\"1234\"))"));
+  }
+
   @Test
   void canSortQuery() {
     final Result<CqlQuery> query = exactMatch("barcode", "12345")
@@ -0,0 +1,157 @@
+package org.folio.circulation.support.http.client;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.circulation.support.http.client.HttpClientConcurrencyLimiter.Permit;
+import org.folio.circulation.support.metrics.PrometheusFormat;
+import org.folio.circulation.support.results.Result;
+import org.junit.jupiter.api.Test;
+
+class HttpClientConcurrencyLimiterTests {
+  private static final String ITEMS_URL = "http://okapi/item-storage/items";
+  private static final String LOANS_URL = "http://okapi/loan-storage/loans";
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Test
+  void requestsAreNotLimitedByDefault() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(0, "",
+      0, 1000);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(limiter.acquire("tenant", ITEMS_URL, TIMEOUT).isDone(), is(true));
+    }
+
+    assertThat(limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().succeeded(), is(true));
+  }
+
+  @Test
+  void requestsOverTheLimitWaitForAPermitToBeReleased() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(2, "",
+      10, 1000);
+
+    final Permit first = limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value();
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join();
+
+    final CompletableFuture<Result<Permit>> waiting = limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+
+    assertThat(waiting.isDone(), is(false));
+
+    first.release(10, false);
+
+    assertThat(waiting.join().succeeded(), is(true));
+  }
+
+  @Test
+  void requestsAreRefusedWhenTooManyAreWaiting() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(1, "",
+      1, 1000);
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+
+    final Result<Permit> refused = limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join();
+
+    assertThat(refused.failed(), is(true));
+    assertThat(refused.cause().toString(),
+      containsString("Too many requests waiting for /item-storage"));
+  }
+
+  @Test
+  void requestsStopWaitingOnceTheyTimeOut() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(1, "",
+      1, 1000);
+
+    final Permit first = limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value();
+
+    final Result<Permit> timedOut = limiter.acquire("tenant", ITEMS_URL,
+      Duration.ofMillis(10)).join();
+
+    assertThat(timedOut.failed(), is(true));
+    assertThat(timedOut.cause().toString(),
+      containsString("Timed out waiting to make a request to /item-storage"));
+
+    final CompletableFuture<Result<Permit>> waiting = limiter.acquire("tenant", ITEMS_URL,
+      TIMEOUT);
+
+    first.release(10, false);
+
+    assertThat(waiting.join().succeeded(), is(true));
+  }
+
+  @Test
+  void eachTenantAndDestinationHasItsOwnLimit() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(1, "",
+      10, 1000);
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+
+    assertThat(limiter.acquire("tenant", LOANS_URL, TIMEOUT).isDone(), is(true));
+    assertThat(limiter.acquire("other_tenant", ITEMS_URL, TIMEOUT).isDone(), is(true));
+    assertThat(limiter.acquire("tenant", ITEMS_URL, TIMEOUT).isDone(), is(false));
+  }
+
+  @Test
+  void longestMatchingPrefixLimitIsUsed() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(1,
+      "/item-storage=3,/item-storage/items=2", 10, 1000);
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+
+    assertThat(limiter.acquire("tenant", ITEMS_URL, TIMEOUT).isDone(), is(false));
+    assertThat(writtenMetrics(limiter), containsString(
+      "circulation_http_client_concurrency_maximum_limit{tenant=\"tenant\","
+        + "destination=\"/item-storage/items\"} 2"));
+  }
+
+  @Test
+  void limitIsReducedWhenRequestsFailOrAreSlowAndIncreasedWhenTheyRecover() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(20, "",
+      10, 1000);
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value().release(10, true);
+    assertThat(writtenMetrics(limiter), containsString(limit(18)));
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value().release(5000, false);
+    assertThat(writtenMetrics(limiter), containsString(limit(16)));
+
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire("tenant", ITEMS_URL, TIMEOUT);
+    }
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value().release(10, false);
+    assertThat(writtenMetrics(limiter), containsString(limit(17)));
+  }
+
+  @Test
+  void limitIsNotIncreasedWhenLittleOfItIsUsed() {
+    final HttpClientConcurrencyLimiter limiter = new HttpClientConcurrencyLimiter(20, "",
+      10, 1000);
+
+    limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value().release(10, true);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.acquire("tenant", ITEMS_URL, TIMEOUT).join().value().release(10, false);
+    }
+
+    assertThat(writtenMetrics(limiter), containsString(limit(18)));
+  }
+
+  private static String limit(int limit) {
+    return "circulation_http_client_concurrency_limit{tenant=\"tenant\","
+      + "destination=\"/item-storage\"} " + limit;
+  }
+
+  private static String writtenMetrics(HttpClientConcurrencyLimiter limiter) {
+    final PrometheusFormat format = new PrometheusFormat();
+
+    limiter.writeTo(format);
+
+    return format.toString();
+  }
+}
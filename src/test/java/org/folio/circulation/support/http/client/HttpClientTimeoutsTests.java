@@ -0,0 +1,37 @@
+package org.folio.circulation.support.http.client;
+
+import static java.time.Duration.ofSeconds;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpClientTimeoutsTests {
+  @Test
+  void defaultTimeoutIsUsedWhenNoPrefixMatches() {
+    final HttpClientTimeouts timeouts = new HttpClientTimeouts(ofSeconds(20),
+      "/calendar=5");
+
+    assertThat(timeouts.timeoutFor("http://okapi/item-storage/items"), is(ofSeconds(20)));
+  }
+
+  @Test
+  void longestMatchingPrefixIsUsed() {
+    final HttpClientTimeouts timeouts = new HttpClientTimeouts(ofSeconds(20),
+      "/calendar=5, /calendar/periods/service-point=8");
+
+    assertThat(timeouts.timeoutFor("http://okapi/calendar/periods/service-point/period"),
+      is(ofSeconds(8)));
+    assertThat(timeouts.timeoutFor("http://okapi/calendar/periods"), is(ofSeconds(5)));
+  }
+
+  @Test
+  void invalidTimeoutsAreIgnored() {
+    final HttpClientTimeouts timeouts = new HttpClientTimeouts(ofSeconds(20),
+      "/calendar=soon,/pubsub,=3,/users=2");
+
+    assertThat(timeouts.timeoutFor("http://okapi/calendar"), is(ofSeconds(20)));
+    assertThat(timeouts.timeoutFor("http://okapi/pubsub/publish"), is(ofSeconds(20)));
+    assertThat(timeouts.timeoutFor("http://okapi/users/123"), is(ofSeconds(2)));
+  }
+}
@@ -0,0 +1,216 @@
+package org.folio.circulation.support.http.server;
+
+import static java.util.Collections.singletonList;
+import static org.folio.circulation.support.results.Result.failed;
+import static org.folio.circulation.support.results.Result.succeeded;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.circulation.support.ServerErrorFailure;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import lombok.val;
+
+class JsonArrayStreamingResponseTests {
+  private HttpServerResponse httpResponse;
+  private final Buffer written = Buffer.buffer();
+
+  @BeforeEach
+  void setUp() {
+    httpResponse = Mockito.mock(HttpServerResponse.class);
+
+    when(httpResponse.write(any(Buffer.class))).thenAnswer(invocation -> {
+      written.appendBuffer(invocation.getArgument(0));
+      return null;
+    });
+
+    when(httpResponse.end(any(Buffer.class))).thenAnswer(invocation -> {
+      written.appendBuffer(invocation.getArgument(0));
+      return null;
+    });
+  }
+
+  @Test
+  void shouldWriteAllBatchesFollowedByTotalRecords() {
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    response.writeInBatches(List.of(1, 2, 3),
+      number -> new JsonObject().put("number", number), 2);
+
+    response.end(succeeded(null));
+
+    val body = new JsonObject(written);
+
+    assertThat(body.getJsonArray("items").size(), is(3));
+    assertThat(body.getJsonArray("items").getJsonObject(2).getInteger("number"), is(3));
+    assertThat(body.getInteger("totalRecords"), is(3));
+
+    verify(httpResponse).setStatusCode(200);
+    verify(httpResponse).setChunked(true);
+  }
+
+  @Test
+  void shouldWriteEmptyArrayWhenNoRecords() {
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    response.end(succeeded(null));
+
+    val body = new JsonObject(written);
+
+    assertThat(body.getJsonArray("items").isEmpty(), is(true));
+    assertThat(body.getInteger("totalRecords"), is(0));
+  }
+
+  @Test
+  void shouldWaitForResponseToDrainWhenWriteQueueIsFull() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    val writing = response.write(singletonList(new JsonObject()));
+
+    assertThat(writing.isDone(), is(false));
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Handler<Void>> drainHandler = ArgumentCaptor.forClass(Handler.class);
+
+    verify(httpResponse).drainHandler(drainHandler.capture());
+
+    drainHandler.getValue().handle(null);
+
+    assertThat(writing.isDone(), is(true));
+  }
+
+  @Test
+  void shouldListenForDrainBeforeCheckingWhetherWriteQueueIsFull() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    response.write(singletonList(new JsonObject()));
+
+    val inOrder = inOrder(httpResponse);
+
+    inOrder.verify(httpResponse).drainHandler(any());
+    inOrder.verify(httpResponse).write(any(Buffer.class));
+    inOrder.verify(httpResponse).writeQueueFull();
+  }
+
+  @Test
+  void shouldFailWaitingWriteWhenConnectionIsClosed() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Handler<Void>> closeHandler = ArgumentCaptor.forClass(Handler.class);
+
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    verify(httpResponse).closeHandler(closeHandler.capture());
+
+    val writing = response.write(singletonList(new JsonObject()));
+
+    assertThat(writing.isDone(), is(false));
+
+    when(httpResponse.closed()).thenReturn(true);
+    closeHandler.getValue().handle(null);
+
+    assertThat(writing.isDone(), is(true));
+    assertThat(writing.join().failed(), is(true));
+
+    val nextWrite = response.write(singletonList(new JsonObject()));
+
+    assertThat(nextWrite.join().failed(), is(true));
+  }
+
+  @Test
+  void shouldFailWaitingWriteWhenResponseFails() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Handler<Throwable>> exceptionHandler = ArgumentCaptor.forClass(Handler.class);
+
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    verify(httpResponse).exceptionHandler(exceptionHandler.capture());
+
+    val writing = response.write(singletonList(new JsonObject()));
+
+    exceptionHandler.getValue().handle(new IllegalStateException("Connection reset"));
+
+    assertThat(writing.isDone(), is(true));
+    assertThat(writing.join().failed(), is(true));
+  }
+
+  @Test
+  void shouldWriteFailureWhenNoRecordsHaveBeenWritten() {
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    response.end(failed(new ServerErrorFailure("Something went wrong")));
+
+    verify(httpResponse).setStatusCode(500);
+    verify(httpResponse, never()).setChunked(true);
+  }
+
+  @Test
+  void shouldResetConnectionWhenFailingAfterRecordsHaveBeenWritten() {
+    val response = new JsonArrayStreamingResponse(httpResponse, "items");
+
+    response.write(singletonList(new JsonObject()));
+
+    response.end(failed(new ServerErrorFailure("Something went wrong")));
+
+    verify(httpResponse).reset();
+    verify(httpResponse, never()).setStatusCode(500);
+  }
+
+  @Test
+  void shouldStartAndEndResponseOnItsContext() throws Exception {
+    val vertx = Vertx.vertx();
+
+    try {
+      val context = vertx.getOrCreateContext();
+      val startedOn = new CompletableFuture<Context>();
+      val endedOn = new CompletableFuture<Context>();
+
+      when(httpResponse.setStatusCode(200)).thenAnswer(invocation -> {
+        startedOn.complete(Vertx.currentContext());
+        return httpResponse;
+      });
+
+      when(httpResponse.end(any(Buffer.class))).thenAnswer(invocation -> {
+        endedOn.complete(Vertx.currentContext());
+        return null;
+      });
+
+      val response = new JsonArrayStreamingResponse(httpResponse, "items", context);
+
+      response.write(singletonList(new JsonObject()));
+      response.end(succeeded(null));
+
+      assertThat(startedOn.get(5, TimeUnit.SECONDS), is(sameInstance(context)));
+      assertThat(endedOn.get(5, TimeUnit.SECONDS), is(sameInstance(context)));
+    }
+    finally {
+      vertx.close();
+    }
+  }
+}
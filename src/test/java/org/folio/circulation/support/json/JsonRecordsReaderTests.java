@@ -0,0 +1,83 @@
+package org.folio.circulation.support.json;
+
+import static java.util.function.Function.identity;
+import static org.folio.circulation.support.json.JsonRecordsReader.readRecords;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.circulation.domain.MultipleRecords;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class JsonRecordsReaderTests {
+  @Test
+  void recordsAreTheSameAsWhenParsingTheWholeBody() {
+    final JsonObject body = new JsonObject()
+      .put("loans", new JsonArray()
+        .add(new JsonObject()
+          .put("id", "first")
+          .put("action", "checkedout")
+          .put("renewalCount", 2)
+          .put("overdue", false)
+          .put("status", new JsonObject().put("name", "Open"))
+          .put("tags", new JsonArray().add("one").add(1.5).addNull()))
+        .add(new JsonObject().put("id", "second")))
+      .put("totalRecords", 2);
+
+    final MultipleRecords<JsonObject> records = read(body.encode(), "loans");
+
+    assertThat(records.getTotalRecords(), is(2));
+    assertThat(new ArrayList<>(records.getRecords()),
+      is(body.getJsonArray("loans").getList()));
+  }
+
+  @Test
+  void otherPropertiesAndEntriesWhichAreNotObjectsAreSkipped() {
+    final MultipleRecords<JsonObject> records = read("{\"resultInfo\": "
+      + "{\"facets\": [{\"x\": [1, 2]}]}, \"items\": [{\"id\": \"a\"}, 4, [\"b\"], null],"
+      + "\"totalRecords\": 1}", "items");
+
+    final List<JsonObject> items = new ArrayList<>(records.getRecords());
+
+    assertThat(items.size(), is(1));
+    assertThat(items.get(0).getString("id"), is("a"));
+    assertThat(records.getTotalRecords(), is(1));
+  }
+
+  @Test
+  void recordsAreMappedAsTheyAreRead() {
+    final MultipleRecords<String> records = readRecords(
+      Buffer.buffer("{\"users\": [{\"id\": \"a\"}, {\"id\": \"b\"}]}"), "users",
+      user -> user.getString("id"));
+
+    assertThat(new ArrayList<>(records.getRecords()), is(List.of("a", "b")));
+    assertThat(records.getTotalRecords(), is(nullValue()));
+  }
+
+  @Test
+  void emptyBodyHasNoRecords() {
+    final MultipleRecords<JsonObject> records = read("  ", "loans");
+
+    assertThat(records.getRecords().isEmpty(), is(true));
+    assertThat(records.getTotalRecords(), is(nullValue()));
+  }
+
+  @Test
+  void bodyWhichIsNotAnObjectCannotBeRead() {
+    assertThrows(DecodeException.class, () -> read("[]", "loans"));
+    assertThrows(DecodeException.class, () -> read("{\"loans\": [", "loans"));
+  }
+
+  private static MultipleRecords<JsonObject> read(String body, String recordsPropertyName) {
+    return readRecords(Buffer.buffer(body), recordsPropertyName, identity());
+  }
+}
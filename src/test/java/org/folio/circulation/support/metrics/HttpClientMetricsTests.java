@@ -0,0 +1,86 @@
+package org.folio.circulation.support.metrics;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HttpClientMetricsTests {
+  @Test
+  void clientNameIsPathWithIdsReplaced() {
+    assertThat(HttpClientMetrics.clientName(
+      "http://okapi:9130/item-storage/items/56d3a4f3-2d9a-4f0c-b5d6-6b7f2a1c3e4f?query=x"),
+      is("/item-storage/items/{id}"));
+
+    assertThat(HttpClientMetrics.clientName("http://okapi:9130/loan-storage/loans"),
+      is("/loan-storage/loans"));
+
+    assertThat(HttpClientMetrics.clientName("not a url"), is("unknown"));
+  }
+
+  @Test
+  void callsAreRecordedByTenantClientMethodAndStatus() {
+    final HttpClientMetrics metrics = new HttpClientMetrics();
+
+    metrics.recordCall("tenant", "http://okapi/users/"
+      + "56d3a4f3-2d9a-4f0c-b5d6-6b7f2a1c3e4f", "GET", "200", 30);
+    metrics.recordCall("tenant", "http://okapi/users/"
+      + "7d5b2e1a-0f3c-4b8e-9a6d-1c2e3f4a5b6c", "GET", "200", 700);
+
+    final String text = writtenMetrics(metrics);
+
+    assertThat(text, containsString(
+      "# TYPE circulation_http_client_request_duration_milliseconds histogram"));
+    assertThat(text, containsString("circulation_http_client_request_duration_milliseconds_"
+      + "bucket{tenant=\"tenant\",client=\"/users/{id}\",method=\"GET\",status=\"200\","
+      + "le=\"50\"} 1"));
+    assertThat(text, containsString("circulation_http_client_request_duration_milliseconds_"
+      + "bucket{tenant=\"tenant\",client=\"/users/{id}\",method=\"GET\",status=\"200\","
+      + "le=\"1000\"} 2"));
+    assertThat(text, containsString("circulation_http_client_request_duration_milliseconds_"
+      + "sum{tenant=\"tenant\",client=\"/users/{id}\",method=\"GET\",status=\"200\"} 730"));
+  }
+
+  @Test
+  void callsPerRequestAreRecordedByRoute() {
+    final HttpClientMetrics metrics = new HttpClientMetrics();
+
+    metrics.recordCallsPerRequest("POST /circulation/check-out-by-barcode", 12);
+
+    final String text = writtenMetrics(metrics);
+
+    assertThat(text, containsString("circulation_http_client_requests_per_incoming_request_"
+      + "bucket{route=\"POST /circulation/check-out-by-barcode\",le=\"10\"} 0"));
+    assertThat(text, containsString("circulation_http_client_requests_per_incoming_request_"
+      + "bucket{route=\"POST /circulation/check-out-by-barcode\",le=\"20\"} 1"));
+    assertThat(text, containsString("circulation_http_client_requests_per_incoming_request_"
+      + "count{route=\"POST /circulation/check-out-by-barcode\"} 1"));
+  }
+
+  @Test
+  void queueTimesAndRejectionsAreRecordedByTenantAndDestination() {
+    final HttpClientMetrics metrics = new HttpClientMetrics();
+
+    metrics.recordQueueTime("tenant", "/item-storage", 40);
+    metrics.recordRejection("tenant", "/item-storage");
+    metrics.recordRejection("tenant", "/item-storage");
+
+    final String text = writtenMetrics(metrics);
+
+    assertThat(text, containsString("circulation_http_client_queue_time_milliseconds_"
+      + "bucket{tenant=\"tenant\",destination=\"/item-storage\",le=\"50\"} 1"));
+    assertThat(text, containsString(
+      "# TYPE circulation_http_client_rejected_requests_total counter"));
+    assertThat(text, containsString("circulation_http_client_rejected_requests_total"
+      + "{tenant=\"tenant\",destination=\"/item-storage\"} 2"));
+  }
+
+  private static String writtenMetrics(HttpClientMetrics metrics) {
+    final PrometheusFormat format = new PrometheusFormat();
+
+    metrics.writeTo(format);
+
+    return format.toString();
+  }
+}
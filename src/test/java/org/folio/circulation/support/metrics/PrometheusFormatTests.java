@@ -0,0 +1,32 @@
+package org.folio.circulation.support.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class PrometheusFormatTests {
+  @Test
+  void samplesOfEachMetricAreWrittenTogether() {
+    final PrometheusFormat format = new PrometheusFormat();
+
+    format.gauges("cache", "Use of cached records", Map.of("cache", "first"),
+      new JsonObject().put("hits", 1).put("misses", 2));
+    format.gauges("cache", "Use of cached records", Map.of("cache", "second"),
+      new JsonObject().put("hits", 3).put("misses", 4));
+
+    assertThat(format.toString(), is(
+      "# HELP cache_hits Use of cached records\n"
+        + "# TYPE cache_hits gauge\n"
+        + "cache_hits{cache=\"first\"} 1\n"
+        + "cache_hits{cache=\"second\"} 3\n"
+        + "# HELP cache_misses Use of cached records\n"
+        + "# TYPE cache_misses gauge\n"
+        + "cache_misses{cache=\"first\"} 2\n"
+        + "cache_misses{cache=\"second\"} 4\n"));
+  }
+}